@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.benchmarks;
+
+import fr.myprysm.pipeline.pump.BaseJsonPump;
+import fr.myprysm.pipeline.pump.PumpOptions;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Pump that emits a burst of payloads each time it is triggered.
+ * <p>
+ * The number of payloads to emit is sent to {@link #TRIGGER_ADDRESS}.
+ * The size of the payloads is configured with <code>payloadSize</code>.
+ */
+public class BenchmarkPump extends BaseJsonPump<PumpOptions> {
+    public static final String TRIGGER_ADDRESS = "benchmark-pump-trigger";
+
+    private JsonObject payload;
+
+    @Override
+    public Flowable<JsonObject> pump() {
+        return vertx.eventBus().<Integer>consumer(TRIGGER_ADDRESS).toFlowable()
+                .concatMap(message -> Flowable.range(0, message.body()).map(i -> payload.copy().put("counter", i)));
+    }
+
+    @Override
+    protected Completable startVerticle() {
+        return Completable.complete();
+    }
+
+    @Override
+    public PumpOptions readConfiguration(JsonObject config) {
+        return new PumpOptions(config);
+    }
+
+    @Override
+    public Completable configure(PumpOptions config) {
+        payload = Payloads.of(0, config().getInteger("payloadSize", 256));
+        return Completable.complete();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.benchmarks;
+
+import fr.myprysm.pipeline.sink.BaseJsonSink;
+import fr.myprysm.pipeline.sink.SinkOptions;
+import io.reactivex.Completable;
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Sink that releases a permit of {@link #DRAINED} for each item it receives.
+ */
+public class CountingSink extends BaseJsonSink<SinkOptions> {
+    public static final Semaphore DRAINED = new Semaphore(0);
+
+    @Override
+    public void drain(JsonObject item) {
+        DRAINED.release();
+    }
+
+    @Override
+    protected Completable startVerticle() {
+        return Completable.complete();
+    }
+
+    @Override
+    public Completable configure(SinkOptions config) {
+        return Completable.complete();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.benchmarks;
+
+import fr.myprysm.pipeline.sink.BatchSerializer;
+import fr.myprysm.pipeline.sink.FileSink;
+import fr.myprysm.pipeline.sink.FileSinkOptions.Format;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of batches of items by the {@link FileSink}.
+ * <p>
+ * Batches go through the same {@link BatchSerializer} as in the sink, into its pooled in-memory buffers.
+ * The sink grants the credits back as soon as items are queued, so waiting for them would not measure the file either:
+ * neither the event bus nor the disk are involved here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileSinkBenchmark {
+
+    @Param({"json", "yaml", "smile"})
+    private String format;
+
+    @Param({"1", "100"})
+    private int batchSize;
+
+    @Param({"256", "4096"})
+    private int payloadSize;
+
+    private BatchSerializer serializer;
+    private List<JsonObject> items;
+
+    @Setup
+    public void setUp() {
+        serializer = new BatchSerializer("benchmark-file-sink", Format.valueOf(format));
+        items = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            items.add(Payloads.of(i, payloadSize));
+        }
+    }
+
+    @Benchmark
+    public int serialize() {
+        BatchSerializer.Batch batch = serializer.serialize(items);
+        int length = batch.buffer().length();
+        serializer.release(batch.buffer());
+        return length;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.benchmarks;
+
+import io.reactivex.Maybe;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Verticle;
+import io.vertx.core.Vertx;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Verticle running another verticle on its own context.
+ * <p>
+ * Benchmarks use it to call the hosted verticle on its context rather than from the benchmark thread,
+ * as verticles are not thread-safe.
+ */
+public class HostVerticle extends AbstractVerticle {
+    private final Verticle verticle;
+
+    /**
+     * Creates a new host for the verticle.
+     *
+     * @param verticle the verticle to host
+     */
+    public HostVerticle(Verticle verticle) {
+        this.verticle = verticle;
+    }
+
+    @Override
+    public void init(Vertx vertx, Context context) {
+        super.init(vertx, context);
+        verticle.init(vertx, context);
+    }
+
+    @Override
+    public void start(Future<Void> startFuture) throws Exception {
+        verticle.start(startFuture);
+    }
+
+    @Override
+    public void stop(Future<Void> stopFuture) throws Exception {
+        verticle.stop(stopFuture);
+    }
+
+    /**
+     * Runs the task on the context of the hosted verticle and waits for its result.
+     *
+     * @param task the task to run
+     * @param <T>  the type of the result
+     * @return the result of the task, or <code>null</code> when it completes without result
+     * @throws InterruptedException when interrupted while waiting
+     * @throws ExecutionException   when the task fails
+     */
+    public <T> T await(Supplier<Maybe<T>> task) throws InterruptedException, ExecutionException {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        context.runOnContext(v -> task.get().subscribe(result::complete, result::completeExceptionally, () -> result.complete(null)));
+        return result.get();
+    }
+}
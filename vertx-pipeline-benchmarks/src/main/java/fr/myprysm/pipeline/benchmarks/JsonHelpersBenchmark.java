@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.benchmarks;
+
+import fr.myprysm.pipeline.util.JsonHelpers;
+import fr.myprysm.pipeline.util.JsonPath;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Path extraction and writing with {@link JsonHelpers} and with compiled {@link JsonPath}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonHelpersBenchmark {
+
+    @Param({"counter", "another.field.counter", "a.very.deep.path.to.the.counter"})
+    private String path;
+
+    private JsonObject json;
+    private JsonPath compiled;
+
+    @Setup
+    public void setUp() {
+        json = Payloads.of(1, 256);
+        JsonHelpers.writeObject(json, path, 1L);
+        compiled = JsonPath.compile(path);
+    }
+
+    @Benchmark
+    public Optional<Object> extractObject() {
+        return JsonHelpers.extractObject(json, path);
+    }
+
+    @Benchmark
+    public Object extractObjectCompiled() {
+        return compiled.get(json);
+    }
+
+    @Benchmark
+    public JsonObject writeObject() {
+        JsonHelpers.writeObject(json, path, 2L);
+        return json;
+    }
+
+    @Benchmark
+    public JsonObject writeObjectCompiled() {
+        compiled.put(json, 2L);
+        return json;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.benchmarks;
+
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.arr;
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+
+/**
+ * Payloads shared by the benchmarks.
+ * <p>
+ * Payloads hold the nested fields read by the processor benchmarks
+ * and a text field that brings the payload to the requested size.
+ */
+public final class Payloads {
+
+    private Payloads() {
+    }
+
+    /**
+     * Creates a payload of roughly <code>size</code> bytes once serialized to JSON.
+     *
+     * @param id   the identifier of the payload
+     * @param size the approximate size of the payload
+     * @return the payload
+     */
+    public static JsonObject of(long id, int size) {
+        JsonObject payload = obj()
+                .put("user", obj().put("id", id % 1000).put("name", "user-" + id % 1000))
+                .put("another", obj().put("field", obj().put("counter", id)))
+                .put("that", obj().put("damn", obj().put("works", System.currentTimeMillis())))
+                .put("tags", arr().add(obj().put("name", "tag-" + id % 10).put("rank", id % 10)));
+
+        int padding = size - payload.encode().length() - "\"data\":\"\",".length();
+        return payload.put("data", StringUtils.repeat('x', Math.max(0, padding)));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.benchmarks;
+
+import fr.myprysm.pipeline.pipeline.PipelineVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.Vertx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.arr;
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+
+/**
+ * Throughput of a whole pipeline running in the JVM, from a pump to a sink through a chain of processors.
+ * <p>
+ * Each invocation triggers a burst of {@link #EVENTS} events and waits for the sink to receive all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipelineBenchmark {
+    private static final int EVENTS = 1000;
+
+    @Param({"64", "1024", "16384"})
+    private int payloadSize;
+
+    @Param({"1", "3", "5"})
+    private int stages;
+
+    @Param({"1"})
+    private int batch;
+
+    @Param({"json"})
+    private String codec;
+
+    private Vertx vertx;
+
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        CountingSink.DRAINED.drainPermits();
+
+        JsonArray processors = arr();
+        for (int i = 0; i < stages; i++) {
+            processors.add(obj()
+                    .put("type", "fr.myprysm.pipeline.processor.NoOpProcessor")
+                    .put("batch", batch));
+        }
+
+        JsonObject config = obj()
+                .put("name", "benchmark")
+                .put("codec", codec)
+                .put("pump", obj()
+                        .put("type", BenchmarkPump.class.getName())
+                        .put("payloadSize", payloadSize)
+                        .put("batch", batch))
+                .put("processors", processors)
+                .put("sink", obj().put("type", CountingSink.class.getName()));
+
+        vertx.rxDeployVerticle(PipelineVerticle.class.getName(), new DeploymentOptions().setConfig(config)).blockingGet();
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.rxClose().blockingAwait();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void pipeline() throws InterruptedException {
+        vertx.eventBus().send(BenchmarkPump.TRIGGER_ADDRESS, EVENTS);
+        CountingSink.DRAINED.acquire(EVENTS);
+    }
+}
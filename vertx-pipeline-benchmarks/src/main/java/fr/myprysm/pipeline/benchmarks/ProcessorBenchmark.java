@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.benchmarks;
+
+import fr.myprysm.pipeline.processor.Processor;
+import io.reactivex.Flowable;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Verticle;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.RxHelper;
+import io.vertx.reactivex.core.Vertx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.arr;
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+
+/**
+ * The {@link Processor#transform(Object)} of each processor.
+ * <p>
+ * Processors are deployed on their own and their transformation is called directly on their context,
+ * without going through the event bus.
+ * Each invocation transforms {@link #ITEMS} items in a row, so that the hand-off to the context and back
+ * is shared by all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessorBenchmark {
+    private static final int ITEMS = 1000;
+
+    @Param({
+            "NoOpProcessor",
+            "LogProcessor",
+            "DataExtractorProcessor",
+            "ObjectToArrayProcessor",
+            "MergeBasicProcessor",
+            "TimerEmitterProcessor",
+            "CounterEmitterProcessor"
+    })
+    private String type;
+
+    @Param({"256"})
+    private int payloadSize;
+
+    private Vertx vertx;
+    private Processor<JsonObject, JsonObject> processor;
+    private HostVerticle host;
+    private JsonObject payload;
+    private long counter;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        vertx = Vertx.vertx();
+        String className = "fr.myprysm.pipeline.processor." + type;
+        Object instance = Class.forName(className).newInstance();
+        JsonObject config = configuration(className);
+
+        host = new HostVerticle((Verticle) instance);
+        RxHelper.deployVerticle(vertx, host, new DeploymentOptions().setConfig(config)).blockingGet();
+        processor = (Processor<JsonObject, JsonObject>) instance;
+        payload = Payloads.of(1, payloadSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.rxClose().blockingAwait();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public JsonObject transform() throws Exception {
+        return host.await(() -> Flowable.range(0, ITEMS)
+                .concatMap(i -> processor.transform(nextInput()).toFlowable())
+                .lastElement());
+    }
+
+    private JsonObject nextInput() {
+        JsonObject input = payload.copy();
+        input.getJsonObject("user").put("id", counter++ % 1000);
+        return input;
+    }
+
+    private JsonObject configuration(String className) {
+        JsonObject config = obj()
+                .put("name", "benchmark-" + type)
+                .put("type", className)
+                .put("from", "benchmark-from")
+                .put("controlChannel", "benchmark-control")
+                .put("to", arr().add("benchmark-to"));
+
+        switch (type) {
+            case "LogProcessor":
+                return config.put("level", "TRACE");
+            case "DataExtractorProcessor":
+                return config.put("extract", obj()
+                        .put("another.field.counter", "counter")
+                        .put("that.damn.works", "output.timestamp")
+                        .put("user", "user"));
+            case "ObjectToArrayProcessor":
+                return config.put("fields", arr().add("user").add("another.field.counter"));
+            case "MergeBasicProcessor":
+                return config.put("operations", obj()
+                        .put("objToKey", "user.id")
+                        .put("mergeArrays", "tags")
+                        .put("sortArray", obj().put("path", "tags").put("field", "rank").put("type", "long")));
+            case "TimerEmitterProcessor":
+                return config.put("interval", 1).put("unit", "HOURS").put("signal", "FLUSH");
+            case "CounterEmitterProcessor":
+                return config.put("interval", Long.MAX_VALUE).put("signal", "FLUSH");
+            default:
+                return config;
+        }
+    }
+}
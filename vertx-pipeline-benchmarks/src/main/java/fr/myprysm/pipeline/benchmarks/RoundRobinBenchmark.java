@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.benchmarks;
+
+import fr.myprysm.pipeline.pipeline.ExchangeOptions.Routing;
+import fr.myprysm.pipeline.util.RoundRobin;
+import fr.myprysm.pipeline.util.Router;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selection of the next recipient with {@link RoundRobin} and with each {@link Router}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundRobinBenchmark {
+
+    @Param({"1", "4", "16"})
+    private int recipients;
+
+    private Iterator<String> roundRobin;
+
+    @Setup
+    public void setUp() {
+        roundRobin = RoundRobin.of(addresses(recipients)).iterator();
+    }
+
+    @Benchmark
+    public String roundRobin() {
+        return roundRobin.next();
+    }
+
+    @Benchmark
+    public String router(RouterState state) {
+        return state.router.next();
+    }
+
+    private static List<String> addresses(int recipients) {
+        List<String> addresses = new ArrayList<>();
+        for (int i = 0; i < recipients; i++) {
+            addresses.add("recipient-" + i);
+        }
+        return addresses;
+    }
+
+    /**
+     * The router of each strategy.
+     */
+    @State(Scope.Benchmark)
+    public static class RouterState {
+
+        @Param({"1", "4", "16"})
+        private int recipients;
+
+        @Param({"round_robin", "least_outstanding", "power_of_two", "weighted"})
+        private String routing;
+
+        private Router router;
+
+        @Setup
+        public void setUp() {
+            List<Integer> weights = new ArrayList<>();
+            for (int i = 0; i < recipients; i++) {
+                weights.add(i + 1);
+            }
+
+            router = Router.of(Routing.valueOf(routing), addresses(recipients), weights, recipient -> recipient.length() % 3);
+        }
+    }
+}
@@ -27,12 +27,27 @@ import io.vertx.core.json.JsonArray;
 public class ExchangeOptionsConverter {
 
   public static void fromJson(JsonObject json, ExchangeOptions obj) {
+    if (json.getValue("batch") instanceof Number) {
+      obj.setBatch(((Number)json.getValue("batch")).intValue());
+    }
+    if (json.getValue("codec") instanceof String) {
+      obj.setCodec(fr.myprysm.pipeline.pipeline.ExchangeOptions.Codec.valueOf((String)json.getValue("codec")));
+    }
     if (json.getValue("controlChannel") instanceof String) {
       obj.setControlChannel((String)json.getValue("controlChannel"));
     }
     if (json.getValue("from") instanceof String) {
       obj.setFrom((String)json.getValue("from"));
     }
+    if (json.getValue("linger") instanceof Number) {
+      obj.setLinger(((Number)json.getValue("linger")).longValue());
+    }
+    if (json.getValue("partitionBy") instanceof String) {
+      obj.setPartitionBy((String)json.getValue("partitionBy"));
+    }
+    if (json.getValue("routing") instanceof String) {
+      obj.setRouting(fr.myprysm.pipeline.pipeline.ExchangeOptions.Routing.valueOf((String)json.getValue("routing")));
+    }
     if (json.getValue("to") instanceof JsonArray) {
       java.util.ArrayList<java.lang.String> list = new java.util.ArrayList<>();
       json.getJsonArray("to").forEach( item -> {
@@ -41,19 +56,53 @@ public class ExchangeOptionsConverter {
       });
       obj.setTo(list);
     }
+    if (json.getValue("weights") instanceof JsonArray) {
+      java.util.ArrayList<java.lang.Integer> list = new java.util.ArrayList<>();
+      json.getJsonArray("weights").forEach( item -> {
+        if (item instanceof Number)
+          list.add(((Number)item).intValue());
+      });
+      obj.setWeights(list);
+    }
+    if (json.getValue("window") instanceof Number) {
+      obj.setWindow(((Number)json.getValue("window")).intValue());
+    }
   }
 
   public static void toJson(ExchangeOptions obj, JsonObject json) {
+    if (obj.getBatch() != null) {
+      json.put("batch", obj.getBatch());
+    }
+    if (obj.getCodec() != null) {
+      json.put("codec", obj.getCodec().name());
+    }
     if (obj.getControlChannel() != null) {
       json.put("controlChannel", obj.getControlChannel());
     }
     if (obj.getFrom() != null) {
       json.put("from", obj.getFrom());
     }
+    if (obj.getLinger() != null) {
+      json.put("linger", obj.getLinger());
+    }
+    if (obj.getPartitionBy() != null) {
+      json.put("partitionBy", obj.getPartitionBy());
+    }
+    if (obj.getRouting() != null) {
+      json.put("routing", obj.getRouting().name());
+    }
     if (obj.getTo() != null) {
       JsonArray array = new JsonArray();
       obj.getTo().forEach(item -> array.add(item));
       json.put("to", array);
     }
+    if (obj.getWeights() != null) {
+      JsonArray array = new JsonArray();
+      obj.getWeights().forEach(item -> array.add(item));
+      json.put("weights", array);
+    }
+    if (obj.getWindow() != null) {
+      json.put("window", obj.getWindow());
+    }
   }
 }
\ No newline at end of file
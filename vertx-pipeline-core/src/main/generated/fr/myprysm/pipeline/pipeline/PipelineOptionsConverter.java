@@ -27,9 +27,15 @@ import io.vertx.core.json.JsonArray;
 public class PipelineOptionsConverter {
 
   public static void fromJson(JsonObject json, PipelineOptions obj) {
+    if (json.getValue("codec") instanceof String) {
+      obj.setCodec(fr.myprysm.pipeline.pipeline.ExchangeOptions.Codec.valueOf((String)json.getValue("codec")));
+    }
     if (json.getValue("deployChannel") instanceof String) {
       obj.setDeployChannel((String)json.getValue("deployChannel"));
     }
+    if (json.getValue("fuse") instanceof Boolean) {
+      obj.setFuse((Boolean)json.getValue("fuse"));
+    }
     if (json.getValue("name") instanceof String) {
       obj.setName((String)json.getValue("name"));
     }
@@ -42,12 +48,21 @@ public class PipelineOptionsConverter {
     if (json.getValue("sink") instanceof JsonObject) {
       obj.setSink(((JsonObject)json.getValue("sink")).copy());
     }
+    if (json.getValue("window") instanceof Number) {
+      obj.setWindow(((Number)json.getValue("window")).intValue());
+    }
   }
 
   public static void toJson(PipelineOptions obj, JsonObject json) {
+    if (obj.getCodec() != null) {
+      json.put("codec", obj.getCodec().name());
+    }
     if (obj.getDeployChannel() != null) {
       json.put("deployChannel", obj.getDeployChannel());
     }
+    if (obj.getFuse() != null) {
+      json.put("fuse", obj.getFuse());
+    }
     if (obj.getName() != null) {
       json.put("name", obj.getName());
     }
@@ -60,5 +75,8 @@ public class PipelineOptionsConverter {
     if (obj.getSink() != null) {
       json.put("sink", obj.getSink());
     }
+    if (obj.getWindow() != null) {
+      json.put("window", obj.getWindow());
+    }
   }
 }
\ No newline at end of file
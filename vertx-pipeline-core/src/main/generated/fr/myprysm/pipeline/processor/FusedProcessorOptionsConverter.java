@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.processor;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link fr.myprysm.pipeline.processor.FusedProcessorOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link fr.myprysm.pipeline.processor.FusedProcessorOptions} original class using Vert.x codegen.
+ */
+public class FusedProcessorOptionsConverter {
+
+  public static void fromJson(JsonObject json, FusedProcessorOptions obj) {
+    if (json.getValue("stages") instanceof JsonArray) {
+      obj.setStages(((JsonArray)json.getValue("stages")).copy());
+    }
+  }
+
+  public static void toJson(FusedProcessorOptions obj, JsonObject json) {
+    if (obj.getStages() != null) {
+      json.put("stages", obj.getStages());
+    }
+  }
+}
\ No newline at end of file
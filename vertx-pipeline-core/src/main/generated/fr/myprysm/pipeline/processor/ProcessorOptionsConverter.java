@@ -27,6 +27,9 @@ import io.vertx.core.json.JsonArray;
 public class ProcessorOptionsConverter {
 
   public static void fromJson(JsonObject json, ProcessorOptions obj) {
+    if (json.getValue("executionMode") instanceof String) {
+      obj.setExecutionMode(fr.myprysm.pipeline.processor.ProcessorOptions.ExecutionMode.valueOf((String)json.getValue("executionMode")));
+    }
     if (json.getValue("instances") instanceof Number) {
       obj.setInstances(((Number)json.getValue("instances")).intValue());
     }
@@ -39,6 +42,9 @@ public class ProcessorOptionsConverter {
   }
 
   public static void toJson(ProcessorOptions obj, JsonObject json) {
+    if (obj.getExecutionMode() != null) {
+      json.put("executionMode", obj.getExecutionMode().name());
+    }
     if (obj.getInstances() != null) {
       json.put("instances", obj.getInstances());
     }
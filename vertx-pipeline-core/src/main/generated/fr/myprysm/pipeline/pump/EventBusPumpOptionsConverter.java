@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link fr.myprysm.pipeline.pump.EventBusPumpOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link fr.myprysm.pipeline.pump.EventBusPumpOptions} original class using Vert.x codegen.
+ */
+public class EventBusPumpOptionsConverter {
+
+  public static void fromJson(JsonObject json, EventBusPumpOptions obj) {
+    if (json.getValue("address") instanceof String) {
+      obj.setAddress((String)json.getValue("address"));
+    }
+    if (json.getValue("local") instanceof Boolean) {
+      obj.setLocal((Boolean)json.getValue("local"));
+    }
+    if (json.getValue("maxBufferedMessages") instanceof Number) {
+      obj.setMaxBufferedMessages(((Number)json.getValue("maxBufferedMessages")).intValue());
+    }
+  }
+
+  public static void toJson(EventBusPumpOptions obj, JsonObject json) {
+    if (obj.getAddress() != null) {
+      json.put("address", obj.getAddress());
+    }
+    if (obj.getLocal() != null) {
+      json.put("local", obj.getLocal());
+    }
+    if (obj.getMaxBufferedMessages() != null) {
+      json.put("maxBufferedMessages", obj.getMaxBufferedMessages());
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link fr.myprysm.pipeline.pump.FilePumpOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link fr.myprysm.pipeline.pump.FilePumpOptions} original class using Vert.x codegen.
+ */
+public class FilePumpOptionsConverter {
+
+  public static void fromJson(JsonObject json, FilePumpOptions obj) {
+    if (json.getValue("checkpoint") instanceof String) {
+      obj.setCheckpoint((String)json.getValue("checkpoint"));
+    }
+    if (json.getValue("checkpointInterval") instanceof Number) {
+      obj.setCheckpointInterval(((Number)json.getValue("checkpointInterval")).longValue());
+    }
+    if (json.getValue("field") instanceof String) {
+      obj.setField((String)json.getValue("field"));
+    }
+    if (json.getValue("format") instanceof String) {
+      obj.setFormat(fr.myprysm.pipeline.pump.FilePumpOptions.Format.valueOf((String)json.getValue("format")));
+    }
+    if (json.getValue("mapSize") instanceof Number) {
+      obj.setMapSize(((Number)json.getValue("mapSize")).intValue());
+    }
+    if (json.getValue("path") instanceof String) {
+      obj.setPath((String)json.getValue("path"));
+    }
+    if (json.getValue("progressInterval") instanceof Number) {
+      obj.setProgressInterval(((Number)json.getValue("progressInterval")).longValue());
+    }
+  }
+
+  public static void toJson(FilePumpOptions obj, JsonObject json) {
+    if (obj.getCheckpoint() != null) {
+      json.put("checkpoint", obj.getCheckpoint());
+    }
+    if (obj.getCheckpointInterval() != null) {
+      json.put("checkpointInterval", obj.getCheckpointInterval());
+    }
+    if (obj.getField() != null) {
+      json.put("field", obj.getField());
+    }
+    if (obj.getFormat() != null) {
+      json.put("format", obj.getFormat().name());
+    }
+    if (obj.getMapSize() != null) {
+      json.put("mapSize", obj.getMapSize());
+    }
+    if (obj.getPath() != null) {
+      json.put("path", obj.getPath());
+    }
+    if (obj.getProgressInterval() != null) {
+      json.put("progressInterval", obj.getProgressInterval());
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link fr.myprysm.pipeline.pump.GeneratorPumpOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link fr.myprysm.pipeline.pump.GeneratorPumpOptions} original class using Vert.x codegen.
+ */
+public class GeneratorPumpOptionsConverter {
+
+  public static void fromJson(JsonObject json, GeneratorPumpOptions obj) {
+    if (json.getValue("burstInterval") instanceof Number) {
+      obj.setBurstInterval(((Number)json.getValue("burstInterval")).longValue());
+    }
+    if (json.getValue("fields") instanceof JsonObject) {
+      obj.setFields(((JsonObject)json.getValue("fields")).copy());
+    }
+    if (json.getValue("maxEvents") instanceof Number) {
+      obj.setMaxEvents(((Number)json.getValue("maxEvents")).longValue());
+    }
+    if (json.getValue("poolSize") instanceof Number) {
+      obj.setPoolSize(((Number)json.getValue("poolSize")).intValue());
+    }
+    if (json.getValue("rate") instanceof Number) {
+      obj.setRate(((Number)json.getValue("rate")).longValue());
+    }
+    if (json.getValue("reportInterval") instanceof Number) {
+      obj.setReportInterval(((Number)json.getValue("reportInterval")).longValue());
+    }
+    if (json.getValue("seed") instanceof Number) {
+      obj.setSeed(((Number)json.getValue("seed")).longValue());
+    }
+    if (json.getValue("template") instanceof JsonObject) {
+      obj.setTemplate(((JsonObject)json.getValue("template")).copy());
+    }
+  }
+
+  public static void toJson(GeneratorPumpOptions obj, JsonObject json) {
+    if (obj.getBurstInterval() != null) {
+      json.put("burstInterval", obj.getBurstInterval());
+    }
+    if (obj.getFields() != null) {
+      json.put("fields", obj.getFields());
+    }
+    if (obj.getMaxEvents() != null) {
+      json.put("maxEvents", obj.getMaxEvents());
+    }
+    if (obj.getPoolSize() != null) {
+      json.put("poolSize", obj.getPoolSize());
+    }
+    if (obj.getRate() != null) {
+      json.put("rate", obj.getRate());
+    }
+    if (obj.getReportInterval() != null) {
+      json.put("reportInterval", obj.getReportInterval());
+    }
+    if (obj.getSeed() != null) {
+      json.put("seed", obj.getSeed());
+    }
+    if (obj.getTemplate() != null) {
+      json.put("template", obj.getTemplate());
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link fr.myprysm.pipeline.pump.HttpPumpOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link fr.myprysm.pipeline.pump.HttpPumpOptions} original class using Vert.x codegen.
+ */
+public class HttpPumpOptionsConverter {
+
+  public static void fromJson(JsonObject json, HttpPumpOptions obj) {
+    if (json.getValue("host") instanceof String) {
+      obj.setHost((String)json.getValue("host"));
+    }
+    if (json.getValue("maxBodySize") instanceof Number) {
+      obj.setMaxBodySize(((Number)json.getValue("maxBodySize")).longValue());
+    }
+    if (json.getValue("onSaturation") instanceof String) {
+      obj.setOnSaturation(fr.myprysm.pipeline.pump.HttpPumpOptions.Saturation.valueOf((String)json.getValue("onSaturation")));
+    }
+    if (json.getValue("path") instanceof String) {
+      obj.setPath((String)json.getValue("path"));
+    }
+    if (json.getValue("port") instanceof Number) {
+      obj.setPort(((Number)json.getValue("port")).intValue());
+    }
+  }
+
+  public static void toJson(HttpPumpOptions obj, JsonObject json) {
+    if (obj.getHost() != null) {
+      json.put("host", obj.getHost());
+    }
+    if (obj.getMaxBodySize() != null) {
+      json.put("maxBodySize", obj.getMaxBodySize());
+    }
+    if (obj.getOnSaturation() != null) {
+      json.put("onSaturation", obj.getOnSaturation().name());
+    }
+    if (obj.getPath() != null) {
+      json.put("path", obj.getPath());
+    }
+    if (obj.getPort() != null) {
+      json.put("port", obj.getPort());
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link fr.myprysm.pipeline.pump.ReplayPumpOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link fr.myprysm.pipeline.pump.ReplayPumpOptions} original class using Vert.x codegen.
+ */
+public class ReplayPumpOptionsConverter {
+
+  public static void fromJson(JsonObject json, ReplayPumpOptions obj) {
+    if (json.getValue("factor") instanceof Number) {
+      obj.setFactor(((Number)json.getValue("factor")).doubleValue());
+    }
+    if (json.getValue("format") instanceof String) {
+      obj.setFormat(fr.myprysm.pipeline.sink.FileSinkOptions.Format.valueOf((String)json.getValue("format")));
+    }
+    if (json.getValue("mapSize") instanceof Number) {
+      obj.setMapSize(((Number)json.getValue("mapSize")).intValue());
+    }
+    if (json.getValue("offset") instanceof Number) {
+      obj.setOffset(((Number)json.getValue("offset")).longValue());
+    }
+    if (json.getValue("path") instanceof String) {
+      obj.setPath((String)json.getValue("path"));
+    }
+    if (json.getValue("rate") instanceof Number) {
+      obj.setRate(((Number)json.getValue("rate")).longValue());
+    }
+    if (json.getValue("since") instanceof Number) {
+      obj.setSince(((Number)json.getValue("since")).longValue());
+    }
+    if (json.getValue("speed") instanceof String) {
+      obj.setSpeed(fr.myprysm.pipeline.pump.ReplayPumpOptions.Speed.valueOf((String)json.getValue("speed")));
+    }
+    if (json.getValue("timestampField") instanceof String) {
+      obj.setTimestampField((String)json.getValue("timestampField"));
+    }
+  }
+
+  public static void toJson(ReplayPumpOptions obj, JsonObject json) {
+    if (obj.getFactor() != null) {
+      json.put("factor", obj.getFactor());
+    }
+    if (obj.getFormat() != null) {
+      json.put("format", obj.getFormat().name());
+    }
+    if (obj.getMapSize() != null) {
+      json.put("mapSize", obj.getMapSize());
+    }
+    if (obj.getOffset() != null) {
+      json.put("offset", obj.getOffset());
+    }
+    if (obj.getPath() != null) {
+      json.put("path", obj.getPath());
+    }
+    if (obj.getRate() != null) {
+      json.put("rate", obj.getRate());
+    }
+    if (obj.getSince() != null) {
+      json.put("since", obj.getSince());
+    }
+    if (obj.getSpeed() != null) {
+      json.put("speed", obj.getSpeed().name());
+    }
+    if (obj.getTimestampField() != null) {
+      json.put("timestampField", obj.getTimestampField());
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link fr.myprysm.pipeline.pump.TailPumpOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link fr.myprysm.pipeline.pump.TailPumpOptions} original class using Vert.x codegen.
+ */
+public class TailPumpOptionsConverter {
+
+  public static void fromJson(JsonObject json, TailPumpOptions obj) {
+    if (json.getValue("checkpoint") instanceof String) {
+      obj.setCheckpoint((String)json.getValue("checkpoint"));
+    }
+    if (json.getValue("checkpointInterval") instanceof Number) {
+      obj.setCheckpointInterval(((Number)json.getValue("checkpointInterval")).longValue());
+    }
+    if (json.getValue("field") instanceof String) {
+      obj.setField((String)json.getValue("field"));
+    }
+    if (json.getValue("format") instanceof String) {
+      obj.setFormat(fr.myprysm.pipeline.pump.FilePumpOptions.Format.valueOf((String)json.getValue("format")));
+    }
+    if (json.getValue("path") instanceof String) {
+      obj.setPath((String)json.getValue("path"));
+    }
+    if (json.getValue("pattern") instanceof String) {
+      obj.setPattern((String)json.getValue("pattern"));
+    }
+    if (json.getValue("pollInterval") instanceof Number) {
+      obj.setPollInterval(((Number)json.getValue("pollInterval")).longValue());
+    }
+    if (json.getValue("startAt") instanceof String) {
+      obj.setStartAt(fr.myprysm.pipeline.pump.TailPumpOptions.Position.valueOf((String)json.getValue("startAt")));
+    }
+  }
+
+  public static void toJson(TailPumpOptions obj, JsonObject json) {
+    if (obj.getCheckpoint() != null) {
+      json.put("checkpoint", obj.getCheckpoint());
+    }
+    if (obj.getCheckpointInterval() != null) {
+      json.put("checkpointInterval", obj.getCheckpointInterval());
+    }
+    if (obj.getField() != null) {
+      json.put("field", obj.getField());
+    }
+    if (obj.getFormat() != null) {
+      json.put("format", obj.getFormat().name());
+    }
+    if (obj.getPath() != null) {
+      json.put("path", obj.getPath());
+    }
+    if (obj.getPattern() != null) {
+      json.put("pattern", obj.getPattern());
+    }
+    if (obj.getPollInterval() != null) {
+      json.put("pollInterval", obj.getPollInterval());
+    }
+    if (obj.getStartAt() != null) {
+      json.put("startAt", obj.getStartAt().name());
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link fr.myprysm.pipeline.pump.TcpPumpOptions}.
+ *
+ * NOTE: This class has been automatically generated from the {@link fr.myprysm.pipeline.pump.TcpPumpOptions} original class using Vert.x codegen.
+ */
+public class TcpPumpOptionsConverter {
+
+  public static void fromJson(JsonObject json, TcpPumpOptions obj) {
+    if (json.getValue("format") instanceof String) {
+      obj.setFormat(fr.myprysm.pipeline.util.RecordFormat.valueOf((String)json.getValue("format")));
+    }
+    if (json.getValue("framing") instanceof String) {
+      obj.setFraming(fr.myprysm.pipeline.pump.TcpPumpOptions.Framing.valueOf((String)json.getValue("framing")));
+    }
+    if (json.getValue("host") instanceof String) {
+      obj.setHost((String)json.getValue("host"));
+    }
+    if (json.getValue("maxRecordSize") instanceof Number) {
+      obj.setMaxRecordSize(((Number)json.getValue("maxRecordSize")).intValue());
+    }
+    if (json.getValue("port") instanceof Number) {
+      obj.setPort(((Number)json.getValue("port")).intValue());
+    }
+  }
+
+  public static void toJson(TcpPumpOptions obj, JsonObject json) {
+    if (obj.getFormat() != null) {
+      json.put("format", obj.getFormat().name());
+    }
+    if (obj.getFraming() != null) {
+      json.put("framing", obj.getFraming().name());
+    }
+    if (obj.getHost() != null) {
+      json.put("host", obj.getHost());
+    }
+    if (obj.getMaxRecordSize() != null) {
+      json.put("maxRecordSize", obj.getMaxRecordSize());
+    }
+    if (obj.getPort() != null) {
+      json.put("port", obj.getPort());
+    }
+  }
+}
\ No newline at end of file
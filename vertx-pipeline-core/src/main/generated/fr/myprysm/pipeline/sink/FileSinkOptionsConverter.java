@@ -27,32 +27,122 @@ import io.vertx.core.json.JsonArray;
 public class FileSinkOptionsConverter {
 
   public static void fromJson(JsonObject json, FileSinkOptions obj) {
+    if (json.getValue("compression") instanceof String) {
+      obj.setCompression(fr.myprysm.pipeline.sink.FileSinkOptions.Compression.valueOf((String)json.getValue("compression")));
+    }
     if (json.getValue("file") instanceof String) {
       obj.setFile((String)json.getValue("file"));
     }
     if (json.getValue("format") instanceof String) {
       obj.setFormat(fr.myprysm.pipeline.sink.FileSinkOptions.Format.valueOf((String)json.getValue("format")));
     }
+    if (json.getValue("highWatermark") instanceof Number) {
+      obj.setHighWatermark(((Number)json.getValue("highWatermark")).intValue());
+    }
+    if (json.getValue("lowWatermark") instanceof Number) {
+      obj.setLowWatermark(((Number)json.getValue("lowWatermark")).intValue());
+    }
+    if (json.getValue("maxOpenFiles") instanceof Number) {
+      obj.setMaxOpenFiles(((Number)json.getValue("maxOpenFiles")).intValue());
+    }
+    if (json.getValue("mergeShards") instanceof Boolean) {
+      obj.setMergeShards((Boolean)json.getValue("mergeShards"));
+    }
     if (json.getValue("mode") instanceof String) {
       obj.setMode(fr.myprysm.pipeline.sink.FileSinkOptions.Mode.valueOf((String)json.getValue("mode")));
     }
+    if (json.getValue("overflow") instanceof String) {
+      obj.setOverflow(fr.myprysm.pipeline.sink.FileSinkOptions.Overflow.valueOf((String)json.getValue("overflow")));
+    }
+    if (json.getValue("partition") instanceof String) {
+      obj.setPartition((String)json.getValue("partition"));
+    }
+    if (json.getValue("partitionTime") instanceof String) {
+      obj.setPartitionTime((String)json.getValue("partitionTime"));
+    }
     if (json.getValue("path") instanceof String) {
       obj.setPath((String)json.getValue("path"));
     }
+    if (json.getValue("retention") instanceof Number) {
+      obj.setRetention(((Number)json.getValue("retention")).intValue());
+    }
+    if (json.getValue("rollEvents") instanceof Number) {
+      obj.setRollEvents(((Number)json.getValue("rollEvents")).longValue());
+    }
+    if (json.getValue("rollInterval") instanceof Number) {
+      obj.setRollInterval(((Number)json.getValue("rollInterval")).longValue());
+    }
+    if (json.getValue("rollSize") instanceof Number) {
+      obj.setRollSize(((Number)json.getValue("rollSize")).longValue());
+    }
+    if (json.getValue("syncBatches") instanceof Number) {
+      obj.setSyncBatches(((Number)json.getValue("syncBatches")).intValue());
+    }
+    if (json.getValue("syncInterval") instanceof Number) {
+      obj.setSyncInterval(((Number)json.getValue("syncInterval")).longValue());
+    }
+    if (json.getValue("syncPolicy") instanceof String) {
+      obj.setSyncPolicy(fr.myprysm.pipeline.sink.FileSinkOptions.SyncPolicy.valueOf((String)json.getValue("syncPolicy")));
+    }
   }
 
   public static void toJson(FileSinkOptions obj, JsonObject json) {
+    if (obj.getCompression() != null) {
+      json.put("compression", obj.getCompression().name());
+    }
     if (obj.getFile() != null) {
       json.put("file", obj.getFile());
     }
     if (obj.getFormat() != null) {
       json.put("format", obj.getFormat().name());
     }
+    if (obj.getHighWatermark() != null) {
+      json.put("highWatermark", obj.getHighWatermark());
+    }
+    if (obj.getLowWatermark() != null) {
+      json.put("lowWatermark", obj.getLowWatermark());
+    }
+    if (obj.getMaxOpenFiles() != null) {
+      json.put("maxOpenFiles", obj.getMaxOpenFiles());
+    }
+    if (obj.getMergeShards() != null) {
+      json.put("mergeShards", obj.getMergeShards());
+    }
     if (obj.getMode() != null) {
       json.put("mode", obj.getMode().name());
     }
+    if (obj.getOverflow() != null) {
+      json.put("overflow", obj.getOverflow().name());
+    }
+    if (obj.getPartition() != null) {
+      json.put("partition", obj.getPartition());
+    }
+    if (obj.getPartitionTime() != null) {
+      json.put("partitionTime", obj.getPartitionTime());
+    }
     if (obj.getPath() != null) {
       json.put("path", obj.getPath());
     }
+    if (obj.getRetention() != null) {
+      json.put("retention", obj.getRetention());
+    }
+    if (obj.getRollEvents() != null) {
+      json.put("rollEvents", obj.getRollEvents());
+    }
+    if (obj.getRollInterval() != null) {
+      json.put("rollInterval", obj.getRollInterval());
+    }
+    if (obj.getRollSize() != null) {
+      json.put("rollSize", obj.getRollSize());
+    }
+    if (obj.getSyncBatches() != null) {
+      json.put("syncBatches", obj.getSyncBatches());
+    }
+    if (obj.getSyncInterval() != null) {
+      json.put("syncInterval", obj.getSyncInterval());
+    }
+    if (obj.getSyncPolicy() != null) {
+      json.put("syncPolicy", obj.getSyncPolicy().name());
+    }
   }
 }
\ No newline at end of file
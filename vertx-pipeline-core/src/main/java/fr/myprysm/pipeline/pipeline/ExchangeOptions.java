@@ -27,13 +27,34 @@ import static java.util.Collections.unmodifiableList;
 
 @DataObject(generateConverter = true)
 public class ExchangeOptions {
+
+    public enum Routing {
+        round_robin, least_outstanding, power_of_two, weighted
+    }
+
+    public enum Codec {
+        json, smile
+    }
+
     public static final List<String> DEFAULT_TO = Collections.singletonList("to");
     public static final String DEFAULT_FROM = "from";
     public static final String DEFAULT_CONTROL_CHANNEL = "control";
+    public static final Integer DEFAULT_BATCH = 1;
+    public static final Long DEFAULT_LINGER = 10L;
+    public static final Integer DEFAULT_WINDOW = 0;
+    public static final Routing DEFAULT_ROUTING = Routing.round_robin;
+    public static final Codec DEFAULT_CODEC = Codec.json;
 
     private String from;
     private List<String> to;
     private String controlChannel;
+    private Integer batch = DEFAULT_BATCH;
+    private Long linger = DEFAULT_LINGER;
+    private Integer window = DEFAULT_WINDOW;
+    private Routing routing = DEFAULT_ROUTING;
+    private List<Integer> weights;
+    private String partitionBy;
+    private Codec codec = DEFAULT_CODEC;
 
     public ExchangeOptions() {
 
@@ -43,6 +64,13 @@ public class ExchangeOptions {
         from = other.from;
         to = other.to;
         controlChannel = other.controlChannel;
+        batch = other.batch;
+        linger = other.linger;
+        window = other.window;
+        routing = other.routing;
+        weights = other.weights;
+        partitionBy = other.partitionBy;
+        codec = other.codec;
     }
 
     public ExchangeOptions(JsonObject json) {
@@ -121,6 +149,205 @@ public class ExchangeOptions {
         return this;
     }
 
+    /**
+     * The maximum number of items sent in a single message.
+     *
+     * @return the maximum number of items sent in a single message
+     */
+    public Integer getBatch() {
+        return batch;
+    }
+
+    /**
+     * The maximum number of items sent in a single message.
+     * <p>
+     * When greater than <code>1</code>, items are sent to the next stage of the pipeline
+     * in {@link fr.myprysm.pipeline.util.EventBatch}es.
+     * <p>
+     * Must be a positive {@link Integer}. Defaults to <code>1</code> (no batching).
+     *
+     * @param batch the maximum number of items sent in a single message
+     * @return this
+     */
+    public ExchangeOptions setBatch(Integer batch) {
+        this.batch = batch;
+        return this;
+    }
+
+    /**
+     * The maximum time in milliseconds an item waits for its batch to be sent.
+     *
+     * @return the maximum time an item waits for its batch to be sent
+     */
+    public Long getLinger() {
+        return linger;
+    }
+
+    /**
+     * The maximum time in milliseconds an item waits for its batch to be sent.
+     * <p>
+     * Only used when <code>batch</code> is greater than <code>1</code>.
+     * A batch is sent as soon as it is full or when its first item waited for <code>linger</code> milliseconds.
+     * <code>0</code> sends full batches only.
+     * <p>
+     * Defaults to <code>10</code>
+     *
+     * @param linger the maximum time an item waits for its batch to be sent
+     * @return this
+     */
+    public ExchangeOptions setLinger(Long linger) {
+        this.linger = linger;
+        return this;
+    }
+
+    /**
+     * The maximum number of items in flight for each recipient.
+     *
+     * @return the maximum number of items in flight for each recipient
+     */
+    public Integer getWindow() {
+        return window;
+    }
+
+    /**
+     * The maximum number of items in flight for each recipient.
+     * <p>
+     * When greater than <code>0</code>, recipients grant credits back once they are done with the items they received.
+     * No more items are sent to a recipient that has no credit left.
+     * A pump requests items from its source only as credits allow
+     * and a processor holds the credits of its upstream stage while its own recipients are saturated.
+     * <p>
+     * When batching, the window should be greater than the batch size or <code>linger</code> must be enabled.
+     * <p>
+     * Defaults to <code>0</code> (no flow control).
+     *
+     * @param window the maximum number of items in flight for each recipient
+     * @return this
+     */
+    public ExchangeOptions setWindow(Integer window) {
+        this.window = window;
+        return this;
+    }
+
+    /**
+     * The strategy to select the recipient of each message.
+     *
+     * @return the routing strategy
+     */
+    public Routing getRouting() {
+        return routing;
+    }
+
+    /**
+     * The strategy to select the recipient of each message.
+     * <p>
+     * One of:
+     * <ul>
+     * <li><code>round_robin</code>: recipients are used in turn</li>
+     * <li><code>least_outstanding</code>: the recipient with the least messages in flight is used</li>
+     * <li><code>power_of_two</code>: the least loaded of two recipients picked at random is used</li>
+     * <li><code>weighted</code>: recipients are used in proportion of their <code>weights</code></li>
+     * </ul>
+     * Messages in flight are measured with the credits granted back by the recipients,
+     * the load aware strategies enable them even when no <code>window</code> is configured.
+     * <p>
+     * Defaults to <code>round_robin</code>
+     *
+     * @param routing the routing strategy
+     * @return this
+     */
+    public ExchangeOptions setRouting(Routing routing) {
+        this.routing = routing;
+        return this;
+    }
+
+    /**
+     * The weights of the recipients for <code>weighted</code> routing.
+     *
+     * @return the weights of the recipients
+     */
+    public List<Integer> getWeights() {
+        return weights;
+    }
+
+    /**
+     * The weights of the recipients for <code>weighted</code> routing.
+     * <p>
+     * Weights are applied to the instances of the next stage in order.
+     * An instance without weight has a weight of <code>1</code>.
+     *
+     * @param weights the weights of the recipients
+     * @return this
+     */
+    public ExchangeOptions setWeights(List<Integer> weights) {
+        this.weights = weights;
+        return this;
+    }
+
+    /**
+     * The path of the key used to partition items between recipients.
+     *
+     * @return the path of the partition key
+     */
+    public String getPartitionBy() {
+        return partitionBy;
+    }
+
+    /**
+     * The path of the key used to partition items between recipients.
+     * <p>
+     * When set, recipients are placed on a consistent hash ring
+     * and each item is sent to the recipient owning the value found at this path (dot notation).
+     * Items with the same key always reach the same recipient,
+     * which allows stateful processors to run with several instances.
+     * Items without the key are all sent to the same recipient.
+     * <p>
+     * The ring holds the addresses of the recipients, not their instances.
+     * The copies of a recipient deployed with a <code>loadFactor</code> greater than <code>1</code> share its address
+     * and the event bus spreads its items between them: a stateful recipient must be deployed with a single copy,
+     * and scaled with several stages listed in <code>to</code> instead.
+     * <p>
+     * <code>routing</code> is ignored when items are partitioned.
+     * <p>
+     * No default, items are not partitioned.
+     *
+     * @param partitionBy the path of the partition key
+     * @return this
+     */
+    public ExchangeOptions setPartitionBy(String partitionBy) {
+        this.partitionBy = partitionBy;
+        return this;
+    }
+
+    /**
+     * The codec used to encode the messages sent to the next stage.
+     *
+     * @return the codec
+     */
+    public Codec getCodec() {
+        return codec;
+    }
+
+    /**
+     * The codec used to encode the messages sent to the next stage.
+     * <p>
+     * One of:
+     * <ul>
+     * <li><code>json</code>: the default event bus codecs, JSON text between the nodes of a cluster</li>
+     * <li><code>smile</code>: the binary Smile format between the nodes of a cluster</li>
+     * </ul>
+     * Local deliveries with the <code>smile</code> codec hand over the message itself without any copy.
+     * <p>
+     * Defaults to <code>json</code>
+     *
+     * @param codec the codec
+     * @return this
+     */
+    public ExchangeOptions setCodec(Codec codec) {
+        this.codec = codec;
+        return this;
+    }
+
     public JsonObject toJson() {
         JsonObject json = new JsonObject();
         ExchangeOptionsConverter.toJson(this, json);
@@ -133,6 +360,13 @@ public class ExchangeOptions {
                 "from='" + from + '\'' +
                 ", to=" + to +
                 ", controlChannel='" + controlChannel + '\'' +
+                ", batch=" + batch +
+                ", linger=" + linger +
+                ", window=" + window +
+                ", routing=" + routing +
+                ", weights=" + weights +
+                ", partitionBy='" + partitionBy + '\'' +
+                ", codec=" + codec +
                 '}';
     }
 
@@ -143,12 +377,19 @@ public class ExchangeOptions {
         ExchangeOptions that = (ExchangeOptions) o;
         return Objects.equals(from, that.from) &&
                 Objects.equals(to, that.to) &&
-                Objects.equals(controlChannel, that.controlChannel);
+                Objects.equals(controlChannel, that.controlChannel) &&
+                Objects.equals(batch, that.batch) &&
+                Objects.equals(linger, that.linger) &&
+                Objects.equals(window, that.window) &&
+                routing == that.routing &&
+                Objects.equals(weights, that.weights) &&
+                Objects.equals(partitionBy, that.partitionBy) &&
+                codec == that.codec;
     }
 
     @Override
     public int hashCode() {
 
-        return Objects.hash(from, to, controlChannel);
+        return Objects.hash(from, to, controlChannel, batch, linger, window, routing, weights, partitionBy, codec);
     }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pipeline;
+
+import fr.myprysm.pipeline.pipeline.ExchangeOptions.Codec;
+import fr.myprysm.pipeline.pipeline.ExchangeOptions.Routing;
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import static fr.myprysm.pipeline.validation.JsonValidation.arrayOf;
+import static fr.myprysm.pipeline.validation.JsonValidation.gt;
+import static fr.myprysm.pipeline.validation.JsonValidation.gte;
+import static fr.myprysm.pipeline.validation.JsonValidation.holds;
+import static fr.myprysm.pipeline.validation.JsonValidation.isEnum;
+import static fr.myprysm.pipeline.validation.JsonValidation.isNull;
+import static fr.myprysm.pipeline.validation.JsonValidation.isString;
+
+public interface ExchangeOptionsValidation {
+
+    /**
+     * Validates the options that tune how a component exchanges items with the next stage of the pipeline.
+     *
+     * @param config the options to validate
+     * @return the validation result
+     */
+    static ValidationResult validate(JsonObject config) {
+        return isNull("batch").or(gt("batch", 0L))
+                .and(isNull("linger").or(gte("linger", 0L)))
+                .and(isNull("window").or(gte("window", 0L)))
+                .and(isNull("routing").or(isEnum("routing", Routing.class)))
+                .and(isNull("weights").or(arrayOf("weights", Integer.class)))
+                .and(holds(json -> json.getJsonArray("weights", new JsonArray()).stream().allMatch(weight -> (Integer) weight > 0),
+                        "Field 'weights' must only contain positive integers"))
+                .and(isNull("partitionBy").or(isString("partitionBy")))
+                .and(isNull("codec").or(isEnum("codec", Codec.class)))
+                .apply(config);
+    }
+}
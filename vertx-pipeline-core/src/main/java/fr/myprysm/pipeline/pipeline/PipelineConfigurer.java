@@ -16,6 +16,7 @@
 
 package fr.myprysm.pipeline.pipeline;
 
+import fr.myprysm.pipeline.processor.FusedProcessor;
 import fr.myprysm.pipeline.processor.Processor;
 import fr.myprysm.pipeline.processor.ProcessorOptions;
 import fr.myprysm.pipeline.pump.Pump;
@@ -30,13 +31,18 @@ import org.apache.commons.lang3.tuple.Triple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.IntStream;
 
+import static fr.myprysm.pipeline.util.ClasspathHelpers.getStatelessProcessorClassNames;
 import static fr.myprysm.pipeline.util.JsonHelpers.arr;
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -44,6 +50,7 @@ import static strman.Strman.*;
 
 class PipelineConfigurer extends PipelineOptions {
     private static final Logger LOG = LoggerFactory.getLogger(PipelineConfigurer.class);
+    private static final List<String> EXCHANGE_KEYS = Arrays.asList("partitionBy", "routing", "weights", "batch", "linger", "window", "codec");
     public static final String CONTROL_CHANNEL = "control-channel";
 
     private String controlChannel;
@@ -144,7 +151,10 @@ class PipelineConfigurer extends PipelineOptions {
 
                     // Shuffle addresses so that processors will not send message sequentially
                     // to the next level in the chain.
-                    processor.getRight().getConfig().put("to", shuffle(to.copy()));
+                    // Weighted routing applies the weights to the instances in order.
+                    JsonObject config = processor.getRight().getConfig();
+                    boolean weighted = ExchangeOptions.Routing.weighted.name().equals(config.getString("routing"));
+                    config.put("to", weighted ? to.copy() : shuffle(to.copy()));
                     String from = processor.getRight().getConfig().getString("from");
                     newTo.add(from);
                 }
@@ -186,19 +196,112 @@ class PipelineConfigurer extends PipelineOptions {
     /**
      * Prepares the processors.
      * It assigns their position in the chain for naming.
+     * <p>
+     * When <code>fuse</code> is enabled, runs of consecutive stateless processors are planned
+     * as a single {@link FusedProcessor} set.
      */
     private void prepareProcessors() {
         JsonArray options = getProcessors();
         if (options == null || options.isEmpty()) {
             processors = new LinkedList<>();
         } else {
-            processors = IntStream.range(0, options.size())
+            List<Pair<Integer, JsonObject>> configs = IntStream.range(0, options.size())
                     .mapToObj(i -> Pair.of(i + 1, options.getJsonObject(i)))
-                    .map(this::prepareProcessorSet)
+                    .collect(toList());
+
+            processors = planProcessors(configs).stream()
+                    .map(run -> run.size() == 1 ? prepareProcessorSet(run.get(0)) : prepareFusedProcessorSet(run))
                     .collect(toCollection(LinkedList::new));
         }
     }
 
+    /**
+     * Splits the processor chain into runs of processors that will be deployed together.
+     * <p>
+     * Each processor has its own run unless <code>fuse</code> is enabled.
+     * In this case consecutive stateless processors sharing the same
+     * <code>instances</code> and <code>loadFactor</code> are grouped in the same run.
+     *
+     * @param configs the processor configurations with their position in the chain
+     * @return the runs of processors
+     */
+    private List<List<Pair<Integer, JsonObject>>> planProcessors(List<Pair<Integer, JsonObject>> configs) {
+        List<List<Pair<Integer, JsonObject>>> runs = new ArrayList<>();
+        List<Pair<Integer, JsonObject>> run = null;
+        for (Pair<Integer, JsonObject> config : configs) {
+            if (run != null && Boolean.TRUE.equals(getFuse()) && canFuse(run.get(run.size() - 1).getRight(), config.getRight())) {
+                run.add(config);
+            } else {
+                run = new ArrayList<>();
+                run.add(config);
+                runs.add(run);
+            }
+        }
+
+        return runs;
+    }
+
+    /**
+     * Indicates whether the <code>next</code> processor can be fused with the <code>previous</code> one.
+     * <p>
+     * The <code>previous</code> processor cannot be fused when it configures how its items are sent downstream,
+     * as it would no longer be the last stage of the run.
+     *
+     * @param previous the configuration of the previous processor
+     * @param next     the configuration of the next processor
+     * @return <code>true</code> when both processors can run in the same verticle
+     */
+    private boolean canFuse(JsonObject previous, JsonObject next) {
+        List<String> stateless = getStatelessProcessorClassNames();
+        return stateless.contains(previous.getString("type"))
+                && stateless.contains(next.getString("type"))
+                && Objects.equals(new ProcessorOptions(previous).getInstances(), new ProcessorOptions(next).getInstances())
+                && Objects.equals(previous.getValue("loadFactor"), next.getValue("loadFactor"))
+                && EXCHANGE_KEYS.stream().noneMatch(previous::containsKey);
+    }
+
+    /**
+     * Prepares a fused processor set based on the number of instances requested by the processors of the run.
+     * <p>
+     * The fused processor is named after the positions of the first and the last processor of the run.
+     * Each stage keeps the name it would have had if it was deployed on its own.
+     * The fused processor sends its items downstream with the exchange options of the last processor of the run.
+     *
+     * @param run the processors to fuse with their position in the pipeline
+     * @return the prepared processor set deployment
+     */
+    private List<Triple<String, String, DeploymentOptions>> prepareFusedProcessorSet(List<Pair<Integer, JsonObject>> run) {
+        JsonObject lead = run.get(0).getRight();
+        JsonObject last = run.get(run.size() - 1).getRight();
+        ProcessorOptions options = new ProcessorOptions(lead);
+        String positions = "-" + run.get(0).getLeft() + "-" + run.get(run.size() - 1).getLeft();
+        String type = FusedProcessor.class.getName();
+
+        return IntStream.rangeClosed(1, options.getInstances())
+                .mapToObj(i -> {
+                    JsonArray stages = arr();
+                    for (Pair<Integer, JsonObject> stage : run) {
+                        ProcessorOptions stageOptions = new ProcessorOptions(stage.getRight());
+                        stages.add(stage.getRight().copy().put("name", prepareProcessorName(stageOptions, stage.getLeft(), i)));
+                    }
+
+                    JsonObject config = obj()
+                            .put("type", type)
+                            .put("instances", options.getInstances())
+                            .put("stages", stages);
+                    if (lead.containsKey("loadFactor")) {
+                        config.put("loadFactor", lead.getValue("loadFactor"));
+                    }
+                    EXCHANGE_KEYS.stream()
+                            .filter(last::containsKey)
+                            .forEach(key -> config.put(key, last.getValue(key)));
+
+                    String name = prepareName(getName(), "fused", ProcessorOptions.DEFAULT_NAME, type, "processor", positions + "-" + i);
+                    return Triple.of(name, type, getDeploymentOptions(config, name));
+                })
+                .collect(toList());
+    }
+
     /**
      * Prepares a processor set based on the number of instances requested.
      * Processor <code>from</code> address is generated here.
@@ -226,15 +329,26 @@ class PipelineConfigurer extends PipelineOptions {
      * @return the deployment options
      */
     private Triple<String, String, DeploymentOptions> prepareProcessor(JsonObject config, ProcessorOptions options, Integer position, Integer instance) {
-        String name = prepareName(
+        String name = prepareProcessorName(options, position, instance);
+        return Triple.of(name, options.getType(), getDeploymentOptions(config, name));
+    }
+
+    /**
+     * Prepares the name of a single processor.
+     *
+     * @param options  the processor options
+     * @param position the position in the processor chain
+     * @param instance the instance
+     * @return the name of the processor
+     */
+    private String prepareProcessorName(ProcessorOptions options, Integer position, Integer instance) {
+        return prepareName(
                 getName(),
                 options.getName(),
                 ProcessorOptions.DEFAULT_NAME,
                 options.getType(),
                 "processor",
                 "-" + Integer.toString(position) + "-" + Integer.toString(instance)); // Append position of the set in the pipeline + instance nb
-
-        return Triple.of(name, options.getType(), getDeploymentOptions(config, name));
     }
 
     /**
@@ -329,6 +443,9 @@ class PipelineConfigurer extends PipelineOptions {
      * If <code>ha</code> is set to <code>true</code> then the verticle is deployed in HA mode.
      * <p>
      * If <code>setAddress</code> is <code>true</code> then generates its listening address.
+     * <p>
+     * If the pipeline defines a <code>window</code> or a <code>codec</code>,
+     * then they are applied unless the component defines its own.
      *
      * @param config     the config to prepare deployment options
      * @param name       the name of the component
@@ -341,6 +458,12 @@ class PipelineConfigurer extends PipelineOptions {
 
         copy.put("name", name);
         copy.put("controlChannel", controlChannel);
+        if (getWindow() != null && !copy.containsKey("window")) {
+            copy.put("window", getWindow());
+        }
+        if (getCodec() != null && !copy.containsKey("codec")) {
+            copy.put("codec", getCodec().name());
+        }
         if (setAddress) {
             String uuid = UUID.randomUUID().toString();
             copy.put("from", uuid);
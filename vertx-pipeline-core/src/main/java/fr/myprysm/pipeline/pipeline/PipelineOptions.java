@@ -30,12 +30,16 @@ import static fr.myprysm.pipeline.util.JsonHelpers.obj;
 public class PipelineOptions implements Options {
     public static final String DEFAULT_NAME = "default-pipeline";
     private static final String DEFAULT_DEPLOY_CHANNEL = "default-deploy-channel";
+    public static final Boolean DEFAULT_FUSE = false;
 
     private String name;
     private JsonObject pump = obj();
     private JsonArray processors = arr();
     private JsonObject sink = obj();
     private String deployChannel = DEFAULT_DEPLOY_CHANNEL;
+    private Boolean fuse = DEFAULT_FUSE;
+    private Integer window;
+    private ExchangeOptions.Codec codec;
 
     public PipelineOptions() {
         super();
@@ -47,6 +51,9 @@ public class PipelineOptions implements Options {
         processors = other.processors;
         sink = other.sink;
         deployChannel = other.deployChannel;
+        fuse = other.fuse;
+        window = other.window;
+        codec = other.codec;
     }
 
     public PipelineOptions(JsonObject json) {
@@ -105,6 +112,83 @@ public class PipelineOptions implements Options {
         return this;
     }
 
+    /**
+     * Whether consecutive stateless processors are fused.
+     *
+     * @return <code>true</code> when consecutive stateless processors are fused
+     */
+    public Boolean getFuse() {
+        return fuse;
+    }
+
+    /**
+     * Whether consecutive stateless processors are fused.
+     * <p>
+     * When enabled, each run of consecutive {@link fr.myprysm.pipeline.processor.Stateless} processors
+     * sharing the same number of instances is deployed as a single {@link fr.myprysm.pipeline.processor.FusedProcessor}
+     * that chains their transformations without going through the event bus.
+     * <p>
+     * Defaults to <code>false</code>
+     *
+     * @param fuse whether consecutive stateless processors are fused
+     * @return this
+     */
+    public PipelineOptions setFuse(Boolean fuse) {
+        this.fuse = fuse;
+        return this;
+    }
+
+    /**
+     * The default maximum number of items in flight between the stages of the pipeline.
+     *
+     * @return the default maximum number of items in flight
+     */
+    public Integer getWindow() {
+        return window;
+    }
+
+    /**
+     * The default maximum number of items in flight between the stages of the pipeline.
+     * <p>
+     * Applied to the pump and to each processor that does not configure its own <code>window</code>.
+     * When set, the pump is requested items only as the downstream stages grant credits
+     * which keeps the memory bounded when a stage falls behind.
+     * <p>
+     * No default, each stage uses its own <code>window</code>.
+     *
+     * @param window the default maximum number of items in flight
+     * @return this
+     */
+    public PipelineOptions setWindow(Integer window) {
+        this.window = window;
+        return this;
+    }
+
+    /**
+     * The codec used to encode the messages exchanged between the stages of the pipeline.
+     *
+     * @return the codec
+     */
+    public ExchangeOptions.Codec getCodec() {
+        return codec;
+    }
+
+    /**
+     * The codec used to encode the messages exchanged between the stages of the pipeline.
+     * <p>
+     * Applied to the pump and to each processor that does not configure its own <code>codec</code>.
+     * <code>smile</code> encodes the messages in a compact binary form when they cross the nodes of a cluster.
+     * <p>
+     * No default, each stage uses its own <code>codec</code>.
+     *
+     * @param codec the codec
+     * @return this
+     */
+    public PipelineOptions setCodec(ExchangeOptions.Codec codec) {
+        this.codec = codec;
+        return this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -113,13 +197,16 @@ public class PipelineOptions implements Options {
         return Objects.equals(name, that.name) &&
                 Objects.equals(pump, that.pump) &&
                 Objects.equals(processors, that.processors) &&
-                Objects.equals(sink, that.sink);
+                Objects.equals(sink, that.sink) &&
+                Objects.equals(fuse, that.fuse) &&
+                Objects.equals(window, that.window) &&
+                codec == that.codec;
     }
 
     @Override
     public int hashCode() {
 
-        return Objects.hash(name, pump, processors, sink);
+        return Objects.hash(name, pump, processors, sink, fuse, window, codec);
     }
 
     @Override
@@ -129,6 +216,9 @@ public class PipelineOptions implements Options {
                 ", pump=" + pump +
                 ", processors=" + processors +
                 ", sink=" + sink +
+                ", fuse=" + fuse +
+                ", window=" + window +
+                ", codec=" + codec +
                 '}';
     }
 }
@@ -37,6 +37,9 @@ public interface PipelineOptionsValidation {
                 .and(isNull("processors")
                         .or(isArray("processors").and(processorsExist()))
                 )
+                .and(isNull("fuse").or(isBoolean("fuse")))
+                .and(isNull("window").or(gte("window", 0L)))
+                .and(isNull("codec").or(isEnum("codec", ExchangeOptions.Codec.class)))
                 .apply(config);
     }
 
@@ -18,19 +18,33 @@ package fr.myprysm.pipeline.processor;
 
 
 import fr.myprysm.pipeline.pipeline.ExchangeOptions;
+import fr.myprysm.pipeline.pipeline.ExchangeOptionsValidation;
+import fr.myprysm.pipeline.processor.ProcessorOptions.ExecutionMode;
 import fr.myprysm.pipeline.util.ConfigurableVerticle;
-import fr.myprysm.pipeline.util.RoundRobin;
+import fr.myprysm.pipeline.util.CreditGranter;
+import fr.myprysm.pipeline.util.Dispatcher;
+import fr.myprysm.pipeline.util.EventBatch;
+import fr.myprysm.pipeline.util.EventBatchCodec;
+import fr.myprysm.pipeline.util.SmileMessageCodec;
+import fr.myprysm.pipeline.util.VirtualThreads;
 import fr.myprysm.pipeline.validation.ValidationResult;
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.MaybeEmitter;
+import io.reactivex.Single;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.Vertx;
 import io.vertx.reactivex.core.eventbus.EventBus;
 import io.vertx.reactivex.core.eventbus.Message;
 import io.vertx.reactivex.core.eventbus.MessageConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Base of a processor.
@@ -44,41 +58,168 @@ abstract class AbstractProcessor<I, O, T extends ProcessorOptions> extends Confi
 
     private ExchangeOptions exchange;
     private List<String> recipients;
-    private Iterator<String> to;
     private MessageConsumer<I> consumer;
     private EventBus eventBus;
     private String from;
+    private boolean embedded = false;
+    private Dispatcher<O> dispatcher;
+    private CreditGranter granter;
+    private final ProcessorMetrics metrics = new ProcessorMetrics();
+    private ExecutionMode configuredExecutionMode;
+    private ExecutionMode executionMode = ExecutionMode.eventloop;
+    private ExecutorService virtualThreads;
 
     @Override
     protected ValidationResult preValidate(JsonObject config) {
-        return ProcessorOptionsValidation.validate(config);
+        return ProcessorOptionsValidation.validate(config)
+                .and(() -> ExchangeOptionsValidation.validate(config));
     }
 
     @Override
     protected JsonObject preConfiguration(JsonObject config) {
         ProcessorOptions options = new ProcessorOptions(config);
+        configuredExecutionMode = options.getExecutionMode();
         exchange = new ExchangeOptions(config);
         from = exchange.getFrom();
         recipients = exchange.getTo();
-        to = RoundRobin.of(recipients).iterator();
         eventBus = vertx.eventBus();
+        EventBatchCodec.register(eventBus);
+        SmileMessageCodec.register(eventBus);
+        if (!embedded) {
+            dispatcher = new Dispatcher<>(vertx, exchange, granted -> granter.schedule());
+        }
+        granter = new CreditGranter(eventBus, vertx.getOrCreateContext(), from, this::saturated);
         return config;
     }
 
     @Override
     protected Completable postStartVerticle() {
+        if (embedded) {
+            return Completable.complete();
+        }
+
+        executionMode = executionMode();
+        if (executionMode == ExecutionMode.virtual_thread) {
+            virtualThreads = VirtualThreads.newExecutor().orElse(null);
+            if (virtualThreads == null) {
+                warn("Virtual threads are not supported by this JVM, falling back to worker execution mode.");
+                executionMode = ExecutionMode.worker;
+            }
+        }
+
         consumer = eventBus.consumer(this.from, this::consume);
-        return Completable.complete();
+        return dispatcher.start();
     }
 
     @Override
     protected Completable preShutdown() {
-        return consumer.rxUnregister();
+        Completable unregister = consumer != null ? consumer.rxUnregister() : Completable.complete();
+        return unregister.andThen(dispatcher != null ? dispatcher.stop() : Completable.complete())
+                .doOnComplete(() -> {
+                    if (virtualThreads != null) {
+                        virtualThreads.shutdown();
+                    }
+                    info("Received " + metrics.getReceived() + " items, emitted " + metrics.getEmitted()
+                            + ", discarded " + metrics.getDiscarded() + " and failed " + metrics.getFailed() + ".");
+                });
+    }
+
+    /**
+     * The execution mode used when none is configured.
+     * <p>
+     * Processors transform their items on the event loop by default.
+     * Processors that block or that are expensive should override this method.
+     *
+     * @return the default execution mode of the processor
+     */
+    protected ExecutionMode defaultExecutionMode() {
+        return ExecutionMode.eventloop;
+    }
+
+    /**
+     * The execution mode of this processor, either configured or its default.
+     *
+     * @return the execution mode
+     */
+    ExecutionMode executionMode() {
+        return configuredExecutionMode != null ? configuredExecutionMode : defaultExecutionMode();
+    }
+
+    /**
+     * Indicates whether all the recipients of this processor have no credit left.
+     * <p>
+     * The credits of the upstream stage are held while the processor is saturated.
+     *
+     * @return <code>true</code> when the processor cannot send more items
+     */
+    private boolean saturated() {
+        return dispatcher != null && dispatcher.saturated();
+    }
+
+    /**
+     * Starts this processor as a stage embedded in another verticle.
+     * <p>
+     * The processor shares the {@link Vertx} instance and the {@link Context} of the verticle embedding it.
+     * It goes through the whole configuration lifecycle but does not bind to the {@link EventBus}:
+     * the embedding verticle is in charge of calling {@link #transform(Object)}.
+     *
+     * @param vertx   the vertx instance of the embedding verticle
+     * @param context the context of the embedding verticle
+     * @param config  the configuration of the processor
+     * @return a {@link Completable} that completes once the processor is started
+     */
+    Completable embed(Vertx vertx, Context context, JsonObject config) {
+        embedded = true;
+        init(vertx.getDelegate(), context);
+        return startup(config);
+    }
+
+    /**
+     * Transforms the item as a stage embedded in another verticle, counting it in the metrics of this processor.
+     * <p>
+     * Failures are counted but left to the embedding verticle to handle.
+     *
+     * @param input the item to transform
+     * @return the transformed item, or nothing when the item is discarded
+     */
+    @SuppressWarnings("deprecation")
+    Maybe<O> transformStage(I input) {
+        return Maybe.defer(() -> {
+            metrics.received(1);
+            return transform(input);
+        })
+                .doOnSuccess(item -> metrics.emitted(1))
+                .doOnComplete(metrics::discarded)
+                .doOnError(throwable -> {
+                    if (throwable instanceof DiscardableEventException) {
+                        metrics.discarded();
+                    } else {
+                        metrics.failed();
+                    }
+                });
+    }
+
+    /**
+     * Stops this processor when it is embedded in another verticle.
+     *
+     * @return a {@link Completable} that completes once the processor is shut down
+     */
+    Completable release() {
+        return teardown();
+    }
+
+    /**
+     * The counters of the items handled by this processor.
+     *
+     * @return the metrics of the processor
+     */
+    public ProcessorMetrics metrics() {
+        return metrics;
     }
 
     @Override
     public String to() {
-        return to.next();
+        return dispatcher.next();
     }
 
     @Override
@@ -102,23 +243,106 @@ abstract class AbstractProcessor<I, O, T extends ProcessorOptions> extends Confi
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void consume(Message<I> item) {
-        I input = item.body();
-        LOG.debug("[{}] Message received: {}", name(), input);
+        Object body = item.body();
+        LOG.debug("[{}] Message received: {}", name(), body);
 
+        int items = body instanceof EventBatch ? ((EventBatch) body).size() : 1;
+        metrics.received(items);
         try {
-            transform(input).subscribe(this::publish, this::handleError);
+            if (body instanceof EventBatch) {
+                transformBatch(((EventBatch<I>) body).items())
+                        .doFinally(() -> granter.done(item, items))
+                        .subscribe(this::publishAll, this::handleError);
+            } else {
+                execute((I) body)
+                        .doFinally(() -> granter.done(item, items))
+                        .subscribe(this::publish, this::handleError, metrics::discarded);
+            }
         } catch (Exception e) {
+            metrics.failed();
             error("An error occurred while processing item: ", e);
+            granter.done(item, items);
+        }
+    }
+
+    /**
+     * Transforms the item according to the execution mode of the processor.
+     * <p>
+     * Whatever the thread used to transform the item, the result is signaled on the context of the processor.
+     *
+     * @param input the item to transform
+     * @return the transformed item, or nothing when the item is discarded
+     */
+    private Maybe<O> execute(I input) {
+        switch (executionMode) {
+            case worker:
+                return onWorker(input, false);
+            case ordered_worker:
+                return onWorker(input, true);
+            case virtual_thread:
+                return onVirtualThread(input);
+            default:
+                return transform(input);
         }
     }
 
+    private Maybe<O> onWorker(I input, boolean ordered) {
+        return Maybe.create(emitter -> vertx.<O>executeBlocking(
+                future -> transform(input).subscribe(future::complete, future::fail, () -> future.complete()),
+                ordered,
+                result -> signal(emitter, result)));
+    }
+
+    private Maybe<O> onVirtualThread(I input) {
+        return Maybe.create(emitter -> virtualThreads.execute(() -> transform(input).subscribe(
+                item -> context.runOnContext(v -> emitter.onSuccess(item)),
+                throwable -> context.runOnContext(v -> emitter.onError(throwable)),
+                () -> context.runOnContext(v -> emitter.onComplete()))));
+    }
+
+    private void signal(MaybeEmitter<O> emitter, AsyncResult<O> result) {
+        if (result.failed()) {
+            emitter.onError(result.cause());
+        } else if (result.result() == null) {
+            emitter.onComplete();
+        } else {
+            emitter.onSuccess(result.result());
+        }
+    }
+
+    /**
+     * Transforms each item of the batch.
+     * <p>
+     * Items are transformed concurrently, according to the execution mode of the processor, but their order is kept.
+     * Discarded items are counted and removed from the batch.
+     * An item that fails to be transformed is handled as a single item would be
+     * and does not prevent the other items of the batch to be transformed.
+     *
+     * @param batch the items to transform
+     * @return the transformed items
+     */
+    @Override
+    public Single<List<O>> transformBatch(List<I> batch) {
+        return Flowable.fromIterable(batch)
+                .concatMapEager(input -> execute(input)
+                        .doOnComplete(metrics::discarded)
+                        .toFlowable()
+                        .onErrorResumeNext(throwable -> {
+                            handleError(throwable);
+                            return Flowable.empty();
+                        }))
+                .toList();
+    }
+
+    @SuppressWarnings("deprecation")
     private void handleError(Throwable throwable) {
         if (throwable instanceof DiscardableEventException) {
-            if (LOG.isInfoEnabled()) {
-                info("Discarding event: {}", ((DiscardableEventException) throwable).getEvent());
-            }
+            metrics.discarded();
+            debug("Discarding event: {}", ((DiscardableEventException) throwable).getEvent());
         } else {
+            metrics.failed();
             error("An error occurred while processing item: ", throwable);
         }
     }
@@ -126,7 +350,19 @@ abstract class AbstractProcessor<I, O, T extends ProcessorOptions> extends Confi
     @Override
     public void publish(O item) {
         LOG.debug("[{}] Emitting message: {}", name(), item);
-        eventBus().send(to(), item);
+        metrics.emitted(1);
+        dispatcher.dispatch(item);
+    }
+
+    /**
+     * Publishes all the items on the pipeline.
+     *
+     * @param items the items to publish
+     */
+    private void publishAll(List<O> items) {
+        LOG.debug("[{}] Emitting {} messages", name(), items.size());
+        metrics.emitted(items.size());
+        dispatcher.dispatchAll(items);
     }
 
     @Override
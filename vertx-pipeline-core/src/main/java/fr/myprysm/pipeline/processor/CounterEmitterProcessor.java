@@ -19,7 +19,7 @@ package fr.myprysm.pipeline.processor;
 import fr.myprysm.pipeline.util.Signal;
 import fr.myprysm.pipeline.validation.ValidationResult;
 import io.reactivex.Completable;
-import io.reactivex.Single;
+import io.reactivex.Maybe;
 import io.vertx.core.json.JsonObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,9 +43,9 @@ public class CounterEmitterProcessor extends EmitterJsonProcessor<CounterEmitter
     private AtomicLong counter = new AtomicLong(0L);
 
     @Override
-    public Single<JsonObject> transform(JsonObject input) {
+    public Maybe<JsonObject> transform(JsonObject input) {
         handleSignal();
-        return Single.just(input);
+        return Maybe.just(input);
     }
 
     private void handleSignal() {
@@ -16,16 +16,16 @@
 
 package fr.myprysm.pipeline.processor;
 
-import fr.myprysm.pipeline.util.JsonHelpers;
+import fr.myprysm.pipeline.util.JsonPath;
 import fr.myprysm.pipeline.validation.ValidationResult;
-import io.netty.channel.EventLoop;
 import io.reactivex.Completable;
-import io.reactivex.Single;
+import io.reactivex.Maybe;
 import io.vertx.core.json.JsonObject;
-import io.vertx.reactivex.core.Future;
+import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import static fr.myprysm.pipeline.util.JsonHelpers.obj;
 import static io.reactivex.Completable.complete;
@@ -39,21 +39,22 @@ import static io.reactivex.Completable.complete;
  * chain will not be broken by checking unexisting path where error can be handled
  * in a more elegant manner and produce more relevant output.
  * <p>
- * This processor runs its transformations on a worker thread to avoid blocking the {@link EventLoop}.
+ * This processor runs its transformations on the event loop unless another execution mode is configured.
  */
+@Stateless
 public class DataExtractorProcessor extends BaseJsonProcessor<DataExtractorProcessorOptions> {
     public static final String THIS = "this";
 
     /**
-     * Stored as a {@link JsonObject}
-     * but this is basically a <code>Map&lt;String, String&gt;</code> that holds
-     * as key the path to extract from input objects and as value the
+     * The compiled mappings of the <code>extract</code> configuration,
+     * that holds on the left hand the path to extract from input objects (<code>null</code> for {@link #THIS})
+     * and on the right hand the path to write in output objects.
      */
-    private JsonObject extract;
+    private List<Pair<JsonPath, JsonPath>> extract;
 
     @Override
-    public Single<JsonObject> transform(JsonObject input) {
-        return vertx.rxExecuteBlocking(complete -> this.extractData(input, complete));
+    public Maybe<JsonObject> transform(JsonObject input) {
+        return Maybe.just(extractData(input));
     }
 
     /**
@@ -61,33 +62,28 @@ public class DataExtractorProcessor extends BaseJsonProcessor<DataExtractorProce
      * <p>
      * Retrieves <code>null</code> values when the input path does not exist,
      * creates the output path in any case.
-     * <p>
-     * Asynchronous operation executed on a worker thread.
      *
-     * @param complete the {@link Future} to complete once data is fully transformed.
+     * @param input the input object
+     * @return the output object
      */
-    private void extractData(JsonObject input, Future<JsonObject> complete) {
+    private JsonObject extractData(JsonObject input) {
         JsonObject output = obj();
-        for (Map.Entry<String, Object> mapping : extract) {
-            Optional<Object> value;
+        for (Pair<JsonPath, JsonPath> mapping : extract) {
+            JsonPath from = mapping.getLeft();
+            JsonPath to = mapping.getRight();
 
-            if (THIS.equals(mapping.getKey())) {
-                value = Optional.of(input);
+            if (from == null) {
+                to.put(output, input.copy());
             } else {
-                value = JsonHelpers.extractObject(input, mapping.getKey());
-            }
-
-            if (value.isPresent()) {
-                if (THIS.equals(mapping.getKey()) && value.get() instanceof JsonObject) {
-                    JsonHelpers.writeObject(output, (String) mapping.getValue(), ((JsonObject) value.get()).copy());
+                Object value = from.get(input);
+                if (value != null) {
+                    to.put(output, value);
                 } else {
-                    JsonHelpers.writeObject(output, (String) mapping.getValue(), value.get());
+                    to.ensure(output);
                 }
-            } else {
-                JsonHelpers.ensurePathExistsAndGet(output, (String) mapping.getValue());
             }
         }
-        complete.complete(output);
+        return output;
     }
 
     @Override
@@ -102,7 +98,11 @@ public class DataExtractorProcessor extends BaseJsonProcessor<DataExtractorProce
 
     @Override
     public Completable configure(DataExtractorProcessorOptions config) {
-        extract = config.getExtract();
+        extract = new ArrayList<>();
+        for (Map.Entry<String, Object> mapping : config.getExtract()) {
+            JsonPath from = THIS.equals(mapping.getKey()) ? null : JsonPath.compile(mapping.getKey());
+            extract.add(Pair.of(from, JsonPath.compile((String) mapping.getValue())));
+        }
         return complete();
     }
 
@@ -21,12 +21,19 @@ import io.vertx.core.json.JsonObject;
 /**
  * Exception that can throw/return a publisher when
  * it consumes an event but it doesn't want to respond yet.
+ * <p>
+ * The exception does not fill its stack trace.
+ *
+ * @deprecated a processor discards an event by returning an empty {@link io.reactivex.Maybe}
+ * from {@link Processor#transform(Object)}.
  */
+@Deprecated
 public class DiscardableEventException extends Exception {
 
     private JsonObject event;
 
     public DiscardableEventException(JsonObject object) {
+        super(null, null, false, false);
         event = object;
     }
 
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.processor;
+
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.eventbus.EventBus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * This processor runs a chain of {@link Stateless} processors inside a single verticle.
+ * <p>
+ * Each stage is configured exactly as if it was deployed on its own (name, options and validation),
+ * but events are handed from one stage to the next by chaining their {@link Processor#transform(Object)}
+ * instead of going through the {@link EventBus}.
+ * Each stage counts the items it handles in its own {@link ProcessorMetrics}, logged when the processor shuts down.
+ * <p>
+ * Fused processors are planned by the pipeline when <code>fuse</code> is enabled,
+ * they are not meant to be configured by hand.
+ */
+public class FusedProcessor extends BaseJsonProcessor<FusedProcessorOptions> {
+
+    private List<BaseJsonProcessor<?>> stages;
+
+    @Override
+    public Maybe<JsonObject> transform(JsonObject input) {
+        Maybe<JsonObject> output = stages.get(0).transformStage(input);
+        for (int i = 1, max = stages.size(); i < max; i++) {
+            output = output.flatMap(stages.get(i)::transformStage);
+        }
+        return output;
+    }
+
+    /**
+     * The stages of this processor, in order.
+     *
+     * @return the stages
+     */
+    List<BaseJsonProcessor<?>> stages() {
+        return stages;
+    }
+
+    /**
+     * The stages run on the event loop when they all do,
+     * otherwise they run one item after the other on the worker pool.
+     *
+     * @return the execution mode of the fused stages
+     */
+    @Override
+    protected ProcessorOptions.ExecutionMode defaultExecutionMode() {
+        boolean eventloop = stages.stream()
+                .allMatch(stage -> stage.executionMode() == ProcessorOptions.ExecutionMode.eventloop);
+        return eventloop ? ProcessorOptions.ExecutionMode.eventloop : ProcessorOptions.ExecutionMode.ordered_worker;
+    }
+
+    @Override
+    protected Completable startVerticle() {
+        return Completable.complete();
+    }
+
+    @Override
+    public FusedProcessorOptions readConfiguration(JsonObject config) {
+        return new FusedProcessorOptions(config);
+    }
+
+    @Override
+    public Completable configure(FusedProcessorOptions config) {
+        stages = new ArrayList<>();
+        List<Completable> startups = config.getStages().stream()
+                .map(JsonObject.class::cast)
+                .map(this::prepareStage)
+                .collect(toList());
+
+        return Completable.concat(startups);
+    }
+
+    /**
+     * Instantiates the stage and prepares its startup.
+     * <p>
+     * The stage shares the exchange configuration of this processor.
+     *
+     * @param stageConfig the configuration of the stage
+     * @return the startup of the stage
+     */
+    private Completable prepareStage(JsonObject stageConfig) {
+        JsonObject config = stageConfig.copy()
+                .put("from", from())
+                .put("to", new JsonArray(exchange().getTo()))
+                .put("controlChannel", exchange().getControlChannel());
+
+        return Single.fromCallable(() -> (BaseJsonProcessor<?>) Class.forName(config.getString("type")).newInstance())
+                .doOnSuccess(stages::add)
+                .flatMapCompletable(stage -> stage.embed(vertx, context, config));
+    }
+
+    @Override
+    public Completable shutdown() {
+        return Completable.concat(stages.stream().map(AbstractProcessor::release).collect(toList()));
+    }
+
+    @Override
+    public ValidationResult validate(JsonObject config) {
+        return FusedProcessorOptionsValidation.validate(config);
+    }
+}
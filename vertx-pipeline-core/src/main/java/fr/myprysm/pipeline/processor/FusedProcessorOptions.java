@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.processor;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.arr;
+
+@DataObject(generateConverter = true)
+public class FusedProcessorOptions extends ProcessorOptions {
+    public static final JsonArray DEFAULT_STAGES = arr();
+
+    private JsonArray stages = DEFAULT_STAGES;
+
+    public FusedProcessorOptions() {
+        super();
+    }
+
+    public FusedProcessorOptions(FusedProcessorOptions other) {
+        super(other);
+        stages = other.stages;
+    }
+
+    public FusedProcessorOptions(ProcessorOptions other) {
+        super(other);
+    }
+
+    public FusedProcessorOptions(JsonObject json) {
+        super(json);
+        FusedProcessorOptionsConverter.fromJson(json, this);
+    }
+
+    /**
+     * The configurations of the fused stages.
+     *
+     * @return the configurations of the fused stages
+     */
+    public JsonArray getStages() {
+        return stages;
+    }
+
+    /**
+     * The configurations of the fused stages.
+     * <p>
+     * Each stage is the configuration of a {@link Stateless} processor, exactly as it would have been
+     * deployed on its own. Stages are chained in order.
+     * <p>
+     * This is populated by the pipeline when processors are fused.
+     *
+     * @param stages the configurations of the fused stages
+     * @return this
+     */
+    public FusedProcessorOptions setStages(JsonArray stages) {
+        this.stages = stages;
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return super.getName();
+    }
+
+    @Override
+    public FusedProcessorOptions setName(String name) {
+        return (FusedProcessorOptions) super.setName(name);
+    }
+
+    @Override
+    public String getType() {
+        return super.getType();
+    }
+
+    @Override
+    public FusedProcessorOptions setType(String type) {
+        return (FusedProcessorOptions) super.setType(type);
+    }
+
+    @Override
+    public Integer getInstances() {
+        return super.getInstances();
+    }
+
+    @Override
+    public FusedProcessorOptions setInstances(Integer instances) {
+        return (FusedProcessorOptions) super.setInstances(instances);
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject json = super.toJson();
+        FusedProcessorOptionsConverter.toJson(this, json);
+        return json;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FusedProcessorOptions)) return false;
+        if (!super.equals(o)) return false;
+        FusedProcessorOptions that = (FusedProcessorOptions) o;
+        return Objects.equals(stages, that.stages);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(super.hashCode(), stages);
+    }
+
+    @Override
+    public String toString() {
+        return "FusedProcessorOptions{" +
+                "stages=" + stages +
+                "} " + super.toString();
+    }
+}
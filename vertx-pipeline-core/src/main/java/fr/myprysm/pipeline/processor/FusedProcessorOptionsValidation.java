@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.processor;
+
+import fr.myprysm.pipeline.validation.JsonValidation;
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.vertx.core.json.JsonObject;
+
+import static fr.myprysm.pipeline.util.ClasspathHelpers.getStatelessProcessorClassNames;
+import static fr.myprysm.pipeline.validation.JsonValidation.arrayOf;
+import static fr.myprysm.pipeline.validation.JsonValidation.holds;
+
+public interface FusedProcessorOptionsValidation {
+
+    static ValidationResult validate(JsonObject config) {
+        return arrayOf("stages", JsonObject.class)
+                .and(holds(json -> !json.getJsonArray("stages").isEmpty(), "A fused processor requires at least one stage"))
+                .and(stagesAreStateless())
+                .apply(config);
+    }
+
+    /**
+     * Validate that each stage is a {@link Stateless} processor.
+     *
+     * @return validation result
+     */
+    static JsonValidation stagesAreStateless() {
+        return holds(json -> json.getJsonArray("stages").stream()
+                        .map(JsonObject.class::cast)
+                        .allMatch(stage -> getStatelessProcessorClassNames().contains(stage.getValue("type"))),
+                "Only stateless processors can be fused");
+    }
+}
@@ -18,7 +18,7 @@ package fr.myprysm.pipeline.processor;
 
 import fr.myprysm.pipeline.validation.ValidationResult;
 import io.reactivex.Completable;
-import io.reactivex.Single;
+import io.reactivex.Maybe;
 import io.vertx.core.json.JsonObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +36,7 @@ import static io.reactivex.Completable.complete;
  * <p>
  * Default log {@link org.slf4j.event.Level} is set to <code>DEBUG</code>
  */
+@Stateless
 public class LogProcessor extends BaseJsonProcessor<LogProcessorOptions> {
     private static final Logger LOG = LoggerFactory.getLogger(LogProcessor.class);
     private static final String MESSAGE_TPL = "Message: {}";
@@ -45,9 +46,9 @@ public class LogProcessor extends BaseJsonProcessor<LogProcessorOptions> {
 
 
     @Override
-    public Single<JsonObject> transform(JsonObject input) {
+    public Maybe<JsonObject> transform(JsonObject input) {
         this.log(input);
-        return Single.just(input);
+        return Maybe.just(input);
     }
 
     private void log(JsonObject input) {
@@ -17,23 +17,18 @@
 package fr.myprysm.pipeline.processor;
 
 import fr.myprysm.pipeline.util.JsonHelpers;
+import fr.myprysm.pipeline.util.JsonPath;
 import fr.myprysm.pipeline.util.Signal;
 import fr.myprysm.pipeline.validation.ValidationResult;
 import io.reactivex.Completable;
-import io.reactivex.Single;
+import io.reactivex.Maybe;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
-import io.vertx.reactivex.core.Future;
-import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
-import java.util.function.ToDoubleFunction;
-import java.util.function.ToLongFunction;
 
 import static fr.myprysm.pipeline.processor.MergeBasicProcessorOptions.*;
 import static fr.myprysm.pipeline.util.JsonHelpers.*;
@@ -46,30 +41,43 @@ public class MergeBasicProcessor extends FlushableJsonProcessor<MergeBasicProces
 
 
     private ConcurrentHashMap<Object, JsonObject> map;
-    private JsonObject operations;
+    private JsonPath key;
+    private JsonPath mergeArrays;
+    private JsonPath sortArray;
+    private String sortArrayField;
+    private Comparator<JsonObject> sortArrayComparator;
     private JsonObject onFlush;
+    private Comparator<JsonObject> onFlushComparator;
 
-    public Single<JsonObject> transform(JsonObject input) {
-        // Execute those steps as they come and wait for each to be done
-        // before starting to ingest the next event.
-        return vertx.rxExecuteBlocking(result -> this.internalTransform(input, result), true);
-    }
-
-    private void internalTransform(JsonObject input, Future<JsonObject> result) {
+    public Maybe<JsonObject> transform(JsonObject input) {
+        // Events are merged until the next flush, nothing is emitted here.
         JsonObject data = input.copy();
-        getKeyToObj(data).ifPresent(this::insertItem);
+        Object value = key.get(data);
+        if (filterAcceptedTypes(value)) {
+            insertItem(value, data);
+        }
 
-        result.fail(new DiscardableEventException(input));
+        return Maybe.empty();
     }
 
-    private void insertItem(Pair<Object, JsonObject> keyToObj) {
-        JsonObject json = keyToObj.getRight();
+    /**
+     * Executes the merges as they come and waits for each to be done
+     * before starting to ingest the next event.
+     *
+     * @return {@link ProcessorOptions.ExecutionMode#ordered_worker}
+     */
+    @Override
+    protected ProcessorOptions.ExecutionMode defaultExecutionMode() {
+        return ProcessorOptions.ExecutionMode.ordered_worker;
+    }
+
+    private void insertItem(Object key, JsonObject json) {
         JsonObject original = json;
 
-        if (!map.containsKey(keyToObj.getKey())) {
-            map.put(keyToObj.getKey(), json);
+        if (!map.containsKey(key)) {
+            map.put(key, json);
         } else {
-            original = map.get(keyToObj.getKey());
+            original = map.get(key);
         }
 
         // No need to compute if this is the first time we see the item.
@@ -87,42 +95,37 @@ public class MergeBasicProcessor extends FlushableJsonProcessor<MergeBasicProces
      * @param json     the json to export values into original.
      */
     private void mergeArrays(JsonObject original, JsonObject json) {
-        String arrayPath = operations.getString(MERGE_ARRAYS);
-        if (arrayPath != null) {
-            extractJsonArray(json, arrayPath)
-                .ifPresent(newValues -> {
-                    JsonArray array = extractJsonArray(original, arrayPath).orElse(arr());
-                    List<Object> toAdd = newValues.stream().filter(value -> !array.contains(value)).collect(toList());
-
-                    if (!toAdd.isEmpty()) {
-                        array.addAll(new JsonArray(toAdd));
-                    }
-
-                    writeObject(json, arrayPath, array);
-                });
+        if (mergeArrays != null) {
+            JsonArray newValues = mergeArrays.getJsonArray(json);
+            if (newValues != null) {
+                JsonArray existing = mergeArrays.getJsonArray(original);
+                JsonArray array = existing != null ? existing : arr();
+                List<Object> toAdd = newValues.stream().filter(value -> !array.contains(value)).collect(toList());
+
+                if (!toAdd.isEmpty()) {
+                    array.addAll(new JsonArray(toAdd));
+                }
+
+                mergeArrays.put(json, array);
+            }
         }
     }
 
     private void sortArray(JsonObject json) {
-        JsonObject sort = operations.getJsonObject(SORT_ARRAY);
-        if (sort != null && canSort(sort)) {
-            String path = sort.getString(SORT_PATH);
-            String field = sort.getString(SORT_FIELD);
-            String order = "DESC".equals(sort.getString(SORT_ORDER)) ? "DESC" : "ASC";
-            String type = sort.getString(SORT_TYPE, "string");
-
-            extractJsonArray(json, path)
-                .ifPresent(array -> writeObject(json, path,
-                    array.stream()
-                        .filter(item -> item instanceof JsonObject && ((JsonObject) item).getValue(field) != null)
-                        .map(JsonObject.class::cast)
-                        .sorted(this.getComparator(field, type, order)).collect(JsonHelpers::arr, JsonArray::add, JsonArray::addAll)
-                ));
+        if (sortArray != null) {
+            JsonArray array = sortArray.getJsonArray(json);
+            if (array != null) {
+                sortArray.put(json, array.stream()
+                    .filter(item -> item instanceof JsonObject && ((JsonObject) item).getValue(sortArrayField) != null)
+                    .map(JsonObject.class::cast)
+                    .sorted(sortArrayComparator).collect(JsonHelpers::arr, JsonArray::add, JsonArray::addAll)
+                );
+            }
         }
     }
 
     /**
-     * Constructs a comparator based on the field name, the provided type
+     * Constructs a comparator based on the field path, the provided type
      * and the order.
      * <p>
      * Anything else than "DESC" for descending order will result into ascending order.
@@ -132,32 +135,19 @@ public class MergeBasicProcessor extends FlushableJsonProcessor<MergeBasicProces
      * @param order the ordering
      * @return the comparator
      */
-    @SuppressWarnings({"ConstantConditions"})
     private Comparator<JsonObject> getComparator(String field, String type, String order) {
         Comparator<JsonObject> comparator;
-        Boolean descending = "DESC".equals(order);
-        Pair<String, String> pathAndField = JsonHelpers.toPathAndField(field);
-        String p = pathAndField.getLeft();
-
-        ToLongFunction<JsonObject> extractLong = item -> item.getLong(field);
-        ToDoubleFunction<JsonObject> extractDouble = item -> item.getDouble(field);
-        Function<JsonObject, String> extractString = item -> item.getString(field);
-
-        if (!EMPTY_STRING.equals(p)) {
-            extractLong = item -> extractLong(item, field).orElse(null);
-            extractDouble = item -> extractDouble(item, field).orElse(null);
-            extractString = item -> extractString(item, field).orElse(null);
-        }
+        JsonPath path = JsonPath.compile(field);
 
         if ("long".equals(type)) {
-            comparator = Comparator.comparingLong(extractLong);
+            comparator = Comparator.comparingLong(path::getLong);
         } else if ("double".equals(type)) {
-            comparator = Comparator.comparingDouble(extractDouble);
+            comparator = Comparator.comparingDouble(path::getDouble);
         } else {
-            comparator = Comparator.comparing(extractString);
+            comparator = Comparator.comparing(path::getString);
         }
 
-        if (descending) {
+        if ("DESC".equals(order)) {
             comparator = comparator.reversed();
         }
 
@@ -170,12 +160,6 @@ public class MergeBasicProcessor extends FlushableJsonProcessor<MergeBasicProces
             (json.getValue("order") == null || json.getValue("order") instanceof String);
     }
 
-    private Optional<Pair<Object, JsonObject>> getKeyToObj(JsonObject data) {
-        return JsonHelpers.extractObject(data, operations.getString(OBJ_TO_KEY))
-            .filter(this::filterAcceptedTypes)
-            .map(value -> Pair.of(value, data));
-    }
-
     /**
      * Should accept only Strings and integer numbers.
      *
@@ -199,8 +183,32 @@ public class MergeBasicProcessor extends FlushableJsonProcessor<MergeBasicProces
     }
 
     public Completable configure(MergeBasicProcessorOptions config) {
-        operations = config.getOperations();
+        JsonObject operations = config.getOperations();
+        key = JsonPath.compile(operations.getString(OBJ_TO_KEY));
+
+        String arrayPath = operations.getString(MERGE_ARRAYS);
+        mergeArrays = arrayPath != null ? JsonPath.compile(arrayPath) : null;
+
+        JsonObject sort = operations.getJsonObject(SORT_ARRAY);
+        if (sort != null && canSort(sort)) {
+            String order = "DESC".equals(sort.getString(SORT_ORDER)) ? "DESC" : "ASC";
+            sortArray = JsonPath.compile(sort.getString(SORT_PATH));
+            sortArrayField = sort.getString(SORT_FIELD);
+            sortArrayComparator = getComparator(sort.getString(SORT_FIELD), sort.getString(SORT_TYPE, "string"), order);
+        } else {
+            sortArray = null;
+            sortArrayField = null;
+            sortArrayComparator = null;
+        }
+
         onFlush = config.getOnFlush();
+        JsonObject flushSort = onFlush.getJsonObject("sort");
+        if (flushSort != null && !EMPTY_STRING.equals(flushSort.getString("path", ""))) {
+            String order = "DESC".equals(flushSort.getString(SORT_ORDER)) ? "DESC" : "ASC";
+            onFlushComparator = getComparator(flushSort.getString("path"), flushSort.getString("type", "string"), order);
+        } else {
+            onFlushComparator = null;
+        }
         map = new ConcurrentHashMap<>(config.getDefaultCapacity().intValue());
         return complete();
     }
@@ -233,13 +241,10 @@ public class MergeBasicProcessor extends FlushableJsonProcessor<MergeBasicProces
 
         JsonObject sort = onFlush.getJsonObject("sort");
         if (sort != null) {
-            String type = sort.getString("type", "string");
-            String path = sort.getString("path", "");
-            String order = "DESC".equals(sort.getString(SORT_ORDER)) ? "DESC" : "ASC";
-            if (!EMPTY_STRING.equals(path)) {
-                error("Sorting on {}", type, path, order);
+            if (onFlushComparator != null) {
+                error("Sorting on {}", sort.getString("type", "string"), sort.getString("path"), sort.getString(SORT_ORDER));
                 List<JsonObject> list = new ArrayList<>(map.values());
-                list.sort(this.getComparator(path, type, order));
+                list.sort(onFlushComparator);
                 arr = new JsonArray(list);
             }
 
@@ -252,7 +257,7 @@ public class MergeBasicProcessor extends FlushableJsonProcessor<MergeBasicProces
         }
 
         obj.put("merged", arr);
-        eventBus().send(to(), obj);
+        publish(obj);
 
         return this.resetMap();
     }
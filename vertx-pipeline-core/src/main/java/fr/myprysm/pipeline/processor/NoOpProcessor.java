@@ -18,18 +18,19 @@ package fr.myprysm.pipeline.processor;
 
 import fr.myprysm.pipeline.validation.ValidationResult;
 import io.reactivex.Completable;
-import io.reactivex.Single;
+import io.reactivex.Maybe;
 import io.vertx.core.json.JsonObject;
 
 /**
  * A processor that does nothing.
  * It emits the items as they come.
  */
+@Stateless
 public final class NoOpProcessor extends BaseJsonProcessor<ProcessorOptions> {
 
     @Override
-    public Single<JsonObject> transform(JsonObject input) {
-        return Single.just(input);
+    public Maybe<JsonObject> transform(JsonObject input) {
+        return Maybe.just(input);
     }
 
     @Override
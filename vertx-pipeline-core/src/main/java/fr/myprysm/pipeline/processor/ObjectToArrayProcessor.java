@@ -16,21 +16,18 @@
 
 package fr.myprysm.pipeline.processor;
 
-import fr.myprysm.pipeline.util.JsonHelpers;
+import fr.myprysm.pipeline.util.JsonPath;
 import fr.myprysm.pipeline.validation.ValidationResult;
-import io.netty.channel.EventLoop;
 import io.reactivex.Completable;
-import io.reactivex.Single;
+import io.reactivex.Maybe;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
-import io.vertx.reactivex.core.Future;
-import org.apache.commons.lang3.tuple.Pair;
 
-import java.util.Optional;
+import java.util.List;
 
-import static fr.myprysm.pipeline.util.JsonHelpers.EMPTY_STRING;
 import static fr.myprysm.pipeline.util.JsonHelpers.arr;
 import static io.reactivex.Completable.complete;
+import static java.util.stream.Collectors.toList;
 
 /**
  * This processor provides capability to transform an input field to an array.
@@ -42,44 +39,34 @@ import static io.reactivex.Completable.complete;
  * chain will not be broken by checking unexisting path where error can be handled
  * in a more elegant manner and produce more relevant output.
  * <p>
- * This processor runs its transformations on a worker thread to avoid blocking the {@link EventLoop}.
+ * This processor runs its transformations on the event loop unless another execution mode is configured.
  */
+@Stateless
 public class ObjectToArrayProcessor extends BaseJsonProcessor<ObjectToArrayProcessorOptions> {
 
-    private JsonArray fields;
+    private List<JsonPath> fields;
 
     @Override
-    public Single<JsonObject> transform(JsonObject input) {
-        return vertx.rxExecuteBlocking(complete -> this.extractData(input, complete));
+    public Maybe<JsonObject> transform(JsonObject input) {
+        return Maybe.just(extractData(input));
     }
 
-    private void extractData(JsonObject input, Future<JsonObject> complete) {
+    private JsonObject extractData(JsonObject input) {
         JsonObject output = input.copy();
-        for (Object o : fields) {
-            String field = (String) o;
+        for (JsonPath field : fields) {
             JsonArray array = arr();
-            Optional<Object> optional = JsonHelpers.extractObject(input, field);
-
-            if (optional.isPresent()) {
-                Object value = optional.get();
-                if (value instanceof JsonObject) {
-                    array.add(((JsonObject) value).copy());
-                } else {
-                    array.add(value);
-                }
+            Object value = field.get(input);
 
+            if (value instanceof JsonObject) {
+                array.add(((JsonObject) value).copy());
+            } else if (value != null) {
+                array.add(value);
             }
 
-            Pair<String, String> pathAndField = JsonHelpers.toPathAndField(field);
-            if (EMPTY_STRING.equals(pathAndField.getLeft())) {
-                output.put(pathAndField.getRight(), array);
-            } else {
-                JsonHelpers.ensurePathExistsAndGet(output, pathAndField.getLeft())
-                        .put(pathAndField.getRight(), array);
-            }
+            field.put(output, array);
         }
 
-        complete.complete(output);
+        return output;
     }
 
     @Override
@@ -94,7 +81,10 @@ public class ObjectToArrayProcessor extends BaseJsonProcessor<ObjectToArrayProce
 
     @Override
     public Completable configure(ObjectToArrayProcessorOptions config) {
-        fields = config.getFields();
+        fields = config.getFields().stream()
+                .map(String.class::cast)
+                .map(JsonPath::compile)
+                .collect(toList());
         return complete();
     }
 
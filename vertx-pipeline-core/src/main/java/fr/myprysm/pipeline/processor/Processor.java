@@ -20,8 +20,12 @@ import fr.myprysm.pipeline.pump.Pump;
 import fr.myprysm.pipeline.sink.Sink;
 import fr.myprysm.pipeline.util.Consumer;
 import fr.myprysm.pipeline.util.Publisher;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
 import io.reactivex.Single;
 
+import java.util.List;
+
 /**
  * A Processor is part of a pipeline configured from a {@link Pump} to a {@link Sink}.
  * <p>
@@ -38,10 +42,30 @@ public interface Processor<I, O> extends Publisher<O>, Consumer<I> {
      * Transforms the input item into a new item.
      * This function is basically a mapper that takes it's input, does some processing on it,
      * and finally produces a new item as output.
+     * <p>
+     * A processor discards an item by completing without any value.
+     * Discarding is a normal outcome and must not be signaled with an error.
      *
      * @param input the item to transform
-     * @return the transformed item.
+     * @return the transformed item, or nothing when the item is discarded.
+     */
+    Maybe<O> transform(I input);
+
+    /**
+     * Transforms a whole batch of items.
+     * <p>
+     * This is called when the previous stage of the pipeline sends its items in batches.
+     * By default each item is transformed with {@link #transform(Object)},
+     * processors that can handle a batch at once should override this method.
+     * Discarded items are not part of the output.
+     *
+     * @param batch the items to transform
+     * @return the transformed items.
      */
-    Single<O> transform(I input);
+    default Single<List<O>> transformBatch(List<I> batch) {
+        return Flowable.fromIterable(batch)
+                .concatMap(input -> transform(input).toFlowable())
+                .toList();
+    }
 
 }
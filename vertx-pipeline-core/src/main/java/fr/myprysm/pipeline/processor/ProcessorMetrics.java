@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.processor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the items handled by a processor.
+ * <p>
+ * An item received by the processor is either emitted, discarded or failed.
+ * Discarded items are the ones for which the transformation produced no output,
+ * they are expected and are not errors.
+ */
+public class ProcessorMetrics {
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder emitted = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    void received(int items) {
+        received.add(items);
+    }
+
+    void emitted(int items) {
+        emitted.add(items);
+    }
+
+    void discarded() {
+        discarded.increment();
+    }
+
+    void failed() {
+        failed.increment();
+    }
+
+    /**
+     * The number of items received by the processor.
+     *
+     * @return the number of items received
+     */
+    public long getReceived() {
+        return received.sum();
+    }
+
+    /**
+     * The number of items emitted by the processor.
+     *
+     * @return the number of items emitted
+     */
+    public long getEmitted() {
+        return emitted.sum();
+    }
+
+    /**
+     * The number of items the processor transformed into no output.
+     *
+     * @return the number of items discarded
+     */
+    public long getDiscarded() {
+        return discarded.sum();
+    }
+
+    /**
+     * The number of items that failed to be transformed.
+     *
+     * @return the number of items failed
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessorMetrics{" +
+                "received=" + getReceived() +
+                ", emitted=" + getEmitted() +
+                ", discarded=" + getDiscarded() +
+                ", failed=" + getFailed() +
+                '}';
+    }
+}
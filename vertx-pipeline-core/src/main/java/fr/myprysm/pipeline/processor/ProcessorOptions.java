@@ -34,6 +34,7 @@ public class ProcessorOptions implements Options {
     private String name = DEFAULT_NAME;
     private String type = DEFAULT_TYPE;
     private Integer instances = DEFAULT_INSTANCES;
+    private ExecutionMode executionMode;
 
     public ProcessorOptions() {
 
@@ -43,6 +44,7 @@ public class ProcessorOptions implements Options {
         name = other.name;
         type = other.type;
         instances = other.instances;
+        executionMode = other.executionMode;
     }
 
 
@@ -120,6 +122,39 @@ public class ProcessorOptions implements Options {
         return this;
     }
 
+    /**
+     * The thread on which the processor transforms its items.
+     *
+     * @return the execution mode
+     */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * The thread on which the processor transforms its items.
+     * <p>
+     * One of:
+     * <ul>
+     * <li><code>eventloop</code>: items are transformed on the event loop of the processor</li>
+     * <li><code>worker</code>: items are transformed on the worker pool, concurrently</li>
+     * <li><code>ordered_worker</code>: items are transformed on the worker pool, one after the other</li>
+     * <li><code>virtual_thread</code>: items are transformed on virtual threads,
+     * falls back to <code>worker</code> when the JVM does not support them</li>
+     * </ul>
+     * <p>
+     * Items are always emitted from the event loop of the processor.
+     * <p>
+     * When not set, each processor uses its own default, usually <code>eventloop</code>.
+     *
+     * @param executionMode the execution mode
+     * @return this
+     */
+    public ProcessorOptions setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+        return this;
+    }
+
     /**
      * Returns this object as a {@link JsonObject}
      *
@@ -138,6 +173,7 @@ public class ProcessorOptions implements Options {
                 "name='" + name + '\'' +
                 ", type='" + type + '\'' +
                 ", instances=" + instances +
+                ", executionMode=" + executionMode +
                 '}';
     }
 
@@ -148,12 +184,23 @@ public class ProcessorOptions implements Options {
         ProcessorOptions that = (ProcessorOptions) o;
         return Objects.equals(name, that.name) &&
                 Objects.equals(type, that.type) &&
-                Objects.equals(instances, that.instances);
+                Objects.equals(instances, that.instances) &&
+                executionMode == that.executionMode;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, type, instances);
+        return Objects.hash(name, type, instances, executionMode);
+    }
+
+    /**
+     * The thread on which a processor transforms its items.
+     */
+    public enum ExecutionMode {
+        eventloop,
+        worker,
+        ordered_worker,
+        virtual_thread
     }
 
 
@@ -21,6 +21,8 @@ import fr.myprysm.pipeline.validation.JsonValidation;
 import fr.myprysm.pipeline.validation.ValidationResult;
 
 import static java.util.Objects.requireNonNull;
+import static fr.myprysm.pipeline.validation.JsonValidation.isEnum;
+import static fr.myprysm.pipeline.validation.JsonValidation.isNull;
 import static fr.myprysm.pipeline.validation.JsonValidation.isString;
 
 public interface ProcessorOptionsValidation extends JsonValidation {
@@ -35,6 +37,7 @@ public interface ProcessorOptionsValidation extends JsonValidation {
         requireNonNull(options);
         return hasName()
             .and(hasType())
+            .and(hasExecutionMode())
             .apply(options);
     }
 
@@ -46,4 +49,8 @@ public interface ProcessorOptionsValidation extends JsonValidation {
         return isString("type");
     }
 
+    static JsonValidation hasExecutionMode() {
+        return isNull("executionMode").or(isEnum("executionMode", ProcessorOptions.ExecutionMode.class));
+    }
+
 }
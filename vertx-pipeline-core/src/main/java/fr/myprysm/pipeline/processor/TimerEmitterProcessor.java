@@ -20,7 +20,7 @@ import fr.myprysm.pipeline.util.Signal;
 import fr.myprysm.pipeline.validation.ValidationResult;
 import io.reactivex.Completable;
 import io.reactivex.Flowable;
-import io.reactivex.Single;
+import io.reactivex.Maybe;
 import io.reactivex.disposables.Disposable;
 import io.vertx.core.json.JsonObject;
 import org.slf4j.Logger;
@@ -45,8 +45,8 @@ public class TimerEmitterProcessor extends EmitterJsonProcessor<TimerEmitterProc
     private Disposable disposable;
 
     @Override
-    public Single<JsonObject> transform(JsonObject input) {
-        return Single.just(input);
+    public Maybe<JsonObject> transform(JsonObject input) {
+        return Maybe.just(input);
     }
 
     @Override
@@ -14,21 +14,25 @@
  *    limitations under the License.
  */
 
+
 package fr.myprysm.pipeline.pump;
 
 import fr.myprysm.pipeline.pipeline.ExchangeOptions;
+import fr.myprysm.pipeline.pipeline.ExchangeOptionsValidation;
 import fr.myprysm.pipeline.util.ConfigurableVerticle;
-import fr.myprysm.pipeline.util.RoundRobin;
+import fr.myprysm.pipeline.util.Dispatcher;
+import fr.myprysm.pipeline.util.EventBatchCodec;
+import fr.myprysm.pipeline.util.SmileMessageCodec;
 import fr.myprysm.pipeline.validation.ValidationResult;
 import io.reactivex.Completable;
 import io.reactivex.Flowable;
 import io.reactivex.disposables.Disposable;
+import io.reactivex.subscribers.DisposableSubscriber;
 import io.vertx.core.json.JsonObject;
 import io.vertx.reactivex.core.eventbus.EventBus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Iterator;
 import java.util.List;
 
 abstract class AbstractPump<O, T extends PumpOptions> extends ConfigurableVerticle<T> implements Pump<O> {
@@ -37,13 +41,15 @@ abstract class AbstractPump<O, T extends PumpOptions> extends ConfigurableVertic
 
     private ExchangeOptions exchange;
     private List<String> recipients;
-    private Iterator<String> to;
     private EventBus eventBus;
     private Disposable source;
+    private Dispatcher<O> dispatcher;
+    private CreditSubscriber subscriber;
 
     @Override
     protected ValidationResult preValidate(JsonObject config) {
-        return PumpOptionsValidation.validate(config);
+        return PumpOptionsValidation.validate(config)
+                .and(() -> ExchangeOptionsValidation.validate(config));
     }
 
     /**
@@ -59,21 +65,48 @@ abstract class AbstractPump<O, T extends PumpOptions> extends ConfigurableVertic
         exchange = new ExchangeOptions(config);
         name = pump.getName();
         recipients = exchange.getTo();
-        to = RoundRobin.of(recipients).iterator();
         eventBus = vertx.eventBus();
+        EventBatchCodec.register(eventBus);
+        SmileMessageCodec.register(eventBus);
+        dispatcher = new Dispatcher<>(vertx, exchange, this::onCredit);
         return config;
     }
 
+    /**
+     * Subscribes to the {@link #pump()}.
+     * <p>
+     * When recipients grant credits, items are requested from the source only as credits allow.
+     *
+     * @return a completable that completes once the pump is started
+     */
     @Override
     protected Completable postStartVerticle() {
-        source = pump().subscribe(this::publish, this::handleError);
-        return Completable.complete();
+        if (!dispatcher.flowControlled()) {
+            source = pump().subscribe(this::publish, this::handleError);
+            return Completable.complete();
+        }
+
+        return dispatcher.start().doOnComplete(() -> {
+            subscriber = new CreditSubscriber();
+            source = pump().subscribeWith(subscriber);
+        });
     }
 
     @Override
     protected Completable preShutdown() {
         source.dispose();
-        return Completable.complete();
+        return dispatcher.stop();
+    }
+
+    /**
+     * Requests as many items from the source as credits were granted.
+     *
+     * @param granted the number of credits granted
+     */
+    private void onCredit(Integer granted) {
+        if (subscriber != null) {
+            subscriber.grant(granted);
+        }
     }
 
     /**
@@ -101,7 +134,7 @@ abstract class AbstractPump<O, T extends PumpOptions> extends ConfigurableVertic
      * @return the address to send messages.
      */
     public String to() {
-        return to.next();
+        return dispatcher.next();
     }
 
     @Override
@@ -121,10 +154,39 @@ abstract class AbstractPump<O, T extends PumpOptions> extends ConfigurableVertic
 
     @Override
     public void publish(O item) {
-        LOG.debug("Sending item: {}", item.toString());
-        eventBus().send(to(), item);
+        LOG.debug("Sending item: {}", item);
+        dispatcher.dispatch(item);
     }
 
+    /**
+     * Subscriber that requests items from the source as credits are granted by the recipients.
+     */
+    private class CreditSubscriber extends DisposableSubscriber<O> {
+
+        @Override
+        protected void onStart() {
+            request(dispatcher.capacity());
+        }
+
+        @Override
+        public void onNext(O item) {
+            publish(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            handleError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            LOG.debug("[{}] source completed", name());
+        }
+
+        void grant(long credits) {
+            request(credits);
+        }
+    }
 
     @Override
     protected Logger delegate() {
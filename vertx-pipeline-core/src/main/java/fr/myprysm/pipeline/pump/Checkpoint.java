@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.reactivex.Completable;
+import io.reactivex.CompletableEmitter;
+import io.reactivex.Single;
+import io.vertx.core.file.CopyOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.file.FileSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static io.reactivex.Completable.defer;
+
+/**
+ * The state of a pump saved in a file, so that a pump that starts again resumes where it stopped.
+ * <p>
+ * The state is written in a temporary file that replaces the checkpoint file atomically,
+ * a checkpoint file is never partially written.
+ * Saves happen one after the other: a state saved while a save is in progress is written once it is done,
+ * replacing any state waiting before it. A state that did not change since the last save is not written again.
+ * <p>
+ * It is meant to be used from the context of the pump.
+ */
+class Checkpoint {
+    private final FileSystem fs;
+    private final String path;
+    private final String temporary;
+    private JsonObject saved;
+    private boolean saving = false;
+    private JsonObject pending;
+    private List<CompletableEmitter> waiting = new ArrayList<>();
+
+    /**
+     * Creates a checkpoint.
+     *
+     * @param vertx the vertx instance
+     * @param path  the path of the checkpoint file
+     */
+    Checkpoint(Vertx vertx, String path) {
+        this.fs = vertx.fileSystem();
+        this.path = path;
+        this.temporary = path + ".tmp";
+    }
+
+    /**
+     * Loads the saved state.
+     *
+     * @return the saved state, empty when there is none
+     */
+    Single<JsonObject> load() {
+        return fs.rxExists(path).flatMap(exists -> exists
+                ? fs.rxReadFile(path).map(content -> new JsonObject(content.toString()))
+                : Single.just(obj()))
+                .doOnSuccess(state -> saved = state);
+    }
+
+    /**
+     * Saves the state once the save in progress, if any, is done.
+     *
+     * @param state the state to save
+     * @return a {@link Completable} that completes once the state, or a state saved after it, is saved
+     */
+    Completable save(JsonObject state) {
+        return Completable.create(emitter -> {
+            pending = state.copy();
+            waiting.add(emitter);
+            if (!saving) {
+                saveNext();
+            }
+        });
+    }
+
+    /**
+     * Writes the latest state waiting to be saved, if any.
+     */
+    private void saveNext() {
+        if (pending == null) {
+            return;
+        }
+
+        JsonObject state = pending;
+        List<CompletableEmitter> emitters = waiting;
+        pending = null;
+        waiting = new ArrayList<>();
+        if (state.equals(saved)) {
+            emitters.forEach(CompletableEmitter::onComplete);
+            return;
+        }
+
+        saving = true;
+        Buffer content = Buffer.buffer(state.encode());
+        fs.rxWriteFile(temporary, content)
+                .andThen(defer(() -> fs.rxMove(temporary, path, new CopyOptions().setReplaceExisting(true).setAtomicMove(true))))
+                .subscribe(() -> {
+                    saved = state;
+                    saved(emitters, null);
+                }, throwable -> saved(emitters, throwable));
+    }
+
+    private void saved(List<CompletableEmitter> emitters, Throwable throwable) {
+        saving = false;
+        for (CompletableEmitter emitter : emitters) {
+            if (throwable != null) {
+                emitter.onError(throwable);
+            } else {
+                emitter.onComplete();
+            }
+        }
+        saveNext();
+    }
+}
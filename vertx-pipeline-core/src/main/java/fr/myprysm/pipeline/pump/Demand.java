@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableEmitter;
+import io.vertx.reactivex.core.Context;
+import io.vertx.reactivex.core.Vertx;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The demand of the pipeline for the items of a pump fed by its clients.
+ * <p>
+ * Items are emitted only while the pipeline requests them.
+ * Clients that have items to emit while it does not wait in order,
+ * and are resumed on the context of the pump once the pipeline requests items again.
+ * <p>
+ * It must be used on the context of the pump only.
+ *
+ * @param <T> the type of items
+ */
+final class Demand<T> {
+    private final Deque<Runnable> waiting = new ArrayDeque<>();
+    private FlowableEmitter<T> emitter;
+
+    /**
+     * The items emitted, to be returned by the {@link Pump#pump()}.
+     *
+     * @param vertx the vertx instance of the pump
+     * @return the items emitted
+     */
+    Flowable<T> flowable(Vertx vertx) {
+        Context context = vertx.getOrCreateContext();
+        return Flowable.<T>create(emitter -> this.emitter = emitter, BackpressureStrategy.BUFFER)
+                .doOnRequest(requested -> context.runOnContext(v -> resume()));
+    }
+
+    /**
+     * Indicates whether the pipeline requests more items.
+     *
+     * @return <code>true</code> when an item can be emitted
+     */
+    boolean available() {
+        return emitter != null && !emitter.isCancelled() && emitter.requested() > 0;
+    }
+
+    /**
+     * Emits an item.
+     *
+     * @param item the item
+     */
+    void emit(T item) {
+        emitter.onNext(item);
+    }
+
+    /**
+     * Runs the action once the pipeline requests items again.
+     *
+     * @param action the action
+     */
+    void await(Runnable action) {
+        waiting.add(action);
+    }
+
+    /**
+     * Forgets an action waiting for the pipeline to request items.
+     *
+     * @param action the action
+     */
+    void cancel(Runnable action) {
+        waiting.remove(action);
+    }
+
+    /**
+     * Forgets all the actions waiting for the pipeline to request items.
+     */
+    void clear() {
+        waiting.clear();
+    }
+
+    /**
+     * Runs the waiting actions, as long as the pipeline requests items.
+     */
+    private void resume() {
+        for (int i = waiting.size(); i > 0 && available(); i--) {
+            waiting.poll().run();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import fr.myprysm.pipeline.sink.FileSinkOptions.Format;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Reads the items of a file written by the {@link fr.myprysm.pipeline.sink.FileSink} with a text format.
+ * <p>
+ * <code>json</code> files hold one value per line, <code>yaml</code> files hold one document per item.
+ * Files ending with <code>.gz</code> or <code>.deflate</code> are decompressed.
+ * A truncated last value, from a file that is still being written, ends the file.
+ */
+class DocumentReader implements ItemReader {
+    private static final ObjectMapper YAML = new YAMLMapper();
+
+    private final InputStream in;
+    private final MappingIterator<Map<String, Object>> values;
+
+    /**
+     * Opens the file.
+     *
+     * @param file    the file to read
+     * @param format  the format of the file, either <code>json</code> or <code>yaml</code>
+     * @param mapSize the size of the regions mapped at once
+     * @throws IOException when the file cannot be opened
+     */
+    DocumentReader(Path file, Format format, int mapSize) throws IOException {
+        ObjectMapper mapper = format == Format.yaml ? YAML : Json.mapper;
+        this.in = ItemReader.open(file, mapSize);
+        this.values = mapper.readerFor(Map.class).readValues(in);
+    }
+
+    /**
+     * Reads the next document.
+     *
+     * @return the next item, <code>null</code> at the end of the file
+     * @throws IOException when the document cannot be decoded
+     */
+    @Override
+    public JsonObject next() throws IOException {
+        try {
+            return values.hasNextValue() ? new JsonObject(values.nextValue()) : null;
+        } catch (JsonEOFException exc) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        values.close();
+        in.close();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.eventbus.EventBus;
+import io.vertx.reactivex.core.eventbus.Message;
+import io.vertx.reactivex.core.eventbus.MessageConsumer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Pump that emits the messages sent to an existing address of the event bus,
+ * to bridge the verticles of an application with a pipeline embedded in it.
+ * <p>
+ * Messages are emitted only as the pipeline requests them.
+ * While it does not, the consumer is paused and the event bus buffers the messages up to a bounded size.
+ * <p>
+ * Only {@link JsonObject} bodies are emitted, the other messages are skipped and counted.
+ */
+public final class EventBusPump extends BaseJsonPump<EventBusPumpOptions> {
+    private final Demand<JsonObject> demand = new Demand<>();
+    private final Deque<JsonObject> pending = new ArrayDeque<>();
+    private final Runnable drainer = this::drain;
+    private String address;
+    private Boolean local;
+    private Integer maxBufferedMessages;
+    private MessageConsumer<Object> consumer;
+    private long received = 0;
+    private long skipped = 0;
+    private boolean queued = false;
+
+    @Override
+    public ValidationResult validate(JsonObject config) {
+        return EventBusPumpOptionsValidation.validate(config);
+    }
+
+    @Override
+    public Flowable<JsonObject> pump() {
+        return demand.flowable(vertx);
+    }
+
+    @Override
+    protected Completable startVerticle() {
+        EventBus eventBus = vertx.eventBus();
+        consumer = local ? eventBus.localConsumer(address) : eventBus.consumer(address);
+        consumer.setMaxBufferedMessages(maxBufferedMessages).handler(this::receive);
+        return consumer.rxCompletionHandler()
+                .doOnComplete(() -> info("Consuming " + (local ? "local " : "") + "address " + address + "."));
+    }
+
+    @Override
+    public Completable shutdown() {
+        demand.clear();
+        info("Received " + received + " messages from " + address + ", " + skipped + " skipped, " + pending.size() + " pending.");
+        return consumer != null ? consumer.rxUnregister() : Completable.complete();
+    }
+
+    private void receive(Message<Object> message) {
+        Object body = message.body();
+        if (!(body instanceof JsonObject)) {
+            skipped++;
+            debug("Skipping message with a body of type " + (body != null ? body.getClass().getName() : null) + ".");
+            return;
+        }
+
+        received++;
+        if (pending.isEmpty() && demand.available()) {
+            demand.emit((JsonObject) body);
+            return;
+        }
+
+        pending.add((JsonObject) body);
+        if (!queued) {
+            queued = true;
+            consumer.pause();
+            demand.await(drainer);
+        }
+    }
+
+    /**
+     * Emits the pending messages as long as the pipeline requests them
+     * and resumes the consumer once they are all emitted.
+     */
+    private void drain() {
+        queued = false;
+        while (!pending.isEmpty() && demand.available()) {
+            demand.emit(pending.poll());
+        }
+
+        if (!pending.isEmpty()) {
+            queued = true;
+            demand.await(drainer);
+        } else {
+            consumer.resume();
+        }
+    }
+
+    @Override
+    public EventBusPumpOptions readConfiguration(JsonObject config) {
+        return new EventBusPumpOptions(config);
+    }
+
+    @Override
+    public Completable configure(EventBusPumpOptions config) {
+        address = config.getAddress();
+        local = config.getLocal();
+        maxBufferedMessages = config.getMaxBufferedMessages();
+        return Completable.complete();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+@DataObject(generateConverter = true)
+public class EventBusPumpOptions extends PumpOptions {
+    public static final Boolean DEFAULT_LOCAL = false;
+    public static final Integer DEFAULT_MAX_BUFFERED_MESSAGES = 1000;
+
+    private String address;
+    private Boolean local = DEFAULT_LOCAL;
+    private Integer maxBufferedMessages = DEFAULT_MAX_BUFFERED_MESSAGES;
+
+    public EventBusPumpOptions() {
+
+    }
+
+    public EventBusPumpOptions(EventBusPumpOptions other) {
+        super(other);
+        address = other.address;
+        local = other.local;
+        maxBufferedMessages = other.maxBufferedMessages;
+    }
+
+    public EventBusPumpOptions(PumpOptions other) {
+        super(other);
+    }
+
+    public EventBusPumpOptions(JsonObject json) {
+        super(json);
+        EventBusPumpOptionsConverter.fromJson(json, this);
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject json = super.toJson();
+        EventBusPumpOptionsConverter.toJson(this, json);
+        return json;
+    }
+
+    /**
+     * The address of the event bus to consume.
+     *
+     * @return the address
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * The address of the event bus to consume.
+     * <p>
+     * It is an address where other verticles of the application send or publish their events.
+     *
+     * @param address the address
+     * @return this
+     */
+    public EventBusPumpOptions setAddress(String address) {
+        this.address = address;
+        return this;
+    }
+
+    /**
+     * Whether the messages are consumed from this node only.
+     *
+     * @return <code>true</code> when the consumer is local
+     */
+    public Boolean getLocal() {
+        return local;
+    }
+
+    /**
+     * Whether the messages are consumed from this node only.
+     * <p>
+     * A local consumer is not propagated across the cluster,
+     * it receives only the messages sent by the verticles of the same Vert.x instance.
+     * <p>
+     * It defaults to <code>false</code>
+     *
+     * @param local <code>true</code> when the consumer is local
+     * @return this
+     */
+    public EventBusPumpOptions setLocal(Boolean local) {
+        this.local = local;
+        return this;
+    }
+
+    /**
+     * The number of messages kept while the pipeline does not request items.
+     *
+     * @return the maximum number of buffered messages
+     */
+    public Integer getMaxBufferedMessages() {
+        return maxBufferedMessages;
+    }
+
+    /**
+     * The number of messages kept while the pipeline does not request items.
+     * <p>
+     * The consumer is paused while the pipeline does not request items.
+     * Once the buffer is full, the oldest messages are discarded by the event bus.
+     * <p>
+     * It defaults to <code>1000</code>
+     *
+     * @param maxBufferedMessages the maximum number of buffered messages
+     * @return this
+     */
+    public EventBusPumpOptions setMaxBufferedMessages(Integer maxBufferedMessages) {
+        this.maxBufferedMessages = maxBufferedMessages;
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return super.getName();
+    }
+
+    @Override
+    public EventBusPumpOptions setName(String name) {
+        return (EventBusPumpOptions) super.setName(name);
+    }
+
+    @Override
+    public String getType() {
+        return super.getType();
+    }
+
+    @Override
+    public EventBusPumpOptions setType(String type) {
+        return (EventBusPumpOptions) super.setType(type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EventBusPumpOptions)) return false;
+        if (!super.equals(o)) return false;
+        EventBusPumpOptions that = (EventBusPumpOptions) o;
+        return Objects.equals(address, that.address) &&
+                Objects.equals(local, that.local) &&
+                Objects.equals(maxBufferedMessages, that.maxBufferedMessages);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(super.hashCode(), address, local, maxBufferedMessages);
+    }
+
+    @Override
+    public String toString() {
+        return "EventBusPumpOptions{" +
+                "address='" + address + '\'' +
+                ", local=" + local +
+                ", maxBufferedMessages=" + maxBufferedMessages +
+                "} " + super.toString();
+    }
+}
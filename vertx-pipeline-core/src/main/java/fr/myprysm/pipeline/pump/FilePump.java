@@ -0,0 +1,302 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.FilePumpOptions.Format;
+import fr.myprysm.pipeline.util.Instances;
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.reactivex.Completable;
+import io.reactivex.Emitter;
+import io.reactivex.Flowable;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.RxHelper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+
+/**
+ * Pump that emits the lines of a file, either as JSON objects (NDJSON) or as strings.
+ * <p>
+ * The file is read through memory mapped regions on a worker thread, as the pipeline requests items,
+ * and the items are emitted on the context of the pump.
+ * The pump completes once the whole file is read.
+ * <p>
+ * When the pump is deployed with a <code>loadFactor</code> greater than <code>1</code>,
+ * the file is split in as many byte ranges as instances, aligned on lines.
+ * Each instance reads its own range in parallel and reports its progress periodically.
+ * <p>
+ * When a checkpoint file is configured, the offset following the last line emitted is saved periodically
+ * and when the pump stops, so that a pump that starts again does not read the same lines twice.
+ * The lines emitted but still in flight in the pipeline when the process crashes are not read again.
+ * Each instance saves its own checkpoint, suffixed by its index.
+ */
+public final class FilePump extends BaseJsonPump<FilePumpOptions> {
+    private static final String PATH = "path";
+    private static final String START = "start";
+    private static final String END = "end";
+    private static final String OFFSET = "offset";
+    private static final int ALIGN_BUFFER_SIZE = 8192;
+
+    private String path;
+    private Format format;
+    private String field;
+    private Integer mapSize;
+    private Long checkpointInterval;
+    private Long progressInterval;
+    private Checkpoint checkpoint;
+    private JsonObject state = obj();
+    private String group;
+    private int instance = 0;
+    private int instances = 1;
+    private Long checkpointTimer;
+    private Long progressTimer;
+    private volatile long start = 0;
+    private volatile long end = 0;
+    private volatile long offset = 0;
+    private long lines = 0;
+    private final AtomicLong skipped = new AtomicLong();
+
+    @Override
+    public ValidationResult validate(JsonObject config) {
+        return FilePumpOptionsValidation.validate(config);
+    }
+
+    @Override
+    public Flowable<JsonObject> pump() {
+        return Flowable.generate(this::open, this::next, LineReader::close)
+                .subscribeOn(RxHelper.blockingScheduler(vertx))
+                .observeOn(RxHelper.scheduler(vertx.getOrCreateContext()))
+                .map(line -> {
+                    offset = line.offset;
+                    lines++;
+                    return line.item;
+                })
+                .doOnComplete(() -> info("Read " + range() + ", " + lines + " lines emitted, " + skipped.get() + " skipped."));
+    }
+
+    /**
+     * Opens the range of the file of this instance, at the offset to resume from.
+     * <p>
+     * The range is read from its beginning when the checkpoint is about another file or another range.
+     *
+     * @return the reader of the range
+     * @throws IOException when the file cannot be opened
+     */
+    private LineReader open() throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            long size = channel.size();
+            start = align(channel, size * instance / instances, size);
+            end = align(channel, size * (instance + 1) / instances, size);
+        }
+
+        long from = start;
+        if (path.equals(state.getString(PATH)) && state.getLong(START, 0L) == start
+                && (instances == 1 || state.getLong(END, end) == end)) {
+            long saved = state.getLong(OFFSET, start);
+            if (saved <= end) {
+                from = saved;
+            } else {
+                warn("File " + path + " is smaller than its checkpoint, reading it from the beginning.");
+            }
+        }
+
+        offset = from;
+        info("Reading " + range() + " from offset " + from + ".");
+        return new LineReader(Paths.get(path), from, end, mapSize);
+    }
+
+    /**
+     * Aligns a position on the beginning of the line it belongs to.
+     * <p>
+     * The line starting at the position belongs to it, any other line belongs to the previous position.
+     *
+     * @param channel  the channel of the file
+     * @param position the position
+     * @param size     the size of the file
+     * @return the position of the first line starting at or after the position
+     * @throws IOException when the file cannot be read
+     */
+    private static long align(FileChannel channel, long position, long size) throws IOException {
+        if (position == 0 || position >= size) {
+            return Math.min(position, size);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(ALIGN_BUFFER_SIZE);
+        long at = position - 1;
+        while (at < size) {
+            buffer.clear();
+            int read = channel.read(buffer, at);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return at + i + 1;
+                }
+            }
+            at += read;
+        }
+        return size;
+    }
+
+    /**
+     * Emits the next line that can be decoded.
+     *
+     * @param reader  the reader of the file
+     * @param emitter the emitter of the lines
+     * @throws IOException when the file cannot be read
+     */
+    private void next(LineReader reader, Emitter<Line> emitter) throws IOException {
+        while (reader.next()) {
+            JsonObject item = decode(reader.bytes(), reader.length());
+            if (item != null) {
+                emitter.onNext(new Line(reader.offset(), item));
+                return;
+            }
+        }
+
+        emitter.onComplete();
+    }
+
+    /**
+     * Decodes a line according to the format.
+     *
+     * @param bytes  the bytes of the line
+     * @param length the length of the line
+     * @return the item, <code>null</code> when the line is skipped
+     */
+    @SuppressWarnings("unchecked")
+    private JsonObject decode(byte[] bytes, int length) {
+        if (isBlank(bytes, length)) {
+            return null;
+        }
+
+        if (format == Format.lines) {
+            return obj().put(field, new String(bytes, 0, length, StandardCharsets.UTF_8));
+        }
+
+        try {
+            return new JsonObject(Json.mapper.readValue(bytes, 0, length, Map.class));
+        } catch (IOException exc) {
+            skipped.incrementAndGet();
+            return null;
+        }
+    }
+
+    private static boolean isBlank(byte[] bytes, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(bytes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String range() {
+        return instances == 1 ? path : path + " [" + start + ", " + end + ")";
+    }
+
+    /**
+     * Logs the progress of the range read by this instance.
+     */
+    private void reportProgress() {
+        long length = end - start;
+        long percent = length > 0 ? (offset - start) * 100 / length : 100;
+        info("Read " + range() + " up to offset " + offset + " (" + percent + "%), " + lines + " lines emitted.");
+    }
+
+    @Override
+    protected Completable startVerticle() {
+        if (checkpoint != null) {
+            checkpointTimer = vertx.setPeriodic(checkpointInterval, t -> saveCheckpoint()
+                    .subscribe(() -> debug("Checkpoint saved at " + offset + "."),
+                            throwable -> warn("Unable to save checkpoint.", throwable)));
+        }
+        if (progressInterval != null) {
+            progressTimer = vertx.setPeriodic(progressInterval, t -> reportProgress());
+        }
+        return Completable.complete();
+    }
+
+    @Override
+    public Completable shutdown() {
+        if (checkpointTimer != null) {
+            vertx.cancelTimer(checkpointTimer);
+        }
+        if (progressTimer != null) {
+            vertx.cancelTimer(progressTimer);
+        }
+        if (group != null) {
+            Instances.release(vertx, group);
+        }
+        return checkpoint != null ? saveCheckpoint() : Completable.complete();
+    }
+
+    private Completable saveCheckpoint() {
+        return checkpoint.save(obj().put(PATH, path).put(START, start).put(END, end).put(OFFSET, offset));
+    }
+
+    @Override
+    public FilePumpOptions readConfiguration(JsonObject config) {
+        return new FilePumpOptions(config);
+    }
+
+    @Override
+    public Completable configure(FilePumpOptions config) {
+        path = config.getPath();
+        format = config.getFormat();
+        field = config.getField();
+        mapSize = config.getMapSize();
+        checkpointInterval = config.getCheckpointInterval();
+        progressInterval = config.getProgressInterval();
+        instances = config().getInteger("loadFactor", 1);
+        if (instances > 1) {
+            group = name() + ":" + path;
+            instance = Instances.acquire(vertx, group) % instances;
+        }
+
+        if (config.getCheckpoint() == null) {
+            return Completable.complete();
+        }
+
+        checkpoint = new Checkpoint(vertx, instances > 1 ? config.getCheckpoint() + "." + instance : config.getCheckpoint());
+        return checkpoint.load().doOnSuccess(saved -> state = saved).toCompletable();
+    }
+
+    /**
+     * A decoded line with the offset following it.
+     */
+    private static final class Line {
+        private final long offset;
+        private final JsonObject item;
+
+        Line(long offset, JsonObject item) {
+            this.offset = offset;
+            this.item = item;
+        }
+    }
+}
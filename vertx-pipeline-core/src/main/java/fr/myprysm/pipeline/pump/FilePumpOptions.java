@@ -0,0 +1,305 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+@DataObject(generateConverter = true)
+public class FilePumpOptions extends PumpOptions {
+    public static final Format DEFAULT_FORMAT = Format.ndjson;
+    public static final String DEFAULT_FIELD = "line";
+    public static final Long DEFAULT_CHECKPOINT_INTERVAL = 1000L;
+    public static final Integer DEFAULT_MAP_SIZE = 67108864;
+    public static final Long DEFAULT_PROGRESS_INTERVAL = 10000L;
+
+    public enum Format {
+        ndjson, lines
+    }
+
+    private String path;
+    private Format format = DEFAULT_FORMAT;
+    private String field = DEFAULT_FIELD;
+    private String checkpoint;
+    private Long checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+    private Integer mapSize = DEFAULT_MAP_SIZE;
+    private Long progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+    public FilePumpOptions() {
+
+    }
+
+    public FilePumpOptions(FilePumpOptions other) {
+        super(other);
+        path = other.path;
+        format = other.format;
+        field = other.field;
+        checkpoint = other.checkpoint;
+        checkpointInterval = other.checkpointInterval;
+        mapSize = other.mapSize;
+        progressInterval = other.progressInterval;
+    }
+
+    public FilePumpOptions(PumpOptions other) {
+        super(other);
+    }
+
+    public FilePumpOptions(JsonObject json) {
+        super(json);
+        FilePumpOptionsConverter.fromJson(json, this);
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject json = super.toJson();
+        FilePumpOptionsConverter.toJson(this, json);
+        return json;
+    }
+
+    /**
+     * The path of the file to read.
+     *
+     * @return the path of the file
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * The path of the file to read.
+     * <p>
+     * When the pump is deployed with a <code>loadFactor</code> greater than <code>1</code>,
+     * the file is split in byte ranges aligned on lines and each instance reads its own range.
+     * <p>
+     * This is mandatory.
+     *
+     * @param path the path of the file
+     * @return this
+     */
+    public FilePumpOptions setPath(String path) {
+        this.path = path;
+        return this;
+    }
+
+    /**
+     * The format of the file.
+     *
+     * @return the format of the file
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * The format of the file.
+     * <p>
+     * With <code>ndjson</code> each line is a JSON object. Lines that are not JSON objects are skipped.
+     * <p>
+     * With <code>lines</code> each line is emitted as a string in the configured <code>field</code>.
+     * <p>
+     * Empty lines are skipped.
+     * It defaults to <code>ndjson</code>
+     *
+     * @param format the format of the file
+     * @return this
+     */
+    public FilePumpOptions setFormat(Format format) {
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * The field receiving each line with the <code>lines</code> format.
+     *
+     * @return the field receiving each line
+     */
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * The field receiving each line with the <code>lines</code> format.
+     * <p>
+     * It defaults to <code>line</code>
+     *
+     * @param field the field receiving each line
+     * @return this
+     */
+    public FilePumpOptions setField(String field) {
+        this.field = field;
+        return this;
+    }
+
+    /**
+     * The path of the checkpoint file.
+     *
+     * @return the path of the checkpoint file
+     */
+    public String getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * The path of the checkpoint file.
+     * <p>
+     * The offset following the last line emitted is saved periodically and when the pump stops.
+     * A pump that starts again resumes from the saved offset, unless the checkpoint is about another file
+     * or the file became smaller than the offset.
+     * <p>
+     * Lines are accounted once emitted, not once handled by the next stages:
+     * the lines still in flight when the process crashes are not read again.
+     * <p>
+     * No checkpoint is saved when it is not set.
+     *
+     * @param checkpoint the path of the checkpoint file
+     * @return this
+     */
+    public FilePumpOptions setCheckpoint(String checkpoint) {
+        this.checkpoint = checkpoint;
+        return this;
+    }
+
+    /**
+     * The interval in milliseconds between two checkpoints.
+     *
+     * @return the interval between two checkpoints
+     */
+    public Long getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * The interval in milliseconds between two checkpoints.
+     * <p>
+     * The checkpoint is saved only when new lines were emitted.
+     * <p>
+     * It defaults to <code>1000</code>
+     *
+     * @param checkpointInterval the interval between two checkpoints
+     * @return this
+     */
+    public FilePumpOptions setCheckpointInterval(Long checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+        return this;
+    }
+
+    /**
+     * The size in bytes of the regions of the file mapped in memory at once.
+     *
+     * @return the size of the mapped regions
+     */
+    public Integer getMapSize() {
+        return mapSize;
+    }
+
+    /**
+     * The size in bytes of the regions of the file mapped in memory at once.
+     * <p>
+     * The file is read through memory mapped regions, the next region is mapped once the previous one is read.
+     * <p>
+     * It defaults to <code>67108864</code> (64MiB)
+     *
+     * @param mapSize the size of the mapped regions
+     * @return this
+     */
+    public FilePumpOptions setMapSize(Integer mapSize) {
+        this.mapSize = mapSize;
+        return this;
+    }
+
+    /**
+     * The interval in milliseconds between two reports of the progress of the pump.
+     *
+     * @return the interval between two progress reports
+     */
+    public Long getProgressInterval() {
+        return progressInterval;
+    }
+
+    /**
+     * The interval in milliseconds between two reports of the progress of the pump.
+     * <p>
+     * Each instance logs the offset it reached in its range of the file.
+     * No progress is reported when it is null.
+     * <p>
+     * It defaults to <code>10000</code>
+     *
+     * @param progressInterval the interval between two progress reports
+     * @return this
+     */
+    public FilePumpOptions setProgressInterval(Long progressInterval) {
+        this.progressInterval = progressInterval;
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return super.getName();
+    }
+
+    @Override
+    public FilePumpOptions setName(String name) {
+        return (FilePumpOptions) super.setName(name);
+    }
+
+    @Override
+    public String getType() {
+        return super.getType();
+    }
+
+    @Override
+    public FilePumpOptions setType(String type) {
+        return (FilePumpOptions) super.setType(type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FilePumpOptions)) return false;
+        if (!super.equals(o)) return false;
+        FilePumpOptions that = (FilePumpOptions) o;
+        return Objects.equals(path, that.path) &&
+                format == that.format &&
+                Objects.equals(field, that.field) &&
+                Objects.equals(checkpoint, that.checkpoint) &&
+                Objects.equals(checkpointInterval, that.checkpointInterval) &&
+                Objects.equals(mapSize, that.mapSize) &&
+                Objects.equals(progressInterval, that.progressInterval);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(super.hashCode(), path, format, field, checkpoint, checkpointInterval, mapSize, progressInterval);
+    }
+
+    @Override
+    public String toString() {
+        return "FilePumpOptions{" +
+                "path='" + path + '\'' +
+                ", format=" + format +
+                ", field='" + field + '\'' +
+                ", checkpoint='" + checkpoint + '\'' +
+                ", checkpointInterval=" + checkpointInterval +
+                ", mapSize=" + mapSize +
+                ", progressInterval=" + progressInterval +
+                "} " + super.toString();
+    }
+}
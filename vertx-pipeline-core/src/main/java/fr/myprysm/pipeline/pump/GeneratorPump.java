@@ -0,0 +1,220 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.GeneratorPumpOptions.FieldType;
+import fr.myprysm.pipeline.util.JsonPath;
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.RxHelper;
+import org.apache.commons.lang3.RandomStringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+
+/**
+ * Pump that generates events at a configured rate, to load the processors and the sinks of a pipeline.
+ * <p>
+ * A pool of events is computed from a template and randomly generated fields when the pump starts.
+ * Events are then emitted in bursts, each burst holding the events due since the previous one according to the rate.
+ * Each event is a copy of an event of the pool, with its keys drawn among their cardinality,
+ * a <code>counter</code> and a <code>timestamp</code>.
+ * <p>
+ * The bursts that the pipeline does not request in time are dropped and counted.
+ * The actual rate of the pump is reported periodically.
+ */
+public final class GeneratorPump extends BaseJsonPump<GeneratorPumpOptions> {
+    private static final String COUNTER = "counter";
+    private static final String TIMESTAMP = "timestamp";
+    private static final String TYPE = "type";
+    private static final String MIN = "min";
+    private static final String MAX = "max";
+    private static final String CARDINALITY = "cardinality";
+    private static final String PREFIX = "prefix";
+    private static final int DEFAULT_CARDINALITY = 100;
+    private static final String DEFAULT_PREFIX = "key-";
+    private static final int DEFAULT_TEXT_LENGTH = 16;
+
+    private final List<Key> keys = new ArrayList<>();
+    private Long rate;
+    private Long burstInterval;
+    private Long maxEvents;
+    private Long reportInterval;
+    private Random random;
+    private JsonObject[] pool;
+    private Long reportTimer;
+    private long emitted = 0;
+    private long dropped = 0;
+    private long reported = 0;
+    private long reportedAt;
+
+    @Override
+    public ValidationResult validate(JsonObject config) {
+        return GeneratorPumpOptionsValidation.validate(config);
+    }
+
+    @Override
+    public Flowable<JsonObject> pump() {
+        Flowable<JsonObject> events = Flowable.interval(burstInterval, TimeUnit.MILLISECONDS, RxHelper.scheduler(vertx.getOrCreateContext()))
+                .onBackpressureDrop(tick -> dropped += burst(tick))
+                .concatMap(tick -> Flowable.range(0, burst(tick)))
+                .map(i -> next());
+        return (maxEvents != null ? events.take(maxEvents) : events)
+                .doOnComplete(() -> info("Generated " + emitted + " events, " + dropped + " dropped."));
+    }
+
+    /**
+     * The number of events of a burst, so that the events emitted by all the bursts follow the rate.
+     *
+     * @param tick the index of the burst
+     * @return the number of events of the burst
+     */
+    private int burst(long tick) {
+        return (int) (rate * (tick + 1) * burstInterval / 1000 - rate * tick * burstInterval / 1000);
+    }
+
+    /**
+     * Provides the next event of the pool.
+     *
+     * @return the next event
+     */
+    private JsonObject next() {
+        JsonObject event = pool[(int) (emitted % pool.length)].copy();
+        for (Key key : keys) {
+            key.path.put(event, key.values[random.nextInt(key.values.length)]);
+        }
+        return event.put(COUNTER, emitted++).put(TIMESTAMP, System.currentTimeMillis());
+    }
+
+    /**
+     * Logs the rate reached since the previous report.
+     */
+    private void report() {
+        long now = System.currentTimeMillis();
+        long elapsed = Math.max(now - reportedAt, 1);
+        info("Generated " + emitted + " events (" + (emitted - reported) * 1000 / elapsed + "/s), " + dropped + " dropped.");
+        reported = emitted;
+        reportedAt = now;
+    }
+
+    @Override
+    protected Completable startVerticle() {
+        reportedAt = System.currentTimeMillis();
+        if (reportInterval != null) {
+            reportTimer = vertx.setPeriodic(reportInterval, t -> report());
+        }
+        return Completable.complete();
+    }
+
+    @Override
+    public Completable shutdown() {
+        if (reportTimer != null) {
+            vertx.cancelTimer(reportTimer);
+        }
+        return Completable.complete();
+    }
+
+    @Override
+    public GeneratorPumpOptions readConfiguration(JsonObject config) {
+        return new GeneratorPumpOptions(config);
+    }
+
+    @Override
+    public Completable configure(GeneratorPumpOptions config) {
+        rate = config.getRate();
+        burstInterval = config.getBurstInterval();
+        maxEvents = config.getMaxEvents();
+        reportInterval = config.getReportInterval();
+        random = config.getSeed() != null ? new Random(config.getSeed()) : new Random();
+
+        JsonObject template = config.getTemplate() != null ? config.getTemplate() : obj();
+        JsonObject fields = config.getFields() != null ? config.getFields() : obj();
+        pool = new JsonObject[config.getPoolSize()];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = template.copy();
+        }
+
+        for (String path : fields.fieldNames()) {
+            JsonObject field = fields.getJsonObject(path);
+            FieldType type = FieldType.valueOf(field.getString(TYPE));
+            JsonPath jsonPath = JsonPath.compile(path);
+            if (type == FieldType.key) {
+                keys.add(new Key(jsonPath, field));
+            } else {
+                for (JsonObject event : pool) {
+                    jsonPath.put(event, draw(type, field));
+                }
+            }
+        }
+
+        return Completable.complete();
+    }
+
+    /**
+     * Draws a random value of a field.
+     *
+     * @param type  the type of the field
+     * @param field the description of the field
+     * @return the value
+     */
+    private Object draw(FieldType type, JsonObject field) {
+        switch (type) {
+            case integer: {
+                long min = field.getLong(MIN, 0L);
+                long max = field.getLong(MAX, 1000L);
+                return max > min ? min + Math.floorMod(random.nextLong(), max - min) : min;
+            }
+            case decimal: {
+                double min = field.getDouble(MIN, 0D);
+                double max = field.getDouble(MAX, 1D);
+                return min + random.nextDouble() * (max - min);
+            }
+            case text: {
+                int min = field.getInteger(MIN, DEFAULT_TEXT_LENGTH);
+                int max = Math.max(field.getInteger(MAX, min), min);
+                return RandomStringUtils.random(min + random.nextInt(max - min + 1), 0, 0, true, true, null, random);
+            }
+            default:
+                return random.nextBoolean();
+        }
+    }
+
+    /**
+     * A field holding one of a fixed number of keys.
+     */
+    private static final class Key {
+        private final JsonPath path;
+        private final String[] values;
+
+        Key(JsonPath path, JsonObject field) {
+            this.path = path;
+            this.values = new String[field.getInteger(CARDINALITY, DEFAULT_CARDINALITY)];
+            String prefix = field.getString(PREFIX, DEFAULT_PREFIX);
+            for (int i = 0; i < values.length; i++) {
+                values[i] = prefix + i;
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+@DataObject(generateConverter = true)
+public class GeneratorPumpOptions extends PumpOptions {
+    public static final Long DEFAULT_RATE = 10000L;
+    public static final Long DEFAULT_BURST_INTERVAL = 10L;
+    public static final Integer DEFAULT_POOL_SIZE = 1024;
+    public static final Long DEFAULT_REPORT_INTERVAL = 10000L;
+
+    /**
+     * The types of the generated fields.
+     */
+    public enum FieldType {
+        key, integer, decimal, text, bool
+    }
+
+    private Long rate = DEFAULT_RATE;
+    private Long burstInterval = DEFAULT_BURST_INTERVAL;
+    private JsonObject template;
+    private JsonObject fields;
+    private Integer poolSize = DEFAULT_POOL_SIZE;
+    private Long seed;
+    private Long maxEvents;
+    private Long reportInterval = DEFAULT_REPORT_INTERVAL;
+
+    public GeneratorPumpOptions() {
+
+    }
+
+    public GeneratorPumpOptions(GeneratorPumpOptions other) {
+        super(other);
+        rate = other.rate;
+        burstInterval = other.burstInterval;
+        template = other.template;
+        fields = other.fields;
+        poolSize = other.poolSize;
+        seed = other.seed;
+        maxEvents = other.maxEvents;
+        reportInterval = other.reportInterval;
+    }
+
+    public GeneratorPumpOptions(PumpOptions other) {
+        super(other);
+    }
+
+    public GeneratorPumpOptions(JsonObject json) {
+        super(json);
+        GeneratorPumpOptionsConverter.fromJson(json, this);
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject json = super.toJson();
+        GeneratorPumpOptionsConverter.toJson(this, json);
+        return json;
+    }
+
+    /**
+     * The number of events to emit per second.
+     *
+     * @return the rate of the events
+     */
+    public Long getRate() {
+        return rate;
+    }
+
+    /**
+     * The number of events to emit per second.
+     * <p>
+     * When the pipeline cannot keep up, the bursts it did not request are dropped
+     * and the actual rate is the rate of the pipeline.
+     * <p>
+     * It defaults to <code>10000</code>
+     *
+     * @param rate the rate of the events
+     * @return this
+     */
+    public GeneratorPumpOptions setRate(Long rate) {
+        this.rate = rate;
+        return this;
+    }
+
+    /**
+     * The interval in milliseconds between two bursts of events.
+     *
+     * @return the interval between two bursts
+     */
+    public Long getBurstInterval() {
+        return burstInterval;
+    }
+
+    /**
+     * The interval in milliseconds between two bursts of events.
+     * <p>
+     * Each burst holds the events due since the previous one according to the rate.
+     * <p>
+     * It defaults to <code>10</code>
+     *
+     * @param burstInterval the interval between two bursts
+     * @return this
+     */
+    public GeneratorPumpOptions setBurstInterval(Long burstInterval) {
+        this.burstInterval = burstInterval;
+        return this;
+    }
+
+    /**
+     * The payload shared by all the events.
+     *
+     * @return the template of the events
+     */
+    public JsonObject getTemplate() {
+        return template;
+    }
+
+    /**
+     * The payload shared by all the events.
+     * <p>
+     * The generated fields are added to a copy of the template.
+     * Each event also holds a <code>counter</code> and a <code>timestamp</code>.
+     *
+     * @param template the template of the events
+     * @return this
+     */
+    public GeneratorPumpOptions setTemplate(JsonObject template) {
+        this.template = template;
+        return this;
+    }
+
+    /**
+     * The fields generated randomly, by path.
+     *
+     * @return the generated fields
+     */
+    public JsonObject getFields() {
+        return fields;
+    }
+
+    /**
+     * The fields generated randomly, by path.
+     * <p>
+     * Each field is described by its <code>type</code>:
+     * <ul>
+     * <li><code>key</code>: one of <code>cardinality</code> strings starting with <code>prefix</code></li>
+     * <li><code>integer</code>: a long between <code>min</code> (inclusive) and <code>max</code> (exclusive)</li>
+     * <li><code>decimal</code>: a double between <code>min</code> (inclusive) and <code>max</code> (exclusive)</li>
+     * <li><code>text</code>: an alphanumeric string whose length is between <code>min</code> and <code>max</code> (inclusive),
+     * to spread the size of the events</li>
+     * <li><code>bool</code>: a boolean</li>
+     * </ul>
+     * Keys are drawn for each event. The other fields are drawn once for each event of the pool.
+     * <pre>
+     * fields:
+     *   user.id: {type: key, cardinality: 10000, prefix: user-}
+     *   amount: {type: decimal, min: 0, max: 1000}
+     *   message: {type: text, min: 100, max: 4000}
+     * </pre>
+     *
+     * @param fields the generated fields
+     * @return this
+     */
+    public GeneratorPumpOptions setFields(JsonObject fields) {
+        this.fields = fields;
+        return this;
+    }
+
+    /**
+     * The number of events computed when the pump starts.
+     *
+     * @return the size of the pool of events
+     */
+    public Integer getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * The number of events computed when the pump starts.
+     * <p>
+     * Events are emitted from the pool in turn, so that no random value but keys is drawn while the pump runs.
+     * <p>
+     * It defaults to <code>1024</code>
+     *
+     * @param poolSize the size of the pool of events
+     * @return this
+     */
+    public GeneratorPumpOptions setPoolSize(Integer poolSize) {
+        this.poolSize = poolSize;
+        return this;
+    }
+
+    /**
+     * The seed of the random values.
+     *
+     * @return the seed
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * The seed of the random values.
+     * <p>
+     * Two pumps with the same seed and the same options generate the same events.
+     * Values are different on each run when it is not set.
+     *
+     * @param seed the seed
+     * @return this
+     */
+    public GeneratorPumpOptions setSeed(Long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * The number of events after which the pump completes.
+     *
+     * @return the maximum number of events
+     */
+    public Long getMaxEvents() {
+        return maxEvents;
+    }
+
+    /**
+     * The number of events after which the pump completes.
+     * <p>
+     * The pump never completes when it is not set.
+     *
+     * @param maxEvents the maximum number of events
+     * @return this
+     */
+    public GeneratorPumpOptions setMaxEvents(Long maxEvents) {
+        this.maxEvents = maxEvents;
+        return this;
+    }
+
+    /**
+     * The interval in milliseconds between two reports of the actual rate of the pump.
+     *
+     * @return the interval between two reports
+     */
+    public Long getReportInterval() {
+        return reportInterval;
+    }
+
+    /**
+     * The interval in milliseconds between two reports of the actual rate of the pump.
+     * <p>
+     * No rate is reported when it is null.
+     * <p>
+     * It defaults to <code>10000</code>
+     *
+     * @param reportInterval the interval between two reports
+     * @return this
+     */
+    public GeneratorPumpOptions setReportInterval(Long reportInterval) {
+        this.reportInterval = reportInterval;
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return super.getName();
+    }
+
+    @Override
+    public GeneratorPumpOptions setName(String name) {
+        return (GeneratorPumpOptions) super.setName(name);
+    }
+
+    @Override
+    public String getType() {
+        return super.getType();
+    }
+
+    @Override
+    public GeneratorPumpOptions setType(String type) {
+        return (GeneratorPumpOptions) super.setType(type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GeneratorPumpOptions)) return false;
+        if (!super.equals(o)) return false;
+        GeneratorPumpOptions that = (GeneratorPumpOptions) o;
+        return Objects.equals(rate, that.rate) &&
+                Objects.equals(burstInterval, that.burstInterval) &&
+                Objects.equals(template, that.template) &&
+                Objects.equals(fields, that.fields) &&
+                Objects.equals(poolSize, that.poolSize) &&
+                Objects.equals(seed, that.seed) &&
+                Objects.equals(maxEvents, that.maxEvents) &&
+                Objects.equals(reportInterval, that.reportInterval);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(super.hashCode(), rate, burstInterval, template, fields, poolSize, seed, maxEvents, reportInterval);
+    }
+
+    @Override
+    public String toString() {
+        return "GeneratorPumpOptions{" +
+                "rate=" + rate +
+                ", burstInterval=" + burstInterval +
+                ", template=" + template +
+                ", fields=" + fields +
+                ", poolSize=" + poolSize +
+                ", seed=" + seed +
+                ", maxEvents=" + maxEvents +
+                ", reportInterval=" + reportInterval +
+                "} " + super.toString();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.GeneratorPumpOptions.FieldType;
+import fr.myprysm.pipeline.validation.JsonValidation;
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.vertx.core.json.JsonObject;
+
+import static fr.myprysm.pipeline.validation.JsonValidation.*;
+import static java.util.Objects.requireNonNull;
+
+public interface GeneratorPumpOptionsValidation {
+    /**
+     * Validator of the description of a generated field.
+     */
+    JsonValidation FIELD = isEnum("type", FieldType.class)
+            .and(isNull("cardinality").or(gt("cardinality", 0L)))
+            .and(isNull("min").or(holds(json -> json.getValue("min") instanceof Number, "Field 'min' is not a number")))
+            .and(isNull("max").or(holds(json -> json.getValue("max") instanceof Number, "Field 'max' is not a number")));
+
+    /**
+     * Base validator of a {@link GeneratorPump}
+     *
+     * @param options the options to validate
+     * @return the validation result
+     */
+    static ValidationResult validate(JsonObject options) {
+        requireNonNull(options);
+        return isNull("rate").or(gt("rate", 0L))
+                .and(isNull("burstInterval").or(gt("burstInterval", 0L)))
+                .and(isNull("template").or(isObject("template")))
+                .and(isNull("fields").or(mapOf("fields", JsonObject.class).and(holds(json -> json.getJsonObject("fields").stream()
+                                .allMatch(entry -> FIELD.apply((JsonObject) entry.getValue()).isValid()),
+                        "Field 'fields' holds an invalid field description"))))
+                .and(isNull("poolSize").or(gt("poolSize", 0L)))
+                .and(isNull("seed").or(isLong("seed")))
+                .and(isNull("maxEvents").or(gt("maxEvents", 0L)))
+                .and(isNull("reportInterval").or(gt("reportInterval", 0L)))
+                .apply(options);
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.HttpPumpOptions.Saturation;
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.http.HttpServer;
+import io.vertx.reactivex.core.http.HttpServerRequest;
+import io.vertx.reactivex.core.http.HttpServerResponse;
+import io.vertx.reactivex.core.parsetools.RecordParser;
+import io.vertx.reactivex.ext.web.Router;
+import io.vertx.reactivex.ext.web.RoutingContext;
+import io.vertx.reactivex.ext.web.handler.BodyHandler;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+
+/**
+ * Pump that emits the JSON objects posted to an HTTP server.
+ * <p>
+ * A request with the <code>application/x-ndjson</code> content type is a bulk of events, one JSON object per line.
+ * Its body is parsed line by line as it is received, it is never buffered as a whole.
+ * Any other request holds a single JSON object.
+ * <p>
+ * A single event larger than <code>maxBodySize</code> is answered with <code>413</code>.
+ * In a bulk, a line is too large as soon as the bytes received since the last new line exceed it:
+ * the events accepted before are kept, and the connection is closed.
+ * <p>
+ * Events are emitted only as the pipeline requests them. While the recipients have no credit left,
+ * the request is either paused until credits are granted or answered with <code>429</code>.
+ * <p>
+ * Each request is answered with the number of events it brought that were accepted,
+ * the number of events rejected because of the saturation of the pipeline,
+ * and the number of lines of a bulk that were skipped because they are not JSON objects:
+ * <pre>
+ * {"accepted": 998, "rejected": 0, "skipped": 2}
+ * </pre>
+ */
+public final class HttpPump extends BaseJsonPump<HttpPumpOptions> {
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String ACCEPTED = "accepted";
+    private static final String REJECTED = "rejected";
+    private static final String SKIPPED = "skipped";
+
+    private final Demand<JsonObject> demand = new Demand<>();
+    private String host;
+    private Integer port;
+    private String path;
+    private Long maxBodySize;
+    private Saturation onSaturation;
+    private HttpServer server;
+
+    @Override
+    public ValidationResult validate(JsonObject config) {
+        return HttpPumpOptionsValidation.validate(config);
+    }
+
+    @Override
+    public Flowable<JsonObject> pump() {
+        return demand.flowable(vertx);
+    }
+
+    /**
+     * Reads a bulk of events line by line.
+     * <p>
+     * The bytes received since the last new line are counted so that a line never grows beyond <code>maxBodySize</code>.
+     *
+     * @param rc the routing context
+     */
+    private void bulk(RoutingContext rc) {
+        HttpServerRequest request = rc.request();
+        Ingestion ingestion = new Ingestion(rc);
+        RecordParser parser = RecordParser.newDelimited("\n", line -> {
+            String content = line.toString().trim();
+            if (content.isEmpty()) {
+                return;
+            }
+
+            try {
+                ingestion.add(new JsonObject(content));
+            } catch (DecodeException exc) {
+                ingestion.skipped++;
+            }
+        });
+        request.handler(data -> {
+            if (ingestion.ended) {
+                return;
+            }
+
+            parser.handle(data);
+            ingestion.unframed = unframed(data, ingestion.unframed);
+            if (ingestion.unframed > maxBodySize) {
+                ingestion.tooLarge();
+            }
+        });
+        request.endHandler(v -> {
+            if (ingestion.ended) {
+                return;
+            }
+
+            parser.handle(Buffer.buffer("\n"));
+            ingestion.end();
+        });
+        request.exceptionHandler(throwable -> ingestion.abort());
+    }
+
+    /**
+     * The number of bytes received since the last new line once the data is received.
+     *
+     * @param data     the data received
+     * @param unframed the number of bytes received since the last new line before the data
+     * @return the number of bytes received since the last new line
+     */
+    private static long unframed(Buffer data, long unframed) {
+        for (int i = data.length() - 1; i >= 0; i--) {
+            if (data.getByte(i) == '\n') {
+                return data.length() - 1 - i;
+            }
+        }
+        return unframed + data.length();
+    }
+
+    /**
+     * Reads a single event.
+     *
+     * @param rc the routing context
+     */
+    private void single(RoutingContext rc) {
+        JsonObject item;
+        try {
+            item = rc.getBodyAsJson();
+        } catch (DecodeException | ClassCastException exc) {
+            item = null;
+        }
+
+        if (item == null) {
+            rc.response().setStatusCode(400).end();
+            return;
+        }
+
+        Ingestion ingestion = new Ingestion(rc);
+        ingestion.add(item);
+        ingestion.end();
+    }
+
+    @Override
+    protected Completable startVerticle() {
+        Router router = Router.router(vertx);
+        router.post(path).consumes(NDJSON).handler(this::bulk);
+        router.post(path).handler(BodyHandler.create().setBodyLimit(maxBodySize));
+        router.post(path).handler(this::single);
+        return vertx.createHttpServer(new HttpServerOptions().setHost(host).setPort(port))
+                .requestHandler(router::accept)
+                .rxListen()
+                .doOnSuccess(listening -> {
+                    server = listening;
+                    info("Listening on " + host + ":" + listening.actualPort() + path + ".");
+                })
+                .toCompletable();
+    }
+
+    @Override
+    public Completable shutdown() {
+        demand.clear();
+        return server != null ? server.rxClose() : Completable.complete();
+    }
+
+    @Override
+    public HttpPumpOptions readConfiguration(JsonObject config) {
+        return new HttpPumpOptions(config);
+    }
+
+    @Override
+    public Completable configure(HttpPumpOptions config) {
+        host = config.getHost();
+        port = config.getPort();
+        path = config.getPath();
+        maxBodySize = config.getMaxBodySize();
+        onSaturation = config.getOnSaturation();
+        return Completable.complete();
+    }
+
+    /**
+     * The events brought by a request.
+     * <p>
+     * Events are emitted as long as the pipeline requests them.
+     * When it does not, they are either rejected or kept in order while the request is paused,
+     * and emitted once the pipeline requests events again.
+     * The request is answered once all its events are emitted or rejected.
+     */
+    private final class Ingestion {
+        private final RoutingContext rc;
+        private final Deque<JsonObject> pending = new ArrayDeque<>();
+        private final Runnable drainer = this::drain;
+        private long accepted = 0;
+        private long rejected = 0;
+        private long skipped = 0;
+        private long unframed = 0;
+        private boolean ended = false;
+        private boolean paused = false;
+        private boolean queued = false;
+
+        Ingestion(RoutingContext rc) {
+            this.rc = rc;
+        }
+
+        void add(JsonObject item) {
+            if (pending.isEmpty() && demand.available()) {
+                demand.emit(item);
+                accepted++;
+            } else if (onSaturation == Saturation.reject) {
+                rejected++;
+            } else {
+                pending.add(item);
+                if (!ended && !paused) {
+                    paused = true;
+                    rc.request().pause();
+                }
+                if (!queued) {
+                    queued = true;
+                    demand.await(drainer);
+                }
+            }
+        }
+
+        void drain() {
+            queued = false;
+            while (!pending.isEmpty() && demand.available()) {
+                demand.emit(pending.poll());
+                accepted++;
+            }
+
+            if (!pending.isEmpty()) {
+                queued = true;
+                demand.await(drainer);
+                return;
+            }
+
+            if (paused) {
+                paused = false;
+                rc.request().resume();
+            }
+            if (ended) {
+                respond();
+            }
+        }
+
+        void end() {
+            ended = true;
+            if (pending.isEmpty()) {
+                respond();
+            }
+        }
+
+        void abort() {
+            ended = true;
+            pending.clear();
+            demand.cancel(drainer);
+        }
+
+        /**
+         * Answers with <code>413</code> and closes the connection as a line of the bulk is too large.
+         * <p>
+         * The events accepted before are kept, the answer tells how many they are.
+         */
+        void tooLarge() {
+            abort();
+            debug("Request on " + path + " closed as a line exceeds " + maxBodySize + " bytes: " + accepted + " accepted.");
+            rc.response()
+                    .setStatusCode(413)
+                    .putHeader("Content-Type", "application/json")
+                    .end(obj().put(ACCEPTED, accepted).put(REJECTED, rejected).put(SKIPPED, skipped).encode());
+            rc.request().connection().close();
+        }
+
+        void respond() {
+            debug("Request on " + path + ": " + accepted + " accepted, " + rejected + " rejected, " + skipped + " skipped.");
+            HttpServerResponse response = rc.response();
+            if (response.closed() || response.ended()) {
+                return;
+            }
+
+            response.setStatusCode(rejected > 0 ? 429 : 200)
+                    .putHeader("Content-Type", "application/json")
+                    .end(obj().put(ACCEPTED, accepted).put(REJECTED, rejected).put(SKIPPED, skipped).encode());
+        }
+    }
+}
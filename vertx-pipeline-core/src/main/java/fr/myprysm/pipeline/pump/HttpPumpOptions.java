@@ -0,0 +1,247 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+@DataObject(generateConverter = true)
+public class HttpPumpOptions extends PumpOptions {
+    public static final String DEFAULT_HOST = "0.0.0.0";
+    public static final Integer DEFAULT_PORT = 8080;
+    public static final String DEFAULT_PATH = "/events";
+    public static final Long DEFAULT_MAX_BODY_SIZE = 1048576L;
+    public static final Saturation DEFAULT_ON_SATURATION = Saturation.hold;
+
+    public enum Saturation {
+        hold, reject
+    }
+
+    private String host = DEFAULT_HOST;
+    private Integer port = DEFAULT_PORT;
+    private String path = DEFAULT_PATH;
+    private Long maxBodySize = DEFAULT_MAX_BODY_SIZE;
+    private Saturation onSaturation = DEFAULT_ON_SATURATION;
+
+    public HttpPumpOptions() {
+
+    }
+
+    public HttpPumpOptions(HttpPumpOptions other) {
+        super(other);
+        host = other.host;
+        port = other.port;
+        path = other.path;
+        maxBodySize = other.maxBodySize;
+        onSaturation = other.onSaturation;
+    }
+
+    public HttpPumpOptions(PumpOptions other) {
+        super(other);
+    }
+
+    public HttpPumpOptions(JsonObject json) {
+        super(json);
+        HttpPumpOptionsConverter.fromJson(json, this);
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject json = super.toJson();
+        HttpPumpOptionsConverter.toJson(this, json);
+        return json;
+    }
+
+    /**
+     * The host the server listens on.
+     *
+     * @return the host
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * The host the server listens on.
+     * <p>
+     * It defaults to <code>0.0.0.0</code>
+     *
+     * @param host the host
+     * @return this
+     */
+    public HttpPumpOptions setHost(String host) {
+        this.host = host;
+        return this;
+    }
+
+    /**
+     * The port the server listens on.
+     *
+     * @return the port
+     */
+    public Integer getPort() {
+        return port;
+    }
+
+    /**
+     * The port the server listens on.
+     * <p>
+     * When the pump is deployed with several instances, they all share the same port.
+     * <p>
+     * It defaults to <code>8080</code>
+     *
+     * @param port the port
+     * @return this
+     */
+    public HttpPumpOptions setPort(Integer port) {
+        this.port = port;
+        return this;
+    }
+
+    /**
+     * The path accepting the events.
+     *
+     * @return the path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * The path accepting the events.
+     * <p>
+     * A <code>POST</code> request with the <code>application/x-ndjson</code> content type is a bulk of events,
+     * one JSON object per line. Any other <code>POST</code> request holds a single JSON object.
+     * <p>
+     * It defaults to <code>/events</code>
+     *
+     * @param path the path
+     * @return this
+     */
+    public HttpPumpOptions setPath(String path) {
+        this.path = path;
+        return this;
+    }
+
+    /**
+     * The maximum size in bytes of a single event.
+     *
+     * @return the maximum size of a single event
+     */
+    public Long getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * The maximum size in bytes of a single event.
+     * <p>
+     * Larger requests are answered with <code>413</code>.
+     * Bulk requests are read as a stream and have no limit as a whole, the limit applies to each of their lines.
+     * The connection is closed as soon as a line exceeds it, the events of the lines before are kept.
+     * <p>
+     * It defaults to <code>1048576</code> (1MiB)
+     *
+     * @param maxBodySize the maximum size of a single event
+     * @return this
+     */
+    public HttpPumpOptions setMaxBodySize(Long maxBodySize) {
+        this.maxBodySize = maxBodySize;
+        return this;
+    }
+
+    /**
+     * What to do with the events received while the recipients have no credit left.
+     *
+     * @return the behaviour on saturation
+     */
+    public Saturation getOnSaturation() {
+        return onSaturation;
+    }
+
+    /**
+     * What to do with the events received while the recipients have no credit left.
+     * <p>
+     * With <code>hold</code> the request is paused until credits are granted, the client waits for the answer.
+     * <p>
+     * With <code>reject</code> the events are rejected and the request is answered with <code>429</code>.
+     * The events of a bulk that were accepted before the saturation are still sent,
+     * the answer tells how many of them were accepted so that the client sends the following ones again.
+     * <p>
+     * It defaults to <code>hold</code>
+     *
+     * @param onSaturation the behaviour on saturation
+     * @return this
+     */
+    public HttpPumpOptions setOnSaturation(Saturation onSaturation) {
+        this.onSaturation = onSaturation;
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return super.getName();
+    }
+
+    @Override
+    public HttpPumpOptions setName(String name) {
+        return (HttpPumpOptions) super.setName(name);
+    }
+
+    @Override
+    public String getType() {
+        return super.getType();
+    }
+
+    @Override
+    public HttpPumpOptions setType(String type) {
+        return (HttpPumpOptions) super.setType(type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HttpPumpOptions)) return false;
+        if (!super.equals(o)) return false;
+        HttpPumpOptions that = (HttpPumpOptions) o;
+        return Objects.equals(host, that.host) &&
+                Objects.equals(port, that.port) &&
+                Objects.equals(path, that.path) &&
+                Objects.equals(maxBodySize, that.maxBodySize) &&
+                onSaturation == that.onSaturation;
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(super.hashCode(), host, port, path, maxBodySize, onSaturation);
+    }
+
+    @Override
+    public String toString() {
+        return "HttpPumpOptions{" +
+                "host='" + host + '\'' +
+                ", port=" + port +
+                ", path='" + path + '\'' +
+                ", maxBodySize=" + maxBodySize +
+                ", onSaturation=" + onSaturation +
+                "} " + super.toString();
+    }
+}
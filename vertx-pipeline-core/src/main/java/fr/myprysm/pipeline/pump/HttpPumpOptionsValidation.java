@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.HttpPumpOptions.Saturation;
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.vertx.core.json.JsonObject;
+
+import static fr.myprysm.pipeline.validation.JsonValidation.*;
+import static java.util.Objects.requireNonNull;
+
+public interface HttpPumpOptionsValidation {
+    /**
+     * Base validator of a {@link HttpPump}
+     *
+     * @param options the options to validate
+     * @return the validation result
+     */
+    static ValidationResult validate(JsonObject options) {
+        requireNonNull(options);
+        return isNull("host").or(isString("host"))
+                .and(isNull("port").or(gt("port", 0L).and(lt("port", 65536L))))
+                .and(isNull("path").or(isString("path")))
+                .and(isNull("maxBodySize").or(gt("maxBodySize", 0L)))
+                .and(isNull("onSaturation").or(isEnum("onSaturation", Saturation.class)))
+                .apply(options);
+    }
+}
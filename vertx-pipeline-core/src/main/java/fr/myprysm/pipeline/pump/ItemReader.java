@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.sink.FileSinkOptions.Format;
+import fr.myprysm.pipeline.util.RecordFormat;
+import io.vertx.core.json.JsonObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Reads the items of a file written by the {@link fr.myprysm.pipeline.sink.FileSink} one by one.
+ */
+interface ItemReader extends Closeable {
+    int INFLATE_BUFFER_SIZE = 65536;
+
+    /**
+     * Opens a reader of the file according to the format it has been written with.
+     *
+     * @param file    the file to read
+     * @param format  the format of the file
+     * @param mapSize the size of the regions mapped at once
+     * @return the reader
+     * @throws IOException when the file cannot be opened
+     */
+    static ItemReader of(Path file, Format format, int mapSize) throws IOException {
+        switch (format) {
+            case smile:
+            case cbor:
+            case msgpack:
+                return new RecordReader(file, RecordFormat.valueOf(format.name()), mapSize);
+            case json:
+            case yaml:
+            default:
+                return new DocumentReader(file, format, mapSize);
+        }
+    }
+
+    /**
+     * Opens the file through memory mapped regions.
+     * <p>
+     * Files ending with <code>.gz</code> or <code>.deflate</code> are decompressed.
+     *
+     * @param file    the file to open
+     * @param mapSize the size of the regions mapped at once
+     * @return the content of the file
+     * @throws IOException when the file cannot be opened
+     */
+    static InputStream open(Path file, int mapSize) throws IOException {
+        InputStream stream = new MappedInputStream(FileChannel.open(file, StandardOpenOption.READ), mapSize);
+        String name = file.getFileName().toString();
+        if (name.endsWith(".gz")) {
+            stream = new GZIPInputStream(stream, INFLATE_BUFFER_SIZE);
+        } else if (name.endsWith(".deflate")) {
+            stream = new InflaterInputStream(stream, new Inflater(), INFLATE_BUFFER_SIZE);
+        }
+        return stream;
+    }
+
+    /**
+     * The files to read, in the order of their names when the path is a directory.
+     * <p>
+     * Only the files with the extension of the format are read from a directory, compressed or not.
+     *
+     * @param path   the file or the directory to read
+     * @param format the name of the format of the files
+     * @return the files to read
+     * @throws IOException when the directory cannot be listed
+     */
+    static List<Path> files(String path, String format) throws IOException {
+        Path root = Paths.get(path);
+        if (!Files.isDirectory(root)) {
+            return Collections.singletonList(root);
+        }
+
+        String extension = "." + format;
+        try (Stream<Path> files = Files.list(root)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.endsWith(extension) || name.endsWith(extension + ".gz") || name.endsWith(extension + ".deflate");
+            }).sorted().collect(toList());
+        }
+    }
+
+    /**
+     * Reads the next item.
+     *
+     * @return the next item, <code>null</code> at the end of the file
+     * @throws IOException when the item cannot be read or decoded
+     */
+    JsonObject next() throws IOException;
+
+    /**
+     * Skips the next item, without decoding it when the format allows it.
+     *
+     * @return <code>false</code> at the end of the file
+     * @throws IOException when the item cannot be read
+     */
+    default boolean skip() throws IOException {
+        return next() != null;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads the lines of a file one by one, through memory mapped regions.
+ * <p>
+ * Lines are kept as bytes, without their line separator (<code>\n</code> or <code>\r\n</code>),
+ * so that they can be decoded without any intermediate string.
+ * The reader keeps track of the offset of the byte following the last line read.
+ */
+class LineReader implements Closeable {
+    private static final int CHUNK_SIZE = 65536;
+
+    private final InputStream in;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private int position = 0;
+    private int limit = 0;
+
+    private byte[] line = new byte[1024];
+    private int length = 0;
+    private long offset;
+
+    /**
+     * Opens the file.
+     *
+     * @param file    the file to read
+     * @param offset  the offset to start reading from
+     * @param end     the offset to stop reading at
+     * @param mapSize the size of the regions mapped at once
+     * @throws IOException when the file cannot be opened
+     */
+    LineReader(Path file, long offset, long end, int mapSize) throws IOException {
+        MappedInputStream stream = new MappedInputStream(FileChannel.open(file, StandardOpenOption.READ), offset, end, mapSize);
+        this.in = stream;
+        this.offset = Math.min(offset, stream.size());
+    }
+
+    /**
+     * Reads the next line.
+     * <p>
+     * The last line of the file is read even without a line separator.
+     *
+     * @return <code>true</code> when a line was read, <code>false</code> at the end of the file
+     * @throws IOException when the file cannot be read
+     */
+    boolean next() throws IOException {
+        length = 0;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                limit = in.read(chunk, 0, CHUNK_SIZE);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return read;
+                }
+            }
+
+            read = true;
+            int start = position;
+            while (position < limit && chunk[position] != '\n') {
+                position++;
+            }
+            append(start, position - start);
+            if (position < limit) {
+                position++;
+                offset++;
+                if (length > 0 && line[length - 1] == '\r') {
+                    length--;
+                }
+                return true;
+            }
+        }
+    }
+
+    private void append(int start, int count) {
+        if (length + count > line.length) {
+            line = Arrays.copyOf(line, Math.max(length + count, line.length * 2));
+        }
+        System.arraycopy(chunk, start, line, length, count);
+        length += count;
+        offset += count;
+    }
+
+    /**
+     * The bytes of the last line read.
+     * <p>
+     * The array is reused by the next line, only the first {@link #length()} bytes are part of the line.
+     *
+     * @return the bytes of the line
+     */
+    byte[] bytes() {
+        return line;
+    }
+
+    /**
+     * The length of the last line read.
+     *
+     * @return the length of the line
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * The offset of the byte following the last line read.
+     *
+     * @return the offset
+     */
+    long offset() {
+        return offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
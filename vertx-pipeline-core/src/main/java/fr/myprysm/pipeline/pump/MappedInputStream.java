@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * {@link InputStream} reading a file through memory mapped regions.
+ * <p>
+ * The next region is mapped once the previous one is read, so that files larger than a single mapping can be read.
+ * Reads are plain memory accesses, without any system call nor copy into an intermediate buffer.
+ * The file is read up to its size when the stream was created, or up to the end of the range to read.
+ */
+class MappedInputStream extends InputStream {
+    private final FileChannel channel;
+    private final int mapSize;
+    private final long size;
+    private long position;
+    private MappedByteBuffer region;
+
+    /**
+     * Creates a stream reading the channel.
+     *
+     * @param channel the channel of the file
+     * @param mapSize the size of the regions mapped at once
+     * @throws IOException when the size of the file cannot be read
+     */
+    MappedInputStream(FileChannel channel, int mapSize) throws IOException {
+        this(channel, 0, Long.MAX_VALUE, mapSize);
+    }
+
+    /**
+     * Creates a stream reading a range of the channel.
+     *
+     * @param channel  the channel of the file
+     * @param position the position of the first byte to read
+     * @param end      the position following the last byte to read, bounded by the size of the file
+     * @param mapSize  the size of the regions mapped at once
+     * @throws IOException when the size of the file cannot be read
+     */
+    MappedInputStream(FileChannel channel, long position, long end, int mapSize) throws IOException {
+        this.channel = channel;
+        this.mapSize = mapSize;
+        this.size = Math.min(end, channel.size());
+        this.position = Math.min(position, size);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return hasRemaining() ? region.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!hasRemaining()) {
+            return -1;
+        }
+
+        int read = Math.min(length, region.remaining());
+        region.get(bytes, offset, read);
+        return read;
+    }
+
+    /**
+     * The position following the last byte to read.
+     *
+     * @return the end of the stream in the file
+     */
+    long size() {
+        return size;
+    }
+
+    @Override
+    public int available() {
+        return region != null ? region.remaining() : 0;
+    }
+
+    /**
+     * Maps the next region of the file when the current one is read.
+     *
+     * @return <code>true</code> when there are bytes left to read
+     * @throws IOException when the region cannot be mapped
+     */
+    private boolean hasRemaining() throws IOException {
+        if (region != null && region.hasRemaining()) {
+            return true;
+        }
+        if (position >= size) {
+            return false;
+        }
+
+        long length = Math.min(mapSize, size - position);
+        region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        position += length;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        region = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.util.RecordFormat;
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.RxHelper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Pump that reads back the records written by a {@link fr.myprysm.pipeline.sink.FileSink}
+ * with one of the binary formats of {@link RecordFormat}.
+ * <p>
+ * Files are read through memory mapped regions on a worker thread, as the pipeline requests items,
+ * and the items are emitted on the context of the pump.
+ * The pump completes once all the files are read.
+ */
+public final class RecordFilePump extends BaseJsonPump<RecordFilePumpOptions> {
+    private String path;
+    private RecordFormat format;
+    private Integer mapSize;
+
+    @Override
+    public ValidationResult validate(JsonObject config) {
+        return RecordFilePumpOptionsValidation.validate(config);
+    }
+
+    @Override
+    public Flowable<JsonObject> pump() {
+        return Flowable.defer(() -> Flowable.fromIterable(ItemReader.files(path, format.name())))
+                .concatMap(this::read)
+                .subscribeOn(RxHelper.blockingScheduler(vertx))
+                .observeOn(RxHelper.scheduler(vertx.getOrCreateContext()));
+    }
+
+    private Flowable<JsonObject> read(Path file) {
+        return Flowable.generate(() -> new RecordReader(file, format, mapSize), (reader, emitter) -> {
+            JsonObject item = reader.next();
+            if (item != null) {
+                emitter.onNext(item);
+            } else {
+                debug("Read " + file + ".");
+                emitter.onComplete();
+            }
+        }, RecordReader::close);
+    }
+
+    @Override
+    protected Completable startVerticle() {
+        return Completable.complete();
+    }
+
+    @Override
+    public RecordFilePumpOptions readConfiguration(JsonObject config) {
+        return new RecordFilePumpOptions(config);
+    }
+
+    @Override
+    public Completable configure(RecordFilePumpOptions config) {
+        path = config.getPath();
+        format = config.getFormat();
+        mapSize = config.getMapSize();
+        return Completable.complete();
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.util.RecordFormat;
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+@DataObject(generateConverter = true)
+public class RecordFilePumpOptions extends PumpOptions {
+    public static final RecordFormat DEFAULT_FORMAT = RecordFormat.smile;
+    public static final Integer DEFAULT_MAP_SIZE = 67108864;
+
+    private String path;
+    private RecordFormat format = DEFAULT_FORMAT;
+    private Integer mapSize = DEFAULT_MAP_SIZE;
+
+    public RecordFilePumpOptions() {
+
+    }
+
+    public RecordFilePumpOptions(RecordFilePumpOptions other) {
+        super(other);
+        path = other.path;
+        format = other.format;
+        mapSize = other.mapSize;
+    }
+
+    public RecordFilePumpOptions(PumpOptions other) {
+        super(other);
+    }
+
+    public RecordFilePumpOptions(JsonObject json) {
+        super(json);
+        RecordFilePumpOptionsConverter.fromJson(json, this);
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject json = super.toJson();
+        RecordFilePumpOptionsConverter.toJson(this, json);
+        return json;
+    }
+
+    /**
+     * The path of the records to read.
+     *
+     * @return the path of the records
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * The path of the records to read.
+     * <p>
+     * It is either a file or a directory.
+     * All the files of a directory with the extension of the format are read in the order of their names,
+     * which is the order the {@link fr.myprysm.pipeline.sink.FileSink} rolls them.
+     * <p>
+     * Files compressed with <code>gzip</code> (<code>.gz</code>) or <code>deflate</code> (<code>.deflate</code>)
+     * are decompressed.
+     * <p>
+     * This is mandatory.
+     *
+     * @param path the path of the records
+     * @return this
+     */
+    public RecordFilePumpOptions setPath(String path) {
+        this.path = path;
+        return this;
+    }
+
+    /**
+     * The format of the records.
+     *
+     * @return the format of the records
+     */
+    public RecordFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * The format of the records.
+     * <p>
+     * One of <code>smile</code>, <code>cbor</code> or <code>msgpack</code>.
+     * <p>
+     * It defaults to <code>smile</code>
+     *
+     * @param format the format of the records
+     * @return this
+     */
+    public RecordFilePumpOptions setFormat(RecordFormat format) {
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * The size in bytes of the regions of the files mapped in memory at once.
+     *
+     * @return the size of the mapped regions
+     */
+    public Integer getMapSize() {
+        return mapSize;
+    }
+
+    /**
+     * The size in bytes of the regions of the files mapped in memory at once.
+     * <p>
+     * Files are read through memory mapped regions, the next region is mapped once the previous one is read.
+     * <p>
+     * It defaults to <code>67108864</code> (64MiB)
+     *
+     * @param mapSize the size of the mapped regions
+     * @return this
+     */
+    public RecordFilePumpOptions setMapSize(Integer mapSize) {
+        this.mapSize = mapSize;
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return super.getName();
+    }
+
+    @Override
+    public RecordFilePumpOptions setName(String name) {
+        return (RecordFilePumpOptions) super.setName(name);
+    }
+
+    @Override
+    public String getType() {
+        return super.getType();
+    }
+
+    @Override
+    public RecordFilePumpOptions setType(String type) {
+        return (RecordFilePumpOptions) super.setType(type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RecordFilePumpOptions)) return false;
+        if (!super.equals(o)) return false;
+        RecordFilePumpOptions that = (RecordFilePumpOptions) o;
+        return Objects.equals(path, that.path) &&
+                format == that.format &&
+                Objects.equals(mapSize, that.mapSize);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(super.hashCode(), path, format, mapSize);
+    }
+
+    @Override
+    public String toString() {
+        return "RecordFilePumpOptions{" +
+                "path='" + path + '\'' +
+                ", format=" + format +
+                ", mapSize=" + mapSize +
+                "} " + super.toString();
+    }
+}
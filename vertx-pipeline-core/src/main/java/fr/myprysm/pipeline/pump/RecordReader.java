@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.util.RecordFormat;
+import io.vertx.core.json.JsonObject;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Reads the records of a file one by one, as written by the {@link fr.myprysm.pipeline.sink.FileSink}.
+ * <p>
+ * Files ending with <code>.gz</code> or <code>.deflate</code> are decompressed.
+ * A truncated last record, from a file that is still being written, ends the file.
+ */
+class RecordReader implements ItemReader {
+    private final RecordFormat format;
+    private final DataInputStream in;
+    private byte[] bytes = new byte[1024];
+
+    /**
+     * Opens the file.
+     *
+     * @param file    the file to read
+     * @param format  the format of the records
+     * @param mapSize the size of the regions mapped at once
+     * @throws IOException when the file cannot be opened
+     */
+    RecordReader(Path file, RecordFormat format, int mapSize) throws IOException {
+        this.format = format;
+        this.in = new DataInputStream(ItemReader.open(file, mapSize));
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the item of the next record, <code>null</code> at the end of the file
+     * @throws IOException when the record cannot be read or decoded
+     */
+    @Override
+    public JsonObject next() throws IOException {
+        try {
+            int length = length();
+            if (length > bytes.length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            in.readFully(bytes, 0, length);
+            return format.read(bytes, 0, length);
+        } catch (EOFException exc) {
+            return null;
+        }
+    }
+
+    /**
+     * Skips the next record without decoding it.
+     *
+     * @return <code>false</code> at the end of the file
+     * @throws IOException when the record cannot be read
+     */
+    @Override
+    public boolean skip() throws IOException {
+        try {
+            int length = length();
+            return in.skipBytes(length) == length;
+        } catch (EOFException exc) {
+            return false;
+        }
+    }
+
+    private int length() throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid record length: " + length);
+        }
+        return length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.ReplayPumpOptions.Speed;
+import fr.myprysm.pipeline.sink.FileSinkOptions.Format;
+import fr.myprysm.pipeline.util.JsonPath;
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.RxHelper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pump that replays the files written by a {@link fr.myprysm.pipeline.sink.FileSink}, whatever their format,
+ * to reproduce a recorded traffic in a pipeline.
+ * <p>
+ * Files are read on a worker thread, as the pipeline requests items, and the items are emitted on the context of the pump
+ * either as fast as possible, at a fixed rate or with the delays between their timestamps.
+ * Each delay is a timer of the context, events due within the same millisecond are emitted without timer.
+ * <p>
+ * The replay can start at an offset or at a timestamp. The pump completes once all the files are replayed.
+ */
+public final class ReplayPump extends BaseJsonPump<ReplayPumpOptions> {
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    private String path;
+    private Format format;
+    private Speed speed;
+    private Long rate;
+    private JsonPath timestampField;
+    private Double factor;
+    private Long offset;
+    private Long since;
+    private Integer mapSize;
+    private Scheduler scheduler;
+    private long skipped;
+    private boolean seeking;
+    private long emitted;
+    private long startedAt;
+    private Long origin;
+    private long due;
+
+    @Override
+    public ValidationResult validate(JsonObject config) {
+        return ReplayPumpOptionsValidation.validate(config);
+    }
+
+    @Override
+    public Flowable<JsonObject> pump() {
+        Flowable<JsonObject> items = Flowable.defer(() -> {
+            skipped = 0;
+            seeking = since != null;
+            emitted = 0;
+            origin = null;
+            due = 0;
+            return Flowable.fromIterable(ItemReader.files(path, format.name()));
+        })
+                .concatMap(this::read)
+                .subscribeOn(RxHelper.blockingScheduler(vertx))
+                .observeOn(scheduler);
+
+        return (speed == Speed.max ? items.doOnNext(item -> emitted++) : items.concatMap(this::pace))
+                .doOnComplete(() -> info("Replayed " + emitted + " events from " + path + "."));
+    }
+
+    private Flowable<JsonObject> read(Path file) {
+        return Flowable.generate(() -> ItemReader.of(file, format, mapSize), (reader, emitter) -> {
+            JsonObject item = seek(reader);
+            if (item != null) {
+                emitter.onNext(item);
+            } else {
+                debug("Read " + file + ".");
+                emitter.onComplete();
+            }
+        }, ItemReader::close);
+    }
+
+    /**
+     * Reads the next item to replay, skipping the items before the offset and then before the timestamp to seek.
+     *
+     * @param reader the reader of the current file
+     * @return the next item to replay, <code>null</code> at the end of the file
+     * @throws IOException when the file cannot be read
+     */
+    private JsonObject seek(ItemReader reader) throws IOException {
+        for (; offset != null && skipped < offset; skipped++) {
+            if (!reader.skip()) {
+                return null;
+            }
+        }
+
+        JsonObject item = reader.next();
+        while (seeking && item != null) {
+            Long timestamp = timestamp(item);
+            if (timestamp != null && timestamp >= since) {
+                seeking = false;
+            } else {
+                item = reader.next();
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Delays the item until it is due according to the speed of the replay.
+     * <p>
+     * Delays are measured from the first item replayed, once the file is opened and sought,
+     * so that an item emitted late does not delay the next ones.
+     *
+     * @param item the item to replay
+     * @return the item, once it is due
+     */
+    private Flowable<JsonObject> pace(JsonObject item) {
+        long now = System.nanoTime();
+        if (emitted == 0) {
+            startedAt = now;
+        }
+
+        long wait = (due(item) - (now - startedAt)) / NANOS_PER_MILLI;
+        emitted++;
+        return wait > 0 ? Flowable.timer(wait, TimeUnit.MILLISECONDS, scheduler).map(tick -> item) : Flowable.just(item);
+    }
+
+    /**
+     * The time at which the item is due, in nanoseconds since the first item has been replayed.
+     * <p>
+     * With the original speed, an item without timestamp or older than the previous one
+     * is due at the same time as the previous one.
+     *
+     * @param item the item to replay
+     * @return the time at which the item is due
+     */
+    private long due(JsonObject item) {
+        if (speed == Speed.rate) {
+            return (long) ((double) emitted * NANOS_PER_SECOND / rate);
+        }
+
+        Long timestamp = timestamp(item);
+        if (timestamp != null) {
+            if (origin == null) {
+                origin = timestamp;
+            }
+            due = Math.max(due, (long) ((timestamp - origin) * NANOS_PER_MILLI / factor));
+        }
+        return due;
+    }
+
+    private Long timestamp(JsonObject item) {
+        Object value = timestampField.get(item);
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    @Override
+    protected Completable startVerticle() {
+        return Completable.complete();
+    }
+
+    @Override
+    public ReplayPumpOptions readConfiguration(JsonObject config) {
+        return new ReplayPumpOptions(config);
+    }
+
+    @Override
+    public Completable configure(ReplayPumpOptions config) {
+        path = config.getPath();
+        format = config.getFormat();
+        speed = config.getSpeed();
+        rate = config.getRate();
+        timestampField = JsonPath.compile(config.getTimestampField());
+        factor = config.getFactor();
+        offset = config.getOffset();
+        since = config.getSince();
+        mapSize = config.getMapSize();
+        scheduler = RxHelper.scheduler(vertx.getOrCreateContext());
+        return Completable.complete();
+    }
+}
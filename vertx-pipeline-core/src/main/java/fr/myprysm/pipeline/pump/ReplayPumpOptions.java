@@ -0,0 +1,361 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.sink.FileSinkOptions.Format;
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+@DataObject(generateConverter = true)
+public class ReplayPumpOptions extends PumpOptions {
+    public static final Format DEFAULT_FORMAT = Format.json;
+    public static final Speed DEFAULT_SPEED = Speed.max;
+    public static final Long DEFAULT_RATE = 1000L;
+    public static final String DEFAULT_TIMESTAMP_FIELD = "timestamp";
+    public static final Double DEFAULT_FACTOR = 1.0;
+    public static final Integer DEFAULT_MAP_SIZE = 67108864;
+
+    /**
+     * The speeds of a replay.
+     */
+    public enum Speed {
+        max, rate, original
+    }
+
+    private String path;
+    private Format format = DEFAULT_FORMAT;
+    private Speed speed = DEFAULT_SPEED;
+    private Long rate = DEFAULT_RATE;
+    private String timestampField = DEFAULT_TIMESTAMP_FIELD;
+    private Double factor = DEFAULT_FACTOR;
+    private Long offset;
+    private Long since;
+    private Integer mapSize = DEFAULT_MAP_SIZE;
+
+    public ReplayPumpOptions() {
+
+    }
+
+    public ReplayPumpOptions(ReplayPumpOptions other) {
+        super(other);
+        path = other.path;
+        format = other.format;
+        speed = other.speed;
+        rate = other.rate;
+        timestampField = other.timestampField;
+        factor = other.factor;
+        offset = other.offset;
+        since = other.since;
+        mapSize = other.mapSize;
+    }
+
+    public ReplayPumpOptions(PumpOptions other) {
+        super(other);
+    }
+
+    public ReplayPumpOptions(JsonObject json) {
+        super(json);
+        ReplayPumpOptionsConverter.fromJson(json, this);
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject json = super.toJson();
+        ReplayPumpOptionsConverter.toJson(this, json);
+        return json;
+    }
+
+    /**
+     * The path of the files to replay.
+     *
+     * @return the path of the files
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * The path of the files to replay.
+     * <p>
+     * It is either a file or a directory.
+     * All the files of a directory with the extension of the format are replayed in the order of their names,
+     * which is the order the {@link fr.myprysm.pipeline.sink.FileSink} rolls them.
+     * Files compressed by the sink are decompressed.
+     *
+     * @param path the path of the files
+     * @return this
+     */
+    public ReplayPumpOptions setPath(String path) {
+        this.path = path;
+        return this;
+    }
+
+    /**
+     * The format the files have been written with.
+     *
+     * @return the format of the files
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * The format the files have been written with.
+     * <p>
+     * One of the formats of the {@link fr.myprysm.pipeline.sink.FileSink}:
+     * <code>json</code>, <code>yaml</code>, <code>smile</code>, <code>cbor</code> or <code>msgpack</code>.
+     * <p>
+     * It defaults to <code>json</code>
+     *
+     * @param format the format of the files
+     * @return this
+     */
+    public ReplayPumpOptions setFormat(Format format) {
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * The speed of the replay.
+     *
+     * @return the speed of the replay
+     */
+    public Speed getSpeed() {
+        return speed;
+    }
+
+    /**
+     * The speed of the replay.
+     * <ul>
+     * <li><code>max</code>: events are emitted as fast as the pipeline requests them</li>
+     * <li><code>rate</code>: events are emitted at a fixed <code>rate</code></li>
+     * <li><code>original</code>: events are emitted with the delays between their timestamps,
+     * divided by the <code>factor</code></li>
+     * </ul>
+     * A replay that falls behind its schedule emits the late events as fast as possible to catch up.
+     * <p>
+     * It defaults to <code>max</code>
+     *
+     * @param speed the speed of the replay
+     * @return this
+     */
+    public ReplayPumpOptions setSpeed(Speed speed) {
+        this.speed = speed;
+        return this;
+    }
+
+    /**
+     * The number of events to emit per second with the <code>rate</code> speed.
+     *
+     * @return the rate of the events
+     */
+    public Long getRate() {
+        return rate;
+    }
+
+    /**
+     * The number of events to emit per second with the <code>rate</code> speed.
+     * <p>
+     * It defaults to <code>1000</code>
+     *
+     * @param rate the rate of the events
+     * @return this
+     */
+    public ReplayPumpOptions setRate(Long rate) {
+        this.rate = rate;
+        return this;
+    }
+
+    /**
+     * The path of the timestamp of the events.
+     *
+     * @return the timestamp field
+     */
+    public String getTimestampField() {
+        return timestampField;
+    }
+
+    /**
+     * The path of the timestamp of the events, in milliseconds since the epoch.
+     * <p>
+     * It drives the <code>original</code> speed and the seek to <code>since</code>.
+     * An event without timestamp, or with a timestamp older than the previous one, is emitted without delay.
+     * <p>
+     * It defaults to <code>timestamp</code>
+     *
+     * @param timestampField the timestamp field
+     * @return this
+     */
+    public ReplayPumpOptions setTimestampField(String timestampField) {
+        this.timestampField = timestampField;
+        return this;
+    }
+
+    /**
+     * The acceleration of the <code>original</code> speed.
+     *
+     * @return the acceleration of the replay
+     */
+    public Double getFactor() {
+        return factor;
+    }
+
+    /**
+     * The acceleration of the <code>original</code> speed.
+     * <p>
+     * A factor of <code>10</code> replays an hour of events in six minutes,
+     * a factor of <code>0.5</code> replays it in two hours.
+     * <p>
+     * It defaults to <code>1.0</code>
+     *
+     * @param factor the acceleration of the replay
+     * @return this
+     */
+    public ReplayPumpOptions setFactor(Double factor) {
+        this.factor = factor;
+        return this;
+    }
+
+    /**
+     * The number of events to skip before the replay starts.
+     *
+     * @return the offset of the first event
+     */
+    public Long getOffset() {
+        return offset;
+    }
+
+    /**
+     * The number of events to skip before the replay starts, across all the files.
+     * <p>
+     * Binary records are skipped without being decoded.
+     *
+     * @param offset the offset of the first event
+     * @return this
+     */
+    public ReplayPumpOptions setOffset(Long offset) {
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * The timestamp to seek before the replay starts.
+     *
+     * @return the timestamp of the first event
+     */
+    public Long getSince() {
+        return since;
+    }
+
+    /**
+     * The timestamp to seek before the replay starts, in milliseconds since the epoch.
+     * <p>
+     * Events are skipped until the first one whose timestamp is at or after <code>since</code>,
+     * all the events are replayed from there.
+     * The seek starts once the <code>offset</code> is skipped.
+     *
+     * @param since the timestamp of the first event
+     * @return this
+     */
+    public ReplayPumpOptions setSince(Long since) {
+        this.since = since;
+        return this;
+    }
+
+    /**
+     * The size in bytes of the regions of the files mapped in memory at once.
+     *
+     * @return the size of the mapped regions
+     */
+    public Integer getMapSize() {
+        return mapSize;
+    }
+
+    /**
+     * The size in bytes of the regions of the files mapped in memory at once.
+     * <p>
+     * It defaults to <code>67108864</code> (64MB)
+     *
+     * @param mapSize the size of the mapped regions
+     * @return this
+     */
+    public ReplayPumpOptions setMapSize(Integer mapSize) {
+        this.mapSize = mapSize;
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return super.getName();
+    }
+
+    @Override
+    public ReplayPumpOptions setName(String name) {
+        return (ReplayPumpOptions) super.setName(name);
+    }
+
+    @Override
+    public String getType() {
+        return super.getType();
+    }
+
+    @Override
+    public ReplayPumpOptions setType(String type) {
+        return (ReplayPumpOptions) super.setType(type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ReplayPumpOptions)) return false;
+        if (!super.equals(o)) return false;
+        ReplayPumpOptions that = (ReplayPumpOptions) o;
+        return Objects.equals(path, that.path) &&
+                format == that.format &&
+                speed == that.speed &&
+                Objects.equals(rate, that.rate) &&
+                Objects.equals(timestampField, that.timestampField) &&
+                Objects.equals(factor, that.factor) &&
+                Objects.equals(offset, that.offset) &&
+                Objects.equals(since, that.since) &&
+                Objects.equals(mapSize, that.mapSize);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(super.hashCode(), path, format, speed, rate, timestampField, factor, offset, since, mapSize);
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayPumpOptions{" +
+                "path='" + path + '\'' +
+                ", format=" + format +
+                ", speed=" + speed +
+                ", rate=" + rate +
+                ", timestampField='" + timestampField + '\'' +
+                ", factor=" + factor +
+                ", offset=" + offset +
+                ", since=" + since +
+                ", mapSize=" + mapSize +
+                "} " + super.toString();
+    }
+}
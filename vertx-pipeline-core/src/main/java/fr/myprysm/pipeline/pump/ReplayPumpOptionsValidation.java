@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.ReplayPumpOptions.Speed;
+import fr.myprysm.pipeline.sink.FileSinkOptions.Format;
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.vertx.core.json.JsonObject;
+
+import static fr.myprysm.pipeline.validation.JsonValidation.*;
+import static java.util.Objects.requireNonNull;
+
+public interface ReplayPumpOptionsValidation {
+    /**
+     * Base validator of a {@link ReplayPump}
+     *
+     * @param options the options to validate
+     * @return the validation result
+     */
+    static ValidationResult validate(JsonObject options) {
+        requireNonNull(options);
+        return isString("path")
+                .and(isNull("format").or(isEnum("format", Format.class)))
+                .and(isNull("speed").or(isEnum("speed", Speed.class)))
+                .and(isNull("rate").or(gt("rate", 0L)))
+                .and(isNull("timestampField").or(isString("timestampField")))
+                .and(isNull("factor").or(holds(json -> json.getValue("factor") instanceof Number
+                        && ((Number) json.getValue("factor")).doubleValue() > 0, "Field 'factor' is not a positive number")))
+                .and(isNull("offset").or(gte("offset", 0L)))
+                .and(isNull("since").or(isLong("since")))
+                .and(isNull("mapSize").or(gt("mapSize", 0L)))
+                .apply(options);
+    }
+}
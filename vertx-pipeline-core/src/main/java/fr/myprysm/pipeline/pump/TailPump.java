@@ -0,0 +1,404 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.FilePumpOptions.Format;
+import fr.myprysm.pipeline.pump.TailPumpOptions.Position;
+import fr.myprysm.pipeline.util.Instances;
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.RxHelper;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.parsetools.RecordParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+
+/**
+ * Pump that tails the files of a directory and emits their lines as they are appended,
+ * either as JSON objects (NDJSON) or as strings.
+ * <p>
+ * The directory is scanned periodically. The data appended to each file since its last known offset
+ * is read with an {@link io.vertx.core.file.AsyncFile} that is paused while the pipeline does not request items.
+ * A line is emitted once its line separator is written, the beginning of a line still being written
+ * is read again on the next scan.
+ * <p>
+ * Files are identified by their file key (the inode on Unix systems) rather than by their name:
+ * <ul>
+ * <li>a file renamed by a rotation is read up to its end, whether its new name matches the pattern or not,
+ * and the file created in its place is read from its beginning.
+ * A file that no longer matches the pattern is forgotten once read up to its end</li>
+ * <li>a file that became smaller than its offset was truncated and is read again from its beginning</li>
+ * <li>a file that disappeared is forgotten</li>
+ * </ul>
+ * When the file system provides no file key, files are identified by their path.
+ * <p>
+ * When the pump is deployed with a <code>loadFactor</code> greater than <code>1</code>,
+ * each file of the directory is tailed by a single instance.
+ * <p>
+ * When a checkpoint file is configured, the offset of each file is saved periodically and when the pump stops,
+ * so that a pump that starts again does not read the same lines twice.
+ * Each instance saves its own checkpoint, suffixed by its index.
+ */
+public final class TailPump extends BaseJsonPump<TailPumpOptions> {
+    private static final String FILES = "files";
+    private static final String PATH = "path";
+    private static final String OFFSET = "offset";
+    private static final int READ_BUFFER_SIZE = 65536;
+
+    private final Map<String, Tracked> files = new HashMap<>();
+    private String path;
+    private String pattern;
+    private PathMatcher matcher;
+    private Format format;
+    private String field;
+    private Position startAt;
+    private Long pollInterval;
+    private Long checkpointInterval;
+    private Checkpoint checkpoint;
+    private String group;
+    private int instance = 0;
+    private int instances = 1;
+    private Long checkpointTimer;
+    private boolean scanned = false;
+    private long skipped = 0;
+
+    @Override
+    public ValidationResult validate(JsonObject config) {
+        return TailPumpOptionsValidation.validate(config);
+    }
+
+    @Override
+    public Flowable<JsonObject> pump() {
+        return Flowable.defer(this::poll)
+                .repeatWhen(polls -> polls.delay(pollInterval, TimeUnit.MILLISECONDS, RxHelper.scheduler(vertx.getOrCreateContext())))
+                .doOnNext(line -> line.file.offset = line.offset)
+                .filter(line -> line.item != null)
+                .map(line -> line.item);
+    }
+
+    /**
+     * Scans the directory and reads the data appended to its files since the previous scan.
+     *
+     * @return the lines appended to the files
+     */
+    private Flowable<Line> poll() {
+        Set<String> tracked = new HashSet<>(files.keySet());
+        return vertx.<List<Scanned>>rxExecuteBlocking(future -> {
+            try {
+                future.complete(scan(tracked));
+            } catch (IOException exc) {
+                future.fail(exc);
+            }
+        }, false)
+                .flatMapPublisher(found -> Flowable.fromIterable(track(found)).concatMap(this::read))
+                .onErrorResumeNext(throwable -> {
+                    warn("Unable to scan directory " + path + ".", throwable);
+                    return Flowable.empty();
+                });
+    }
+
+    /**
+     * Lists the files of the directory that match the pattern and that are tailed by this instance,
+     * from the least recently modified to the most recently modified.
+     * <p>
+     * The files already tracked are listed whatever their name, so that rotated files are read up to their end.
+     *
+     * @param tracked the keys of the files already tracked
+     * @return the files of the directory
+     * @throws IOException when the directory cannot be read
+     */
+    private List<Scanned> scan(Set<String> tracked) throws IOException {
+        List<Scanned> found = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(path))) {
+            for (Path file : stream) {
+                boolean matches = matcher.matches(file.getFileName());
+                if (!matches && tracked.isEmpty()) {
+                    continue;
+                }
+
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                } catch (NoSuchFileException exc) {
+                    continue;
+                }
+
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+
+                String key = attributes.fileKey() != null ? attributes.fileKey().toString() : file.toString();
+                if (!matches && !tracked.contains(key)) {
+                    continue;
+                }
+
+                if (instances == 1 || Math.floorMod(key.hashCode(), instances) == instance) {
+                    found.add(new Scanned(key, file.toString(), matches, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                }
+            }
+        }
+
+        found.sort(Comparator.<Scanned>comparingLong(file -> file.modified).thenComparing(file -> file.path));
+        return found;
+    }
+
+    /**
+     * Updates the offsets of the files after a scan, detecting new, rotated, truncated and deleted files.
+     *
+     * @param found the files found by the scan
+     * @return the files that have data to read
+     */
+    private List<Tracked> track(List<Scanned> found) {
+        Map<String, Tracked> seen = new HashMap<>();
+        List<Tracked> changed = new ArrayList<>();
+        for (Scanned file : found) {
+            Tracked tracked = files.get(file.key);
+            if (tracked == null) {
+                tracked = new Tracked(file.path, !scanned && startAt == Position.end ? file.size : 0);
+                info("Tailing " + file.path + " from offset " + tracked.offset + ".");
+            } else {
+                if (!tracked.path.equals(file.path)) {
+                    info("File " + tracked.path + " was rotated to " + file.path + ".");
+                    tracked.path = file.path;
+                }
+                if (!file.matches && file.size <= tracked.offset) {
+                    info("File " + file.path + " was read up to its end and no longer matches the pattern, forgetting it.");
+                    continue;
+                }
+                if (file.size < tracked.offset) {
+                    warn("File " + file.path + " was truncated, reading it from the beginning.");
+                    tracked.offset = 0;
+                }
+            }
+
+            seen.put(file.key, tracked);
+            if (file.size > tracked.offset) {
+                changed.add(tracked);
+            }
+        }
+
+        files.clear();
+        files.putAll(seen);
+        scanned = true;
+        return changed;
+    }
+
+    /**
+     * Reads the lines of the file from its offset up to its end.
+     *
+     * @param file the file to read
+     * @return the lines read, with the offset following each of them
+     */
+    private Flowable<Line> read(Tracked file) {
+        long from = file.offset;
+        return vertx.fileSystem().rxOpen(file.path, new OpenOptions().setRead(true).setWrite(false).setCreate(false))
+                .flatMapPublisher(async -> {
+                    async.setReadBufferSize(READ_BUFFER_SIZE).setReadPos(from);
+                    long[] position = {from};
+                    return RecordParser.newDelimited("\n", async).toFlowable()
+                            .map(record -> {
+                                position[0] += record.length() + 1;
+                                return new Line(file, position[0], decode(record));
+                            })
+                            .doFinally(async::close);
+                })
+                .onErrorResumeNext(throwable -> {
+                    warn("Unable to read file " + file.path + ".", throwable);
+                    return Flowable.empty();
+                });
+    }
+
+    /**
+     * Decodes a line according to the format.
+     *
+     * @param record the line, without its line feed
+     * @return the item, <code>null</code> when the line is skipped
+     */
+    @SuppressWarnings("unchecked")
+    private JsonObject decode(Buffer record) {
+        int length = record.length();
+        if (length > 0 && record.getByte(length - 1) == '\r') {
+            length--;
+        }
+
+        byte[] bytes = record.getDelegate().getBytes(0, length);
+        if (isBlank(bytes)) {
+            return null;
+        }
+
+        if (format == Format.lines) {
+            return obj().put(field, new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        try {
+            return new JsonObject(Json.mapper.readValue(bytes, Map.class));
+        } catch (IOException exc) {
+            skipped++;
+            debug("Skipping line that is not a JSON object, " + skipped + " skipped so far.");
+            return null;
+        }
+    }
+
+    private static boolean isBlank(byte[] bytes) {
+        for (byte b : bytes) {
+            if (!Character.isWhitespace(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected Completable startVerticle() {
+        info("Tailing files " + pattern + " in " + path + ".");
+        if (checkpoint != null) {
+            checkpointTimer = vertx.setPeriodic(checkpointInterval, t -> checkpoint.save(state())
+                    .subscribe(() -> debug("Checkpoint saved."),
+                            throwable -> warn("Unable to save checkpoint.", throwable)));
+        }
+        return Completable.complete();
+    }
+
+    @Override
+    public Completable shutdown() {
+        if (checkpointTimer != null) {
+            vertx.cancelTimer(checkpointTimer);
+        }
+        if (group != null) {
+            Instances.release(vertx, group);
+        }
+        return checkpoint != null ? checkpoint.save(state()) : Completable.complete();
+    }
+
+    /**
+     * The offsets of the files tailed by this instance.
+     *
+     * @return the state to save
+     */
+    private JsonObject state() {
+        JsonObject state = obj();
+        files.forEach((key, file) -> state.put(key, obj().put(PATH, file.path).put(OFFSET, file.offset)));
+        return obj().put(FILES, state);
+    }
+
+    @Override
+    public TailPumpOptions readConfiguration(JsonObject config) {
+        return new TailPumpOptions(config);
+    }
+
+    @Override
+    public Completable configure(TailPumpOptions config) {
+        path = config.getPath();
+        pattern = config.getPattern();
+        matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        format = config.getFormat();
+        field = config.getField();
+        startAt = config.getStartAt();
+        pollInterval = config.getPollInterval();
+        checkpointInterval = config.getCheckpointInterval();
+        instances = config().getInteger("loadFactor", 1);
+        if (instances > 1) {
+            group = name() + ":" + path;
+            instance = Instances.acquire(vertx, group) % instances;
+        }
+
+        if (config.getCheckpoint() == null) {
+            return Completable.complete();
+        }
+
+        checkpoint = new Checkpoint(vertx, instances > 1 ? config.getCheckpoint() + "." + instance : config.getCheckpoint());
+        return checkpoint.load().doOnSuccess(saved -> {
+            JsonObject state = saved.getJsonObject(FILES, obj());
+            for (String key : state.fieldNames()) {
+                JsonObject file = state.getJsonObject(key);
+                files.put(key, new Tracked(file.getString(PATH), file.getLong(OFFSET, 0L)));
+            }
+        }).toCompletable();
+    }
+
+    /**
+     * A file found by a scan of the directory.
+     */
+    private static final class Scanned {
+        private final String key;
+        private final String path;
+        private final boolean matches;
+        private final long size;
+        private final long modified;
+
+        Scanned(String key, String path, boolean matches, long size, long modified) {
+            this.key = key;
+            this.path = path;
+            this.matches = matches;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+
+    /**
+     * A file tailed by the pump, with the offset following the last line emitted.
+     */
+    private static final class Tracked {
+        private String path;
+        private long offset;
+
+        Tracked(String path, long offset) {
+            this.path = path;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * A decoded line with the offset following it in its file.
+     */
+    private static final class Line {
+        private final Tracked file;
+        private final long offset;
+        private final JsonObject item;
+
+        Line(Tracked file, long offset, JsonObject item) {
+            this.file = file;
+            this.offset = offset;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.FilePumpOptions.Format;
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+@DataObject(generateConverter = true)
+public class TailPumpOptions extends PumpOptions {
+    public static final String DEFAULT_PATTERN = "*";
+    public static final Format DEFAULT_FORMAT = Format.ndjson;
+    public static final String DEFAULT_FIELD = "line";
+    public static final Position DEFAULT_START_AT = Position.beginning;
+    public static final Long DEFAULT_POLL_INTERVAL = 1000L;
+    public static final Long DEFAULT_CHECKPOINT_INTERVAL = 1000L;
+
+    public enum Position {
+        beginning, end
+    }
+
+    private String path;
+    private String pattern = DEFAULT_PATTERN;
+    private Format format = DEFAULT_FORMAT;
+    private String field = DEFAULT_FIELD;
+    private Position startAt = DEFAULT_START_AT;
+    private Long pollInterval = DEFAULT_POLL_INTERVAL;
+    private String checkpoint;
+    private Long checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+
+    public TailPumpOptions() {
+
+    }
+
+    public TailPumpOptions(TailPumpOptions other) {
+        super(other);
+        path = other.path;
+        pattern = other.pattern;
+        format = other.format;
+        field = other.field;
+        startAt = other.startAt;
+        pollInterval = other.pollInterval;
+        checkpoint = other.checkpoint;
+        checkpointInterval = other.checkpointInterval;
+    }
+
+    public TailPumpOptions(PumpOptions other) {
+        super(other);
+    }
+
+    public TailPumpOptions(JsonObject json) {
+        super(json);
+        TailPumpOptionsConverter.fromJson(json, this);
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject json = super.toJson();
+        TailPumpOptionsConverter.toJson(this, json);
+        return json;
+    }
+
+    /**
+     * The path of the directory to watch.
+     *
+     * @return the path of the directory
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * The path of the directory to watch.
+     * <p>
+     * When the pump is deployed with a <code>loadFactor</code> greater than <code>1</code>,
+     * the files of the directory are shared between the instances.
+     * <p>
+     * This is mandatory.
+     *
+     * @param path the path of the directory
+     * @return this
+     */
+    public TailPumpOptions setPath(String path) {
+        this.path = path;
+        return this;
+    }
+
+    /**
+     * The glob pattern of the names of the files to tail.
+     *
+     * @return the pattern of the files
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * The glob pattern of the names of the files to tail.
+     * <p>
+     * The pattern should also match the rotated files (e.g. <code>app.log*</code>),
+     * so that the lines appended to a file just before its rotation are still read.
+     * <p>
+     * It defaults to <code>*</code>
+     *
+     * @param pattern the pattern of the files
+     * @return this
+     */
+    public TailPumpOptions setPattern(String pattern) {
+        this.pattern = pattern;
+        return this;
+    }
+
+    /**
+     * The format of the files.
+     *
+     * @return the format of the files
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * The format of the files.
+     * <p>
+     * With <code>ndjson</code> each line is a JSON object. Lines that are not JSON objects are skipped.
+     * <p>
+     * With <code>lines</code> each line is emitted as a string in the configured <code>field</code>.
+     * <p>
+     * Empty lines are skipped.
+     * It defaults to <code>ndjson</code>
+     *
+     * @param format the format of the files
+     * @return this
+     */
+    public TailPumpOptions setFormat(Format format) {
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * The field receiving each line with the <code>lines</code> format.
+     *
+     * @return the field receiving each line
+     */
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * The field receiving each line with the <code>lines</code> format.
+     * <p>
+     * It defaults to <code>line</code>
+     *
+     * @param field the field receiving each line
+     * @return this
+     */
+    public TailPumpOptions setField(String field) {
+        this.field = field;
+        return this;
+    }
+
+    /**
+     * Where to start reading the files found when the pump starts.
+     *
+     * @return the position to start reading the files
+     */
+    public Position getStartAt() {
+        return startAt;
+    }
+
+    /**
+     * Where to start reading the files found when the pump starts.
+     * <p>
+     * With <code>end</code> only the lines appended after the pump started are read.
+     * Files known by the checkpoint are always read from their saved offset,
+     * and files created while the pump runs are always read from their beginning.
+     * <p>
+     * It defaults to <code>beginning</code>
+     *
+     * @param startAt the position to start reading the files
+     * @return this
+     */
+    public TailPumpOptions setStartAt(Position startAt) {
+        this.startAt = startAt;
+        return this;
+    }
+
+    /**
+     * The interval in milliseconds between two scans of the directory.
+     *
+     * @return the interval between two scans
+     */
+    public Long getPollInterval() {
+        return pollInterval;
+    }
+
+    /**
+     * The interval in milliseconds between two scans of the directory.
+     * <p>
+     * The next scan starts once the data appended since the previous scan is read.
+     * <p>
+     * It defaults to <code>1000</code>
+     *
+     * @param pollInterval the interval between two scans
+     * @return this
+     */
+    public TailPumpOptions setPollInterval(Long pollInterval) {
+        this.pollInterval = pollInterval;
+        return this;
+    }
+
+    /**
+     * The path of the checkpoint file.
+     *
+     * @return the path of the checkpoint file
+     */
+    public String getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * The path of the checkpoint file.
+     * <p>
+     * The offset following the last line emitted of each file is saved periodically and when the pump stops.
+     * A pump that starts again resumes each file from its saved offset.
+     * <p>
+     * No checkpoint is saved when it is not set.
+     *
+     * @param checkpoint the path of the checkpoint file
+     * @return this
+     */
+    public TailPumpOptions setCheckpoint(String checkpoint) {
+        this.checkpoint = checkpoint;
+        return this;
+    }
+
+    /**
+     * The interval in milliseconds between two checkpoints.
+     *
+     * @return the interval between two checkpoints
+     */
+    public Long getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * The interval in milliseconds between two checkpoints.
+     * <p>
+     * The checkpoint is saved only when new lines were emitted.
+     * <p>
+     * It defaults to <code>1000</code>
+     *
+     * @param checkpointInterval the interval between two checkpoints
+     * @return this
+     */
+    public TailPumpOptions setCheckpointInterval(Long checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return super.getName();
+    }
+
+    @Override
+    public TailPumpOptions setName(String name) {
+        return (TailPumpOptions) super.setName(name);
+    }
+
+    @Override
+    public String getType() {
+        return super.getType();
+    }
+
+    @Override
+    public TailPumpOptions setType(String type) {
+        return (TailPumpOptions) super.setType(type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TailPumpOptions)) return false;
+        if (!super.equals(o)) return false;
+        TailPumpOptions that = (TailPumpOptions) o;
+        return Objects.equals(path, that.path) &&
+                Objects.equals(pattern, that.pattern) &&
+                format == that.format &&
+                Objects.equals(field, that.field) &&
+                startAt == that.startAt &&
+                Objects.equals(pollInterval, that.pollInterval) &&
+                Objects.equals(checkpoint, that.checkpoint) &&
+                Objects.equals(checkpointInterval, that.checkpointInterval);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(super.hashCode(), path, pattern, format, field, startAt, pollInterval, checkpoint, checkpointInterval);
+    }
+
+    @Override
+    public String toString() {
+        return "TailPumpOptions{" +
+                "path='" + path + '\'' +
+                ", pattern='" + pattern + '\'' +
+                ", format=" + format +
+                ", field='" + field + '\'' +
+                ", startAt=" + startAt +
+                ", pollInterval=" + pollInterval +
+                ", checkpoint='" + checkpoint + '\'' +
+                ", checkpointInterval=" + checkpointInterval +
+                "} " + super.toString();
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.myprysm.pipeline.pump.TcpPumpOptions.Framing;
+import fr.myprysm.pipeline.util.RecordFormat;
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.NetServerOptions;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.net.NetServer;
+import io.vertx.reactivex.core.net.NetSocket;
+import io.vertx.reactivex.core.parsetools.RecordParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Pump that emits the records sent to a TCP server.
+ * <p>
+ * Records are either JSON objects delimited by line feeds,
+ * or length prefixed records holding JSON objects or items encoded in a binary {@link RecordFormat}.
+ * They are framed by a {@link RecordParser} and decoded straight from the buffer of each frame.
+ * <p>
+ * Records are emitted only as the pipeline requests them.
+ * While it does not, the sockets are paused and the clients stop sending data as the TCP window fills up.
+ * <p>
+ * Each connection is accounted separately and logs the number of records it brought when it is closed.
+ */
+public final class TcpPump extends BaseJsonPump<TcpPumpOptions> {
+    private final Demand<JsonObject> demand = new Demand<>();
+    private String host;
+    private Integer port;
+    private Framing framing;
+    private ObjectMapper mapper;
+    private Integer maxRecordSize;
+    private NetServer server;
+    private long connections = 0;
+
+    @Override
+    public ValidationResult validate(JsonObject config) {
+        return TcpPumpOptionsValidation.validate(config);
+    }
+
+    @Override
+    public Flowable<JsonObject> pump() {
+        return demand.flowable(vertx);
+    }
+
+    @Override
+    protected Completable startVerticle() {
+        return vertx.createNetServer(new NetServerOptions().setHost(host).setPort(port))
+                .connectHandler(Connection::new)
+                .rxListen()
+                .doOnSuccess(listening -> {
+                    server = listening;
+                    info("Listening on " + host + ":" + listening.actualPort() + ".");
+                })
+                .toCompletable();
+    }
+
+    @Override
+    public Completable shutdown() {
+        demand.clear();
+        return server != null ? server.rxClose() : Completable.complete();
+    }
+
+    @Override
+    public TcpPumpOptions readConfiguration(JsonObject config) {
+        return new TcpPumpOptions(config);
+    }
+
+    @Override
+    public Completable configure(TcpPumpOptions config) {
+        host = config.getHost();
+        port = config.getPort();
+        framing = config.getFraming();
+        mapper = config.getFormat() != null ? config.getFormat().mapper() : Json.mapper;
+        maxRecordSize = config.getMaxRecordSize();
+        return Completable.complete();
+    }
+
+    /**
+     * A connection to the server.
+     * <p>
+     * Its records are emitted as long as the pipeline requests them.
+     * When it does not, the socket is paused and the records already received are kept in order
+     * until the pipeline requests records again.
+     */
+    private final class Connection {
+        private final NetSocket socket;
+        private final String remote;
+        private final RecordParser parser;
+        private final Deque<JsonObject> pending = new ArrayDeque<>();
+        private final Runnable drainer = this::drain;
+        private long records = 0;
+        private long skipped = 0;
+        private long unframed = 0;
+        private boolean header = true;
+        private boolean paused = false;
+        private boolean queued = false;
+        private boolean closed = false;
+
+        Connection(NetSocket socket) {
+            this.socket = socket;
+            this.remote = socket.remoteAddress().host() + ":" + socket.remoteAddress().port();
+            this.parser = framing == Framing.lines
+                    ? RecordParser.newDelimited("\n")
+                    : RecordParser.newFixed(RecordFormat.LENGTH_SIZE);
+            connections++;
+            debug("Connection from " + remote + " opened, " + connections + " open.");
+            parser.setOutput(this::frame);
+            socket.handler(this::receive);
+            socket.closeHandler(v -> close());
+            socket.exceptionHandler(throwable -> warn("Connection from " + remote + " failed.", throwable));
+        }
+
+        void receive(Buffer data) {
+            unframed += data.length();
+            parser.handle(data);
+            if (framing == Framing.lines && unframed > maxRecordSize) {
+                reject("a line exceeds " + maxRecordSize + " bytes");
+            }
+        }
+
+        void frame(Buffer frame) {
+            unframed = 0;
+            if (closed) {
+                return;
+            }
+
+            if (framing == Framing.lines) {
+                record(frame.getDelegate().getByteBuf());
+            } else if (header) {
+                int length = frame.getInt(0);
+                if (length < 0 || length > maxRecordSize) {
+                    reject("a record of " + length + " bytes exceeds " + maxRecordSize + " bytes");
+                } else if (length > 0) {
+                    header = false;
+                    parser.fixedSizeMode(length);
+                }
+            } else {
+                header = true;
+                parser.fixedSizeMode(RecordFormat.LENGTH_SIZE);
+                record(frame.getDelegate().getByteBuf());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void record(ByteBuf bytes) {
+            if (bytes.forEachByte(b -> Character.isWhitespace(b)) < 0) {
+                return;
+            }
+
+            try {
+                add(new JsonObject(mapper.readValue((InputStream) new ByteBufInputStream(bytes), Map.class)));
+            } catch (IOException exc) {
+                skipped++;
+            }
+        }
+
+        void add(JsonObject item) {
+            if (pending.isEmpty() && demand.available()) {
+                demand.emit(item);
+                records++;
+                return;
+            }
+
+            pending.add(item);
+            if (!paused && !closed) {
+                paused = true;
+                socket.pause();
+            }
+            if (!queued) {
+                queued = true;
+                demand.await(drainer);
+            }
+        }
+
+        void drain() {
+            queued = false;
+            while (!pending.isEmpty() && demand.available()) {
+                demand.emit(pending.poll());
+                records++;
+            }
+
+            if (!pending.isEmpty()) {
+                queued = true;
+                demand.await(drainer);
+            } else if (paused && !closed) {
+                paused = false;
+                socket.resume();
+            }
+        }
+
+        void reject(String reason) {
+            warn("Closing connection from " + remote + ": " + reason + ".");
+            closed = true;
+            socket.close();
+        }
+
+        void close() {
+            closed = true;
+            connections--;
+            info("Connection from " + remote + " closed after " + records + " records, "
+                    + skipped + " skipped, " + pending.size() + " pending.");
+        }
+    }
+}
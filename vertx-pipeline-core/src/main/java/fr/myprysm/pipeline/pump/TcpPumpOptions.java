@@ -0,0 +1,243 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.util.RecordFormat;
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+@DataObject(generateConverter = true)
+public class TcpPumpOptions extends PumpOptions {
+    public static final String DEFAULT_HOST = "0.0.0.0";
+    public static final Integer DEFAULT_PORT = 9000;
+    public static final Framing DEFAULT_FRAMING = Framing.lines;
+    public static final Integer DEFAULT_MAX_RECORD_SIZE = 1048576;
+
+    public enum Framing {
+        lines, length
+    }
+
+    private String host = DEFAULT_HOST;
+    private Integer port = DEFAULT_PORT;
+    private Framing framing = DEFAULT_FRAMING;
+    private RecordFormat format;
+    private Integer maxRecordSize = DEFAULT_MAX_RECORD_SIZE;
+
+    public TcpPumpOptions() {
+
+    }
+
+    public TcpPumpOptions(TcpPumpOptions other) {
+        super(other);
+        host = other.host;
+        port = other.port;
+        framing = other.framing;
+        format = other.format;
+        maxRecordSize = other.maxRecordSize;
+    }
+
+    public TcpPumpOptions(PumpOptions other) {
+        super(other);
+    }
+
+    public TcpPumpOptions(JsonObject json) {
+        super(json);
+        TcpPumpOptionsConverter.fromJson(json, this);
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject json = super.toJson();
+        TcpPumpOptionsConverter.toJson(this, json);
+        return json;
+    }
+
+    /**
+     * The host the server listens on.
+     *
+     * @return the host
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * The host the server listens on.
+     * <p>
+     * It defaults to <code>0.0.0.0</code>
+     *
+     * @param host the host
+     * @return this
+     */
+    public TcpPumpOptions setHost(String host) {
+        this.host = host;
+        return this;
+    }
+
+    /**
+     * The port the server listens on.
+     *
+     * @return the port
+     */
+    public Integer getPort() {
+        return port;
+    }
+
+    /**
+     * The port the server listens on.
+     * <p>
+     * When the pump is deployed with several instances, they all share the same port.
+     * <p>
+     * It defaults to <code>9000</code>
+     *
+     * @param port the port
+     * @return this
+     */
+    public TcpPumpOptions setPort(Integer port) {
+        this.port = port;
+        return this;
+    }
+
+    /**
+     * How the records are delimited in the stream.
+     *
+     * @return the framing of the records
+     */
+    public Framing getFraming() {
+        return framing;
+    }
+
+    /**
+     * How the records are delimited in the stream.
+     * <p>
+     * With <code>lines</code> each record is a JSON object followed by a line feed.
+     * <p>
+     * With <code>length</code> each record is preceded by its length as a 4 bytes big endian integer.
+     * <p>
+     * It defaults to <code>lines</code>
+     *
+     * @param framing the framing of the records
+     * @return this
+     */
+    public TcpPumpOptions setFraming(Framing framing) {
+        this.framing = framing;
+        return this;
+    }
+
+    /**
+     * The binary format of the records.
+     *
+     * @return the format of the records
+     */
+    public RecordFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * The binary format of the records.
+     * <p>
+     * It can only be used with the <code>length</code> framing,
+     * the records are then decoded like the records written by the <code>FileSink</code> in the same format.
+     * <p>
+     * Records are JSON objects when it is not set.
+     *
+     * @param format the format of the records
+     * @return this
+     */
+    public TcpPumpOptions setFormat(RecordFormat format) {
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * The maximum size in bytes of a record.
+     *
+     * @return the maximum size of a record
+     */
+    public Integer getMaxRecordSize() {
+        return maxRecordSize;
+    }
+
+    /**
+     * The maximum size in bytes of a record.
+     * <p>
+     * A connection sending a larger record is closed.
+     * <p>
+     * It defaults to <code>1048576</code> (1MiB)
+     *
+     * @param maxRecordSize the maximum size of a record
+     * @return this
+     */
+    public TcpPumpOptions setMaxRecordSize(Integer maxRecordSize) {
+        this.maxRecordSize = maxRecordSize;
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return super.getName();
+    }
+
+    @Override
+    public TcpPumpOptions setName(String name) {
+        return (TcpPumpOptions) super.setName(name);
+    }
+
+    @Override
+    public String getType() {
+        return super.getType();
+    }
+
+    @Override
+    public TcpPumpOptions setType(String type) {
+        return (TcpPumpOptions) super.setType(type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TcpPumpOptions)) return false;
+        if (!super.equals(o)) return false;
+        TcpPumpOptions that = (TcpPumpOptions) o;
+        return Objects.equals(host, that.host) &&
+                Objects.equals(port, that.port) &&
+                framing == that.framing &&
+                format == that.format &&
+                Objects.equals(maxRecordSize, that.maxRecordSize);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(super.hashCode(), host, port, framing, format, maxRecordSize);
+    }
+
+    @Override
+    public String toString() {
+        return "TcpPumpOptions{" +
+                "host='" + host + '\'' +
+                ", port=" + port +
+                ", framing=" + framing +
+                ", format=" + format +
+                ", maxRecordSize=" + maxRecordSize +
+                "} " + super.toString();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.TcpPumpOptions.Framing;
+import fr.myprysm.pipeline.util.RecordFormat;
+import fr.myprysm.pipeline.validation.ValidationResult;
+import io.vertx.core.json.JsonObject;
+
+import static fr.myprysm.pipeline.validation.JsonValidation.*;
+import static java.util.Objects.requireNonNull;
+
+public interface TcpPumpOptionsValidation {
+    /**
+     * Base validator of a {@link TcpPump}
+     *
+     * @param options the options to validate
+     * @return the validation result
+     */
+    static ValidationResult validate(JsonObject options) {
+        requireNonNull(options);
+        return isNull("host").or(isString("host"))
+                .and(isNull("port").or(gt("port", 0L).and(lt("port", 65536L))))
+                .and(isNull("framing").or(isEnum("framing", Framing.class)))
+                .and(isNull("format").or(isEnum("format", RecordFormat.class)))
+                .and(holds(json -> json.getValue("format") == null || Framing.length.name().equals(json.getValue("framing")),
+                        "Field 'format' can only be used with 'length' framing"))
+                .and(isNull("maxRecordSize").or(gt("maxRecordSize", 0L)))
+                .apply(options);
+    }
+}
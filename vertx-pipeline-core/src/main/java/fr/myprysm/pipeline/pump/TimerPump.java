@@ -42,6 +42,7 @@ public final class TimerPump extends BaseJsonPump<TimerPumpOptions> {
     @Override
     public Flowable<JsonObject> pump() {
         return Flowable.interval(interval, unit)
+                .onBackpressureDrop()
                 .map(tick -> data.copy().put("counter", tick).put("timestamp", System.currentTimeMillis()));
     }
 
@@ -18,11 +18,14 @@ package fr.myprysm.pipeline.sink;
 
 import fr.myprysm.pipeline.pipeline.ExchangeOptions;
 import fr.myprysm.pipeline.util.ConfigurableVerticle;
+import fr.myprysm.pipeline.util.CreditController;
+import fr.myprysm.pipeline.util.CreditGranter;
+import fr.myprysm.pipeline.util.EventBatch;
+import fr.myprysm.pipeline.util.EventBatchCodec;
+import fr.myprysm.pipeline.util.SmileMessageCodec;
 import fr.myprysm.pipeline.util.Named;
 import fr.myprysm.pipeline.validation.ValidationResult;
 import io.reactivex.Completable;
-import io.reactivex.Flowable;
-import io.reactivex.disposables.Disposable;
 import io.vertx.core.json.JsonObject;
 import io.vertx.reactivex.core.eventbus.EventBus;
 import io.vertx.reactivex.core.eventbus.Message;
@@ -30,6 +33,8 @@ import io.vertx.reactivex.core.eventbus.MessageConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 abstract class AbstractSink<I, T extends SinkOptions> extends ConfigurableVerticle<T> implements Sink<I>, Named {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractSink.class);
     private String name;
@@ -37,8 +42,9 @@ abstract class AbstractSink<I, T extends SinkOptions> extends ConfigurableVertic
     private ExchangeOptions exchange;
     private String from;
     private MessageConsumer<I> consumer;
-    private Flowable<Message<I>> flowableConsumer;
-    private Disposable subscriber;
+    private CreditGranter granter;
+    private boolean paused = false;
+    private boolean overloaded = false;
 
     @Override
     protected ValidationResult preValidate(JsonObject config) {
@@ -51,15 +57,17 @@ abstract class AbstractSink<I, T extends SinkOptions> extends ConfigurableVertic
         exchange = new ExchangeOptions(config);
         name = options.getName();
         eventBus = vertx.eventBus();
+        EventBatchCodec.register(eventBus);
+        SmileMessageCodec.register(eventBus);
         from = exchange.getFrom();
+        granter = new CreditGranter(eventBus, vertx.getOrCreateContext(), from, this::holdCredits);
         return config;
     }
 
     @Override
     protected Completable postStartVerticle() {
-        consumer = eventBus().consumer(from());
-        flowableConsumer = consumer.toFlowable();
-        subscriber = flowableConsumer.subscribe(this::consume, this::onMessageError);
+        consumer = eventBus().consumer(from(), this::consume);
+        consumer.exceptionHandler(this::onMessageError);
         return Completable.complete();
     }
 
@@ -69,7 +77,6 @@ abstract class AbstractSink<I, T extends SinkOptions> extends ConfigurableVertic
 
     @Override
     protected Completable preShutdown() {
-        subscriber.dispose();
         return consumer.rxUnregister();
     }
 
@@ -101,15 +108,86 @@ abstract class AbstractSink<I, T extends SinkOptions> extends ConfigurableVertic
         return exchange;
     }
 
+    /**
+     * Indicates whether the sink cannot accept more items for now.
+     * <p>
+     * The credits of the upstream stage are held and the consumer is paused while this returns <code>true</code>.
+     * Sinks holding credits must call {@link #releaseCredits()} once they are able to accept items again.
+     * <p>
+     * The consumer is paused only when the upstream stage waits for credits.
+     * Otherwise the upstream stage keeps sending items, that a paused consumer would discard once its buffer is full:
+     * the sink keeps accepting them instead and {@link #overloaded()} is called.
+     *
+     * @return <code>true</code> when the credits must be held
+     */
+    protected boolean holdCredits() {
+        return false;
+    }
+
+    /**
+     * Resumes the consumer and grants the credits held while the sink was not able to accept more items.
+     */
+    protected void releaseCredits() {
+        overloaded = false;
+        if (paused) {
+            paused = false;
+            consumer.resume();
+        }
+        granter.schedule();
+    }
+
     @Override
+    @SuppressWarnings("unchecked")
     public void consume(Message<I> item) {
-        I input = item.body();
-        LOG.debug("Message received: {}", input);
+        Object body = item.body();
+        LOG.debug("Message received: {}", body);
         try {
-            drain(input);
+            if (body instanceof EventBatch) {
+                drainBatch(((EventBatch<I>) body).items());
+            } else {
+                drain((I) body);
+            }
         } catch (Exception exc) {
             error("An error occured while draining item.", exc);
         }
+        granter.done(item, body instanceof EventBatch ? ((EventBatch) body).size() : 1);
+        if (!paused && !overloaded && holdCredits()) {
+            if (item.headers().contains(CreditController.CREDIT_ADDRESS_HEADER)) {
+                paused = true;
+                consumer.pause();
+            } else {
+                overloaded = true;
+                overloaded();
+            }
+        }
+    }
+
+    /**
+     * Called when the sink cannot accept more items but the upstream stage does not wait for credits.
+     * <p>
+     * Sinks that queue their items must bound their queue from then on. By default a warning is logged.
+     */
+    protected void overloaded() {
+        warn("Sink is overloaded but the upstream stage does not wait for credits, items keep being accepted. "
+                + "Set a window on the upstream stage to apply backpressure.");
+    }
+
+    /**
+     * Drains each item of the batch.
+     * <p>
+     * An item that fails to be drained does not prevent the other items of the batch to be drained.
+     *
+     * @param items the items to drain
+     */
+    @Override
+    public void drainBatch(List<I> items) {
+        for (I item : items) {
+            try {
+                drain(item);
+            } catch (Exception exc) {
+                error("An error occured while draining item.", exc);
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.sink;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import fr.myprysm.pipeline.sink.FileSinkOptions.Format;
+import fr.myprysm.pipeline.util.BufferOutputStream;
+import fr.myprysm.pipeline.util.RecordFormat;
+import fr.myprysm.pipeline.util.VertxJsonModule;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+
+/**
+ * Serializes the batches of items of the {@link FileSink} according to its format.
+ * <p>
+ * Each item is streamed by a Jackson generator straight into the buffer of the batch, without any intermediate string.
+ * Buffers are pooled: a buffer handed back with {@link #release(Buffer)} once its write completed
+ * is cleared and used again by a next batch. At most {@link #POOL_SIZE} buffers are kept.
+ * <p>
+ * An item that cannot be serialized is removed from the buffer, whatever has been written of it,
+ * and replaced by an error line with the text formats. Such failures are logged and counted.
+ * <p>
+ * Methods are synchronized as buffers are released on the context of the file.
+ */
+public class BatchSerializer {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchSerializer.class);
+    private static final int DEFAULT_ITEM_SIZE = 256;
+    private static final int POOL_SIZE = 16;
+
+    private final String name;
+    private final Format format;
+    private final ObjectMapper mapper;
+    private final RecordFormat records;
+    private final Deque<ByteBuf> free = new ArrayDeque<>();
+    private final Map<Buffer, ByteBuf> lent = new IdentityHashMap<>();
+    private int itemSize = DEFAULT_ITEM_SIZE;
+    private long failures = 0;
+
+    /**
+     * Creates a new serializer.
+     *
+     * @param name   the name of the sink, for logging purposes
+     * @param format the format of the items
+     */
+    public BatchSerializer(String name, Format format) {
+        this.name = name;
+        this.format = format;
+        switch (format) {
+            case yaml:
+                records = null;
+                mapper = new YAMLMapper().registerModule(new VertxJsonModule());
+                break;
+            case smile:
+            case cbor:
+            case msgpack:
+                records = RecordFormat.valueOf(format.name());
+                mapper = records.mapper();
+                break;
+            case json:
+            default:
+                records = null;
+                mapper = Json.mapper;
+        }
+    }
+
+    /**
+     * Serializes the items in a buffer of the pool.
+     * <p>
+     * The buffer is sized from the average size of the items of the previous batch.
+     *
+     * @param items the items to serialize
+     * @return the buffer with the number of items it holds
+     */
+    public synchronized Batch serialize(List<JsonObject> items) {
+        ByteBuf bytes = free.isEmpty() ? Unpooled.buffer(items.size() * itemSize) : free.pop();
+        Buffer buffer = Buffer.buffer(bytes);
+        lent.put(buffer, bytes);
+
+        BufferOutputStream out = new BufferOutputStream(buffer);
+        JsonGenerator generator = null;
+        int written = 0;
+        for (JsonObject item : items) {
+            int start = buffer.length();
+            try {
+                if (records != null) {
+                    records.write(item, out);
+                } else if (format == Format.yaml) {
+                    writeDocument(item, out);
+                } else {
+                    if (generator == null) {
+                        generator = valueGenerator(out);
+                    }
+                    writeValue(generator, item, out);
+                }
+                written++;
+            } catch (IOException exc) {
+                failures++;
+                LOG.warn("[" + name + "] Unable to serialize an item as " + format.name() + ", "
+                        + failures + " items failed so far.", exc);
+                // The generator may hold a fragment of the item as well, it is dropped with the bytes written.
+                generator = null;
+                bytes.writerIndex(start);
+                if (records == null) {
+                    buffer.appendString(obj()
+                            .put("error", "serialization error")
+                            .put("message", String.valueOf(exc.getMessage()))
+                            .encode() + "\n");
+                }
+            }
+        }
+
+        close(generator);
+        itemSize = Math.max(1, buffer.length() / Math.max(1, items.size()));
+        return new Batch(buffer, written);
+    }
+
+    /**
+     * Hands a buffer back to the pool once it is not used anymore.
+     * <p>
+     * Buffers that were not lent by this serializer are ignored.
+     *
+     * @param buffer the buffer
+     */
+    public synchronized void release(Buffer buffer) {
+        ByteBuf bytes = lent.remove(buffer);
+        if (bytes != null && free.size() < POOL_SIZE) {
+            bytes.clear();
+            free.push(bytes);
+        }
+    }
+
+    /**
+     * The number of items that could not be serialized.
+     *
+     * @return the number of failures
+     */
+    public synchronized long failures() {
+        return failures;
+    }
+
+    /**
+     * Creates a generator streaming JSON values into the output, without root separator.
+     * <p>
+     * It is shared by the items of a batch and flushed after each item.
+     *
+     * @param out the output
+     * @return the generator
+     * @throws IOException when the generator cannot be created
+     */
+    private JsonGenerator valueGenerator(BufferOutputStream out) throws IOException {
+        JsonGenerator generator = mapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    /**
+     * Releases the generator of a batch once all its items are flushed.
+     * <p>
+     * A generator that failed is never closed, it would complete the fragment of the item it was writing.
+     *
+     * @param generator the generator, if any
+     */
+    private void close(JsonGenerator generator) {
+        if (generator != null) {
+            try {
+                generator.close();
+            } catch (IOException exc) {
+                LOG.debug("[{}] Unable to close the generator.", name, exc);
+            }
+        }
+    }
+
+    /**
+     * Streams the object as a JSON value followed by a new line.
+     *
+     * @param generator the generator of the batch
+     * @param object    the object to write
+     * @param out       the output
+     * @throws IOException when the object cannot be serialized
+     */
+    private void writeValue(JsonGenerator generator, JsonObject object, BufferOutputStream out) throws IOException {
+        mapper.writeValue(generator, object);
+        generator.flush();
+        out.write('\n');
+    }
+
+    /**
+     * Streams the object as a YAML document.
+     * <p>
+     * A YAML generator ends its stream when closed, each object gets its own generator
+     * that does not close the output.
+     *
+     * @param object the object to write
+     * @param out    the output
+     * @throws IOException when the object cannot be serialized
+     */
+    private void writeDocument(JsonObject object, BufferOutputStream out) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            mapper.writeValue(generator, object);
+        }
+        out.write('\n');
+    }
+
+    /**
+     * A serialized batch.
+     */
+    public static final class Batch {
+        private final Buffer buffer;
+        private final int items;
+
+        Batch(Buffer buffer, int items) {
+            this.buffer = buffer;
+            this.items = items;
+        }
+
+        /**
+         * The buffer holding the serialized items, to release once written.
+         *
+         * @return the buffer
+         */
+        public Buffer buffer() {
+            return buffer;
+        }
+
+        /**
+         * The number of items serialized in the buffer.
+         *
+         * @return the number of items
+         */
+        public int items() {
+            return items;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.sink;
+
+import fr.myprysm.pipeline.sink.FileSinkOptions.Overflow;
+import io.reactivex.Completable;
+import io.vertx.core.Handler;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.file.AsyncFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static io.reactivex.Completable.complete;
+import static io.reactivex.Completable.defer;
+
+/**
+ * A file written by the {@link FileSink}, with its own pending items, {@link WriteQueue} and {@link OutputFile}.
+ * <p>
+ * A sink that is not partitioned writes a single partition.
+ * The partition accepts items as soon as it is created, they are written once its file is opened.
+ */
+class FilePartition {
+    private final String key;
+    private final Vertx vertx;
+    private final FileSinkOptions options;
+    private final OutputFile output;
+    private final WriteQueue queue;
+    private final int batchSize;
+
+    private List<JsonObject> pending;
+    private AsyncFile spill;
+
+    /**
+     * Creates a new partition.
+     *
+     * @param name         the name of the sink, for logging purposes
+     * @param vertx        the vertx instance
+     * @param options      the options of the sink, with the file of the partition
+     * @param drainHandler the handler called once the write queue of the partition is not full anymore
+     * @param recycler     the handler called with each buffer once it is not used anymore
+     */
+    FilePartition(String name, Vertx vertx, FileSinkOptions options, Handler<Void> drainHandler, Handler<Buffer> recycler) {
+        this.key = options.getFile();
+        this.vertx = vertx;
+        this.options = options;
+        this.batchSize = options.getBatchSize();
+        this.output = new OutputFile(vertx, options);
+        this.queue = new WriteQueue(name + "/" + key, output, options, drainHandler, recycler);
+        this.pending = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * The file of the partition, relative to the path of the sink and without extension.
+     *
+     * @return the key of the partition
+     */
+    String key() {
+        return key;
+    }
+
+    /**
+     * The full path of the file of the partition.
+     *
+     * @return the full path of the file
+     */
+    String fullPath() {
+        return output.fullPath();
+    }
+
+    /**
+     * Opens the file of the partition and starts writing the items.
+     *
+     * @return a {@link Completable} that completes once the file is opened
+     */
+    Completable open() {
+        return output.open()
+                .andThen(defer(this::openSpillFile))
+                .andThen(defer(() -> {
+                    queue.start(spill);
+                    return complete();
+                }));
+    }
+
+    /**
+     * Opens the temporary file receiving the items while the write queue is full.
+     * <p>
+     * The file is deleted once closed.
+     *
+     * @return a {@link Completable} that completes once the file is opened, if required by the overflow policy
+     */
+    private Completable openSpillFile() {
+        if (options.getOverflow() != Overflow.spill) {
+            return complete();
+        }
+
+        String spillPath = System.getProperty("java.io.tmpdir") + "/" + key.replace('/', '_') + "-" + UUID.randomUUID() + ".spill";
+        OpenOptions openOpts = new OpenOptions().setRead(true).setWrite(true).setCreateNew(true).setDeleteOnClose(true);
+        return vertx.fileSystem().rxOpen(spillPath, openOpts).flatMapCompletable(async -> {
+            spill = async;
+            return complete();
+        });
+    }
+
+    /**
+     * Adds the item to the pending items.
+     *
+     * @param item the item
+     * @return <code>true</code> when the pending items reached the batch size
+     */
+    boolean add(JsonObject item) {
+        pending.add(item);
+        return pending.size() >= batchSize;
+    }
+
+    /**
+     * Adds the items to the pending items.
+     *
+     * @param items the items
+     * @return <code>true</code> when the pending items reached the batch size
+     */
+    boolean addAll(List<JsonObject> items) {
+        pending.addAll(items);
+        return pending.size() >= batchSize;
+    }
+
+    /**
+     * Indicates whether the partition has pending items.
+     *
+     * @return <code>true</code> when no item is pending
+     */
+    boolean noPending() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Takes the pending items, leaving the partition with no pending item.
+     *
+     * @return the pending items
+     */
+    List<JsonObject> takePending() {
+        List<JsonObject> items = pending;
+        pending = new ArrayList<>(batchSize);
+        return items;
+    }
+
+    /**
+     * Writes the buffer in the file of the partition.
+     *
+     * @param buffer the buffer
+     * @param items  the number of items in the buffer
+     */
+    void write(Buffer buffer, int items) {
+        queue.write(buffer, items);
+    }
+
+    /**
+     * Drops the oldest items waiting to be written once the write queue is full, whatever the overflow policy.
+     */
+    void shed() {
+        queue.shed();
+    }
+
+    /**
+     * Indicates whether the write queue of the partition is full.
+     *
+     * @return <code>true</code> when the write queue is full
+     */
+    boolean full() {
+        return queue.full();
+    }
+
+    /**
+     * Rolls the file of the partition when it is due to.
+     */
+    void tick() {
+        queue.tick();
+    }
+
+    /**
+     * Indicates whether some bytes were written since the last sync.
+     *
+     * @return <code>true</code> when the file must be synced
+     */
+    boolean dirty() {
+        return output.dirty();
+    }
+
+    /**
+     * Syncs the file on the disk.
+     *
+     * @return a {@link Completable} that completes once the file is synced
+     */
+    Completable sync() {
+        return output.sync();
+    }
+
+    /**
+     * Waits for all the buffers of the partition to be written and syncs the file.
+     *
+     * @return a {@link Completable} that completes once the file is synced
+     */
+    Completable flush() {
+        return queue.whenEmpty().andThen(defer(output::sync));
+    }
+
+    /**
+     * Waits for all the buffers of the partition to be written and closes the file.
+     *
+     * @return a {@link Completable} that completes once the file is closed
+     */
+    Completable close() {
+        return queue.whenEmpty()
+                .andThen(defer(output::close))
+                .andThen(defer(() -> spill != null ? spill.rxClose() : complete()));
+    }
+
+    /**
+     * The number of syncs of the file of the partition.
+     *
+     * @return the number of syncs
+     */
+    long syncs() {
+        return output.syncs();
+    }
+
+    /**
+     * The time spent syncing the file of the partition, in nanoseconds.
+     *
+     * @return the time spent syncing the file
+     */
+    long syncNanos() {
+        return output.syncNanos();
+    }
+}
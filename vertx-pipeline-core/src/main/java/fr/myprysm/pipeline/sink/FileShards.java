@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.sink;
+
+import fr.myprysm.pipeline.sink.FileSinkOptions.Mode;
+import fr.myprysm.pipeline.util.Instances;
+import io.reactivex.Completable;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.reactivex.core.Vertx;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The shards written by the instances of a {@link FileSink} deployed with a <code>loadFactor</code>
+ * greater than <code>1</code>.
+ * <p>
+ * The instances of a sink share its <code>from</code> address, which identifies the group of shards.
+ * Each instance acquires the index of its shard from {@link Instances} when it starts
+ * and releases it when it stops. The files of the shards are recorded in a {@link LocalMap},
+ * so that the last instance released can merge them.
+ */
+final class FileShards {
+    private static final String SHARDS = FileShards.class.getName();
+
+    private FileShards() {
+        // Utility class
+    }
+
+    /**
+     * Acquires the index of a new shard of the group.
+     *
+     * @param vertx the vertx instance
+     * @param group the group of shards
+     * @return the index of the shard
+     */
+    static int acquire(Vertx vertx, String group) {
+        return Instances.acquire(vertx, group);
+    }
+
+    /**
+     * Releases a shard of the group with the files it wrote.
+     * <p>
+     * The files are keyed by the file they are merged into, then by the index of their shard.
+     * They are recorded before the shard is released, so that the last shard released gets the files of all the others.
+     *
+     * @param vertx the vertx instance
+     * @param group the group of shards
+     * @param files the files written by the shard
+     * @return all the files of the group once the last shard is released, <code>null</code> otherwise
+     */
+    static JsonObject release(Vertx vertx, String group, JsonObject files) {
+        shards(vertx).compute(group, (key, current) -> {
+            JsonObject all = current != null ? current : obj();
+            files.forEach(entry -> {
+                JsonObject shards = all.getJsonObject(entry.getKey(), obj());
+                all.put(entry.getKey(), shards.mergeIn((JsonObject) entry.getValue()));
+            });
+            return all;
+        });
+
+        return Instances.release(vertx, group) ? shards(vertx).remove(group) : null;
+    }
+
+    /**
+     * Appends the shards to the file they are merged into, in the order of their index, and deletes them.
+     * <p>
+     * Shards that do not exist anymore, because they were rolled, are skipped.
+     * The files are copied on a worker thread.
+     *
+     * @param vertx the vertx instance
+     * @param files the shards keyed by the file they are merged into, then by their index
+     * @param mode  the mode of the sink, applied to the files the shards are merged into
+     * @return a {@link Completable} that completes once all the shards are merged
+     */
+    static Completable merge(Vertx vertx, JsonObject files, Mode mode) {
+        return vertx.<Integer>rxExecuteBlocking(future -> {
+            try {
+                int merged = 0;
+                for (String target : files.fieldNames()) {
+                    merged += merge(target, files.getJsonObject(target), mode);
+                }
+                future.complete(merged);
+            } catch (IOException exc) {
+                future.fail(exc);
+            }
+        }, false).toCompletable();
+    }
+
+    private static int merge(String target, JsonObject shards, Mode mode) throws IOException {
+        List<Path> paths = shards.fieldNames().stream()
+                .sorted(Comparator.comparingInt(Integer::parseInt))
+                .map(index -> Paths.get(shards.getString(index)))
+                .filter(Files::exists)
+                .collect(toList());
+
+        if (paths.isEmpty()) {
+            return 0;
+        }
+
+        try (FileChannel out = FileChannel.open(Paths.get(target), openOptions(mode))) {
+            for (Path path : paths) {
+                try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+                    long size = in.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+            out.force(true);
+        }
+
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+
+        return paths.size();
+    }
+
+    private static OpenOption[] openOptions(Mode mode) {
+        switch (mode) {
+            case append:
+                return new OpenOption[]{StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.APPEND};
+            case overwrite:
+                return new OpenOption[]{StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING};
+            case fail:
+            default:
+                return new OpenOption[]{StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW};
+        }
+    }
+
+    private static LocalMap<String, JsonObject> shards(Vertx vertx) {
+        return vertx.getDelegate().sharedData().getLocalMap(SHARDS);
+    }
+}
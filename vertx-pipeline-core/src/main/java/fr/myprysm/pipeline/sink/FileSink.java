@@ -16,27 +16,29 @@
 
 package fr.myprysm.pipeline.sink;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import fr.myprysm.pipeline.sink.FileSinkOptions.Format;
 import fr.myprysm.pipeline.sink.FileSinkOptions.Mode;
+import fr.myprysm.pipeline.sink.FileSinkOptions.Overflow;
+import fr.myprysm.pipeline.sink.FileSinkOptions.SyncPolicy;
+import fr.myprysm.pipeline.util.RecordFormat;
 import fr.myprysm.pipeline.util.Signal;
 import fr.myprysm.pipeline.validation.ValidationResult;
-import io.reactivex.*;
-import io.reactivex.disposables.Disposable;
-import io.vertx.core.file.OpenOptions;
-import io.vertx.core.json.Json;
+import io.reactivex.Completable;
 import io.vertx.core.json.JsonObject;
 import io.vertx.reactivex.core.buffer.Buffer;
-import io.vertx.reactivex.core.file.AsyncFile;
-import io.vertx.reactivex.core.file.FileSystem;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
 import static io.reactivex.Completable.complete;
 import static io.reactivex.Completable.defer;
-import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 
 
 /**
@@ -44,28 +46,169 @@ import static java.util.stream.Collectors.joining;
  * Each item is serialized according to the provided format.
  * <p>
  * Both formats <code>JSON</code> and <code>YAML</code> are supported.
+ * Binary formats <code>SMILE</code>, <code>CBOR</code> and <code>MSGPACK</code> write length prefixed records
+ * as described by {@link RecordFormat}.
+ * <p>
+ * Serialized items go through a bounded {@link WriteQueue} before reaching the file.
+ * Once the queue is full, the configured {@link Overflow} policy applies. With the <code>block</code> policy
+ * the sink stops consuming items and holds the credits of the upstream stage until the queue drains.
+ * An upstream stage without <code>window</code> does not wait for credits: once a queue is full,
+ * the sink falls back to dropping the oldest items waiting to be written so that its memory stays bounded.
+ * <p>
+ * The {@link OutputFile} can be compressed and rolled by size, time or number of items.
+ * <p>
+ * When a partition template is configured, each item is written in the file of its {@link FilePartition}.
+ * The least recently used partitions are closed to keep a bounded number of open files.
+ * <p>
+ * When the sink is deployed with a <code>loadFactor</code> greater than <code>1</code>,
+ * each instance writes its own shard of each file, suffixed by the index of the instance.
+ * The shards can be merged once all the instances are closed.
  * <p>
  * Whenever the sink cannot write into the destination file
  * an <code>UNRECOVERABLE</code> signal is sent to shutdown the pipeline.
  */
-public class FileSink extends FlushableJsonSink<FileSinkOptions> implements FlowableOnSubscribe<JsonObject> {
-
-    private FileSystem fs;
-    private ObjectMapper mapper;
-    private String fullPath;
-
-    private Disposable disposable;
-    private FlowableEmitter<JsonObject> emitter;
-    private AsyncFile asyncFile;
+public class FileSink extends FlushableJsonSink<FileSinkOptions> {
+    private BatchSerializer serializer;
+    private FileSinkOptions options;
+    private String file;
+    private String shard = "";
+    private String shardGroup;
+    private final JsonObject shards = obj();
+    private PathTemplate template;
+    private Map<String, FilePartition> partitions;
+    private final Map<String, Completable> closing = new HashMap<>();
+    private final Set<String> opened = new HashSet<>();
     private Integer batchSize;
     private Format format;
-    private String path;
-    private String file;
-    private Mode mode;
+    private Overflow overflow;
+    private boolean shedding = false;
+    private Long rollTimer;
+    private Long syncTimer;
+    private long syncs = 0;
+    private long syncNanos = 0;
 
     @Override
     public void drain(JsonObject item) {
-        emitter.onNext(item);
+        FilePartition partition = partition(key(item));
+        if (partition.add(item)) {
+            writePending(partition);
+        }
+    }
+
+    /**
+     * Drains a whole batch of items.
+     * <p>
+     * Items are grouped by partition, keeping their order.
+     * When nothing is pending in a partition and its items are at least as many as the configured <code>batchSize</code>
+     * they are written as is, without being copied in the pending buffer.
+     *
+     * @param items the items to drain
+     */
+    @Override
+    public void drainBatch(List<JsonObject> items) {
+        if (template == null) {
+            drainBatch(partition(file), items);
+            return;
+        }
+
+        Map<String, List<JsonObject>> byKey = new LinkedHashMap<>();
+        for (JsonObject item : items) {
+            byKey.computeIfAbsent(key(item), key -> new ArrayList<>()).add(item);
+        }
+        byKey.forEach((key, partitionItems) -> drainBatch(partition(key), partitionItems));
+    }
+
+    private void drainBatch(FilePartition partition, List<JsonObject> items) {
+        if (partition.noPending() && items.size() >= batchSize) {
+            write(partition, items);
+        } else if (partition.addAll(items)) {
+            writePending(partition);
+        }
+    }
+
+    private String key(JsonObject item) {
+        return template == null ? file : template.resolve(item) + shard;
+    }
+
+    /**
+     * The partition of the key, opened if required.
+     * <p>
+     * A partition that is still closing is opened again once it is closed.
+     * A partition that was already opened is opened again in <code>append</code> mode.
+     *
+     * @param key the key of the partition
+     * @return the partition
+     */
+    private FilePartition partition(String key) {
+        FilePartition partition = partitions.get(key);
+        if (partition == null) {
+            partition = newPartition(key);
+            partitions.put(key, partition);
+            FilePartition created = partition;
+            closing.getOrDefault(key, complete())
+                    .onErrorComplete()
+                    .andThen(defer(partition::open))
+                    .subscribe(() -> debug("Partition " + key + " opened."), throwable -> {
+                        error("Unable to open partition " + key + ".", throwable);
+                        partitions.remove(key, created);
+                        drained();
+                    });
+        }
+
+        return partition;
+    }
+
+    private FilePartition newPartition(String key) {
+        FileSinkOptions partitionOptions = new FileSinkOptions(options).setFile(key);
+        if (!opened.add(key)) {
+            partitionOptions.setMode(Mode.append);
+        }
+
+        FilePartition partition = new FilePartition(name(), vertx, partitionOptions, v -> drained(),
+                buffer -> serializer.release(buffer.getDelegate()));
+        if (shedding) {
+            partition.shed();
+        }
+        if (shardGroup != null) {
+            String fullPath = partition.fullPath();
+            int suffix = fullPath.lastIndexOf(shard + ".");
+            String target = fullPath.substring(0, suffix) + fullPath.substring(suffix + shard.length());
+            shards.put(target, obj().put(shard.substring(1), fullPath));
+        }
+
+        return partition;
+    }
+
+    /**
+     * Closes the least recently used partition once the maximum number of open files is reached.
+     *
+     * @param partition the least recently used partition
+     */
+    private void evict(FilePartition partition) {
+        writePending(partition);
+        Completable closed = close(partition).cache();
+        closing.put(partition.key(), closed);
+        closed.subscribe(() -> closing.remove(partition.key(), closed),
+                throwable -> {
+                    closing.remove(partition.key(), closed);
+                    error("Unable to close partition " + partition.key() + ".", throwable);
+                });
+    }
+
+    private Completable close(FilePartition partition) {
+        return partition.close().doOnComplete(() -> {
+            syncs += partition.syncs();
+            syncNanos += partition.syncNanos();
+        });
+    }
+
+    /**
+     * Releases the credits once no partition is full anymore.
+     */
+    private void drained() {
+        if (!holdCredits()) {
+            releaseCredits();
+        }
     }
 
     @Override
@@ -80,99 +223,161 @@ public class FileSink extends FlushableJsonSink<FileSinkOptions> implements Flow
 
     @Override
     protected Completable startVerticle() {
-        disposable = Flowable.create(this, BackpressureStrategy.BUFFER)
-                .buffer(batchSize)
-                .subscribe(this::write, this::handleError);
-        emitter.setDisposable(disposable);
+        if (options.getRollInterval() != null) {
+            rollTimer = vertx.setPeriodic(Math.min(options.getRollInterval(), 1000L),
+                    timer -> partitions.values().forEach(FilePartition::tick));
+        }
+        if (options.getSyncPolicy() == SyncPolicy.interval) {
+            syncTimer = vertx.setPeriodic(options.getSyncInterval(), timer -> syncIfDirty());
+        }
         return complete();
     }
 
     @Override
     public Completable shutdown() {
-        emitter.onComplete();
-        disposable.dispose();
-        return asyncFile.rxFlush().andThen(defer(asyncFile::rxClose));
+        if (rollTimer != null) {
+            vertx.cancelTimer(rollTimer);
+        }
+        if (syncTimer != null) {
+            vertx.cancelTimer(syncTimer);
+        }
+        partitions.values().forEach(this::writePending);
+        List<Completable> closed = partitions.values().stream().map(this::close).collect(toList());
+        closed.addAll(closing.values());
+        return Completable.merge(closed)
+                .doOnComplete(() -> {
+                    info("Synced " + syncs + " times in " + syncNanos / 1_000_000 + "ms.");
+                    if (serializer.failures() > 0) {
+                        warn("Unable to serialize " + serializer.failures() + " items.");
+                    }
+                })
+                .andThen(defer(this::releaseShard));
     }
 
     /**
-     * Writes the buffer of objects collected from the event bus.
+     * Releases the shard written by this instance.
      * <p>
-     * Serializes the list by concatenating all the elements with a new line.
+     * The last instance to release its shard merges all the shards when <code>mergeShards</code> is enabled.
      *
-     * @param objects the buffer of objects.
+     * @return a {@link Completable} that completes once the shard is released, and the shards merged if required
      */
-    private void write(List<JsonObject> objects) {
-        Buffer buffer = Buffer.buffer(objects.stream()
-                .map(o -> {
-                    try {
-                        return mapper.writeValueAsString(o);
-                    } catch (JsonProcessingException exc) {
-                        // That should never happen.....
-                        info("Error during " + format.name() + " serialization.", exc);
-                        return "{\"error\": \"serialization error\", \"message\": \"" + exc.getMessage().replaceAll("\"", "\\\"") + "\"}";
-                    }
-                }).collect(joining("\n")) + "\n"); // Ending line to concatenate each buffer when writing.
+    private Completable releaseShard() {
+        if (shardGroup == null) {
+            return complete();
+        }
+
+        JsonObject files = FileShards.release(vertx, shardGroup, shards);
+        if (files == null || !Boolean.TRUE.equals(options.getMergeShards())) {
+            return complete();
+        }
 
-        asyncFile.write(buffer);
+        return FileShards.merge(vertx, files, options.getMode())
+                .doOnComplete(() -> info("Merged the shards of " + files.size() + " files."));
     }
 
-    private void handleError(Throwable throwable) {
-        error("Received an error: ", throwable);
+    /**
+     * Writes the pending objects of the partition, if any.
+     *
+     * @param partition the partition
+     */
+    private void writePending(FilePartition partition) {
+        if (!partition.noPending()) {
+            write(partition, partition.takePending());
+        }
+    }
+
+    /**
+     * Writes the buffer of objects collected from the event bus.
+     * <p>
+     * Objects are serialized by the {@link BatchSerializer} in a pooled buffer,
+     * handed back to the pool once the write completed. Only the items serialized are accounted.
+     *
+     * @param partition the partition to write the objects into
+     * @param objects   the buffer of objects.
+     */
+    private void write(FilePartition partition, List<JsonObject> objects) {
+        BatchSerializer.Batch batch = serializer.serialize(objects);
+        if (batch.buffer().length() > 0) {
+            partition.write(Buffer.newInstance(batch.buffer()), batch.items());
+        } else {
+            serializer.release(batch.buffer());
+        }
     }
 
     @Override
     public Completable configure(FileSinkOptions config) {
-        fs = vertx.fileSystem();
+        options = config;
         batchSize = config.getBatchSize();
         format = config.getFormat();
-        mode = config.getMode();
-        path = config.getPath();
-        file = config.getFile();
-        fullPath = path + "/" + file + "." + format.toString();
-
+        overflow = config.getOverflow();
+        if (config().getInteger("loadFactor", 1) > 1) {
+            shardGroup = from();
+            shard = "-" + FileShards.acquire(vertx, shardGroup);
+        }
+        file = config.getFile() + shard;
+        template = config.getPartition() != null ? PathTemplate.compile(config.getPartition(), config.getPartitionTime()) : null;
+        partitions = new LinkedHashMap<String, FilePartition>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FilePartition> eldest) {
+                if (size() > options.getMaxOpenFiles()) {
+                    evict(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
 
-        return folderExists()
-                .andThen(defer(this::fileCheck))
-                .andThen(defer(this::prepareMapper));
+        serializer = new BatchSerializer(name(), format);
+        return openFile();
     }
 
-    private Completable prepareMapper() {
-        switch (format) {
-            case yaml:
-                mapper = new YAMLMapper();
-                break;
-            case json:
-            default:
-                mapper = Json.mapper;
+    /**
+     * Opens the file of a sink that is not partitioned, so that the sink fails to start when it cannot write it.
+     *
+     * @return a {@link Completable} that completes once the file is opened
+     */
+    private Completable openFile() {
+        if (template != null) {
+            return complete();
         }
-        return complete();
-    }
 
-    private Completable fileCheck() {
-        OpenOptions openOpts = new OpenOptions().setWrite(true).setCreate(true);
+        FilePartition partition = newPartition(file);
+        partitions.put(partition.key(), partition);
+        return partition.open();
+    }
 
-        switch (mode) {
-            case append:
-                openOpts.setAppend(true);
-                break;
-            case overwrite:
-                openOpts.setTruncateExisting(true);
-                break;
-            case fail:
-            default:
-                openOpts.setCreateNew(true).setWrite(true);
-                break;
+    /**
+     * Holds the credits of the upstream stage while a write queue is full with the <code>block</code> overflow policy.
+     *
+     * @return <code>true</code> when the sink must stop accepting items
+     */
+    @Override
+    protected boolean holdCredits() {
+        if (overflow != Overflow.block) {
+            return false;
         }
 
-        return fs.rxOpen(fullPath, openOpts).flatMapCompletable(async -> {
-            asyncFile = async;
-            return complete();
-        });
+        for (FilePartition partition : partitions.values()) {
+            if (partition.full()) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private Completable folderExists() {
-        return fs.rxExists(path)
-                .flatMapCompletable(exists -> exists ? complete() : fs.rxMkdirs(path, "rwxr-x---"));
+    /**
+     * Drops the oldest items waiting to be written once a write queue is full,
+     * as the upstream stage does not wait for credits and would fill the queues without bound.
+     */
+    @Override
+    protected void overloaded() {
+        if (!shedding) {
+            shedding = true;
+            partitions.values().forEach(FilePartition::shed);
+            warn("Sink is overloaded but the upstream stage does not wait for credits, "
+                    + "the oldest items are dropped while the write queue is full. "
+                    + "Set a window on the upstream stage to apply backpressure.");
+        }
     }
 
     @Override
@@ -180,18 +385,36 @@ public class FileSink extends FlushableJsonSink<FileSinkOptions> implements Flow
         return batchSize;
     }
 
-    @Override
-    public Completable flush() {
-        return null;
+    /**
+     * Syncs all the batches written since the last sync at once.
+     */
+    private void syncIfDirty() {
+        for (FilePartition partition : partitions.values()) {
+            if (partition.dirty()) {
+                partition.sync().subscribe(() -> debug("Synced."), throwable -> error("Unable to sync file.", throwable));
+            }
+        }
     }
 
+    /**
+     * Writes the pending items of all the partitions.
+     * <p>
+     * With the <code>flush</code> sync policy, waits for all the items to be written and syncs the files.
+     *
+     * @return a {@link Completable} that completes once the items are written, and synced if required
+     */
     @Override
-    public void subscribe(FlowableEmitter<JsonObject> emitter) throws Exception {
-        this.emitter = emitter;
+    public Completable flush() {
+        partitions.values().forEach(this::writePending);
+        if (options.getSyncPolicy() == SyncPolicy.flush) {
+            return Completable.merge(partitions.values().stream().map(FilePartition::flush).collect(toList()));
+        }
+
+        return complete();
     }
 
     @Override
     public Completable onSignal(Signal signal) {
-        return asyncFile.rxFlush();
+        return flush();
     }
 }
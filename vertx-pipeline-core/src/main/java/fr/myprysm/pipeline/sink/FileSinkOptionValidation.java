@@ -16,11 +16,16 @@
 
 package fr.myprysm.pipeline.sink;
 
+import fr.myprysm.pipeline.sink.FileSinkOptions.Compression;
 import fr.myprysm.pipeline.sink.FileSinkOptions.Format;
 import fr.myprysm.pipeline.sink.FileSinkOptions.Mode;
+import fr.myprysm.pipeline.sink.FileSinkOptions.Overflow;
+import fr.myprysm.pipeline.sink.FileSinkOptions.SyncPolicy;
 import fr.myprysm.pipeline.validation.ValidationResult;
 import io.vertx.core.json.JsonObject;
 
+import static fr.myprysm.pipeline.sink.FileSinkOptions.DEFAULT_HIGH_WATERMARK;
+import static fr.myprysm.pipeline.sink.FileSinkOptions.DEFAULT_LOW_WATERMARK;
 import static fr.myprysm.pipeline.validation.JsonValidation.*;
 
 public interface FileSinkOptionValidation {
@@ -31,6 +36,27 @@ public interface FileSinkOptionValidation {
                 .and(isNull("mode").or(isEnum("mode", Mode.class)))
                 .and(isNull("format").or(isEnum("format", Format.class)))
                 .and(isNull("batchSize").or(gt("batchSize", 0L)))
+                .and(isNull("highWatermark").or(gt("highWatermark", 0L)))
+                .and(isNull("lowWatermark").or(gte("lowWatermark", 0L)))
+                .and(isNull("overflow").or(isEnum("overflow", Overflow.class)))
+                .and(isNull("rollSize").or(gt("rollSize", 0L)))
+                .and(isNull("rollInterval").or(gt("rollInterval", 0L)))
+                .and(isNull("rollEvents").or(gt("rollEvents", 0L)))
+                .and(isNull("retention").or(gt("retention", 0L)))
+                .and(isNull("compression").or(isEnum("compression", Compression.class)))
+                .and(isNull("syncPolicy").or(isEnum("syncPolicy", SyncPolicy.class)))
+                .and(isNull("syncInterval").or(gt("syncInterval", 0L)))
+                .and(isNull("syncBatches").or(gt("syncBatches", 0L)))
+                .and(isNull("partition").or(isString("partition")
+                        .and(holds(json -> !json.getString("partition").contains(".."), "Field 'partition' must not contain '..'"))))
+                .and(isNull("partitionTime").or(isString("partitionTime")))
+                .and(isNull("maxOpenFiles").or(gt("maxOpenFiles", 0L)))
+                .and(isNull("mergeShards").or(isBoolean("mergeShards")))
+                .and(holds(json -> !Boolean.TRUE.equals(json.getValue("mergeShards")) || !"deflate".equals(json.getValue("compression")),
+                        "Field 'mergeShards' cannot be used with 'deflate' compression"))
+                .and(holds(json -> json.getLong("lowWatermark", DEFAULT_LOW_WATERMARK.longValue())
+                                <= json.getLong("highWatermark", DEFAULT_HIGH_WATERMARK.longValue()),
+                        "Field 'lowWatermark' must not be greater than 'highWatermark'"))
                 .apply(config);
     }
 }
@@ -27,19 +27,55 @@ public class FileSinkOptions extends FlushableSinkOptions {
     public static final Format DEFAULT_FORMAT = Format.json;
     public static final String DEFAULT_PATH = "/tmp";
     public static final Mode DEFAULT_MODE = Mode.fail;
+    public static final Integer DEFAULT_HIGH_WATERMARK = 1048576;
+    public static final Integer DEFAULT_LOW_WATERMARK = 524288;
+    public static final Overflow DEFAULT_OVERFLOW = Overflow.block;
+    public static final Compression DEFAULT_COMPRESSION = Compression.none;
+    public static final SyncPolicy DEFAULT_SYNC_POLICY = SyncPolicy.flush;
+    public static final Long DEFAULT_SYNC_INTERVAL = 1000L;
+    public static final Integer DEFAULT_SYNC_BATCHES = 10;
+    public static final Integer DEFAULT_MAX_OPEN_FILES = 64;
+    public static final Boolean DEFAULT_MERGE_SHARDS = false;
 
     public enum Format {
-        json, yaml
+        json, yaml, smile, cbor, msgpack
     }
 
     public enum Mode {
         append, overwrite, fail
     }
 
+    public enum Overflow {
+        block, drop_oldest, spill
+    }
+
+    public enum Compression {
+        none, gzip, deflate
+    }
+
+    public enum SyncPolicy {
+        none, interval, batches, flush
+    }
+
     private String path = DEFAULT_PATH;
     private String file = DEFAULT_FILE;
     private Format format = DEFAULT_FORMAT;
     private Mode mode = DEFAULT_MODE;
+    private Integer highWatermark = DEFAULT_HIGH_WATERMARK;
+    private Integer lowWatermark = DEFAULT_LOW_WATERMARK;
+    private Overflow overflow = DEFAULT_OVERFLOW;
+    private Long rollSize;
+    private Long rollInterval;
+    private Long rollEvents;
+    private Integer retention;
+    private Compression compression = DEFAULT_COMPRESSION;
+    private SyncPolicy syncPolicy = DEFAULT_SYNC_POLICY;
+    private Long syncInterval = DEFAULT_SYNC_INTERVAL;
+    private Integer syncBatches = DEFAULT_SYNC_BATCHES;
+    private String partition;
+    private String partitionTime;
+    private Integer maxOpenFiles = DEFAULT_MAX_OPEN_FILES;
+    private Boolean mergeShards = DEFAULT_MERGE_SHARDS;
 
     public FileSinkOptions() {
         super();
@@ -56,6 +92,21 @@ public class FileSinkOptions extends FlushableSinkOptions {
         file = other.file;
         format = other.format;
         mode = other.mode;
+        highWatermark = other.highWatermark;
+        lowWatermark = other.lowWatermark;
+        overflow = other.overflow;
+        rollSize = other.rollSize;
+        rollInterval = other.rollInterval;
+        rollEvents = other.rollEvents;
+        retention = other.retention;
+        compression = other.compression;
+        syncPolicy = other.syncPolicy;
+        syncInterval = other.syncInterval;
+        syncBatches = other.syncBatches;
+        partition = other.partition;
+        partitionTime = other.partitionTime;
+        maxOpenFiles = other.maxOpenFiles;
+        mergeShards = other.mergeShards;
     }
 
     public FileSinkOptions(SinkOptions other) {
@@ -123,7 +174,10 @@ public class FileSinkOptions extends FlushableSinkOptions {
     /**
      * The format output of the {@link FileSink}.
      * <p>
-     * <code>JSON</code> and <code>YAML</code> are supported.
+     * <code>JSON</code> and <code>YAML</code> are supported, one item per line or document.
+     * <p>
+     * <code>SMILE</code>, <code>CBOR</code> and <code>MSGPACK</code> binary formats write each item as a record
+     * prefixed by its length, that can be read back with the {@link fr.myprysm.pipeline.pump.RecordFilePump}.
      *
      * @param format the format
      * @return this
@@ -153,6 +207,377 @@ public class FileSinkOptions extends FlushableSinkOptions {
         return this;
     }
 
+    /**
+     * The size in bytes of the write queue of the {@link FileSink} above which it is full.
+     *
+     * @return the high watermark of the write queue
+     */
+    public Integer getHighWatermark() {
+        return highWatermark;
+    }
+
+    /**
+     * The size in bytes of the write queue of the {@link FileSink} above which it is full.
+     * <p>
+     * The write queue holds the serialized items that are not written in the file yet.
+     * Once it is full the {@link Overflow} policy applies until it goes back under the low watermark.
+     * <p>
+     * It defaults to <code>1048576</code> (1MiB)
+     *
+     * @param highWatermark the high watermark of the write queue
+     * @return this
+     */
+    public FileSinkOptions setHighWatermark(Integer highWatermark) {
+        this.highWatermark = highWatermark;
+        return this;
+    }
+
+    /**
+     * The size in bytes of the write queue of the {@link FileSink} under which it accepts items again.
+     *
+     * @return the low watermark of the write queue
+     */
+    public Integer getLowWatermark() {
+        return lowWatermark;
+    }
+
+    /**
+     * The size in bytes of the write queue of the {@link FileSink} under which it accepts items again.
+     * <p>
+     * It must not be greater than the high watermark.
+     * <p>
+     * It defaults to <code>524288</code> (512KiB)
+     *
+     * @param lowWatermark the low watermark of the write queue
+     * @return this
+     */
+    public FileSinkOptions setLowWatermark(Integer lowWatermark) {
+        this.lowWatermark = lowWatermark;
+        return this;
+    }
+
+    /**
+     * The policy of the {@link FileSink} when its write queue is full.
+     *
+     * @return the overflow policy
+     */
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * The policy of the {@link FileSink} when its write queue is full.
+     * <p>
+     * <code>block</code> pauses the sink and holds the credits of the upstream stage until the queue drains.
+     * When the upstream stage has no <code>window</code> it does not wait for credits: the sink drops the oldest items
+     * instead and logs a warning,
+     * <code>drop_oldest</code> drops the oldest items waiting to be written to make room for the new ones,
+     * <code>spill</code> writes the new items in a temporary file until the queue drains.
+     * <p>
+     * It defaults to <code>block</code>
+     *
+     * @param overflow the overflow policy
+     * @return this
+     */
+    public FileSinkOptions setOverflow(Overflow overflow) {
+        this.overflow = overflow;
+        return this;
+    }
+
+    /**
+     * The size in bytes above which the output file of the {@link FileSink} is rolled.
+     *
+     * @return the size to roll the output file
+     */
+    public Long getRollSize() {
+        return rollSize;
+    }
+
+    /**
+     * The size in bytes above which the output file of the {@link FileSink} is rolled.
+     * <p>
+     * The size is the one of the file on the disk, after compression.
+     * The file is not rolled by size when not set.
+     *
+     * @param rollSize the size to roll the output file
+     * @return this
+     */
+    public FileSinkOptions setRollSize(Long rollSize) {
+        this.rollSize = rollSize;
+        return this;
+    }
+
+    /**
+     * The duration in milliseconds after which the output file of the {@link FileSink} is rolled.
+     *
+     * @return the interval to roll the output file
+     */
+    public Long getRollInterval() {
+        return rollInterval;
+    }
+
+    /**
+     * The duration in milliseconds after which the output file of the {@link FileSink} is rolled.
+     * <p>
+     * An output file that did not receive any item is not rolled.
+     * The file is not rolled by time when not set.
+     *
+     * @param rollInterval the interval to roll the output file
+     * @return this
+     */
+    public FileSinkOptions setRollInterval(Long rollInterval) {
+        this.rollInterval = rollInterval;
+        return this;
+    }
+
+    /**
+     * The number of items after which the output file of the {@link FileSink} is rolled.
+     *
+     * @return the number of items to roll the output file
+     */
+    public Long getRollEvents() {
+        return rollEvents;
+    }
+
+    /**
+     * The number of items after which the output file of the {@link FileSink} is rolled.
+     * <p>
+     * Files are rolled between two batches, a file may hold a few more items.
+     * The file is not rolled by number of items when not set.
+     *
+     * @param rollEvents the number of items to roll the output file
+     * @return this
+     */
+    public FileSinkOptions setRollEvents(Long rollEvents) {
+        this.rollEvents = rollEvents;
+        return this;
+    }
+
+    /**
+     * The number of rolled files kept by the {@link FileSink}.
+     *
+     * @return the number of rolled files to keep
+     */
+    public Integer getRetention() {
+        return retention;
+    }
+
+    /**
+     * The number of rolled files kept by the {@link FileSink}.
+     * <p>
+     * The oldest rolled files are deleted once a file is rolled.
+     * All the rolled files are kept when not set.
+     *
+     * @param retention the number of rolled files to keep
+     * @return this
+     */
+    public FileSinkOptions setRetention(Integer retention) {
+        this.retention = retention;
+        return this;
+    }
+
+    /**
+     * The compression of the output file of the {@link FileSink}.
+     *
+     * @return the compression
+     */
+    public Compression getCompression() {
+        return compression;
+    }
+
+    /**
+     * The compression of the output file of the {@link FileSink}.
+     * <p>
+     * <code>gzip</code> and <code>deflate</code> streams are flushed after each batch,
+     * the compression runs on a worker thread. The extension of the file is suffixed
+     * with <code>.gz</code> or <code>.deflate</code>.
+     * <p>
+     * It defaults to <code>none</code>
+     *
+     * @param compression the compression
+     * @return this
+     */
+    public FileSinkOptions setCompression(Compression compression) {
+        this.compression = compression;
+        return this;
+    }
+
+    /**
+     * The policy of the {@link FileSink} to sync its output file on the disk.
+     *
+     * @return the sync policy
+     */
+    public SyncPolicy getSyncPolicy() {
+        return syncPolicy;
+    }
+
+    /**
+     * The policy of the {@link FileSink} to sync its output file on the disk.
+     * <p>
+     * <code>none</code> leaves it to the operating system,
+     * <code>interval</code> syncs all the batches written during the last <code>syncInterval</code> at once,
+     * <code>batches</code> syncs every <code>syncBatches</code> batches before acknowledging the last one,
+     * <code>flush</code> syncs every time a <code>FLUSH</code> signal is received.
+     * <p>
+     * Syncs run on a worker thread. The file is always synced before being rolled or closed.
+     * <p>
+     * It defaults to <code>flush</code>
+     *
+     * @param syncPolicy the sync policy
+     * @return this
+     */
+    public FileSinkOptions setSyncPolicy(SyncPolicy syncPolicy) {
+        this.syncPolicy = syncPolicy;
+        return this;
+    }
+
+    /**
+     * The interval in milliseconds between two syncs with the <code>interval</code> sync policy.
+     *
+     * @return the sync interval
+     */
+    public Long getSyncInterval() {
+        return syncInterval;
+    }
+
+    /**
+     * The interval in milliseconds between two syncs with the <code>interval</code> sync policy.
+     * <p>
+     * It defaults to <code>1000</code>
+     *
+     * @param syncInterval the sync interval
+     * @return this
+     */
+    public FileSinkOptions setSyncInterval(Long syncInterval) {
+        this.syncInterval = syncInterval;
+        return this;
+    }
+
+    /**
+     * The number of batches between two syncs with the <code>batches</code> sync policy.
+     *
+     * @return the number of batches between two syncs
+     */
+    public Integer getSyncBatches() {
+        return syncBatches;
+    }
+
+    /**
+     * The number of batches between two syncs with the <code>batches</code> sync policy.
+     * <p>
+     * It defaults to <code>10</code>
+     *
+     * @param syncBatches the number of batches between two syncs
+     * @return this
+     */
+    public FileSinkOptions setSyncBatches(Integer syncBatches) {
+        this.syncBatches = syncBatches;
+        return this;
+    }
+
+    /**
+     * The template of the file each item is written into, relative to the path of the {@link FileSink}.
+     *
+     * @return the partition template
+     */
+    public String getPartition() {
+        return partition;
+    }
+
+    /**
+     * The template of the file each item is written into, relative to the path of the {@link FileSink}.
+     * <p>
+     * The template is the file name without extension, it may contain folders.
+     * It supports the <code>{date}</code>, <code>{hour}</code> and <code>{time:pattern}</code> time buckets
+     * as well as any JSON path of the item between braces, for instance <code>{date}/{tenant}</code>.
+     * Each partition buffers its own items and has its own write queue.
+     * <p>
+     * When set, the <code>file</code> is ignored. The sink is not partitioned when not set.
+     *
+     * @param partition the partition template
+     * @return this
+     */
+    public FileSinkOptions setPartition(String partition) {
+        this.partition = partition;
+        return this;
+    }
+
+    /**
+     * The JSON path of the time of the items, used by the time buckets of the partition template.
+     *
+     * @return the JSON path of the time of the items
+     */
+    public String getPartitionTime() {
+        return partitionTime;
+    }
+
+    /**
+     * The JSON path of the time of the items, used by the time buckets of the partition template.
+     * <p>
+     * The time must be in epoch milliseconds. The current time is used when not set or when an item has no time.
+     *
+     * @param partitionTime the JSON path of the time of the items
+     * @return this
+     */
+    public FileSinkOptions setPartitionTime(String partitionTime) {
+        this.partitionTime = partitionTime;
+        return this;
+    }
+
+    /**
+     * The maximum number of partition files open at the same time.
+     *
+     * @return the maximum number of open files
+     */
+    public Integer getMaxOpenFiles() {
+        return maxOpenFiles;
+    }
+
+    /**
+     * The maximum number of partition files open at the same time.
+     * <p>
+     * The least recently used partition is closed when a new one has to be opened.
+     * It is opened again in <code>append</code> mode if it receives more items.
+     * <p>
+     * It defaults to <code>64</code>
+     *
+     * @param maxOpenFiles the maximum number of open files
+     * @return this
+     */
+    public FileSinkOptions setMaxOpenFiles(Integer maxOpenFiles) {
+        this.maxOpenFiles = maxOpenFiles;
+        return this;
+    }
+
+    /**
+     * Whether the shards written by the instances of the {@link FileSink} are merged once they are all closed.
+     *
+     * @return <code>true</code> when the shards are merged
+     */
+    public Boolean getMergeShards() {
+        return mergeShards;
+    }
+
+    /**
+     * Whether the shards written by the instances of the {@link FileSink} are merged once they are all closed.
+     * <p>
+     * When the sink is deployed with a <code>loadFactor</code> greater than <code>1</code>,
+     * each instance writes its own shard, suffixed by the index of the instance (e.g. <code>output-0.json</code>).
+     * The last instance to close appends the shards to the file of the sink, in the order of their index,
+     * and deletes them.
+     * <p>
+     * Rolled files are not merged. Deflate streams cannot be concatenated, gzip ones can.
+     * <p>
+     * It defaults to <code>false</code>
+     *
+     * @param mergeShards whether the shards are merged
+     * @return this
+     */
+    public FileSinkOptions setMergeShards(Boolean mergeShards) {
+        this.mergeShards = mergeShards;
+        return this;
+    }
+
     @Override
     public Integer getBatchSize() {
         return super.getBatchSize();
@@ -200,13 +625,30 @@ public class FileSinkOptions extends FlushableSinkOptions {
         return Objects.equals(path, that.path) &&
                 Objects.equals(file, that.file) &&
                 format == that.format &&
-                mode == that.mode;
+                mode == that.mode &&
+                Objects.equals(highWatermark, that.highWatermark) &&
+                Objects.equals(lowWatermark, that.lowWatermark) &&
+                overflow == that.overflow &&
+                Objects.equals(rollSize, that.rollSize) &&
+                Objects.equals(rollInterval, that.rollInterval) &&
+                Objects.equals(rollEvents, that.rollEvents) &&
+                Objects.equals(retention, that.retention) &&
+                compression == that.compression &&
+                syncPolicy == that.syncPolicy &&
+                Objects.equals(syncInterval, that.syncInterval) &&
+                Objects.equals(syncBatches, that.syncBatches) &&
+                Objects.equals(partition, that.partition) &&
+                Objects.equals(partitionTime, that.partitionTime) &&
+                Objects.equals(maxOpenFiles, that.maxOpenFiles) &&
+                Objects.equals(mergeShards, that.mergeShards);
     }
 
     @Override
     public int hashCode() {
 
-        return Objects.hash(super.hashCode(), path, file, format, mode);
+        return Objects.hash(super.hashCode(), path, file, format, mode, highWatermark, lowWatermark, overflow,
+                rollSize, rollInterval, rollEvents, retention, compression,
+                syncPolicy, syncInterval, syncBatches, partition, partitionTime, maxOpenFiles, mergeShards);
     }
 
     @Override
@@ -216,6 +658,21 @@ public class FileSinkOptions extends FlushableSinkOptions {
                 ", file='" + file + '\'' +
                 ", format=" + format +
                 ", mode=" + mode +
+                ", highWatermark=" + highWatermark +
+                ", lowWatermark=" + lowWatermark +
+                ", overflow=" + overflow +
+                ", rollSize=" + rollSize +
+                ", rollInterval=" + rollInterval +
+                ", rollEvents=" + rollEvents +
+                ", retention=" + retention +
+                ", compression=" + compression +
+                ", syncPolicy=" + syncPolicy +
+                ", syncInterval=" + syncInterval +
+                ", syncBatches=" + syncBatches +
+                ", partition='" + partition + '\'' +
+                ", partitionTime='" + partitionTime + '\'' +
+                ", maxOpenFiles=" + maxOpenFiles +
+                ", mergeShards=" + mergeShards +
                 "} " + super.toString();
     }
 }
@@ -0,0 +1,460 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.sink;
+
+import fr.myprysm.pipeline.sink.FileSinkOptions.Compression;
+import fr.myprysm.pipeline.sink.FileSinkOptions.Mode;
+import fr.myprysm.pipeline.sink.FileSinkOptions.SyncPolicy;
+import fr.myprysm.pipeline.util.BufferOutputStream;
+import io.reactivex.Completable;
+import io.reactivex.CompletableEmitter;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.vertx.core.file.CopyOptions;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.file.AsyncFile;
+import io.vertx.reactivex.core.file.FileSystem;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static io.reactivex.Completable.complete;
+import static io.reactivex.Completable.defer;
+
+/**
+ * The file written by the {@link FileSink}.
+ * <p>
+ * Buffers are written one after the other at the end of the file, optionally compressed on a worker thread.
+ * <p>
+ * When rolling is enabled, the file is closed and renamed once it reaches the configured size, age or number of items.
+ * The rename is atomic, a rolled file is always complete. Rolled files are named after the file,
+ * the time they were rolled and a sequence number, so that their names sort in the order they were rolled:
+ * <code>output.20180401-123456789-0001.json.gz</code>.
+ * The file is also rolled when closed.
+ * <p>
+ * The file is synced on the disk on a worker thread, according to the sync policy, and always before being rolled or closed.
+ * Sync requests made while a sync is running are grouped into the next sync.
+ * <p>
+ * Writes are not expected to overlap, the {@link WriteQueue} waits for each write to complete before the next one.
+ */
+class OutputFile {
+    private static final String ROLL_PATTERN = "yyyyMMdd-HHmmssSSS";
+
+    private final Vertx vertx;
+    private final FileSystem fs;
+    private final String folder;
+    private final String file;
+    private final String extension;
+    private final String fullPath;
+    private final Mode mode;
+    private final Compression compression;
+    private final Long rollSize;
+    private final Long rollInterval;
+    private final Long rollEvents;
+    private final Integer retention;
+    private final Pattern rolledFiles;
+    private final SyncPolicy syncPolicy;
+    private final int syncBatches;
+
+    private AsyncFile asyncFile;
+    private Compressor compressor;
+    private long position;
+    private long items;
+    private long openedAt;
+    private int sequence = 0;
+
+    private List<CompletableEmitter> syncRequests = new ArrayList<>();
+    private boolean syncing = false;
+    private boolean dirty = false;
+    private int unsyncedBatches = 0;
+    private long syncs = 0;
+    private long syncNanos = 0;
+
+    OutputFile(Vertx vertx, FileSinkOptions options) {
+        this.vertx = vertx;
+        this.fs = vertx.fileSystem();
+        int slash = options.getFile().lastIndexOf('/');
+        this.folder = slash < 0 ? options.getPath() : options.getPath() + "/" + options.getFile().substring(0, slash);
+        this.file = options.getFile().substring(slash + 1);
+        this.mode = options.getMode();
+        this.compression = options.getCompression();
+        this.extension = options.getFormat() + suffix(compression);
+        this.fullPath = folder + "/" + file + "." + extension;
+        this.rollSize = options.getRollSize();
+        this.rollInterval = options.getRollInterval();
+        this.rollEvents = options.getRollEvents();
+        this.retention = options.getRetention();
+        this.syncPolicy = options.getSyncPolicy();
+        this.syncBatches = options.getSyncBatches();
+        this.rolledFiles = Pattern.compile(Pattern.quote(file) + "\\.\\d{8}-\\d{9}-\\d+\\." + Pattern.quote(extension));
+    }
+
+    private static String suffix(Compression compression) {
+        switch (compression) {
+            case gzip:
+                return ".gz";
+            case deflate:
+                return ".deflate";
+            case none:
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * The full path of the file being written.
+     *
+     * @return the path of the file
+     */
+    String fullPath() {
+        return fullPath;
+    }
+
+    /**
+     * Opens the file according to the mode of the sink.
+     * <p>
+     * The folder of the file is created when it does not exist.
+     * Items are appended after the current content of the file in <code>append</code> mode.
+     *
+     * @return a {@link Completable} that completes once the file is opened
+     */
+    Completable open() {
+        OpenOptions openOpts = new OpenOptions().setWrite(true).setCreate(true);
+
+        switch (mode) {
+            case append:
+                openOpts.setAppend(true);
+                break;
+            case overwrite:
+                openOpts.setTruncateExisting(true);
+                break;
+            case fail:
+            default:
+                openOpts.setCreateNew(true).setWrite(true);
+                break;
+        }
+
+        return folderExists()
+                .andThen(defer(() -> open(openOpts)))
+                .andThen(defer(() -> mode == Mode.append
+                ? fs.rxProps(fullPath).flatMapCompletable(props -> {
+                    position = props.size();
+                    return complete();
+                })
+                : complete()));
+    }
+
+    private Completable folderExists() {
+        return fs.rxExists(folder)
+                .flatMapCompletable(exists -> exists ? complete() : fs.rxMkdirs(folder, "rwxr-x---"));
+    }
+
+    private Completable open(OpenOptions openOpts) {
+        return fs.rxOpen(fullPath, openOpts).flatMapCompletable(async -> {
+            asyncFile = async;
+            position = 0;
+            items = 0;
+            openedAt = System.currentTimeMillis();
+            compressor = compression != Compression.none ? new Compressor(compression) : null;
+            return complete();
+        });
+    }
+
+    /**
+     * Writes the buffer at the end of the file.
+     * <p>
+     * The file is rolled before the write when it is due to roll by time, and after the write when it is due to roll.
+     * With the <code>batches</code> sync policy, the write completes once the file is synced when it is due to.
+     *
+     * @param buffer the buffer to write
+     * @param items  the number of items in the buffer
+     * @return a {@link Completable} that completes once the buffer is written
+     */
+    Completable write(Buffer buffer, int items) {
+        return rollIfDue()
+                .andThen(defer(() -> append(buffer, items)))
+                .andThen(defer(this::syncIfDue))
+                .andThen(defer(this::rollIfDue));
+    }
+
+    private Completable syncIfDue() {
+        if (syncPolicy == SyncPolicy.batches && ++unsyncedBatches >= syncBatches) {
+            return sync();
+        }
+
+        return complete();
+    }
+
+    private Completable append(Buffer buffer, int items) {
+        this.items += items;
+        if (buffer.length() == 0) {
+            return complete();
+        }
+
+        return compress(buffer).flatMapCompletable(bytes -> {
+            long at = position;
+            position += bytes.length();
+            dirty = true;
+            return asyncFile.rxWrite(bytes, at);
+        });
+    }
+
+    private Single<Buffer> compress(Buffer buffer) {
+        if (compressor == null) {
+            return Single.just(buffer);
+        }
+
+        Compressor current = compressor;
+        return vertx.rxExecuteBlocking(future -> {
+            try {
+                future.complete(current.compress(buffer));
+            } catch (IOException exc) {
+                future.fail(exc);
+            }
+        }, true);
+    }
+
+    /**
+     * Indicates whether the file reached its configured size, age or number of items.
+     * <p>
+     * A file that did not receive any item is never rolled.
+     *
+     * @return <code>true</code> when the file must be rolled
+     */
+    boolean rollDue() {
+        if (position == 0 && items == 0) {
+            return false;
+        }
+
+        return (rollSize != null && position >= rollSize)
+                || (rollEvents != null && items >= rollEvents)
+                || (rollInterval != null && System.currentTimeMillis() - openedAt >= rollInterval);
+    }
+
+    private boolean rolling() {
+        return rollSize != null || rollInterval != null || rollEvents != null;
+    }
+
+    private Completable rollIfDue() {
+        return rollDue() ? roll() : complete();
+    }
+
+    /**
+     * Closes and renames the file, then opens a new one.
+     *
+     * @return a {@link Completable} that completes once the new file is opened
+     */
+    private Completable roll() {
+        return closeAndRename()
+                .andThen(defer(() -> open(new OpenOptions().setWrite(true).setCreate(true).setTruncateExisting(true))));
+    }
+
+    private Completable closeAndRename() {
+        return finish()
+                .andThen(defer(this::sync))
+                .andThen(defer(asyncFile::rxClose))
+                .andThen(defer(() -> fs.rxMove(fullPath, nextRolledPath(), new CopyOptions().setAtomicMove(true))))
+                .andThen(defer(this::applyRetention));
+    }
+
+    private String nextRolledPath() {
+        String timestamp = new SimpleDateFormat(ROLL_PATTERN).format(new Date());
+        return folder + "/" + file + "." + timestamp + "-" + String.format("%04d", sequence++) + "." + extension;
+    }
+
+    /**
+     * Deletes the oldest rolled files to keep only the configured number of rolled files.
+     *
+     * @return a {@link Completable} that completes once the files are deleted
+     */
+    private Completable applyRetention() {
+        if (retention == null) {
+            return complete();
+        }
+
+        return fs.rxReadDir(folder, rolledFiles.pattern()).flatMapCompletable(files -> {
+            List<String> rolled = new ArrayList<>(files);
+            Collections.sort(rolled);
+            return Flowable.fromIterable(rolled.subList(0, Math.max(0, rolled.size() - retention)))
+                    .flatMapCompletable(fs::rxDelete);
+        });
+    }
+
+    /**
+     * Writes the end of the compressed stream, if any.
+     *
+     * @return a {@link Completable} that completes once the end of the stream is written
+     */
+    private Completable finish() {
+        if (compressor == null) {
+            return complete();
+        }
+
+        Compressor current = compressor;
+        compressor = null;
+        return vertx.<Buffer>rxExecuteBlocking(future -> {
+            try {
+                future.complete(current.finish());
+            } catch (IOException exc) {
+                future.fail(exc);
+            }
+        }, true).flatMapCompletable(bytes -> {
+            long at = position;
+            position += bytes.length();
+            return asyncFile.rxWrite(bytes, at);
+        });
+    }
+
+    /**
+     * Indicates whether some bytes were written since the last sync.
+     *
+     * @return <code>true</code> when the file must be synced to persist all the bytes written
+     */
+    synchronized boolean dirty() {
+        return dirty;
+    }
+
+    /**
+     * Syncs the file on the disk.
+     * <p>
+     * The sync runs on a worker thread. When a sync is already running, the file is synced again once it is done,
+     * all the requests made in the meantime are grouped into this second sync.
+     *
+     * @return a {@link Completable} that completes once all the bytes written before the request are on the disk
+     */
+    Completable sync() {
+        return Completable.create(emitter -> {
+            synchronized (this) {
+                syncRequests.add(emitter);
+                if (!syncing) {
+                    startSync();
+                }
+            }
+        });
+    }
+
+    private void startSync() {
+        List<CompletableEmitter> requests = syncRequests;
+        syncRequests = new ArrayList<>();
+        syncing = true;
+        dirty = false;
+        unsyncedBatches = 0;
+        long start = System.nanoTime();
+        asyncFile.rxFlush().subscribe(() -> synced(requests, start, null), error -> synced(requests, start, error));
+    }
+
+    private synchronized void synced(List<CompletableEmitter> requests, long start, Throwable error) {
+        syncing = false;
+        syncs++;
+        syncNanos += System.nanoTime() - start;
+        for (CompletableEmitter request : requests) {
+            if (error == null) {
+                request.onComplete();
+            } else {
+                request.onError(error);
+            }
+        }
+
+        if (!syncRequests.isEmpty()) {
+            startSync();
+        }
+    }
+
+    /**
+     * The number of syncs of the file since the sink started.
+     *
+     * @return the number of syncs
+     */
+    synchronized long syncs() {
+        return syncs;
+    }
+
+    /**
+     * The time spent syncing the file since the sink started, in nanoseconds.
+     *
+     * @return the time spent syncing the file
+     */
+    synchronized long syncNanos() {
+        return syncNanos;
+    }
+
+    /**
+     * Closes the file.
+     * <p>
+     * The file is rolled when rolling is enabled and it received any item, otherwise it is only closed.
+     *
+     * @return a {@link Completable} that completes once the file is closed
+     */
+    Completable close() {
+        if (rolling() && (position > 0 || items > 0)) {
+            return closeAndRename();
+        }
+
+        return finish()
+                .andThen(defer(this::sync))
+                .andThen(defer(asyncFile::rxClose));
+    }
+
+    /**
+     * Streaming compression of the buffers written in the file.
+     * <p>
+     * The stream is flushed after each buffer so that the file can be decompressed up to the last buffer written.
+     * It is not thread safe and expects its calls to happen one after the other.
+     */
+    private static class Compressor {
+        private final BufferOutputStream out = new BufferOutputStream(io.vertx.core.buffer.Buffer.buffer());
+        private final DeflaterOutputStream stream;
+
+        Compressor(Compression compression) throws IOException {
+            stream = compression == Compression.gzip
+                    ? new GZIPOutputStream(out, true)
+                    : new DeflaterOutputStream(out, true);
+        }
+
+        Buffer compress(Buffer input) throws IOException {
+            stream.write(input.getDelegate().getBytes());
+            stream.flush();
+            return take();
+        }
+
+        Buffer finish() throws IOException {
+            stream.close();
+            return take();
+        }
+
+        /**
+         * Takes the compressed bytes written so far, the header of the stream included.
+         *
+         * @return the compressed bytes
+         */
+        private Buffer take() {
+            Buffer bytes = Buffer.newInstance(out.buffer());
+            out.reset(io.vertx.core.buffer.Buffer.buffer());
+            return bytes;
+        }
+    }
+}
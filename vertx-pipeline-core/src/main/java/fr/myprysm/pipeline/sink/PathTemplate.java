@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.sink;
+
+import fr.myprysm.pipeline.util.JsonPath;
+import io.vertx.core.json.JsonObject;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Template of the file an item is written into by a partitioned {@link FileSink}, relative to its path.
+ * <p>
+ * Placeholders between braces are replaced with:
+ * <ul>
+ * <li><code>{date}</code>: the day of the item, as <code>yyyy-MM-dd</code></li>
+ * <li><code>{hour}</code>: the hour of the item, as <code>yyyy-MM-dd-HH</code></li>
+ * <li><code>{time:pattern}</code>: the time of the item, formatted with the {@link DateTimeFormatter} pattern</li>
+ * <li><code>{some.path}</code>: the value at the JSON path of the item, <code>unknown</code> when there is none</li>
+ * </ul>
+ * The time of an item is read as epoch milliseconds from the time field when configured.
+ * It is the current time otherwise, or when the item has no such time.
+ * Times are formatted in UTC.
+ * <p>
+ * Values are sanitized so that they cannot point outside of the path of the sink:
+ * any character but letters, digits, <code>.</code>, <code>-</code> and <code>_</code> is replaced by <code>_</code>.
+ */
+final class PathTemplate {
+    static final String UNKNOWN = "unknown";
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([^}]+)}");
+    private static final Pattern UNSAFE = Pattern.compile("[^A-Za-z0-9._-]");
+    private static final String TIME_PREFIX = "time:";
+
+    private final String template;
+    private final JsonPath time;
+    private final List<BiFunction<JsonObject, Instant, String>> segments = new ArrayList<>();
+
+    private PathTemplate(String template, String time) {
+        this.template = template;
+        this.time = time != null ? JsonPath.compile(time) : null;
+
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        int last = 0;
+        while (matcher.find()) {
+            String literal = template.substring(last, matcher.start());
+            segments.add((item, instant) -> literal);
+            segments.add(placeholder(matcher.group(1)));
+            last = matcher.end();
+        }
+        String literal = template.substring(last);
+        segments.add((item, instant) -> literal);
+    }
+
+    /**
+     * Compiles the template.
+     *
+     * @param template the template
+     * @param time     the JSON path of the time of the items, <code>null</code> to use the current time
+     * @return the compiled template
+     */
+    static PathTemplate compile(String template, String time) {
+        return new PathTemplate(template, time);
+    }
+
+    private static BiFunction<JsonObject, Instant, String> placeholder(String placeholder) {
+        switch (placeholder) {
+            case "date":
+                return time(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            case "hour":
+                return time(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH"));
+            default:
+                if (placeholder.startsWith(TIME_PREFIX)) {
+                    return time(DateTimeFormatter.ofPattern(placeholder.substring(TIME_PREFIX.length())));
+                }
+
+                JsonPath path = JsonPath.compile(placeholder);
+                return (item, instant) -> {
+                    Object value = path.get(item);
+                    return value != null ? sanitize(value.toString()) : UNKNOWN;
+                };
+        }
+    }
+
+    private static BiFunction<JsonObject, Instant, String> time(DateTimeFormatter formatter) {
+        DateTimeFormatter utc = formatter.withZone(ZoneOffset.UTC);
+        return (item, instant) -> sanitize(utc.format(instant));
+    }
+
+    private static String sanitize(String value) {
+        String safe = UNSAFE.matcher(value).replaceAll("_");
+        return safe.isEmpty() || ".".equals(safe) || "..".equals(safe) ? "_" : safe;
+    }
+
+    /**
+     * Resolves the file of the item.
+     *
+     * @param item the item
+     * @return the file of the item, relative to the path of the sink and without extension
+     */
+    String resolve(JsonObject item) {
+        Instant instant = instant(item);
+        StringBuilder builder = new StringBuilder(template.length() + 16);
+        for (BiFunction<JsonObject, Instant, String> segment : segments) {
+            builder.append(segment.apply(item, instant));
+        }
+        return builder.toString();
+    }
+
+    private Instant instant(JsonObject item) {
+        Object millis = time != null ? time.get(item) : null;
+        return millis instanceof Number ? Instant.ofEpochMilli(((Number) millis).longValue()) : Instant.now();
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -20,6 +20,8 @@ import fr.myprysm.pipeline.processor.Processor;
 import fr.myprysm.pipeline.pump.Pump;
 import fr.myprysm.pipeline.util.Consumer;
 
+import java.util.List;
+
 /**
  * A sink is an element able to consume Items from the {@link io.vertx.core.eventbus.EventBus}
  * as far as it is plugged to a {@link Pump} with a pipeline of <code>0..n</code> {@link Processor}.
@@ -34,4 +36,19 @@ public interface Sink<I> extends Consumer<I> {
      * @param item the item to drain
      */
     void drain(I item);
+
+    /**
+     * Drain a whole batch of items from the pipeline.
+     * <p>
+     * This is called when the previous stage of the pipeline sends its items in batches.
+     * By default each item is drained with {@link #drain(Object)},
+     * sinks that can handle a batch at once should override this method.
+     *
+     * @param items the items to drain
+     */
+    default void drainBatch(List<I> items) {
+        for (I item : items) {
+            drain(item);
+        }
+    }
 }
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.sink;
+
+import fr.myprysm.pipeline.sink.FileSinkOptions.Overflow;
+import io.reactivex.Completable;
+import io.reactivex.CompletableEmitter;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.file.AsyncFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bounded queue of the buffers written in the {@link OutputFile} of the {@link FileSink}.
+ * <p>
+ * Buffers are written one after the other, each write waiting for the previous one to complete.
+ * The queue is full once the bytes waiting to be written reach the high watermark, and it stays full
+ * until they go back under the low watermark. The drain handler is then called.
+ * <p>
+ * When a buffer does not fit in the queue the overflow policy applies:
+ * <ul>
+ * <li><code>block</code> queues the buffer anyway, the sink is expected to stop accepting items while the queue is full.
+ * When the sink cannot stop its upstream stage, the queue is told to shed and drops the oldest buffers instead</li>
+ * <li><code>drop_oldest</code> drops the oldest buffers waiting to be written to make room for the new one</li>
+ * <li><code>spill</code> writes the buffer in the spill file. Spilled buffers are read back in order once the queue
+ * is under the low watermark. New buffers keep going to the spill file until it is empty to preserve the order.</li>
+ * </ul>
+ * Buffers are accepted as soon as the queue is created, they are written once the queue is started.
+ * Each buffer is handed to the recycler once it is written, dropped or spilled, as it is not used anymore.
+ * <p>
+ * Methods are synchronized as write completions are signaled on the context of the file.
+ */
+class WriteQueue {
+    private static final Logger LOG = LoggerFactory.getLogger(WriteQueue.class);
+
+    private final String name;
+    private final OutputFile output;
+    private final Overflow overflow;
+    private final long highWatermark;
+    private final long lowWatermark;
+    private final Handler<Void> drainHandler;
+    private final Handler<Buffer> recycler;
+    private AsyncFile spill;
+    private boolean started = false;
+
+    private final Deque<Chunk> queue = new ArrayDeque<>();
+    private final TreeMap<Long, Chunk> spilled = new TreeMap<>();
+    private final List<CompletableEmitter> emptyWaiters = new ArrayList<>();
+
+    private long size = 0;
+    private boolean writing = false;
+    private boolean full = false;
+    private boolean shedding = false;
+    private long dropped = 0;
+
+    private long spillPosition = 0;
+    private int spillWrites = 0;
+    private boolean unspilling = false;
+
+    /**
+     * Creates a new write queue.
+     *
+     * @param name         the name of the sink, for logging purposes
+     * @param output       the file to write the buffers into
+     * @param options      the options of the sink
+     * @param drainHandler the handler called once the queue is not full anymore
+     * @param recycler     the handler called with each buffer once it is not used anymore
+     */
+    WriteQueue(String name, OutputFile output, FileSinkOptions options, Handler<Void> drainHandler, Handler<Buffer> recycler) {
+        this.name = name;
+        this.output = output;
+        this.overflow = options.getOverflow();
+        this.highWatermark = options.getHighWatermark();
+        this.lowWatermark = options.getLowWatermark();
+        this.drainHandler = drainHandler;
+        this.recycler = recycler;
+    }
+
+    /**
+     * Starts writing the buffers in the output file.
+     *
+     * @param spill the spill file, required only by the <code>spill</code> overflow policy
+     */
+    synchronized void start(AsyncFile spill) {
+        this.spill = spill;
+        started = true;
+        pump();
+    }
+
+    /**
+     * Writes the buffer after all the buffers written before.
+     *
+     * @param buffer the buffer to write
+     * @param items  the number of items in the buffer
+     */
+    synchronized void write(Buffer buffer, int items) {
+        Chunk chunk = new Chunk(buffer, items);
+        if (spilling()) {
+            spill(chunk);
+            return;
+        }
+
+        if (size + buffer.length() > highWatermark && size > 0) {
+            full = true;
+            if (overflow == Overflow.spill && spill != null) {
+                spill(chunk);
+                return;
+            } else if (overflow == Overflow.drop_oldest || shedding) {
+                dropOldest(buffer.length());
+            }
+        }
+
+        enqueue(chunk);
+    }
+
+    /**
+     * Drops the oldest buffers waiting to be written once the queue is full, whatever the overflow policy.
+     * <p>
+     * This bounds the queue when the sink cannot stop its upstream stage.
+     */
+    synchronized void shed() {
+        shedding = true;
+    }
+
+    /**
+     * Rolls the output file when it is due to roll while the queue is idle.
+     * <p>
+     * When the queue is not idle the file is rolled by the next write.
+     */
+    synchronized void tick() {
+        if (empty() && output.rollDue()) {
+            enqueue(new Chunk(Buffer.buffer(), 0));
+        }
+    }
+
+    /**
+     * Indicates whether the queue reached its high watermark and did not go back under its low watermark yet.
+     *
+     * @return <code>true</code> when the queue is full
+     */
+    synchronized boolean full() {
+        return full;
+    }
+
+    /**
+     * The number of bytes waiting to be written in the file, spilled bytes excluded.
+     *
+     * @return the size of the queue
+     */
+    synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Waits for all the buffers, spilled ones included, to be written in the file.
+     *
+     * @return a {@link Completable} that completes once the queue is empty
+     */
+    Completable whenEmpty() {
+        return Completable.create(emitter -> {
+            synchronized (this) {
+                if (empty()) {
+                    emitter.onComplete();
+                } else {
+                    emptyWaiters.add(emitter);
+                }
+            }
+        });
+    }
+
+    private void enqueue(Chunk chunk) {
+        queue.add(chunk);
+        size += chunk.length();
+        if (size >= highWatermark) {
+            full = true;
+        }
+        pump();
+    }
+
+    private void dropOldest(int length) {
+        while (!queue.isEmpty() && size + length > highWatermark) {
+            Chunk chunk = queue.poll();
+            size -= chunk.length();
+            dropped++;
+            recycler.handle(chunk.buffer);
+        }
+    }
+
+    private void pump() {
+        if (writing || !started) {
+            return;
+        }
+
+        Chunk chunk = queue.poll();
+        if (chunk == null) {
+            checkEmpty();
+            return;
+        }
+
+        writing = true;
+        output.write(chunk.buffer, chunk.items).subscribe(() -> written(chunk, null), error -> written(chunk, error));
+    }
+
+    private synchronized void written(Chunk chunk, Throwable error) {
+        writing = false;
+        size -= chunk.length();
+        if (error != null) {
+            LOG.error("[" + name + "] Unable to write " + chunk.length() + " bytes in file.", error);
+        }
+        recycler.handle(chunk.buffer);
+
+        checkDrained();
+        unspill();
+        pump();
+    }
+
+    private void checkDrained() {
+        if (full && size <= lowWatermark) {
+            full = false;
+            if (dropped > 0) {
+                LOG.warn("[{}] Dropped {} batches of items while the write queue was full.", name, dropped);
+                dropped = 0;
+            }
+            drainHandler.handle(null);
+        }
+    }
+
+    private boolean spilling() {
+        return spill != null && (!spilled.isEmpty() || spillWrites > 0 || unspilling);
+    }
+
+    private void spill(Chunk chunk) {
+        long at = spillPosition;
+        spillPosition += chunk.length();
+        spillWrites++;
+        spill.write(chunk.buffer, at, ar -> spilled(at, chunk, ar));
+    }
+
+    private synchronized void spilled(long at, Chunk chunk, AsyncResult<Void> ar) {
+        spillWrites--;
+        recycler.handle(chunk.buffer);
+        if (ar.succeeded()) {
+            // Only the position and the size of the buffer are kept in memory.
+            spilled.put(at, new Chunk(null, chunk.items, chunk.length()));
+        } else {
+            LOG.error("[" + name + "] Unable to spill " + chunk.length() + " bytes, items are lost.", ar.cause());
+        }
+
+        unspill();
+        checkEmpty();
+    }
+
+    /**
+     * Reads back the next spilled buffer once the queue is under its low watermark.
+     * <p>
+     * Spill writes may complete out of order, buffers are read back only when no spill write is pending.
+     */
+    private void unspill() {
+        if (unspilling || spillWrites > 0 || spilled.isEmpty() || size > lowWatermark) {
+            return;
+        }
+
+        Map.Entry<Long, Chunk> next = spilled.pollFirstEntry();
+        int length = next.getValue().length();
+        unspilling = true;
+        spill.read(Buffer.buffer(length), 0, next.getKey(), length, ar -> unspilled(next.getValue().items, ar));
+    }
+
+    private synchronized void unspilled(int items, AsyncResult<Buffer> ar) {
+        unspilling = false;
+        if (ar.failed()) {
+            LOG.error("[" + name + "] Unable to read back spilled items, items are lost.", ar.cause());
+        }
+
+        if (!spilling()) {
+            // The spill file is empty, it can be written again from the start.
+            spillPosition = 0;
+        }
+
+        if (ar.succeeded()) {
+            enqueue(new Chunk(ar.result(), items));
+        }
+
+        unspill();
+        checkEmpty();
+    }
+
+    private boolean empty() {
+        return queue.isEmpty() && !writing && !spilling();
+    }
+
+    private void checkEmpty() {
+        if (!emptyWaiters.isEmpty() && empty()) {
+            emptyWaiters.forEach(CompletableEmitter::onComplete);
+            emptyWaiters.clear();
+        }
+    }
+
+    /**
+     * A buffer and the number of items it holds.
+     */
+    private static class Chunk {
+        private final Buffer buffer;
+        private final int items;
+        private final int length;
+
+        Chunk(Buffer buffer, int items) {
+            this(buffer, items, buffer.length());
+        }
+
+        Chunk(Buffer buffer, int items, int length) {
+            this.buffer = buffer;
+            this.items = items;
+            this.length = length;
+        }
+
+        int length() {
+            return length;
+        }
+    }
+}
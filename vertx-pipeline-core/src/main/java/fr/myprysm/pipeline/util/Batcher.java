@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import io.vertx.core.Handler;
+import io.vertx.reactivex.core.Vertx;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accumulates items to emit them as {@link EventBatch}es.
+ * <p>
+ * A batch is emitted as soon as it reaches its <code>size</code>
+ * or when <code>linger</code> milliseconds elapsed since its first item was added.
+ * A <code>linger</code> of <code>0</code> disables the time based emission.
+ * <p>
+ * The batcher can be fed from any thread.
+ *
+ * @param <T> the type of items
+ */
+public class Batcher<T> {
+    private final Vertx vertx;
+    private final int size;
+    private final long linger;
+    private final Handler<EventBatch<T>> handler;
+
+    private List<T> items;
+    private long timer = -1;
+
+    /**
+     * Creates a new batcher.
+     *
+     * @param vertx   the vertx instance to schedule linger timers
+     * @param size    the maximum number of items in a batch
+     * @param linger  the maximum time in milliseconds an item waits for its batch to be emitted
+     * @param handler the handler that receives the emitted batches
+     */
+    public Batcher(Vertx vertx, int size, long linger, Handler<EventBatch<T>> handler) {
+        this.vertx = vertx;
+        this.size = size;
+        this.linger = linger;
+        this.handler = handler;
+    }
+
+    /**
+     * Adds an item to the current batch.
+     * <p>
+     * Emits the batch if it is full.
+     *
+     * @param item the item to add
+     */
+    public synchronized void add(T item) {
+        if (items == null) {
+            items = new ArrayList<>(size);
+        }
+
+        items.add(item);
+        if (items.size() >= size) {
+            flush();
+        } else if (items.size() == 1 && linger > 0) {
+            timer = vertx.setTimer(linger, this::onLinger);
+        }
+    }
+
+    /**
+     * Adds all the items to the current batch.
+     * <p>
+     * Emits as many batches as there are full ones.
+     *
+     * @param items the items to add
+     */
+    public synchronized void addAll(List<T> items) {
+        for (T item : items) {
+            add(item);
+        }
+    }
+
+    /**
+     * Emits the current batch, whatever its size.
+     * <p>
+     * Does nothing when there is no pending item.
+     */
+    public synchronized void flush() {
+        if (timer != -1) {
+            vertx.cancelTimer(timer);
+            timer = -1;
+        }
+
+        if (items != null && !items.isEmpty()) {
+            EventBatch<T> batch = new EventBatch<>(items);
+            items = null;
+            handler.handle(batch);
+        }
+    }
+
+    private synchronized void onLinger(Long timerId) {
+        if (timerId == timer) {
+            timer = -1;
+            flush();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.io.OutputStream;
+
+/**
+ * {@link OutputStream} appending the bytes written to a {@link Buffer}.
+ * <p>
+ * Serializers can stream straight into the buffer that is then written as is,
+ * without going through intermediate strings or byte arrays.
+ */
+public class BufferOutputStream extends OutputStream {
+    private Buffer buffer;
+
+    public BufferOutputStream(Buffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * The buffer receiving the bytes.
+     *
+     * @return the buffer
+     */
+    public Buffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Appends the next bytes to another buffer.
+     *
+     * @param buffer the buffer receiving the next bytes
+     * @return this
+     */
+    public BufferOutputStream reset(Buffer buffer) {
+        this.buffer = buffer;
+        return this;
+    }
+
+    @Override
+    public void write(int b) {
+        buffer.appendByte((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        buffer.appendBytes(b, off, len);
+    }
+}
@@ -17,6 +17,7 @@
 package fr.myprysm.pipeline.util;
 
 import fr.myprysm.pipeline.processor.Processor;
+import fr.myprysm.pipeline.processor.Stateless;
 import fr.myprysm.pipeline.pump.Pump;
 import fr.myprysm.pipeline.sink.Sink;
 import io.github.lukehutch.fastclasspathscanner.FastClasspathScanner;
@@ -26,10 +27,13 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
+import static java.util.stream.Collectors.toList;
+
 public class ClasspathHelpers {
     private static final Logger LOG = LoggerFactory.getLogger(ClasspathHelpers.class);
     private static ScanResult scan;
     private static List<String> processorClassNames;
+    private static List<String> statelessProcessorClassNames;
     private static List<String> sinkClassNames;
     private static List<String> pumpClassNames;
 
@@ -68,6 +72,23 @@ public class ClasspathHelpers {
         return processorClassNames;
     }
 
+    /**
+     * Get the names of all the {@link Processor}s annotated with {@link Stateless}.
+     *
+     * @return the names of the stateless processors
+     */
+    public synchronized static List<String> getStatelessProcessorClassNames() {
+        if (statelessProcessorClassNames == null) {
+            List<String> stateless = getScan().getNamesOfClassesWithAnnotation(Stateless.class);
+            statelessProcessorClassNames = getProcessorClassNames().stream()
+                    .filter(stateless::contains)
+                    .collect(toList());
+            LOG.info("Stateless processors scanned.");
+        }
+
+        return statelessProcessorClassNames;
+    }
+
     public synchronized static List<String> getSinkClassNames() {
         if (sinkClassNames == null) {
             sinkClassNames = getScan().getNamesOfClassesImplementing(Sink.class);
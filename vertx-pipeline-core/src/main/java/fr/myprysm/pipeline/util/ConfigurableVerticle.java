@@ -46,18 +46,33 @@ public abstract class ConfigurableVerticle<O extends Options> extends AbstractVe
 
     @Override
     public void start(Future<Void> start) {
-        LOG.info("[{}] Starting...", clazz);
-        doValidate(config())
-                .map(this::setName)
-                .map(this::preConfiguration)
-                .map(this::readConfiguration)
-                .map(this::setConfiguration)
-                .flatMapCompletable(this::configure)
-                .andThen(Completable.defer(this::startVerticle))
-                .andThen(Completable.defer(this::postStartVerticle))
-                .doOnComplete(this::logStarted)
-                .doOnError(this::logErrorStart)
-                .subscribe(CompletableHelper.toObserver(start));
+        startup(config()).subscribe(CompletableHelper.toObserver(start));
+    }
+
+    /**
+     * Runs the whole startup lifecycle of this verticle against the provided configuration.
+     * <p>
+     * This is what {@link #start(Future)} does with the verticle configuration.
+     * It allows a verticle to drive the lifecycle of another {@link ConfigurableVerticle}
+     * it embeds without deploying it.
+     *
+     * @param config the configuration
+     * @return a {@link Completable} that completes once the verticle is started
+     */
+    protected Completable startup(JsonObject config) {
+        return Completable.defer(() -> {
+            LOG.info("[{}] Starting...", clazz);
+            return doValidate(config)
+                    .map(this::setName)
+                    .map(this::preConfiguration)
+                    .map(this::readConfiguration)
+                    .map(this::setConfiguration)
+                    .flatMapCompletable(this::configure)
+                    .andThen(Completable.defer(this::startVerticle))
+                    .andThen(Completable.defer(this::postStartVerticle))
+                    .doOnComplete(this::logStarted)
+                    .doOnError(throwable -> logErrorStart(config, throwable));
+        });
     }
 
     /**
@@ -96,11 +111,23 @@ public abstract class ConfigurableVerticle<O extends Options> extends AbstractVe
 
     @Override
     public void stop(Future<Void> stop) throws Exception {
-        LOG.info("[{}] Shutting down...", clazz);
-        preShutdown().andThen(shutdown())
-                .doOnComplete(this::logShutdown)
-                .doOnError(this::logErrorShutdown)
-                .subscribe(CompletableHelper.toObserver(stop));
+        teardown().subscribe(CompletableHelper.toObserver(stop));
+    }
+
+    /**
+     * Runs the whole shutdown lifecycle of this verticle.
+     * <p>
+     * This is what {@link #stop(Future)} does.
+     *
+     * @return a {@link Completable} that completes once the verticle is shut down
+     */
+    protected Completable teardown() {
+        return Completable.defer(() -> {
+            LOG.info("[{}] Shutting down...", clazz);
+            return preShutdown().andThen(Completable.defer(this::shutdown))
+                    .doOnComplete(this::logShutdown)
+                    .doOnError(this::logErrorShutdown);
+        });
     }
 
     /**
@@ -126,9 +153,9 @@ public abstract class ConfigurableVerticle<O extends Options> extends AbstractVe
         return Completable.complete();
     }
 
-    private void logErrorStart(Throwable throwable) {
+    private void logErrorStart(JsonObject config, Throwable throwable) {
         LOG.error("An error occured during deployment of [{}]", clazz);
-        LOG.error("Configuration is [{}]", config());
+        LOG.error("Configuration is [{}]", config);
         LOG.error("Reason: ", throwable);
     }
 
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import fr.myprysm.pipeline.pipeline.ExchangeOptions;
+import fr.myprysm.pipeline.pipeline.ExchangeOptions.Routing;
+import io.reactivex.Completable;
+import io.vertx.core.Handler;
+import io.vertx.reactivex.core.eventbus.EventBus;
+import io.vertx.reactivex.core.eventbus.Message;
+import io.vertx.reactivex.core.eventbus.MessageConsumer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the items a {@link Publisher} sent to each of its recipients that were not acknowledged yet.
+ * <p>
+ * Each recipient accepts at most <code>window</code> items in flight.
+ * Every message sent by the publisher carries the address of the controller,
+ * recipients grant credits back to this address once they are done with the items,
+ * which reopens the window.
+ * <p>
+ * Credits are counted in items, a batch of <code>n</code> items consumes <code>n</code> credits.
+ */
+public class CreditController {
+    /**
+     * The header holding the address to grant credits to.
+     */
+    public static final String CREDIT_ADDRESS_HEADER = "pipeline-credit-address";
+
+    /**
+     * The header holding the address of the recipient granting credits.
+     */
+    public static final String CREDIT_FROM_HEADER = "pipeline-credit-from";
+
+    private final EventBus eventBus;
+    private final List<String> recipients;
+    private final int window;
+    private final Handler<Integer> handler;
+    private final String address = UUID.randomUUID().toString();
+    private final Map<String, AtomicInteger> outstanding = new ConcurrentHashMap<>();
+
+    private MessageConsumer<Integer> consumer;
+
+    /**
+     * Creates a new credit controller.
+     *
+     * @param eventBus   the event bus
+     * @param recipients the recipients of the publisher
+     * @param window     the maximum number of items in flight for each recipient
+     * @param handler    the handler notified with the amount of credits granted by a recipient
+     */
+    public CreditController(EventBus eventBus, List<String> recipients, int window, Handler<Integer> handler) {
+        this.eventBus = eventBus;
+        this.recipients = recipients;
+        this.window = window;
+        this.handler = handler;
+        recipients.forEach(recipient -> outstanding.put(recipient, new AtomicInteger()));
+    }
+
+    /**
+     * Builds the credit controller of a publisher.
+     * <p>
+     * Credits are required when a <code>window</code> is configured
+     * or when the routing strategy depends on the number of messages in flight.
+     * In the latter case, without <code>window</code>, the recipients are never saturated.
+     *
+     * @param eventBus the event bus
+     * @param exchange the exchange options of the publisher
+     * @param handler  the handler notified with the amount of credits granted by a recipient
+     * @return the credit controller or <code>null</code> when credits are not required
+     */
+    public static CreditController of(EventBus eventBus, ExchangeOptions exchange, Handler<Integer> handler) {
+        boolean loadAware = exchange.getRouting() == Routing.least_outstanding || exchange.getRouting() == Routing.power_of_two;
+        if (exchange.getWindow() > 0) {
+            return new CreditController(eventBus, exchange.getTo(), exchange.getWindow(), handler);
+        } else if (loadAware) {
+            return new CreditController(eventBus, exchange.getTo(), Integer.MAX_VALUE, handler);
+        }
+        return null;
+    }
+
+    /**
+     * Starts to receive credits from the recipients.
+     *
+     * @return a completable that completes once the controller is ready to receive credits
+     */
+    public Completable start() {
+        consumer = eventBus.localConsumer(address, this::onCredit);
+        return consumer.rxCompletionHandler();
+    }
+
+    /**
+     * Stops to receive credits from the recipients.
+     *
+     * @return a completable that completes once the controller does not receive credits anymore
+     */
+    public Completable stop() {
+        return consumer != null ? consumer.rxUnregister() : Completable.complete();
+    }
+
+    /**
+     * The address to grant credits to.
+     * <p>
+     * Items must be sent with this address in the {@link #CREDIT_ADDRESS_HEADER} header.
+     *
+     * @return the address of the controller
+     */
+    public String address() {
+        return address;
+    }
+
+    /**
+     * The total number of items that can be in flight for all the recipients.
+     *
+     * @return the total number of items that can be in flight
+     */
+    public long capacity() {
+        return (long) window * recipients.size();
+    }
+
+    /**
+     * Records that items were sent to the recipient.
+     *
+     * @param recipient the recipient
+     * @param items     the number of items sent
+     */
+    public void sent(String recipient, int items) {
+        AtomicInteger count = outstanding.get(recipient);
+        if (count != null) {
+            count.addAndGet(items);
+        }
+    }
+
+    /**
+     * The number of items sent to the recipient that were not acknowledged yet.
+     *
+     * @param recipient the recipient
+     * @return the number of items in flight
+     */
+    public int outstanding(String recipient) {
+        AtomicInteger count = outstanding.get(recipient);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Indicates whether the recipient has no credit left.
+     *
+     * @param recipient the recipient
+     * @return <code>true</code> when the recipient window is full
+     */
+    public boolean saturated(String recipient) {
+        return outstanding(recipient) >= window;
+    }
+
+    /**
+     * Indicates whether all the recipients have no credit left.
+     *
+     * @return <code>true</code> when all the recipient windows are full
+     */
+    public boolean saturated() {
+        for (String recipient : recipients) {
+            if (!saturated(recipient)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void onCredit(Message<Integer> message) {
+        int credits = message.body();
+        AtomicInteger count = outstanding.get(message.headers().get(CREDIT_FROM_HEADER));
+        if (count != null) {
+            count.addAndGet(-credits);
+        }
+        handler.handle(credits);
+    }
+}
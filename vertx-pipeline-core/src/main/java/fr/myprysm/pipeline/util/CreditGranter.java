@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.reactivex.core.Context;
+import io.vertx.reactivex.core.eventbus.EventBus;
+import io.vertx.reactivex.core.eventbus.Message;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static fr.myprysm.pipeline.util.CreditController.CREDIT_ADDRESS_HEADER;
+import static fr.myprysm.pipeline.util.CreditController.CREDIT_FROM_HEADER;
+
+/**
+ * Grants credits back to the {@link CreditController}s of the publishers a {@link Consumer} receives items from.
+ * <p>
+ * Credits are coalesced per publisher and granted at once on the next tick of the consumer context.
+ * They are held as long as the consumer is not able to accept more items,
+ * which propagates backpressure to the upstream stages of the pipeline.
+ * <p>
+ * Messages sent without flow control do not carry a credit address and are ignored.
+ */
+public class CreditGranter {
+    private final EventBus eventBus;
+    private final Context context;
+    private final BooleanSupplier holding;
+    private final DeliveryOptions deliveryOptions;
+    private final Map<String, Integer> pending = new HashMap<>();
+
+    private boolean scheduled = false;
+
+    /**
+     * Creates a new credit granter.
+     *
+     * @param eventBus the event bus
+     * @param context  the context of the consumer
+     * @param from     the address of the consumer
+     * @param holding  indicates whether the credits must be held
+     */
+    public CreditGranter(EventBus eventBus, Context context, String from, BooleanSupplier holding) {
+        this.eventBus = eventBus;
+        this.context = context;
+        this.holding = holding;
+        this.deliveryOptions = new DeliveryOptions().addHeader(CREDIT_FROM_HEADER, from);
+    }
+
+    /**
+     * Records that the consumer is done with the items of the message.
+     *
+     * @param message the message
+     * @param items   the number of items in the message
+     */
+    public synchronized void done(Message<?> message, int items) {
+        String address = message.headers().get(CREDIT_ADDRESS_HEADER);
+        if (address != null) {
+            pending.merge(address, items, Integer::sum);
+            schedule();
+        }
+    }
+
+    /**
+     * Schedules the pending credits to be granted on the next tick of the consumer context.
+     */
+    public synchronized void schedule() {
+        if (!scheduled && !pending.isEmpty()) {
+            scheduled = true;
+            context.runOnContext(v -> grant());
+        }
+    }
+
+    private synchronized void grant() {
+        scheduled = false;
+        if (holding.getAsBoolean()) {
+            return;
+        }
+
+        pending.forEach((address, credits) -> eventBus.send(address, credits, deliveryOptions));
+        pending.clear();
+    }
+}
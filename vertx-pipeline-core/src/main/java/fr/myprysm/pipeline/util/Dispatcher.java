@@ -0,0 +1,236 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import fr.myprysm.pipeline.pipeline.ExchangeOptions;
+import fr.myprysm.pipeline.pipeline.ExchangeOptions.Codec;
+import io.reactivex.Completable;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.core.eventbus.EventBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends the items of a {@link Publisher} to the next stage of the pipeline according to its {@link ExchangeOptions}.
+ * <p>
+ * It selects the recipient of each message, either with the configured {@link Router}
+ * or with a {@link HashRing} when the items are partitioned.
+ * It groups items in {@link EventBatch}es when batching is enabled,
+ * keeps track of the items in flight when credits are required
+ * and selects the codec of the messages.
+ *
+ * @param <T> the type of items
+ */
+public class Dispatcher<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(Dispatcher.class);
+
+    private final Vertx vertx;
+    private final EventBus eventBus;
+    private final ExchangeOptions exchange;
+    private final List<String> recipients;
+    private final CreditController credits;
+    private final Router router;
+    private final HashRing ring;
+    private final JsonPath partitionBy;
+    private final Batcher<T> batcher;
+    private final Map<String, Batcher<T>> batchers = new ConcurrentHashMap<>();
+    private final DeliveryOptions deliveryOptions = new DeliveryOptions();
+
+    /**
+     * Creates a new dispatcher.
+     *
+     * @param vertx    the vertx instance
+     * @param exchange the exchange options of the publisher
+     * @param onCredit the handler notified with the amount of credits granted by a recipient
+     */
+    public Dispatcher(Vertx vertx, ExchangeOptions exchange, Handler<Integer> onCredit) {
+        this.vertx = vertx;
+        this.eventBus = vertx.eventBus();
+        this.exchange = exchange;
+        this.recipients = exchange.getTo();
+        this.credits = CreditController.of(eventBus, exchange, onCredit);
+        this.router = Router.of(exchange.getRouting(), recipients, exchange.getWeights(),
+                recipient -> credits != null ? credits.outstanding(recipient) : 0);
+        this.ring = exchange.getPartitionBy() != null ? new HashRing(recipients) : null;
+        this.partitionBy = exchange.getPartitionBy() != null ? JsonPath.compile(exchange.getPartitionBy()) : null;
+        this.batcher = exchange.getBatch() > 1 && ring == null ? newBatcher(null) : null;
+        if (credits != null) {
+            deliveryOptions.addHeader(CreditController.CREDIT_ADDRESS_HEADER, credits.address());
+        }
+        if (exchange.getCodec() == Codec.smile) {
+            deliveryOptions.setCodecName(SmileMessageCodec.NAME);
+        }
+    }
+
+    /**
+     * Starts to receive credits from the recipients, if required.
+     *
+     * @return a completable that completes once the dispatcher is ready
+     */
+    public Completable start() {
+        return credits != null ? credits.start() : Completable.complete();
+    }
+
+    /**
+     * Sends the pending batches and stops to receive credits.
+     *
+     * @return a completable that completes once the dispatcher is stopped
+     */
+    public Completable stop() {
+        return Completable.fromAction(this::flush)
+                .andThen(credits != null ? credits.stop() : Completable.complete());
+    }
+
+    /**
+     * Sends the pending batches, whatever their size.
+     */
+    public void flush() {
+        if (batcher != null) {
+            batcher.flush();
+        }
+        batchers.values().forEach(Batcher::flush);
+    }
+
+    /**
+     * Indicates whether the recipients grant credits.
+     *
+     * @return <code>true</code> when the recipients grant credits
+     */
+    public boolean flowControlled() {
+        return credits != null;
+    }
+
+    /**
+     * The total number of items that can be in flight for all the recipients.
+     *
+     * @return the total number of items that can be in flight
+     */
+    public long capacity() {
+        return credits != null ? credits.capacity() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Indicates whether all the recipients have no credit left.
+     *
+     * @return <code>true</code> when no more items can be sent
+     */
+    public boolean saturated() {
+        return credits != null && credits.saturated();
+    }
+
+    /**
+     * Provides the recipient of the next message.
+     * <p>
+     * Recipients with no credit left are skipped, unless all of them are saturated.
+     *
+     * @return the address of the recipient
+     */
+    public String next() {
+        String next = router.next();
+        if (credits != null) {
+            for (int i = 1; i < recipients.size() && credits.saturated(next); i++) {
+                next = router.next();
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Dispatches an item to the next stage.
+     *
+     * @param item the item to dispatch
+     */
+    public void dispatch(T item) {
+        if (ring != null) {
+            String recipient = ring.node(partitionKey(item));
+            if (exchange.getBatch() > 1) {
+                batchers.computeIfAbsent(recipient, this::newBatcher).add(item);
+            } else {
+                send(recipient, item, 1);
+            }
+        } else if (batcher != null) {
+            batcher.add(item);
+        } else {
+            send(next(), item, 1);
+        }
+    }
+
+    /**
+     * Dispatches all the items to the next stage.
+     *
+     * @param items the items to dispatch
+     */
+    public void dispatchAll(List<T> items) {
+        if (ring == null && batcher != null) {
+            batcher.addAll(items);
+        } else {
+            items.forEach(this::dispatch);
+        }
+    }
+
+    /**
+     * Extracts the partition key of the item.
+     * <p>
+     * Items that are not {@link JsonObject}s or that do not hold the path share the same partition.
+     *
+     * @param item the item
+     * @return the partition key
+     */
+    private String partitionKey(T item) {
+        if (item instanceof JsonObject) {
+            Object key = partitionBy.get((JsonObject) item);
+            return key != null ? String.valueOf(key) : "";
+        }
+        return "";
+    }
+
+    /**
+     * Creates a batcher sending its batches to the recipient,
+     * or to the next recipient provided by the router when <code>recipient</code> is <code>null</code>.
+     *
+     * @param recipient the recipient of the batches
+     * @return the batcher
+     */
+    private Batcher<T> newBatcher(String recipient) {
+        return new Batcher<>(vertx, exchange.getBatch(), exchange.getLinger(), batch -> {
+            LOG.debug("Sending batch of {} items", batch.size());
+            send(recipient != null ? recipient : next(), batch, batch.size());
+        });
+    }
+
+    /**
+     * Sends a message to the recipient, keeping track of the items in flight when credits are required.
+     *
+     * @param recipient the recipient
+     * @param body      the message body
+     * @param items     the number of items in the message
+     */
+    private void send(String recipient, Object body, int items) {
+        if (credits != null) {
+            credits.sent(recipient, items);
+        }
+        eventBus.send(recipient, body, deliveryOptions);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An envelope that carries a batch of items from one stage of the pipeline to the next one.
+ * <p>
+ * Stages configured with a <code>batch</code> greater than one emit their items in such envelopes
+ * to pay the event bus delivery once per batch instead of once per item.
+ * <p>
+ * Envelopes are sent with the {@link EventBatchCodec}, they are delivered as is to local consumers.
+ *
+ * @param <T> the type of items in the batch
+ */
+public final class EventBatch<T> implements Iterable<T> {
+    private final List<T> items;
+
+    public EventBatch(List<T> items) {
+        this.items = Objects.requireNonNull(items);
+    }
+
+    /**
+     * The items of this batch.
+     *
+     * @return the items of this batch
+     */
+    public List<T> items() {
+        return items;
+    }
+
+    /**
+     * The number of items in this batch.
+     *
+     * @return the number of items in this batch
+     */
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return items.iterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EventBatch)) return false;
+        EventBatch<?> that = (EventBatch<?>) o;
+        return Objects.equals(items, that.items);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(items);
+    }
+
+    @Override
+    public String toString() {
+        return "EventBatch{" +
+                "items=" + items +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.json.JsonArray;
+import io.vertx.reactivex.core.eventbus.EventBus;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * {@link MessageCodec} of {@link EventBatch}es.
+ * <p>
+ * Local deliveries hand over the batch itself without any copy.
+ * Batches that go through the wire are encoded as a JSON array, they are decoded as a batch of
+ * {@link io.vertx.core.json.JsonObject}s.
+ */
+@SuppressWarnings("unchecked")
+public class EventBatchCodec implements MessageCodec<EventBatch, EventBatch> {
+    public static final String NAME = "pipeline-event-batch";
+
+    /**
+     * Registers the codec as the default codec of {@link EventBatch}es on the event bus.
+     * <p>
+     * Does nothing if the codec is already registered.
+     *
+     * @param eventBus the event bus
+     */
+    public static void register(EventBus eventBus) {
+        try {
+            eventBus.getDelegate().registerDefaultCodec(EventBatch.class, new EventBatchCodec());
+        } catch (IllegalStateException exc) {
+            // Codec is already registered.
+        }
+    }
+
+    @Override
+    public void encodeToWire(Buffer buffer, EventBatch batch) {
+        Buffer encoded = Buffer.buffer(new JsonArray(batch.items()).encode());
+        buffer.appendInt(encoded.length());
+        buffer.appendBuffer(encoded);
+    }
+
+    @Override
+    public EventBatch decodeFromWire(int pos, Buffer buffer) {
+        int length = buffer.getInt(pos);
+        pos += 4;
+        JsonArray items = new JsonArray(buffer.getString(pos, pos + length));
+        List<Object> list = items.stream().collect(toList());
+        return new EventBatch<>(list);
+    }
+
+    @Override
+    public EventBatch transform(EventBatch batch) {
+        return batch;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.reactivex.core.Vertx;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+
+/**
+ * Indexes of the instances of a verticle deployed with a <code>loadFactor</code> greater than <code>1</code>.
+ * <p>
+ * All the instances of a deployment share the same configuration.
+ * They acquire distinct indexes from a {@link LocalMap}, keyed by a group identifying the deployment,
+ * to split the work between them.
+ * The index of the first instance is <code>0</code>. Indexes are acquired again from <code>0</code>
+ * once all the instances of the group are released.
+ */
+public final class Instances {
+    private static final String INSTANCES = Instances.class.getName();
+    private static final String NEXT = "next";
+    private static final String OPEN = "open";
+
+    private Instances() {
+        // Utility class
+    }
+
+    /**
+     * Acquires the index of a new instance of the group.
+     *
+     * @param vertx the vertx instance
+     * @param group the group of instances
+     * @return the index of the instance
+     */
+    public static int acquire(Vertx vertx, String group) {
+        int[] acquired = new int[1];
+        instances(vertx).compute(group, (key, current) -> {
+            JsonObject next = current != null ? current : obj().put(NEXT, 0).put(OPEN, 0);
+            acquired[0] = next.getInteger(NEXT);
+            return next.put(NEXT, next.getInteger(NEXT) + 1).put(OPEN, next.getInteger(OPEN) + 1);
+        });
+
+        return acquired[0];
+    }
+
+    /**
+     * Releases an instance of the group.
+     *
+     * @param vertx the vertx instance
+     * @param group the group of instances
+     * @return <code>true</code> when it was the last instance of the group
+     */
+    public static boolean release(Vertx vertx, String group) {
+        boolean[] last = new boolean[1];
+        instances(vertx).computeIfPresent(group, (key, current) -> {
+            int open = current.getInteger(OPEN) - 1;
+            last[0] = open <= 0;
+            return open > 0 ? current.put(OPEN, open) : null;
+        });
+
+        return last[0];
+    }
+
+    private static LocalMap<String, JsonObject> instances(Vertx vertx) {
+        return vertx.getDelegate().sharedData().getLocalMap(INSTANCES);
+    }
+}
@@ -30,6 +30,9 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
 
 /**
  * JSON Helpers to manipulate and create items faster.
+ * <p>
+ * Path based helpers compile their path on each call,
+ * components that access the same paths for each item should hold a compiled {@link JsonPath} instead.
  */
 public interface JsonHelpers {
 
@@ -51,18 +54,7 @@ public interface JsonHelpers {
      */
     static void writeObject(JsonObject json, String path, Object value) {
         requireNonNull(json);
-        illegalArgument(isBlank(path));
-        Pair<String, String> pathAndField = toPathAndField(path);
-        String p = pathAndField.getLeft();
-        String f = pathAndField.getRight();
-
-        if (EMPTY_STRING.equals(p)) {
-            json.put(f, value);
-            return;
-        }
-
-        JsonObject destination = ensurePathExistsAndGet(json, p);
-        destination.put(f, value);
+        JsonPath.compile(path).put(json, value);
     }
 
     /**
@@ -79,19 +71,7 @@ public interface JsonHelpers {
      */
     static JsonObject ensurePathExistsAndGet(JsonObject json, String path) {
         requireNonNull(json);
-        illegalArgument(isBlank(path));
-        List<String> sPath = split(path);
-        JsonObject field = null;
-
-        if (sPath.size() == 1) {
-            field = createOrGet(json, sPath.get(0));
-        } else {
-            for (String f : sPath) {
-                field = createOrGet(field == null ? json : field, f);
-            }
-        }
-
-        return field;
+        return JsonPath.compile(path).ensure(json);
     }
 
     /**
@@ -128,9 +108,7 @@ public interface JsonHelpers {
     static Optional<JsonObject> extractJsonObject(JsonObject json, String path) {
         requireNonNull(json);
         if (isBlank(path)) return Optional.of(json);
-        return Arrays.stream(path.split("\\.")).reduce(Optional.of(json),
-                (o, f) -> o.map(e -> JsonObject.class.isAssignableFrom(e.getValue(f, new Object()).getClass()) ? e.getJsonObject(f) : null),
-                (o1, o2) -> o1.isPresent() ? o2 : o1);
+        return Optional.ofNullable(JsonPath.compile(path).getJsonObject(json));
     }
 
 
@@ -143,8 +121,7 @@ public interface JsonHelpers {
      */
     static Optional<JsonArray> extractJsonArray(JsonObject json, String path) {
         requireNonNull(json);
-        Pair<String, String> field = toPathAndField(path);
-        return extractJsonObject(json, field.getKey()).map(sub -> sub.getJsonArray(field.getValue()));
+        return Optional.ofNullable(JsonPath.compile(path).getJsonArray(json));
     }
 
     /**
@@ -156,8 +133,7 @@ public interface JsonHelpers {
      */
     static Optional<Object> extractObject(JsonObject json, String path) {
         requireNonNull(json);
-        Pair<String, String> field = toPathAndField(path);
-        return extractJsonObject(json, field.getKey()).map(sub -> sub.getValue(field.getValue()));
+        return Optional.ofNullable(JsonPath.compile(path).get(json));
     }
 
     /**
@@ -169,8 +145,7 @@ public interface JsonHelpers {
      */
     static Optional<String> extractString(JsonObject json, String path) {
         requireNonNull(json);
-        Pair<String, String> field = toPathAndField(path);
-        return extractJsonObject(json, field.getKey()).map(sub -> sub.getString(field.getValue()));
+        return Optional.ofNullable(JsonPath.compile(path).getString(json));
     }
 
     /**
@@ -182,8 +157,7 @@ public interface JsonHelpers {
      */
     static Optional<Integer> extractInt(JsonObject json, String path) {
         requireNonNull(json);
-        Pair<String, String> field = toPathAndField(path);
-        return extractJsonObject(json, field.getKey()).map(sub -> sub.getInteger(field.getValue()));
+        return Optional.ofNullable(JsonPath.compile(path).getInteger(json));
     }
 
     /**
@@ -195,8 +169,7 @@ public interface JsonHelpers {
      */
     static Optional<Long> extractLong(JsonObject json, String path) {
         requireNonNull(json);
-        Pair<String, String> field = toPathAndField(path);
-        return extractJsonObject(json, field.getKey()).map(sub -> sub.getLong(field.getValue()));
+        return Optional.ofNullable(JsonPath.compile(path).getLong(json));
     }
 
     /**
@@ -208,8 +181,7 @@ public interface JsonHelpers {
      */
     static Optional<Float> extractFloat(JsonObject json, String path) {
         requireNonNull(json);
-        Pair<String, String> field = toPathAndField(path);
-        return extractJsonObject(json, field.getKey()).map(sub -> sub.getFloat(field.getValue()));
+        return Optional.ofNullable(JsonPath.compile(path).getFloat(json));
     }
 
     /**
@@ -221,8 +193,7 @@ public interface JsonHelpers {
      */
     static Optional<Double> extractDouble(JsonObject json, String path) {
         requireNonNull(json);
-        Pair<String, String> field = toPathAndField(path);
-        return extractJsonObject(json, field.getKey()).map(sub -> sub.getDouble(field.getValue()));
+        return Optional.ofNullable(JsonPath.compile(path).getDouble(json));
     }
 
     /**
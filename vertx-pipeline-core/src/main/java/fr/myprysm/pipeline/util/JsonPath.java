@@ -0,0 +1,261 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static fr.myprysm.pipeline.validation.JsonValidation.illegalArgument;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * A dotted path compiled once to read and write nested values of {@link JsonObject}s.
+ * <p>
+ * The path is split when compiled, reading or writing a value walks
+ * the segments without parsing the path again.
+ * <p>
+ * When reading, any missing segment or any segment that is not a {@link JsonObject}
+ * results into a <code>null</code> value.
+ * When writing, any missing segment or any segment that is not a {@link JsonObject}
+ * is replaced with a new {@link JsonObject}.
+ */
+public final class JsonPath {
+
+    private final String path;
+    private final String[] parents;
+    private final String field;
+
+    private JsonPath(String path, String[] parents, String field) {
+        this.path = path;
+        this.parents = parents;
+        this.field = field;
+    }
+
+    /**
+     * Compiles the dotted <code>path</code>.
+     *
+     * @param path the path to compile
+     * @return the compiled path
+     */
+    public static JsonPath compile(String path) {
+        illegalArgument(isBlank(path));
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int dot;
+        while ((dot = path.indexOf('.', start)) > -1) {
+            segments.add(path.substring(start, dot));
+            start = dot + 1;
+        }
+
+        return new JsonPath(path, segments.toArray(new String[0]), path.substring(start));
+    }
+
+    /**
+     * The dotted path.
+     *
+     * @return the path
+     */
+    public String path() {
+        return path;
+    }
+
+    /**
+     * The name of the last segment of the path.
+     *
+     * @return the field name
+     */
+    public String field() {
+        return field;
+    }
+
+    /**
+     * Indicates whether the path has more than one segment.
+     *
+     * @return <code>true</code> when the field is not at the root of the object
+     */
+    public boolean isNested() {
+        return parents.length > 0;
+    }
+
+    /**
+     * Gets the object holding the field of this path.
+     *
+     * @param json the object to read
+     * @return the object holding the field or <code>null</code> when it does not exist
+     */
+    public JsonObject parent(JsonObject json) {
+        requireNonNull(json);
+        JsonObject current = json;
+        for (String segment : parents) {
+            Object value = current.getValue(segment);
+            if (!(value instanceof JsonObject)) {
+                return null;
+            }
+            current = (JsonObject) value;
+        }
+
+        return current;
+    }
+
+    /**
+     * Gets the object holding the field of this path, creating the missing segments.
+     *
+     * @param json the object to write
+     * @return the object holding the field
+     */
+    public JsonObject ensureParent(JsonObject json) {
+        requireNonNull(json);
+        JsonObject current = json;
+        for (String segment : parents) {
+            current = JsonHelpers.createOrGet(current, segment);
+        }
+
+        return current;
+    }
+
+    /**
+     * Gets the object at this path, creating the missing segments including the field itself.
+     *
+     * @param json the object to write
+     * @return the object at this path
+     */
+    public JsonObject ensure(JsonObject json) {
+        return JsonHelpers.createOrGet(ensureParent(json), field);
+    }
+
+    /**
+     * Reads the value at this path.
+     *
+     * @param json the object to read
+     * @return the value or <code>null</code> when the path does not exist
+     */
+    public Object get(JsonObject json) {
+        JsonObject parent = parent(json);
+        return parent == null ? null : parent.getValue(field);
+    }
+
+    /**
+     * Reads the value at this path as a {@link JsonObject}.
+     *
+     * @param json the object to read
+     * @return the value or <code>null</code> when the path does not exist or is not an object
+     */
+    public JsonObject getJsonObject(JsonObject json) {
+        Object value = get(json);
+        return value instanceof JsonObject ? (JsonObject) value : null;
+    }
+
+    /**
+     * Reads the value at this path as a {@link JsonArray}.
+     *
+     * @param json the object to read
+     * @return the value or <code>null</code> when the path does not exist
+     */
+    public JsonArray getJsonArray(JsonObject json) {
+        JsonObject parent = parent(json);
+        return parent == null ? null : parent.getJsonArray(field);
+    }
+
+    /**
+     * Reads the value at this path as a {@link String}.
+     *
+     * @param json the object to read
+     * @return the value or <code>null</code> when the path does not exist
+     */
+    public String getString(JsonObject json) {
+        JsonObject parent = parent(json);
+        return parent == null ? null : parent.getString(field);
+    }
+
+    /**
+     * Reads the value at this path as an {@link Integer}.
+     *
+     * @param json the object to read
+     * @return the value or <code>null</code> when the path does not exist
+     */
+    public Integer getInteger(JsonObject json) {
+        JsonObject parent = parent(json);
+        return parent == null ? null : parent.getInteger(field);
+    }
+
+    /**
+     * Reads the value at this path as a {@link Long}.
+     *
+     * @param json the object to read
+     * @return the value or <code>null</code> when the path does not exist
+     */
+    public Long getLong(JsonObject json) {
+        JsonObject parent = parent(json);
+        return parent == null ? null : parent.getLong(field);
+    }
+
+    /**
+     * Reads the value at this path as a {@link Float}.
+     *
+     * @param json the object to read
+     * @return the value or <code>null</code> when the path does not exist
+     */
+    public Float getFloat(JsonObject json) {
+        JsonObject parent = parent(json);
+        return parent == null ? null : parent.getFloat(field);
+    }
+
+    /**
+     * Reads the value at this path as a {@link Double}.
+     *
+     * @param json the object to read
+     * @return the value or <code>null</code> when the path does not exist
+     */
+    public Double getDouble(JsonObject json) {
+        JsonObject parent = parent(json);
+        return parent == null ? null : parent.getDouble(field);
+    }
+
+    /**
+     * Writes the <code>value</code> at this path, creating the missing segments.
+     * <p>
+     * Please note that <code>value</code> is <code>nullable</code>.
+     *
+     * @param json  the object to write the value into
+     * @param value the value to write
+     */
+    public void put(JsonObject json, Object value) {
+        ensureParent(json).put(field, value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof JsonPath)) return false;
+        return path.equals(((JsonPath) o).path);
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
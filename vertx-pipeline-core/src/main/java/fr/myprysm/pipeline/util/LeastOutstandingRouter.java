@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * Routes each message to the recipient with the least messages in flight.
+ * <p>
+ * The search starts from a different recipient on each call,
+ * so that recipients with the same load are used in turn.
+ */
+public class LeastOutstandingRouter implements Router {
+    private final List<String> recipients;
+    private final ToIntFunction<String> outstanding;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /**
+     * Creates a new least outstanding router.
+     *
+     * @param recipients  the recipients
+     * @param outstanding the number of messages in flight for a recipient
+     */
+    public LeastOutstandingRouter(List<String> recipients, ToIntFunction<String> outstanding) {
+        this.recipients = recipients;
+        this.outstanding = outstanding;
+    }
+
+    @Override
+    public String next() {
+        int size = recipients.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        String best = null;
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            String recipient = recipients.get((start + i) % size);
+            int load = outstanding.applyAsInt(recipient);
+            if (best == null || load < min) {
+                best = recipient;
+                min = load;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToIntFunction;
+
+/**
+ * Routes each message to the least loaded of two recipients picked at random.
+ * <p>
+ * Balances almost as well as {@link LeastOutstandingRouter} while only looking at two recipients,
+ * and avoids that all the publishers of a stage rush to the same recipient.
+ */
+public class PowerOfTwoChoicesRouter implements Router {
+    private final List<String> recipients;
+    private final ToIntFunction<String> outstanding;
+
+    /**
+     * Creates a new power of two choices router.
+     *
+     * @param recipients  the recipients
+     * @param outstanding the number of messages in flight for a recipient
+     */
+    public PowerOfTwoChoicesRouter(List<String> recipients, ToIntFunction<String> outstanding) {
+        this.recipients = recipients;
+        this.outstanding = outstanding;
+    }
+
+    @Override
+    public String next() {
+        int size = recipients.size();
+        if (size == 1) {
+            return recipients.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        String a = recipients.get(first);
+        String b = recipients.get(second);
+        return outstanding.applyAsInt(a) <= outstanding.applyAsInt(b) ? a : b;
+    }
+}
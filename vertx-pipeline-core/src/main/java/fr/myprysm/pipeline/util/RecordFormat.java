@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Binary formats of the records written by the <code>FileSink</code> and read back by the <code>RecordFilePump</code>.
+ * <p>
+ * Each record is made of the length of the encoded item as a 4 bytes big endian integer
+ * followed by the item itself, so that records can be skipped or read one by one without any parsing.
+ * Each item is encoded on its own and does not depend on the previous records.
+ */
+public enum RecordFormat {
+    smile(SmileFactory::new),
+    cbor(CBORFactory::new),
+    msgpack(MessagePackFactory::new);
+
+    /**
+     * The size of the length written before each record.
+     */
+    public static final int LENGTH_SIZE = 4;
+
+    private final ObjectMapper mapper;
+
+    RecordFormat(Supplier<JsonFactory> factory) {
+        mapper = new ObjectMapper(factory.get()).registerModule(new VertxJsonModule());
+    }
+
+    /**
+     * The mapper encoding and decoding the items in this format.
+     *
+     * @return the mapper
+     */
+    public ObjectMapper mapper() {
+        return mapper;
+    }
+
+    /**
+     * Appends the item as a record to the output.
+     *
+     * @param item the item
+     * @param out  the output
+     * @throws IOException when the item cannot be encoded
+     */
+    public void write(JsonObject item, BufferOutputStream out) throws IOException {
+        Buffer buffer = out.buffer();
+        int start = buffer.length();
+        buffer.appendInt(0);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            mapper.writeValue(generator, item);
+        }
+        buffer.setInt(start, buffer.length() - start - LENGTH_SIZE);
+    }
+
+    /**
+     * Decodes the item of a record.
+     *
+     * @param bytes  the bytes holding the record
+     * @param offset the offset of the item, after its length
+     * @param length the length of the item
+     * @return the item
+     * @throws IOException when the item cannot be decoded
+     */
+    @SuppressWarnings("unchecked")
+    public JsonObject read(byte[] bytes, int offset, int length) throws IOException {
+        return new JsonObject(mapper.readValue(bytes, offset, length, Map.class));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import fr.myprysm.pipeline.pipeline.ExchangeOptions.Routing;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Selects the recipient of the next message sent by a {@link Publisher}.
+ */
+public interface Router {
+
+    /**
+     * Provides the recipient of the next message.
+     *
+     * @return the address of the recipient
+     */
+    String next();
+
+    /**
+     * Builds the router for the strategy.
+     *
+     * @param routing     the routing strategy
+     * @param recipients  the recipients to route messages to
+     * @param weights     the weights of the recipients, used by {@link Routing#weighted} only
+     * @param outstanding the number of messages in flight for a recipient, used by the load aware strategies
+     * @return the router
+     */
+    static Router of(Routing routing, List<String> recipients, List<Integer> weights, ToIntFunction<String> outstanding) {
+        switch (routing) {
+            case least_outstanding:
+                return new LeastOutstandingRouter(recipients, outstanding);
+            case power_of_two:
+                return new PowerOfTwoChoicesRouter(recipients, outstanding);
+            case weighted:
+                return new WeightedRouter(recipients, weights);
+            case round_robin:
+            default:
+                return RoundRobin.of(recipients).iterator()::next;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.EncodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.reactivex.core.eventbus.EventBus;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * {@link MessageCodec} encoding {@link JsonObject}s and {@link EventBatch}es with the binary Smile format.
+ * <p>
+ * Smile back-references the field names and the short string values already written in a message,
+ * which makes messages much smaller than JSON text and cheaper to encode and decode.
+ * <p>
+ * Local deliveries hand over the message itself without any encoding nor copy.
+ * The codec is not a default codec, it is selected by name when sending a message.
+ */
+public class SmileMessageCodec implements MessageCodec<Object, Object> {
+    public static final String NAME = "pipeline-smile";
+
+    private static final byte OBJECT = 0;
+    private static final byte BATCH = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper(new SmileFactory()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES))
+            .registerModule(new VertxJsonModule());
+
+    /**
+     * Registers the codec on the event bus.
+     * <p>
+     * Does nothing if the codec is already registered.
+     *
+     * @param eventBus the event bus
+     */
+    public static void register(EventBus eventBus) {
+        try {
+            eventBus.getDelegate().registerCodec(new SmileMessageCodec());
+        } catch (IllegalStateException exc) {
+            // Codec is already registered.
+        }
+    }
+
+    @Override
+    public void encodeToWire(Buffer buffer, Object body) {
+        try {
+            boolean batch = body instanceof EventBatch;
+            byte[] bytes = MAPPER.writeValueAsBytes(batch ? ((EventBatch) body).items() : body);
+            buffer.appendByte(batch ? BATCH : OBJECT);
+            buffer.appendInt(bytes.length);
+            buffer.appendBytes(bytes);
+        } catch (IOException exc) {
+            throw new EncodeException("Failed to encode as Smile: " + exc.getMessage());
+        }
+    }
+
+    @Override
+    public Object decodeFromWire(int pos, Buffer buffer) {
+        byte type = buffer.getByte(pos);
+        int length = buffer.getInt(pos + 1);
+        byte[] bytes = buffer.getBytes(pos + 5, pos + 5 + length);
+        try {
+            if (type == BATCH) {
+                List<?> items = MAPPER.readValue(bytes, List.class);
+                return new EventBatch<>(items.stream().map(SmileMessageCodec::wrap).collect(toList()));
+            }
+            return wrap(MAPPER.readValue(bytes, Object.class));
+        } catch (IOException exc) {
+            throw new DecodeException("Failed to decode Smile: " + exc.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object wrap(Object value) {
+        if (value instanceof Map) {
+            return new JsonObject((Map<String, Object>) value);
+        } else if (value instanceof List) {
+            return new JsonArray((List) value);
+        }
+        return value;
+    }
+
+    @Override
+    public Object transform(Object body) {
+        return body;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+
+/**
+ * Jackson module serializing {@link JsonObject}s and {@link JsonArray}s as their underlying map and list.
+ * <p>
+ * Vert.x registers those serializers on its own mappers only,
+ * this module brings them to any other {@link ObjectMapper} (Smile, YAML...).
+ */
+public class VertxJsonModule extends SimpleModule {
+
+    public VertxJsonModule() {
+        super("vertx-json");
+        addSerializer(JsonObject.class, new JsonObjectSerializer());
+        addSerializer(JsonArray.class, new JsonArraySerializer());
+    }
+
+    private static class JsonObjectSerializer extends JsonSerializer<JsonObject> {
+        @Override
+        public void serialize(JsonObject value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeObject(value.getMap());
+        }
+    }
+
+    private static class JsonArraySerializer extends JsonSerializer<JsonArray> {
+        @Override
+        public void serialize(JsonArray value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeObject(value.getList());
+        }
+    }
+}
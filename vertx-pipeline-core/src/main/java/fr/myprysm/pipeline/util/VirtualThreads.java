@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads when the running JVM provides them.
+ * <p>
+ * The pipeline is built against Java 8, virtual threads are looked up by reflection.
+ */
+public class VirtualThreads {
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreads.class);
+    private static final Method FACTORY = lookupFactory();
+
+    private VirtualThreads() {
+    }
+
+    private static Method lookupFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Indicates whether the running JVM supports virtual threads.
+     *
+     * @return <code>true</code> when virtual threads are available
+     */
+    public static boolean isSupported() {
+        return FACTORY != null;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     *
+     * @return the executor or an empty {@link Optional} when virtual threads are not available
+     */
+    public static Optional<ExecutorService> newExecutor() {
+        if (FACTORY == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of((ExecutorService) FACTORY.invoke(null));
+        } catch (ReflectiveOperationException e) {
+            LOG.warn("Unable to create a virtual thread executor", e);
+            return Optional.empty();
+        }
+    }
+}
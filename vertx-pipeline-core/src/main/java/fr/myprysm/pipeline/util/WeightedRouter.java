@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import java.util.List;
+
+/**
+ * Routes messages to the recipients in proportion of their weights.
+ * <p>
+ * Uses a smooth weighted round robin, that interleaves the recipients
+ * instead of sending bursts of messages to the heaviest ones.
+ * <p>
+ * Weights are applied to the recipients in order.
+ * A recipient without weight has a weight of <code>1</code>.
+ */
+public class WeightedRouter implements Router {
+    private final List<String> recipients;
+    private final int[] weights;
+    private final int[] current;
+    private final int total;
+
+    /**
+     * Creates a new weighted router.
+     *
+     * @param recipients the recipients
+     * @param weights    the weights of the recipients
+     */
+    public WeightedRouter(List<String> recipients, List<Integer> weights) {
+        this.recipients = recipients;
+        this.weights = new int[recipients.size()];
+        this.current = new int[recipients.size()];
+        int sum = 0;
+        for (int i = 0; i < this.weights.length; i++) {
+            this.weights[i] = weights != null && i < weights.size() ? weights.get(i) : 1;
+            sum += this.weights[i];
+        }
+        this.total = sum;
+    }
+
+    @Override
+    public synchronized String next() {
+        int best = 0;
+        for (int i = 0; i < weights.length; i++) {
+            current[i] += weights[i];
+            if (current[i] > current[best]) {
+                best = i;
+            }
+        }
+        current[best] -= total;
+        return recipients.get(best);
+    }
+}
@@ -33,18 +33,32 @@ class ExchangeOptionsTest {
     void testExchangeOptions() {
         new ExchangeOptionsConverter();
 
-        String badStr = "{\"from\": 10, \"to\": 20, \"controlChannel\": false}";
-        String optStr = "{\"from\":\"foo\", \"to\":[\"address1\",\"address2\"], \"controlChannel\":\"custom-channel\"}";
+        String badStr = "{\"from\": 10, \"to\": 20, \"controlChannel\": false, \"batch\": \"foo\", \"linger\": \"bar\", \"window\": true, \"routing\": 42, \"weights\": 10, \"partitionBy\": 12, \"codec\": 1}";
+        String optStr = "{\"from\":\"foo\", \"to\":[\"address1\",\"address2\"], \"controlChannel\":\"custom-channel\", \"batch\":100, \"linger\":50, \"window\":1000, \"routing\":\"weighted\", \"weights\":[1,2], \"partitionBy\":\"user.id\", \"codec\":\"smile\"}";
 
         ExchangeOptions optNull = new ExchangeOptions()
                 .setFrom(null)
                 .setTo(emptyList())
-                .setControlChannel(null);
+                .setControlChannel(null)
+                .setBatch(null)
+                .setLinger(null)
+                .setWindow(null)
+                .setRouting(null)
+                .setWeights(null)
+                .setPartitionBy(null)
+                .setCodec(null);
 
         ExchangeOptions optObj = new ExchangeOptions()
                 .setFrom("foo")
                 .setTo(asList("address1", "address2"))
-                .setControlChannel("custom-channel");
+                .setControlChannel("custom-channel")
+                .setBatch(100)
+                .setLinger(50L)
+                .setWindow(1000)
+                .setRouting(ExchangeOptions.Routing.weighted)
+                .setWeights(asList(1, 2))
+                .setPartitionBy("user.id")
+                .setCodec(ExchangeOptions.Codec.smile);
 
         JsonObject optJson = new JsonObject(optStr);
 
@@ -31,7 +31,9 @@ import org.junit.jupiter.api.*;
 import java.util.LinkedList;
 import java.util.List;
 
+import static fr.myprysm.pipeline.util.JsonHelpers.arr;
 import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -177,6 +179,116 @@ class PipelineConfigurerTest implements VertxTest {
         assertThat(to).contains(sink.getRight().getConfig().getString("from"));
     }
 
+    @Test
+    @DisplayName("Pipeline with fused stateless processors")
+    void testFusedProcessors() {
+        setPipeline("fused-test");
+        assertThat(processors.size()).isEqualTo(2);
+
+        JsonArray to = pump.getRight().getConfig().getJsonArray("to");
+        List<Triple<String, String, DeploymentOptions>> processorSet = processors.get(1);
+
+        assertThat(processorSet.size()).isEqualTo(2);
+        for (int i = 0, max = processorSet.size(); i < max; i++) {
+            Triple<String, String, DeploymentOptions> processor = processorSet.get(i);
+            assertThat(processor.getLeft()).isEqualTo("fused-test-fused-processor-1-3-" + (i + 1));
+            assertThat(processor.getMiddle()).isEqualTo("fr.myprysm.pipeline.processor.FusedProcessor");
+            assertThat(to).contains(processor.getRight().getConfig().getString("from"));
+
+            JsonArray stages = processor.getRight().getConfig().getJsonArray("stages");
+            assertThat(stages.size()).isEqualTo(3);
+            assertThat(stages.getJsonObject(0).getString("name")).isEqualTo("fused-test-data-extractor-processor-1-" + (i + 1));
+            assertThat(stages.getJsonObject(0).getJsonObject("extract")).isNotNull();
+            assertThat(stages.getJsonObject(1).getString("name")).isEqualTo("fused-test-object-to-array-processor-2-" + (i + 1));
+            assertThat(stages.getJsonObject(2).getString("name")).isEqualTo("fused-test-log-processor-3-" + (i + 1));
+        }
+
+        to = processorSet.get(0).getRight().getConfig().getJsonArray("to");
+        processorSet = processors.get(0);
+
+        assertThat(processorSet.size()).isEqualTo(3);
+        for (int i = 0, max = processorSet.size(); i < max; i++) {
+            assertProcessor(processorSet.get(i),
+                    to,
+                    "fr.myprysm.pipeline.processor.NoOpProcessor",
+                    "fused-test-no-op-processor",
+                    4,
+                    i + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Processors are not fused unless requested")
+    void testProcessorsAreNotFusedByDefault() {
+        config.getJsonObject("fused-test").put("fuse", false);
+        setPipeline("fused-test");
+        config.getJsonObject("fused-test").put("fuse", true);
+
+        assertThat(processors.size()).isEqualTo(4);
+        assertThat(processors.stream().flatMap(List::stream).map(Triple::getMiddle))
+                .doesNotContain("fr.myprysm.pipeline.processor.FusedProcessor");
+    }
+
+    @Test
+    @DisplayName("Fused processors send their items with the exchange options of the last stage")
+    void testFusedProcessorsKeepExchangeOptions() {
+        JsonObject log = config.getJsonObject("fused-test").getJsonArray("processors").getJsonObject(2);
+        log.put("routing", "weighted").put("weights", arr().add(1).add(2).add(3)).put("batch", 10);
+        setPipeline("fused-test");
+        log.remove("routing");
+        log.remove("weights");
+        log.remove("batch");
+
+        assertThat(processors.size()).isEqualTo(2);
+        JsonArray instances = new JsonArray(processors.get(0).stream()
+                .map(processor -> processor.getRight().getConfig().getString("from"))
+                .collect(toList()));
+
+        for (Triple<String, String, DeploymentOptions> processor : processors.get(1)) {
+            JsonObject fused = processor.getRight().getConfig();
+            assertThat(fused.getString("routing")).isEqualTo("weighted");
+            assertThat(fused.getJsonArray("weights")).isEqualTo(arr().add(1).add(2).add(3));
+            assertThat(fused.getInteger("batch")).isEqualTo(10);
+            assertThat(fused.getJsonArray("to")).isEqualTo(instances);
+        }
+    }
+
+    @Test
+    @DisplayName("Processors with exchange options end their fused run")
+    void testExchangeOptionsEndFusedRun() {
+        JsonObject objectToArray = config.getJsonObject("fused-test").getJsonArray("processors").getJsonObject(1);
+        objectToArray.put("partitionBy", "another.field.counter");
+        setPipeline("fused-test");
+        objectToArray.remove("partitionBy");
+
+        assertThat(processors.size()).isEqualTo(3);
+        for (Triple<String, String, DeploymentOptions> processor : processors.get(2)) {
+            JsonObject fused = processor.getRight().getConfig();
+            assertThat(processor.getMiddle()).isEqualTo("fr.myprysm.pipeline.processor.FusedProcessor");
+            assertThat(fused.getJsonArray("stages").size()).isEqualTo(2);
+            assertThat(fused.getString("partitionBy")).isEqualTo("another.field.counter");
+        }
+        assertThat(processors.get(1)).extracting(Triple::getMiddle)
+                .containsOnly("fr.myprysm.pipeline.processor.LogProcessor");
+    }
+
+    @Test
+    @DisplayName("Weighted routing keeps the recipients in instance order")
+    void testWeightedRoutingKeepsInstanceOrder() {
+        JsonObject noOp = config.getJsonObject("multi-instance-multi-processor").getJsonArray("processors").getJsonObject(0);
+        noOp.put("routing", "weighted");
+        setPipeline("multi-instance-multi-processor");
+        noOp.remove("routing");
+
+        JsonArray instances = new JsonArray(processors.get(0).stream()
+                .map(processor -> processor.getRight().getConfig().getString("from"))
+                .collect(toList()));
+
+        for (Triple<String, String, DeploymentOptions> processor : processors.get(1)) {
+            assertThat(processor.getRight().getConfig().getJsonArray("to")).isEqualTo(instances);
+        }
+    }
+
     private void assertProcessor(Triple<String, String, DeploymentOptions> processor, JsonArray to, String clazz, String baseName, int group, int instance) {
         assertThat(processor.getLeft()).isEqualTo(baseName + "-" + group + "-" + instance);
         assertThat(processor.getMiddle()).isEqualTo(clazz);
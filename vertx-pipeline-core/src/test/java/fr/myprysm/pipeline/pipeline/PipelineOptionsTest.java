@@ -32,21 +32,27 @@ class PipelineOptionsTest {
         new PipelineOptionsConverter();
 
         String badStr = "{\"name\": 10, \"type\": 20, \"pump\": 100, \"processors\": \"test\", \"sink\": false}";
-        String optStr = "{\"deployChannel\":\"test\",\"name\": \"name\", \"pump\": {}, \"processors\": [{},{}], \"sink\":{}}";
+        String optStr = "{\"deployChannel\":\"test\",\"name\": \"name\", \"pump\": {}, \"processors\": [{},{}], \"sink\":{}, \"fuse\": true, \"window\": 100, \"codec\": \"smile\"}";
 
         PipelineOptions optNull = new PipelineOptions()
                 .setDeployChannel(null)
                 .setName(null)
                 .setPump(null)
                 .setProcessors(null)
-                .setSink(null);
+                .setSink(null)
+                .setFuse(null)
+                .setWindow(null)
+                .setCodec(null);
 
         PipelineOptions optObj = new PipelineOptions()
                 .setDeployChannel("test")
                 .setName("name")
                 .setPump(obj())
                 .setProcessors(arr().add(obj()).add(obj()))
-                .setSink(obj());
+                .setSink(obj())
+                .setFuse(true)
+                .setWindow(100)
+                .setCodec(ExchangeOptions.Codec.smile);
 
         JsonObject optJson = new JsonObject(optStr);
 
@@ -73,5 +73,12 @@ class PipelineOptionsValidationTest implements BaseJsonValidationTest {
 
         a.getJsonObject(1).put("instances", 1);
         isValid(o, PipelineOptionsValidation::validate);
+
+        isInvalid(o.put("fuse", "yes"), PipelineOptionsValidation::validate, "Field 'fuse' is not a boolean");
+        isValid(o.put("fuse", true), PipelineOptionsValidation::validate);
+        isInvalid(o.put("window", -1), PipelineOptionsValidation::validate, "Field 'window' is not greater or equal to 0");
+        isValid(o.put("window", 100), PipelineOptionsValidation::validate);
+        isInvalid(o.put("codec", "xml"), PipelineOptionsValidation::validate, "Field 'codec' is not part of enum Codec");
+        isValid(o.put("codec", "smile"), PipelineOptionsValidation::validate);
     }
 }
\ No newline at end of file
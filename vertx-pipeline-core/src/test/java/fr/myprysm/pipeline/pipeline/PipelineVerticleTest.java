@@ -95,6 +95,21 @@ class PipelineVerticleTest implements VertxTest {
     }
 
 
+    @Test
+    @DisplayName("Fused processors run the whole chain")
+    void testFusedProcessors(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+        DeploymentOptions options = getDeploymentOptions("fused-test");
+
+        vertx.deployVerticle(PIPELINE_VERTICLE, options,
+                ctx.succeeding(id ->
+                        vertx.setTimer(2_000L, timer ->
+                                vertx.undeploy(id, ctx.succeeding(v -> ctx.completeNow())))
+                )
+        );
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
     @Test
     @DisplayName("Data extractor maps fields")
     void testDataExtractorProcessor(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
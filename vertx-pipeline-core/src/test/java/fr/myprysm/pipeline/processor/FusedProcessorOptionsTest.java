@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.processor;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.arr;
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FusedProcessorOptionsTest {
+    @Test
+    @DisplayName("Validate Fused processor options")
+    void testFusedProcessorOptions() {
+        new FusedProcessorOptionsConverter();
+
+        String badStr = "{\"name\": 10, \"type\": 20, \"stages\": false}";
+        String optStr = "{\"instances\":1, \"name\":\"name\", \"type\": \"type\", \"stages\":[{\"type\":\"stage1\"},{\"type\":\"stage2\"}]}";
+
+        ProcessorOptions optProcessor = new ProcessorOptions(new JsonObject(optStr));
+
+        FusedProcessorOptions optNull = new FusedProcessorOptions()
+                .setName(null)
+                .setType(null)
+                .setStages(null);
+
+        FusedProcessorOptions optObj = new FusedProcessorOptions()
+                .setName("name")
+                .setType("type")
+                .setStages(arr().add(obj().put("type", "stage1")).add(obj().put("type", "stage2")));
+
+        JsonObject optJson = new JsonObject(optStr);
+
+        assertThat(new FusedProcessorOptions(new JsonObject(badStr))).isEqualTo(new FusedProcessorOptions());
+        assertThat(optNull.toJson()).isEqualTo(obj().put("instances", 1));
+        assertThat(optObj).isEqualTo(optObj);
+        assertThat(optObj).isNotEqualTo(optNull);
+        assertThat(optObj).isEqualTo(new FusedProcessorOptions(optJson));
+        assertThat(optObj).isEqualTo(new FusedProcessorOptions(optObj));
+        assertThat(optObj.toString()).isEqualTo(new FusedProcessorOptions(optJson).toString());
+        assertThat(optObj.hashCode()).isEqualTo(new FusedProcessorOptions(optJson).hashCode());
+        assertThat(optObj).isNotEqualTo(null);
+        assertThat(optObj).isNotEqualTo(new Object());
+        assertThat(optObj.toJson()).isEqualTo(optJson);
+        assertThat(optProcessor)
+                .isEqualToComparingOnlyGivenFields(new FusedProcessorOptions(optProcessor), "name", "type");
+    }
+}
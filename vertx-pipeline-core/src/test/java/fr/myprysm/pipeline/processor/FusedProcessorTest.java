@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.processor;
+
+import fr.myprysm.pipeline.VertxTest;
+import fr.myprysm.pipeline.util.JsonHelpers;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.arr;
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FusedProcessorTest implements VertxTest {
+    public static final String VERTICLE = "fr.myprysm.pipeline.processor.FusedProcessor";
+    static final JsonObject CONFIG = obj()
+            .put("name", "fused-test")
+            .put("type", VERTICLE)
+            .put("from", "from")
+            .put("to", arr().add("to"))
+            .put("stages", arr()
+                    .add(obj()
+                            .put("name", "fused-test-data-extractor")
+                            .put("type", "fr.myprysm.pipeline.processor.DataExtractorProcessor")
+                            .put("extract", obj().put("first.path", "a.very.deep.path")))
+                    .add(obj()
+                            .put("name", "fused-test-object-to-array")
+                            .put("type", "fr.myprysm.pipeline.processor.ObjectToArrayProcessor")
+                            .put("fields", arr().add("a.very.deep.path")))
+                    .add(obj()
+                            .put("name", "fused-test-log")
+                            .put("type", "fr.myprysm.pipeline.processor.LogProcessor")));
+
+    static final JsonObject INPUT = obj().put("first", obj().put("path", "a secret"));
+
+    @Test
+    @DisplayName("Fused processor chains its stages")
+    void testFusedProcessor(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+        Checkpoint cp = ctx.checkpoint(10);
+        vertx.eventBus().<JsonObject>consumer("to", message -> {
+            JsonObject json = message.body();
+            assertThat(JsonHelpers.extractObject(json, "a.very.deep.path")).hasValue(arr().add("a secret"));
+            cp.flag();
+        });
+
+        vertx.deployVerticle(VERTICLE, new DeploymentOptions().setConfig(CONFIG), ctx.succeeding(id -> {
+            for (int i = 0, max = 10; i < max; i++) {
+                vertx.eventBus().send("from", INPUT);
+            }
+        }));
+
+        ctx.awaitCompletion(2, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Fused processor counts the items handled by each stage")
+    void testFusedProcessorStageMetrics(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+        FusedProcessor processor = new FusedProcessor();
+        AtomicInteger received = new AtomicInteger();
+        vertx.eventBus().<JsonObject>consumer("to", message -> {
+            if (received.incrementAndGet() == 10) {
+                ctx.verify(() -> {
+                    assertThat(processor.stages()).hasSize(3);
+                    for (BaseJsonProcessor<?> stage : processor.stages()) {
+                        assertThat(stage.metrics().getReceived()).isEqualTo(10);
+                        assertThat(stage.metrics().getEmitted()).isEqualTo(10);
+                        assertThat(stage.metrics().getDiscarded()).isZero();
+                        assertThat(stage.metrics().getFailed()).isZero();
+                    }
+                    assertThat(processor.metrics().getReceived()).isEqualTo(10);
+                });
+                ctx.completeNow();
+            }
+        });
+
+        vertx.deployVerticle(processor, new DeploymentOptions().setConfig(CONFIG), ctx.succeeding(id -> {
+            for (int i = 0, max = 10; i < max; i++) {
+                vertx.eventBus().send("from", INPUT);
+            }
+        }));
+
+        ctx.awaitCompletion(2, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Fused processor accepts only stateless stages")
+    void testFusedProcessorRejectsStatefulStages(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+        JsonObject config = CONFIG.copy();
+        config.getJsonArray("stages").add(obj()
+                .put("type", "fr.myprysm.pipeline.processor.MergeBasicProcessor")
+                .put("operations", obj()));
+
+        vertx.deployVerticle(VERTICLE, new DeploymentOptions().setConfig(config), ctx.failing(t -> ctx.completeNow()));
+
+        ctx.awaitCompletion(2, TimeUnit.SECONDS);
+    }
+}
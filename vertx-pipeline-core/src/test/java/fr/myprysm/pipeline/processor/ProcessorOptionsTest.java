@@ -27,10 +27,11 @@ class ProcessorOptionsTest {
     @Test
     @DisplayName("Validate ProcessorOptions features")
     void testProcessorOptionsFeatures() {
-        String optStr = "{\"instances\":1,\"name\": \"name\", \"type\": \"type\"}";
+        String optStr = "{\"instances\":1,\"name\": \"name\", \"type\": \"type\", \"executionMode\": \"ordered_worker\"}";
         ProcessorOptions optObj = new ProcessorOptions()
                 .setName("name")
-                .setType("type");
+                .setType("type")
+                .setExecutionMode(ProcessorOptions.ExecutionMode.ordered_worker);
 
         JsonObject optJson = new JsonObject(optStr);
 
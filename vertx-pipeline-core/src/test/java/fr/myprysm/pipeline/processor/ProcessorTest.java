@@ -19,19 +19,33 @@ package fr.myprysm.pipeline.processor;
 import fr.myprysm.pipeline.VertxTest;
 import fr.myprysm.pipeline.processor.BaseJsonProcessor;
 import fr.myprysm.pipeline.processor.ProcessorOptions;
+import fr.myprysm.pipeline.util.CreditController;
+import fr.myprysm.pipeline.util.EventBatch;
 import fr.myprysm.pipeline.validation.ValidationException;
 import fr.myprysm.pipeline.validation.ValidationResult;
 import io.reactivex.Completable;
-import io.reactivex.Single;
+import io.reactivex.Maybe;
+import io.vertx.core.Context;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxTestContext;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static fr.myprysm.pipeline.util.JsonHelpers.arr;
 import static fr.myprysm.pipeline.validation.ValidationResult.valid;
@@ -51,6 +65,7 @@ class ProcessorTest implements VertxTest {
 
     public static JsonObject DATA = new JsonObject().put("foo", "bar");
     public static JsonObject FAIL_DATA = new JsonObject().put("fail", true);
+    public static JsonObject DISCARD_DATA = new JsonObject().put("discard", true);
 
     @Test
     @DisplayName("NoOp emits values as they come")
@@ -89,12 +104,150 @@ class ProcessorTest implements VertxTest {
         }));
     }
 
+    @Test
+    @DisplayName("Discarded and failed items are counted in the processor metrics")
+    void testProcessorMetrics(Vertx vertx, VertxTestContext ctx) {
+        FailureProcessor processor = new FailureProcessor();
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, (message) -> {
+            ctx.verify(() -> {
+                ProcessorMetrics metrics = processor.metrics();
+                assertThat(metrics.getReceived()).isEqualTo(3);
+                assertThat(metrics.getDiscarded()).isEqualTo(1);
+                assertThat(metrics.getFailed()).isEqualTo(1);
+                assertThat(metrics.getEmitted()).isEqualTo(1);
+            });
+            ctx.completeNow();
+        });
+        vertx.deployVerticle(processor, CONFIG, ctx.succeeding((id) -> {
+            vertx.eventBus().send(TEST_FROM, DISCARD_DATA);
+            vertx.eventBus().send(TEST_FROM, FAIL_DATA);
+            vertx.eventBus().send(TEST_FROM, DATA);
+        }));
+    }
+
+    @Test
+    @DisplayName("Processor transforms items on the worker pool and emits them from its event loop")
+    void testProcessorWorkerExecutionMode(Vertx vertx, VertxTestContext ctx) {
+        DeploymentOptions config = new DeploymentOptions().setConfig(CONFIG.getConfig().copy().put("executionMode", "worker"));
+        AtomicBoolean transformedOnWorker = new AtomicBoolean();
+        AtomicBoolean emittedOnEventLoop = new AtomicBoolean();
+        FailureProcessor processor = new FailureProcessor() {
+            @Override
+            public Maybe<JsonObject> transform(JsonObject input) {
+                transformedOnWorker.set(Context.isOnWorkerThread());
+                return super.transform(input);
+            }
+
+            @Override
+            public void publish(JsonObject item) {
+                emittedOnEventLoop.set(Context.isOnEventLoopThread());
+                super.publish(item);
+            }
+        };
+
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, (message) -> {
+            ctx.verify(() -> {
+                assertThat(message.body()).isEqualTo(DATA);
+                assertThat(transformedOnWorker).isTrue();
+                assertThat(emittedOnEventLoop).isTrue();
+            });
+            ctx.completeNow();
+        });
+        vertx.deployVerticle(processor, config, ctx.succeeding((id) -> {
+            vertx.eventBus().send(TEST_FROM, DISCARD_DATA);
+            vertx.eventBus().send(TEST_FROM, DATA);
+        }));
+    }
+
+    @Test
+    @DisplayName("Processor transforms batches and emits batches")
+    void testProcessorBatches(Vertx vertx, VertxTestContext ctx) {
+        DeploymentOptions config = new DeploymentOptions().setConfig(CONFIG.getConfig().copy()
+                .put("batch", 3)
+                .put("linger", 0));
+
+        vertx.eventBus().<EventBatch<JsonObject>>consumer(TEST_TO, (message) -> {
+            ctx.verify(() -> assertThat(message.body()).containsExactly(DATA, DATA, DATA));
+            ctx.completeNow();
+        });
+        vertx.deployVerticle(new FailureProcessor(), config, ctx.succeeding((id) ->
+                vertx.eventBus().send(TEST_FROM, new EventBatch<>(Arrays.asList(DATA, FAIL_DATA, DATA, DISCARD_DATA, DATA)))
+        ));
+    }
+
+    @Test
+    @DisplayName("Processor holds upstream credits while its recipients are saturated")
+    void testProcessorHoldsCredits(Vertx vertx, VertxTestContext ctx) {
+        String upstream = "test-upstream-credits";
+        DeploymentOptions config = new DeploymentOptions().setConfig(CONFIG.getConfig().copy().put("window", 2));
+
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger granted = new AtomicInteger();
+        AtomicReference<String> creditAddress = new AtomicReference<>();
+        vertx.eventBus().<Integer>consumer(upstream, message -> granted.addAndGet(message.body()));
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> {
+            creditAddress.set(message.headers().get(CreditController.CREDIT_ADDRESS_HEADER));
+            if (received.incrementAndGet() < 5) {
+                return;
+            }
+
+            vertx.setTimer(100, t1 -> {
+                ctx.verify(() -> {
+                    assertThat(received.get()).isEqualTo(5);
+                    assertThat(granted.get()).isLessThan(5);
+                });
+                DeliveryOptions credit = new DeliveryOptions().addHeader(CreditController.CREDIT_FROM_HEADER, TEST_TO);
+                vertx.eventBus().send(creditAddress.get(), 5, credit);
+                vertx.setTimer(100, t2 -> {
+                    ctx.verify(() -> assertThat(granted.get()).isEqualTo(5));
+                    ctx.completeNow();
+                });
+            });
+        });
+
+        DeliveryOptions options = new DeliveryOptions().addHeader(CreditController.CREDIT_ADDRESS_HEADER, upstream);
+        vertx.deployVerticle("fr.myprysm.pipeline.processor.NoOpProcessor", config, ctx.succeeding(id -> {
+            for (int i = 0; i < 5; i++) {
+                vertx.eventBus().send(TEST_FROM, DATA, options);
+            }
+        }));
+    }
+
+    @Test
+    @DisplayName("Processor sends items with the same key to the same recipient")
+    void testProcessorPartitionsItems(Vertx vertx, VertxTestContext ctx) {
+        List<String> recipients = Arrays.asList("test-partition-1", "test-partition-2", "test-partition-3");
+        DeploymentOptions config = new DeploymentOptions().setConfig(CONFIG.getConfig().copy()
+                .put("to", new JsonArray(recipients))
+                .put("partitionBy", "user.id"));
+
+        Map<String, Set<Integer>> partitions = new ConcurrentHashMap<>();
+        Checkpoint cp = ctx.checkpoint(30);
+        recipients.forEach(recipient -> vertx.eventBus().<JsonObject>consumer(recipient, message -> {
+            Integer id = message.body().getJsonObject("user").getInteger("id");
+            partitions.computeIfAbsent(recipient, r -> ConcurrentHashMap.newKeySet()).add(id);
+            cp.flag();
+        }));
+
+        vertx.deployVerticle("fr.myprysm.pipeline.processor.NoOpProcessor", config, ctx.succeeding(id -> {
+            for (int i = 0; i < 30; i++) {
+                vertx.eventBus().send(TEST_FROM, new JsonObject().put("user", new JsonObject().put("id", i % 10)));
+            }
+        }));
+
+        vertx.setTimer(500, timer -> ctx.verify(() -> {
+            assertThat(partitions.values().stream().mapToInt(Set::size).sum()).isEqualTo(10);
+            ctx.completeNow();
+        }));
+    }
+
     static class FailureProcessor extends BaseJsonProcessor<ProcessorOptions> {
 
         @Override
-        public Single<JsonObject> transform(JsonObject input) {
-            if (input.equals(FAIL_DATA)) return Single.error(new NullPointerException());
-            return Single.just(input);
+        public Maybe<JsonObject> transform(JsonObject input) {
+            if (input.equals(FAIL_DATA)) return Maybe.error(new NullPointerException());
+            if (input.equals(DISCARD_DATA)) return Maybe.empty();
+            return Maybe.just(input);
         }
 
         @Override
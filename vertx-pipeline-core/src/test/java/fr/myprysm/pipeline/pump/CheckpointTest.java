@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.VertxTest;
+import io.reactivex.Completable;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckpointTest implements VertxTest {
+
+    @Test
+    @DisplayName("Checkpoint should save the latest state once the save in progress is done")
+    void testSavesLatestState(Vertx vertx, VertxTestContext ctx) throws Exception {
+        Path file = Files.createTempDirectory("checkpoint").resolve("state.json");
+        Checkpoint checkpoint = new Checkpoint(io.vertx.reactivex.core.Vertx.newInstance(vertx), file.toString());
+
+        vertx.runOnContext(v -> Completable.merge(IntStream.range(0, 10)
+                .mapToObj(i -> checkpoint.save(obj().put("offset", i)))
+                .collect(toList()))
+                .andThen(new Checkpoint(io.vertx.reactivex.core.Vertx.newInstance(vertx), file.toString()).load())
+                .subscribe(state -> ctx.verify(() -> {
+                    assertThat(state).isEqualTo(obj().put("offset", 9));
+                    ctx.completeNow();
+                }), ctx::failNow));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+}
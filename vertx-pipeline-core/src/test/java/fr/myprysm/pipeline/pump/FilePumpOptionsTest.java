@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.FilePumpOptions.Format;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FilePumpOptionsTest {
+
+    @Test
+    @DisplayName("Validate FilePump options")
+    void testFilePumpOptionsFeatures() {
+        new FilePumpOptionsConverter();
+
+        String badStr = "{\"name\": 10, \"type\": 20, \"path\": 10, \"format\": 1000, \"field\": 10, \"checkpoint\": 10, \"checkpointInterval\": \"1000\", \"mapSize\": \"1000\", \"progressInterval\": \"1000\"}";
+        String optStr = "{\"name\":\"name\",\"type\":\"type\",\"path\":\"/tmp/input.log\",\"format\":\"lines\",\"field\":\"message\",\"checkpoint\":\"/tmp/input.checkpoint\",\"checkpointInterval\":5000,\"mapSize\":1024,\"progressInterval\":60000}";
+
+        PumpOptions optPump = new PumpOptions(new JsonObject(optStr));
+
+        FilePumpOptions optNull = new FilePumpOptions()
+                .setName(null)
+                .setType(null)
+                .setPath(null)
+                .setFormat(null)
+                .setField(null)
+                .setCheckpoint(null)
+                .setCheckpointInterval(null)
+                .setMapSize(null)
+                .setProgressInterval(null);
+
+        FilePumpOptions optObj = new FilePumpOptions()
+                .setName("name")
+                .setType("type")
+                .setPath("/tmp/input.log")
+                .setFormat(Format.lines)
+                .setField("message")
+                .setCheckpoint("/tmp/input.checkpoint")
+                .setCheckpointInterval(5000L)
+                .setMapSize(1024)
+                .setProgressInterval(60000L);
+
+        JsonObject optJson = new JsonObject(optStr);
+
+
+        assertThat(new FilePumpOptions(new JsonObject(badStr))).isEqualTo(new FilePumpOptions());
+        assertThat(optNull.toJson()).isEqualTo(obj());
+        assertThat(optObj).isEqualTo(optObj);
+        assertThat(optObj).isNotEqualTo(optNull);
+        assertThat(optObj).isEqualTo(new FilePumpOptions(optJson));
+        assertThat(optObj).isEqualTo(new FilePumpOptions(optObj));
+        assertThat(optObj.toString()).isEqualTo(new FilePumpOptions(optJson).toString());
+        assertThat(optObj.hashCode()).isEqualTo(new FilePumpOptions(optJson).hashCode());
+        assertThat(optObj).isNotEqualTo(null);
+        assertThat(optObj).isNotEqualTo(new Object());
+        assertThat(optObj.toJson()).isEqualTo(optJson);
+        assertThat(optPump)
+                .isEqualToComparingOnlyGivenFields(new FilePumpOptions(optPump), "name", "type");
+        assertThat(FilePumpOptionsValidation.validate(new JsonObject(badStr)).isValid()).isFalse();
+        assertThat(FilePumpOptionsValidation.validate(optJson).isValid()).isTrue();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GeneratorPumpOptionsTest {
+
+    @Test
+    @DisplayName("Validate GeneratorPump options")
+    void testGeneratorPumpOptionsFeatures() {
+        new GeneratorPumpOptionsConverter();
+
+        String badStr = "{\"name\": 10, \"type\": 20, \"rate\": \"1000\", \"burstInterval\": \"10\", \"template\": 10, \"fields\": 10, \"poolSize\": \"10\", \"seed\": \"42\", \"maxEvents\": \"10\", \"reportInterval\": \"1000\"}";
+        String optStr = "{\"name\":\"name\",\"type\":\"type\",\"rate\":50000,\"burstInterval\":5,\"template\":{\"source\":\"generator\"},\"fields\":{\"user.id\":{\"type\":\"key\",\"cardinality\":10,\"prefix\":\"user-\"},\"message\":{\"type\":\"text\",\"min\":10,\"max\":100}},\"poolSize\":64,\"seed\":42,\"maxEvents\":1000000,\"reportInterval\":60000}";
+
+        PumpOptions optPump = new PumpOptions(new JsonObject(optStr));
+
+        GeneratorPumpOptions optNull = new GeneratorPumpOptions()
+                .setName(null)
+                .setType(null)
+                .setRate(null)
+                .setBurstInterval(null)
+                .setTemplate(null)
+                .setFields(null)
+                .setPoolSize(null)
+                .setSeed(null)
+                .setMaxEvents(null)
+                .setReportInterval(null);
+
+        GeneratorPumpOptions optObj = new GeneratorPumpOptions()
+                .setName("name")
+                .setType("type")
+                .setRate(50000L)
+                .setBurstInterval(5L)
+                .setTemplate(obj().put("source", "generator"))
+                .setFields(obj()
+                        .put("user.id", obj().put("type", "key").put("cardinality", 10).put("prefix", "user-"))
+                        .put("message", obj().put("type", "text").put("min", 10).put("max", 100)))
+                .setPoolSize(64)
+                .setSeed(42L)
+                .setMaxEvents(1000000L)
+                .setReportInterval(60000L);
+
+        JsonObject optJson = new JsonObject(optStr);
+
+
+        assertThat(new GeneratorPumpOptions(new JsonObject(badStr))).isEqualTo(new GeneratorPumpOptions());
+        assertThat(optNull.toJson()).isEqualTo(obj());
+        assertThat(optObj).isEqualTo(optObj);
+        assertThat(optObj).isNotEqualTo(optNull);
+        assertThat(optObj).isEqualTo(new GeneratorPumpOptions(optJson));
+        assertThat(optObj).isEqualTo(new GeneratorPumpOptions(optObj));
+        assertThat(optObj.toString()).isEqualTo(new GeneratorPumpOptions(optJson).toString());
+        assertThat(optObj.hashCode()).isEqualTo(new GeneratorPumpOptions(optJson).hashCode());
+        assertThat(optObj).isNotEqualTo(null);
+        assertThat(optObj).isNotEqualTo(new Object());
+        assertThat(optObj.toJson()).isEqualTo(optJson);
+        assertThat(optPump)
+                .isEqualToComparingOnlyGivenFields(new GeneratorPumpOptions(optPump), "name", "type");
+        assertThat(GeneratorPumpOptionsValidation.validate(new JsonObject(badStr)).isValid()).isFalse();
+        assertThat(GeneratorPumpOptionsValidation.validate(new JsonObject(optStr).put("fields", obj().put("id", obj().put("type", "uuid")))).isValid()).isFalse();
+        assertThat(GeneratorPumpOptionsValidation.validate(optJson).isValid()).isTrue();
+    }
+}
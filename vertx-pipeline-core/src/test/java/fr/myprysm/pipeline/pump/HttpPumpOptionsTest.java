@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.HttpPumpOptions.Saturation;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpPumpOptionsTest {
+
+    @Test
+    @DisplayName("Validate HttpPump options")
+    void testHttpPumpOptionsFeatures() {
+        new HttpPumpOptionsConverter();
+
+        String badStr = "{\"name\": 10, \"type\": 20, \"host\": 10, \"port\": \"9090\", \"path\": 10, \"maxBodySize\": \"1000\", \"onSaturation\": 10}";
+        String optStr = "{\"name\":\"name\",\"type\":\"type\",\"host\":\"localhost\",\"port\":9090,\"path\":\"/ingest\",\"maxBodySize\":4096,\"onSaturation\":\"reject\"}";
+
+        PumpOptions optPump = new PumpOptions(new JsonObject(optStr));
+
+        HttpPumpOptions optNull = new HttpPumpOptions()
+                .setName(null)
+                .setType(null)
+                .setHost(null)
+                .setPort(null)
+                .setPath(null)
+                .setMaxBodySize(null)
+                .setOnSaturation(null);
+
+        HttpPumpOptions optObj = new HttpPumpOptions()
+                .setName("name")
+                .setType("type")
+                .setHost("localhost")
+                .setPort(9090)
+                .setPath("/ingest")
+                .setMaxBodySize(4096L)
+                .setOnSaturation(Saturation.reject);
+
+        JsonObject optJson = new JsonObject(optStr);
+
+
+        assertThat(new HttpPumpOptions(new JsonObject(badStr))).isEqualTo(new HttpPumpOptions());
+        assertThat(optNull.toJson()).isEqualTo(obj());
+        assertThat(optObj).isEqualTo(optObj);
+        assertThat(optObj).isNotEqualTo(optNull);
+        assertThat(optObj).isEqualTo(new HttpPumpOptions(optJson));
+        assertThat(optObj).isEqualTo(new HttpPumpOptions(optObj));
+        assertThat(optObj.toString()).isEqualTo(new HttpPumpOptions(optJson).toString());
+        assertThat(optObj.hashCode()).isEqualTo(new HttpPumpOptions(optJson).hashCode());
+        assertThat(optObj).isNotEqualTo(null);
+        assertThat(optObj).isNotEqualTo(new Object());
+        assertThat(optObj.toJson()).isEqualTo(optJson);
+        assertThat(optPump)
+                .isEqualToComparingOnlyGivenFields(new HttpPumpOptions(optPump), "name", "type");
+        assertThat(HttpPumpOptionsValidation.validate(new JsonObject(badStr)).isValid()).isFalse();
+        assertThat(HttpPumpOptionsValidation.validate(optJson).isValid()).isTrue();
+    }
+}
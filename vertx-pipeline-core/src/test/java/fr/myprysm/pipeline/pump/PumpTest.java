@@ -17,23 +17,50 @@
 package fr.myprysm.pipeline.pump;
 
 import fr.myprysm.pipeline.VertxTest;
+import fr.myprysm.pipeline.util.BufferOutputStream;
+import fr.myprysm.pipeline.util.CreditController;
+import fr.myprysm.pipeline.util.EventBatch;
+import fr.myprysm.pipeline.util.RecordFormat;
 import fr.myprysm.pipeline.validation.ValidationException;
 import io.reactivex.Completable;
 import io.reactivex.Flowable;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxTestContext;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static fr.myprysm.pipeline.util.JsonHelpers.arr;
 import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class PumpTest implements VertxTest {
@@ -73,6 +100,582 @@ public class PumpTest implements VertxTest {
         ctx.awaitCompletion(1, TimeUnit.SECONDS);
     }
 
+    @Test
+    @DisplayName("TimerPump should emit batches of values")
+    void timerEmitsBatches(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+        DeploymentOptions config = new DeploymentOptions().setConfig(CONFIG.getConfig().copy()
+                .put("interval", 1L)
+                .put("batch", 5)
+                .put("linger", 0));
+
+        vertx.deployVerticle("fr.myprysm.pipeline.pump.TimerPump", config, ctx.succeeding(id -> {
+            AtomicInteger count = new AtomicInteger();
+            vertx.eventBus().<EventBatch<JsonObject>>consumer(TEST_TO, message -> {
+                if (count.getAndIncrement() > 0) return;
+
+                assertThat(message.body().size()).isEqualTo(5);
+                assertThat(message.body()).allSatisfy(data -> assertThat(data.getString("field")).isEqualTo("value"));
+                vertx.undeploy(id, ctx.succeeding(v -> ctx.completeNow()));
+            });
+        }));
+
+        ctx.awaitCompletion(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("TimerPump should not send more items than its window until credits are granted")
+    void timerRespectsWindow(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+        DeploymentOptions config = new DeploymentOptions().setConfig(CONFIG.getConfig().copy()
+                .put("interval", 1L)
+                .put("window", 5));
+
+        AtomicInteger count = new AtomicInteger();
+        AtomicReference<String> creditAddress = new AtomicReference<>();
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> {
+            count.incrementAndGet();
+            creditAddress.set(message.headers().get(CreditController.CREDIT_ADDRESS_HEADER));
+        });
+
+        vertx.deployVerticle("fr.myprysm.pipeline.pump.TimerPump", config, ctx.succeeding(id -> vertx.setTimer(100, t1 -> {
+            ctx.verify(() -> assertThat(count.get()).isEqualTo(5));
+            DeliveryOptions options = new DeliveryOptions().addHeader(CreditController.CREDIT_FROM_HEADER, TEST_TO);
+            vertx.eventBus().send(creditAddress.get(), 3, options);
+            vertx.setTimer(100, t2 -> {
+                ctx.verify(() -> assertThat(count.get()).isEqualTo(8));
+                vertx.undeploy(id, ctx.succeeding(v -> ctx.completeNow()));
+            });
+        })));
+
+        ctx.awaitCompletion(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("RecordFilePump should read back the records written by the FileSink")
+    void recordFileReadsFileSinkRecords(Vertx vertx, VertxTestContext ctx) throws InterruptedException, IOException {
+        Path dir = Files.createTempDirectory("record-file-pump");
+        List<JsonObject> items = IntStream.range(0, 20)
+                .mapToObj(i -> obj().put("counter", i).put("nested", obj().put("values", arr().add("a").add(i))))
+                .collect(toList());
+        DeploymentOptions sink = new DeploymentOptions().setConfig(obj()
+                .put("from", "test-record-file-sink")
+                .put("name", "test-sink")
+                .put("type", "fr.myprysm.pipeline.sink.FileSink")
+                .put("path", dir.toString())
+                .put("file", "output")
+                .put("format", "msgpack")
+                .put("compression", "gzip")
+                .put("rollEvents", 8)
+                .put("batchSize", 3)
+                .put("controlChannel", "test-record-file-control"));
+        DeploymentOptions pump = new DeploymentOptions().setConfig(obj()
+                .put("to", arr().add(TEST_TO))
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.pump.RecordFilePump")
+                .put("path", dir.toString())
+                .put("format", "msgpack")
+                .put("mapSize", 64));
+
+        List<JsonObject> received = new ArrayList<>();
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> {
+            received.add(message.body());
+            if (received.size() == items.size()) {
+                ctx.verify(() -> assertThat(received).containsExactlyElementsOf(items));
+                ctx.completeNow();
+            }
+        });
+
+        vertx.deployVerticle("fr.myprysm.pipeline.sink.FileSink", sink, ctx.succeeding(sinkId -> {
+            items.forEach(item -> vertx.eventBus().send("test-record-file-sink", item));
+            vertx.setTimer(100, timer -> vertx.undeploy(sinkId, ctx.succeeding(v ->
+                    vertx.deployVerticle("fr.myprysm.pipeline.pump.RecordFilePump", pump, ctx.succeeding(id -> {
+                    })))));
+        }));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("FilePump should emit the lines of a file and resume from its checkpoint")
+    void fileResumesFromCheckpoint(Vertx vertx, VertxTestContext ctx) throws InterruptedException, IOException {
+        Path dir = Files.createTempDirectory("file-pump");
+        Path file = dir.resolve("input.ndjson");
+        Path checkpoint = dir.resolve("input.checkpoint");
+        Files.write(file, "{\"counter\":0}\n\n{\"counter\":1}\r\nnot json\n{\"counter\":2}\n".getBytes(StandardCharsets.UTF_8));
+        DeploymentOptions pump = new DeploymentOptions().setConfig(obj()
+                .put("to", arr().add(TEST_TO))
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.pump.FilePump")
+                .put("path", file.toString())
+                .put("checkpoint", checkpoint.toString())
+                .put("mapSize", 8));
+
+        List<Integer> received = new ArrayList<>();
+        AtomicReference<Future<String>> deployment = new AtomicReference<>(Future.future());
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> {
+            received.add(message.body().getInteger("counter"));
+            if (received.size() == 3) {
+                deployment.get().setHandler(first -> vertx.undeploy(first.result(), ctx.succeeding(v1 -> {
+                    ctx.verify(() -> {
+                        assertThat(received).containsExactly(0, 1, 2);
+                        assertThat(new JsonObject(read(checkpoint)).getLong("offset")).isEqualTo(file.toFile().length());
+                        append(file, "{\"counter\":3}\n");
+                    });
+                    deployment.set(Future.future());
+                    vertx.deployVerticle("fr.myprysm.pipeline.pump.FilePump", pump, deployment.get().completer());
+                })));
+            } else if (received.size() == 4) {
+                deployment.get().setHandler(second -> vertx.undeploy(second.result(), ctx.succeeding(v2 -> ctx.verify(() -> {
+                    assertThat(received).containsExactly(0, 1, 2, 3);
+                    ctx.completeNow();
+                }))));
+            }
+        });
+
+        vertx.deployVerticle("fr.myprysm.pipeline.pump.FilePump", pump, deployment.get().completer());
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("FilePump instances should split the file in ranges and emit each line once")
+    void fileSplitsRangesBetweenInstances(Vertx vertx, VertxTestContext ctx) throws InterruptedException, IOException {
+        Path file = Files.createTempDirectory("file-pump").resolve("input.ndjson");
+        StringBuilder content = new StringBuilder();
+        IntStream.range(0, 1000).forEach(i -> content.append(obj().put("counter", i).put("padding", StringUtils.repeat('x', i % 37)).encode()).append('\n'));
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+        DeploymentOptions pump = new DeploymentOptions().setInstances(3).setConfig(obj()
+                .put("to", arr().add(TEST_TO))
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.pump.FilePump")
+                .put("path", file.toString())
+                .put("loadFactor", 3));
+
+        List<Integer> received = new ArrayList<>();
+        Future<String> deployment = Future.future();
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> {
+            received.add(message.body().getInteger("counter"));
+            if (received.size() == 1000) {
+                // Leave some time to catch lines emitted twice.
+                vertx.setTimer(50, t -> deployment.setHandler(id -> vertx.undeploy(id.result(), ctx.succeeding(v -> ctx.verify(() -> {
+                    assertThat(received).hasSize(1000).containsOnlyElementsOf(IntStream.range(0, 1000).boxed().collect(toList()));
+                    assertThat(received).doesNotHaveDuplicates();
+                    ctx.completeNow();
+                })))));
+            }
+        });
+
+        vertx.deployVerticle("fr.myprysm.pipeline.pump.FilePump", pump, deployment.completer());
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("TailPump should follow appended lines through rotation and truncation")
+    void tailFollowsRotationAndTruncation(Vertx vertx, VertxTestContext ctx) throws InterruptedException, IOException {
+        Path dir = Files.createTempDirectory("tail-pump");
+        Path file = dir.resolve("app.log");
+        Path rotated = dir.resolve("app.log.1");
+        Files.write(file, "{\"counter\":1}\n{\"counter\":2}\n\nnot json\n{\"counter\":3}\n{\"coun".getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("other.txt"), "{\"counter\":-1}\n".getBytes(StandardCharsets.UTF_8));
+        DeploymentOptions pump = new DeploymentOptions().setConfig(obj()
+                .put("to", arr().add(TEST_TO))
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.pump.TailPump")
+                .put("path", dir.toString())
+                .put("pattern", "app.log*")
+                .put("pollInterval", 20L));
+
+        List<Integer> received = new ArrayList<>();
+        Future<String> deployment = Future.future();
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> {
+            received.add(message.body().getInteger("counter"));
+            if (received.size() == 3) {
+                append(file, "ter\":4}\r\n{\"counter\":5}\n");
+            } else if (received.size() == 5) {
+                move(file, rotated);
+                append(rotated, "{\"counter\":6}\n");
+                append(file, "{\"counter\":7}\n");
+            } else if (received.size() == 7) {
+                write(rotated, "{\"counter\":8}\n");
+            } else if (received.size() == 8) {
+                // Leave some time to catch lines emitted twice.
+                vertx.setTimer(100, t -> deployment.setHandler(id -> vertx.undeploy(id.result(), ctx.succeeding(v -> ctx.verify(() -> {
+                    assertThat(received).startsWith(1, 2, 3, 4, 5).endsWith(8);
+                    assertThat(received).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8);
+                    ctx.completeNow();
+                })))));
+            }
+        });
+
+        vertx.deployVerticle("fr.myprysm.pipeline.pump.TailPump", pump, deployment.completer());
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("TailPump should read rotated files up to their end even when they no longer match the pattern")
+    void tailReadsRotatedFilesOutsideOfPattern(Vertx vertx, VertxTestContext ctx) throws InterruptedException, IOException {
+        Path dir = Files.createTempDirectory("tail-pump");
+        Path file = dir.resolve("app.log");
+        Path rotated = dir.resolve("app.log.1");
+        Files.write(file, "{\"counter\":1}\n{\"counter\":2}\n".getBytes(StandardCharsets.UTF_8));
+        DeploymentOptions pump = new DeploymentOptions().setConfig(obj()
+                .put("to", arr().add(TEST_TO))
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.pump.TailPump")
+                .put("path", dir.toString())
+                .put("pattern", "app.log")
+                .put("pollInterval", 20L));
+
+        List<Integer> received = new ArrayList<>();
+        Future<String> deployment = Future.future();
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> {
+            received.add(message.body().getInteger("counter"));
+            if (received.size() == 2) {
+                move(file, rotated);
+                append(rotated, "{\"counter\":3}\n");
+                append(file, "{\"counter\":4}\n");
+            } else if (received.size() == 4) {
+                // The rotated file is forgotten once read up to its end.
+                vertx.setTimer(100, t -> {
+                    append(rotated, "{\"counter\":5}\n");
+                    vertx.setTimer(100, u -> deployment.setHandler(id -> vertx.undeploy(id.result(), ctx.succeeding(v -> ctx.verify(() -> {
+                        assertThat(received).containsExactlyInAnyOrder(1, 2, 3, 4);
+                        ctx.completeNow();
+                    })))));
+                });
+            }
+        });
+
+        vertx.deployVerticle("fr.myprysm.pipeline.pump.TailPump", pump, deployment.completer());
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("HttpPump should hold bulk requests until credits are granted")
+    void httpHoldsBulkUntilCredits(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+        DeploymentOptions pump = new DeploymentOptions().setConfig(obj()
+                .put("to", arr().add(TEST_TO))
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.pump.HttpPump")
+                .put("port", 18081)
+                .put("window", 2));
+
+        List<Integer> received = new ArrayList<>();
+        Future<Void> all = Future.future();
+        DeliveryOptions credit = new DeliveryOptions().addHeader(CreditController.CREDIT_FROM_HEADER, TEST_TO);
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> {
+            received.add(message.body().getInteger("counter"));
+            if (received.size() == 100) {
+                all.complete();
+            }
+            vertx.setTimer(1, t -> vertx.eventBus().send(message.headers().get(CreditController.CREDIT_ADDRESS_HEADER), 1, credit));
+        });
+
+        StringBuilder bulk = new StringBuilder();
+        IntStream.range(0, 100).forEach(i -> bulk.append(obj().put("counter", i).encode()).append(i % 10 == 0 ? "\n\nnot json\n" : "\n"));
+        vertx.deployVerticle("fr.myprysm.pipeline.pump.HttpPump", pump, ctx.succeeding(id -> vertx.createHttpClient()
+                // The response may come before the last event is delivered.
+                .post(18081, "localhost", "/events", response -> response.bodyHandler(body -> all.setHandler(v -> ctx.verify(() -> {
+                    assertThat(response.statusCode()).isEqualTo(200);
+                    assertThat(body.toJsonObject()).isEqualTo(obj().put("accepted", 100).put("rejected", 0).put("skipped", 10));
+                    assertThat(received).containsExactlyElementsOf(IntStream.range(0, 100).boxed().collect(toList()));
+                    vertx.undeploy(id, ctx.succeeding(u -> ctx.completeNow()));
+                }))))
+                .putHeader("Content-Type", "application/x-ndjson")
+                .end(bulk.substring(0, bulk.length() - 1))));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("HttpPump should reject events with 429 while the recipients are saturated")
+    void httpRejectsWhenSaturated(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+        DeploymentOptions pump = new DeploymentOptions().setConfig(obj()
+                .put("to", arr().add(TEST_TO))
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.pump.HttpPump")
+                .put("port", 18082)
+                .put("path", "/ingest")
+                .put("onSaturation", "reject")
+                .put("window", 3));
+
+        List<Integer> received = new ArrayList<>();
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> received.add(message.body().getInteger("counter")));
+
+        HttpClient client = vertx.createHttpClient();
+        vertx.deployVerticle("fr.myprysm.pipeline.pump.HttpPump", pump, ctx.succeeding(id -> client
+                .post(18082, "localhost", "/ingest", invalid -> ctx.verify(() -> {
+                    assertThat(invalid.statusCode()).isEqualTo(400);
+                    client.post(18082, "localhost", "/ingest", bulk -> bulk.bodyHandler(body -> ctx.verify(() -> {
+                        assertThat(bulk.statusCode()).isEqualTo(429);
+                        assertThat(body.toJsonObject()).isEqualTo(obj().put("accepted", 3).put("rejected", 2).put("skipped", 0));
+                        client.post(18082, "localhost", "/ingest", single -> single.bodyHandler(rejected -> ctx.verify(() -> {
+                            assertThat(single.statusCode()).isEqualTo(429);
+                            assertThat(rejected.toJsonObject()).isEqualTo(obj().put("accepted", 0).put("rejected", 1).put("skipped", 0));
+                            assertThat(received).containsExactly(0, 1, 2);
+                            vertx.undeploy(id, ctx.succeeding(v -> ctx.completeNow()));
+                        }))).end(obj().put("counter", 5).encode());
+                    }))).putHeader("Content-Type", "application/x-ndjson")
+                            .end(IntStream.range(0, 5).mapToObj(i -> obj().put("counter", i).encode()).collect(joining("\n")));
+                }))
+                .end("not json")));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("HttpPump should answer 413 and close the connection once a line of a bulk exceeds the maximum size")
+    void httpRejectsTooLargeBulkLines(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+        DeploymentOptions pump = new DeploymentOptions().setConfig(obj()
+                .put("to", arr().add(TEST_TO))
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.pump.HttpPump")
+                .put("port", 18083)
+                .put("maxBodySize", 100)
+                .put("window", 100));
+
+        List<Integer> received = new ArrayList<>();
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> received.add(message.body().getInteger("counter")));
+
+        // The lines are larger than the limit as a whole, only the last one is too large on its own.
+        String lines = IntStream.range(0, 10).mapToObj(i -> obj().put("counter", i).encode() + "\n").collect(joining());
+        String tooLarge = obj().put("counter", 10).put("padding", String.join("", Collections.nCopies(200, "x"))).encode();
+        vertx.deployVerticle("fr.myprysm.pipeline.pump.HttpPump", pump, ctx.succeeding(id -> {
+            HttpClientRequest request = vertx.createHttpClient()
+                    .post(18083, "localhost", "/events", response -> response.bodyHandler(body -> ctx.verify(() -> {
+                        assertThat(response.statusCode()).isEqualTo(413);
+                        assertThat(body.toJsonObject()).isEqualTo(obj().put("accepted", 10).put("rejected", 0).put("skipped", 0));
+                        assertThat(received).containsExactlyElementsOf(IntStream.range(0, 10).boxed().collect(toList()));
+                        vertx.undeploy(id, ctx.succeeding(v -> ctx.completeNow()));
+                    })))
+                    .putHeader("Content-Type", "application/x-ndjson")
+                    .setChunked(true)
+                    .exceptionHandler(throwable -> {
+                        // The connection is closed by the server while the body is still sent.
+                    });
+            request.write(lines);
+            vertx.setTimer(50, timer -> request.write(tooLarge.substring(0, 60)));
+            vertx.setTimer(100, timer -> request.write(tooLarge.substring(60)));
+            vertx.setTimer(150, timer -> request.end());
+        }));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("TcpPump should emit the lines of each connection in order while following credits")
+    void tcpFramesLinesPerConnection(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+        DeploymentOptions pump = new DeploymentOptions().setConfig(obj()
+                .put("to", arr().add(TEST_TO))
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.pump.TcpPump")
+                .put("port", 19001)
+                .put("window", 2));
+
+        Map<String, List<Integer>> received = new HashMap<>();
+        AtomicInteger count = new AtomicInteger();
+        DeliveryOptions credit = new DeliveryOptions().addHeader(CreditController.CREDIT_FROM_HEADER, TEST_TO);
+        AtomicReference<String> deployment = new AtomicReference<>();
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> {
+            received.computeIfAbsent(message.body().getString("agent"), agent -> new ArrayList<>()).add(message.body().getInteger("counter"));
+            vertx.setTimer(1, t -> vertx.eventBus().send(message.headers().get(CreditController.CREDIT_ADDRESS_HEADER), 1, credit));
+            if (count.incrementAndGet() == 200) {
+                vertx.undeploy(deployment.get(), ctx.succeeding(v -> ctx.verify(() -> {
+                    List<Integer> expected = IntStream.range(0, 100).boxed().collect(toList());
+                    assertThat(received).containsOnlyKeys("a", "b");
+                    assertThat(received.get("a")).containsExactlyElementsOf(expected);
+                    assertThat(received.get("b")).containsExactlyElementsOf(expected);
+                    ctx.completeNow();
+                })));
+            }
+        });
+
+        vertx.deployVerticle("fr.myprysm.pipeline.pump.TcpPump", pump, ctx.succeeding(id -> {
+            deployment.set(id);
+            for (String agent : Arrays.asList("a", "b")) {
+                vertx.createNetClient().connect(19001, "localhost", ctx.succeeding(socket -> {
+                    String lines = IntStream.range(0, 100)
+                            .mapToObj(i -> obj().put("agent", agent).put("counter", i).encode() + (i % 10 == 0 ? "\r\n\nnot json\n" : "\n"))
+                            .collect(joining());
+                    socket.write(lines.substring(0, 1000));
+                    vertx.setTimer(10, t -> socket.write(lines.substring(1000)));
+                }));
+            }
+        }));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("TcpPump should decode length prefixed records and close connections sending oversized records")
+    void tcpReadsLengthPrefixedRecords(Vertx vertx, VertxTestContext ctx) throws InterruptedException, IOException {
+        DeploymentOptions pump = new DeploymentOptions().setConfig(obj()
+                .put("to", arr().add(TEST_TO))
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.pump.TcpPump")
+                .put("port", 19002)
+                .put("framing", "length")
+                .put("format", "msgpack")
+                .put("maxRecordSize", 1024));
+
+        List<Integer> received = new ArrayList<>();
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> received.add(message.body().getInteger("counter")));
+
+        BufferOutputStream out = new BufferOutputStream(Buffer.buffer());
+        for (int i = 0; i < 3; i++) {
+            RecordFormat.msgpack.write(obj().put("counter", i).put("padding", StringUtils.repeat('x', 300)), out);
+        }
+        Buffer records = out.buffer().appendInt(0).appendInt(2048);
+        vertx.deployVerticle("fr.myprysm.pipeline.pump.TcpPump", pump, ctx.succeeding(id -> vertx.createNetClient()
+                .connect(19002, "localhost", ctx.succeeding(socket -> {
+                    socket.closeHandler(v -> vertx.setTimer(10, t -> ctx.verify(() -> {
+                        assertThat(received).containsExactly(0, 1, 2);
+                        vertx.undeploy(id, ctx.succeeding(v2 -> ctx.completeNow()));
+                    })));
+                    socket.write(records.getBuffer(0, 500));
+                    socket.write(records.getBuffer(500, records.length()));
+                }))));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("GeneratorPump should emit events from its pool with random keys")
+    void generatorEmitsEventsFromItsPool(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+        DeploymentOptions pump = new DeploymentOptions().setConfig(obj()
+                .put("to", arr().add(TEST_TO))
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.pump.GeneratorPump")
+                .put("rate", 20000)
+                .put("template", obj().put("source", "generator"))
+                .put("fields", obj()
+                        .put("user.id", obj().put("type", "key").put("cardinality", 5).put("prefix", "user-"))
+                        .put("amount", obj().put("type", "integer").put("min", 10).put("max", 20))
+                        .put("message", obj().put("type", "text").put("min", 10).put("max", 20)))
+                .put("poolSize", 8)
+                .put("seed", 42)
+                .put("maxEvents", 500));
+
+        List<JsonObject> received = new ArrayList<>();
+        Future<String> deployment = Future.future();
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> {
+            received.add(message.body());
+            if (received.size() == 500) {
+                // Leave some time to catch events emitted past the maximum.
+                vertx.setTimer(50, t -> deployment.setHandler(id -> vertx.undeploy(id.result(), ctx.succeeding(v -> ctx.verify(() -> {
+                    assertThat(received).extracting(event -> event.getLong("counter"))
+                            .containsExactlyElementsOf(LongStream.range(0, 500).boxed().collect(toList()));
+                    assertThat(received).extracting(event -> event.getString("source")).containsOnly("generator");
+                    assertThat(received).extracting(event -> event.getJsonObject("user").getString("id"))
+                            .containsOnly("user-0", "user-1", "user-2", "user-3", "user-4");
+                    assertThat(received).extracting(event -> event.getLong("amount")).allMatch(amount -> amount >= 10 && amount < 20);
+                    assertThat(received).extracting(event -> event.getString("message").length()).allMatch(length -> length >= 10 && length <= 20);
+                    assertThat(received.stream().map(event -> event.getString("message")).distinct().count()).isLessThanOrEqualTo(8);
+                    ctx.completeNow();
+                })))));
+            }
+        });
+
+        vertx.deployVerticle("fr.myprysm.pipeline.pump.GeneratorPump", pump, deployment.completer());
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("ReplayPump should seek and replay the documents written by the FileSink with their original timing")
+    void replaySeeksAndKeepsOriginalTiming(Vertx vertx, VertxTestContext ctx) throws InterruptedException, IOException {
+        Path dir = Files.createTempDirectory("replay-pump");
+        List<JsonObject> items = IntStream.range(0, 10)
+                .mapToObj(i -> obj().put("counter", i).put("event", obj().put("at", 1000L + i * 100)))
+                .collect(toList());
+        DeploymentOptions sink = new DeploymentOptions().setConfig(obj()
+                .put("from", "test-replay-sink")
+                .put("name", "test-sink")
+                .put("type", "fr.myprysm.pipeline.sink.FileSink")
+                .put("path", dir.toString())
+                .put("file", "output")
+                .put("format", "yaml")
+                .put("compression", "gzip")
+                .put("batchSize", 3)
+                .put("controlChannel", "test-replay-control"));
+        DeploymentOptions pump = new DeploymentOptions().setConfig(obj()
+                .put("to", arr().add(TEST_TO))
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.pump.ReplayPump")
+                .put("path", dir.toString())
+                .put("format", "yaml")
+                .put("speed", "original")
+                .put("timestampField", "event.at")
+                .put("factor", 5.0)
+                .put("offset", 2)
+                .put("since", 1350)
+                .put("mapSize", 64));
+
+        List<JsonObject> received = new ArrayList<>();
+        AtomicLong firstAt = new AtomicLong();
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> {
+            received.add(message.body());
+            if (received.size() == 1) {
+                firstAt.set(System.nanoTime());
+            } else if (received.size() == 6) {
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstAt.get());
+                ctx.verify(() -> {
+                    assertThat(received).containsExactlyElementsOf(items.subList(4, 10));
+                    // 500ms of recorded traffic replayed 5 times faster.
+                    // The first item arrives late as the deployment opens and seeks the file,
+                    // the replay is paced from that first item so the delays are measured from its reception.
+                    // Delays are truncated to the millisecond, the tolerance covers them and the delivery jitter.
+                    assertThat(elapsed).isBetween(90L, 1000L);
+                });
+                ctx.completeNow();
+            }
+        });
+
+        vertx.deployVerticle("fr.myprysm.pipeline.sink.FileSink", sink, ctx.succeeding(sinkId -> {
+            items.forEach(item -> vertx.eventBus().send("test-replay-sink", item));
+            vertx.setTimer(100, timer -> vertx.undeploy(sinkId, ctx.succeeding(v -> {
+                vertx.deployVerticle("fr.myprysm.pipeline.pump.ReplayPump", pump, ctx.succeeding(id -> {
+                }));
+            })));
+        }));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("EventBusPump should emit the messages of an address as credits are granted")
+    void eventBusEmitsMessagesAsCreditsAreGranted(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+        DeploymentOptions pump = new DeploymentOptions().setConfig(obj()
+                .put("to", arr().add(TEST_TO))
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.pump.EventBusPump")
+                .put("address", "test-bridge-address")
+                .put("local", true)
+                .put("maxBufferedMessages", 100)
+                .put("window", 2));
+
+        List<Integer> received = new ArrayList<>();
+        DeliveryOptions credit = new DeliveryOptions().addHeader(CreditController.CREDIT_FROM_HEADER, TEST_TO);
+        vertx.eventBus().<JsonObject>consumer(TEST_TO, message -> {
+            received.add(message.body().getInteger("counter"));
+            if (received.size() == 50) {
+                ctx.verify(() -> assertThat(received).containsExactlyElementsOf(IntStream.range(0, 50).boxed().collect(toList())));
+                ctx.completeNow();
+            } else {
+                vertx.setTimer(1, t -> vertx.eventBus().send(message.headers().get(CreditController.CREDIT_ADDRESS_HEADER), 1, credit));
+            }
+        });
+
+        vertx.deployVerticle("fr.myprysm.pipeline.pump.EventBusPump", pump, ctx.succeeding(id -> {
+            vertx.eventBus().send("test-bridge-address", "not an object");
+            IntStream.range(0, 50).forEach(i -> vertx.eventBus().send("test-bridge-address", obj().put("counter", i)));
+        }));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
     @Test
     @DisplayName("Configuration must be present and must be valid")
     void testPumpCannotRunWithoutConfiguration(Vertx vertx, VertxTestContext ctx) {
@@ -90,6 +693,38 @@ public class PumpTest implements VertxTest {
         vertx.deployVerticle(new FailurePump(), CONFIG, ctx.succeeding(id -> vertx.undeploy(id, ctx.failing(ar -> ctx.completeNow()))));
     }
 
+    private static String read(Path file) {
+        try {
+            return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    private static void append(Path file, String content) {
+        try {
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    private static void write(Path file, String content) {
+        try {
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    private static void move(Path source, Path target) {
+        try {
+            Files.move(source, target);
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
     static class FailurePump extends BaseJsonPump<PumpOptions> {
 
         @Override
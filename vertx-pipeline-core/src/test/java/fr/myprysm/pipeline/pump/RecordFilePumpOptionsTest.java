@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.util.RecordFormat;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecordFilePumpOptionsTest {
+
+    @Test
+    @DisplayName("Validate RecordFilePump options")
+    void testRecordFilePumpOptionsFeatures() {
+        new RecordFilePumpOptionsConverter();
+
+        String badStr = "{\"name\": 10, \"type\": 20, \"path\": 10, \"format\": 1000, \"mapSize\": \"1000\"}";
+        String optStr = "{\"name\":\"name\",\"type\":\"type\",\"path\":\"/tmp/records\",\"format\":\"cbor\",\"mapSize\":1024}";
+
+        PumpOptions optPump = new PumpOptions(new JsonObject(optStr));
+
+        RecordFilePumpOptions optNull = new RecordFilePumpOptions()
+                .setName(null)
+                .setType(null)
+                .setPath(null)
+                .setFormat(null)
+                .setMapSize(null);
+
+        RecordFilePumpOptions optObj = new RecordFilePumpOptions()
+                .setName("name")
+                .setType("type")
+                .setPath("/tmp/records")
+                .setFormat(RecordFormat.cbor)
+                .setMapSize(1024);
+
+        JsonObject optJson = new JsonObject(optStr);
+
+
+        assertThat(new RecordFilePumpOptions(new JsonObject(badStr))).isEqualTo(new RecordFilePumpOptions());
+        assertThat(optNull.toJson()).isEqualTo(obj());
+        assertThat(optObj).isEqualTo(optObj);
+        assertThat(optObj).isNotEqualTo(optNull);
+        assertThat(optObj).isEqualTo(new RecordFilePumpOptions(optJson));
+        assertThat(optObj).isEqualTo(new RecordFilePumpOptions(optObj));
+        assertThat(optObj.toString()).isEqualTo(new RecordFilePumpOptions(optJson).toString());
+        assertThat(optObj.hashCode()).isEqualTo(new RecordFilePumpOptions(optJson).hashCode());
+        assertThat(optObj).isNotEqualTo(null);
+        assertThat(optObj).isNotEqualTo(new Object());
+        assertThat(optObj.toJson()).isEqualTo(optJson);
+        assertThat(optPump)
+                .isEqualToComparingOnlyGivenFields(new RecordFilePumpOptions(optPump), "name", "type");
+        assertThat(RecordFilePumpOptionsValidation.validate(new JsonObject(badStr)).isValid()).isFalse();
+        assertThat(RecordFilePumpOptionsValidation.validate(optJson).isValid()).isTrue();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.ReplayPumpOptions.Speed;
+import fr.myprysm.pipeline.sink.FileSinkOptions.Format;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplayPumpOptionsTest {
+
+    @Test
+    @DisplayName("Validate ReplayPump options")
+    void testReplayPumpOptionsFeatures() {
+        new ReplayPumpOptionsConverter();
+
+        String badStr = "{\"name\": 10, \"type\": 20, \"path\": 10, \"format\": 1000, \"speed\": 1000, \"rate\": \"1000\", " +
+                "\"timestampField\": 10, \"factor\": \"fast\", \"offset\": \"10\", \"since\": \"10\", \"mapSize\": \"1000\"}";
+        String optStr = "{\"name\":\"name\",\"type\":\"type\",\"path\":\"/tmp/records\",\"format\":\"cbor\",\"speed\":\"original\"," +
+                "\"rate\":100,\"timestampField\":\"event.at\",\"factor\":2.5,\"offset\":10,\"since\":1500000000000,\"mapSize\":1024}";
+
+        PumpOptions optPump = new PumpOptions(new JsonObject(optStr));
+
+        ReplayPumpOptions optNull = new ReplayPumpOptions()
+                .setName(null)
+                .setType(null)
+                .setPath(null)
+                .setFormat(null)
+                .setSpeed(null)
+                .setRate(null)
+                .setTimestampField(null)
+                .setFactor(null)
+                .setOffset(null)
+                .setSince(null)
+                .setMapSize(null);
+
+        ReplayPumpOptions optObj = new ReplayPumpOptions()
+                .setName("name")
+                .setType("type")
+                .setPath("/tmp/records")
+                .setFormat(Format.cbor)
+                .setSpeed(Speed.original)
+                .setRate(100L)
+                .setTimestampField("event.at")
+                .setFactor(2.5)
+                .setOffset(10L)
+                .setSince(1500000000000L)
+                .setMapSize(1024);
+
+        JsonObject optJson = new JsonObject(optStr);
+
+
+        assertThat(new ReplayPumpOptions(new JsonObject(badStr))).isEqualTo(new ReplayPumpOptions());
+        assertThat(optNull.toJson()).isEqualTo(obj());
+        assertThat(optObj).isEqualTo(optObj);
+        assertThat(optObj).isNotEqualTo(optNull);
+        assertThat(optObj).isEqualTo(new ReplayPumpOptions(optJson));
+        assertThat(optObj).isEqualTo(new ReplayPumpOptions(optObj));
+        assertThat(optObj.toString()).isEqualTo(new ReplayPumpOptions(optJson).toString());
+        assertThat(optObj.hashCode()).isEqualTo(new ReplayPumpOptions(optJson).hashCode());
+        assertThat(optObj).isNotEqualTo(null);
+        assertThat(optObj).isNotEqualTo(new Object());
+        assertThat(optObj.toJson()).isEqualTo(optJson);
+        assertThat(optPump)
+                .isEqualToComparingOnlyGivenFields(new ReplayPumpOptions(optPump), "name", "type");
+        assertThat(ReplayPumpOptionsValidation.validate(new JsonObject(badStr)).isValid()).isFalse();
+        assertThat(ReplayPumpOptionsValidation.validate(optJson).isValid()).isTrue();
+        assertThat(ReplayPumpOptionsValidation.validate(optJson.copy().put("factor", 0)).isValid()).isFalse();
+    }
+}
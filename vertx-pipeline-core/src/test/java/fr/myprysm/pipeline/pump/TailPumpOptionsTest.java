@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.FilePumpOptions.Format;
+import fr.myprysm.pipeline.pump.TailPumpOptions.Position;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TailPumpOptionsTest {
+
+    @Test
+    @DisplayName("Validate TailPump options")
+    void testTailPumpOptionsFeatures() {
+        new TailPumpOptionsConverter();
+
+        String badStr = "{\"name\": 10, \"type\": 20, \"path\": 10, \"pattern\": 10, \"format\": 1000, \"field\": 10, \"startAt\": 10, \"pollInterval\": \"1000\", \"checkpoint\": 10, \"checkpointInterval\": \"1000\"}";
+        String optStr = "{\"name\":\"name\",\"type\":\"type\",\"path\":\"/var/log/app\",\"pattern\":\"app.log*\",\"format\":\"lines\",\"field\":\"message\",\"startAt\":\"end\",\"pollInterval\":250,\"checkpoint\":\"/tmp/app.checkpoint\",\"checkpointInterval\":5000}";
+
+        PumpOptions optPump = new PumpOptions(new JsonObject(optStr));
+
+        TailPumpOptions optNull = new TailPumpOptions()
+                .setName(null)
+                .setType(null)
+                .setPath(null)
+                .setPattern(null)
+                .setFormat(null)
+                .setField(null)
+                .setStartAt(null)
+                .setPollInterval(null)
+                .setCheckpoint(null)
+                .setCheckpointInterval(null);
+
+        TailPumpOptions optObj = new TailPumpOptions()
+                .setName("name")
+                .setType("type")
+                .setPath("/var/log/app")
+                .setPattern("app.log*")
+                .setFormat(Format.lines)
+                .setField("message")
+                .setStartAt(Position.end)
+                .setPollInterval(250L)
+                .setCheckpoint("/tmp/app.checkpoint")
+                .setCheckpointInterval(5000L);
+
+        JsonObject optJson = new JsonObject(optStr);
+
+
+        assertThat(new TailPumpOptions(new JsonObject(badStr))).isEqualTo(new TailPumpOptions());
+        assertThat(optNull.toJson()).isEqualTo(obj());
+        assertThat(optObj).isEqualTo(optObj);
+        assertThat(optObj).isNotEqualTo(optNull);
+        assertThat(optObj).isEqualTo(new TailPumpOptions(optJson));
+        assertThat(optObj).isEqualTo(new TailPumpOptions(optObj));
+        assertThat(optObj.toString()).isEqualTo(new TailPumpOptions(optJson).toString());
+        assertThat(optObj.hashCode()).isEqualTo(new TailPumpOptions(optJson).hashCode());
+        assertThat(optObj).isNotEqualTo(null);
+        assertThat(optObj).isNotEqualTo(new Object());
+        assertThat(optObj.toJson()).isEqualTo(optJson);
+        assertThat(optPump)
+                .isEqualToComparingOnlyGivenFields(new TailPumpOptions(optPump), "name", "type");
+        assertThat(TailPumpOptionsValidation.validate(new JsonObject(badStr)).isValid()).isFalse();
+        assertThat(TailPumpOptionsValidation.validate(optJson).isValid()).isTrue();
+    }
+}
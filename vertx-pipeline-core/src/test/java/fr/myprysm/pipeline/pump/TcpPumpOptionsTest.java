@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+
+package fr.myprysm.pipeline.pump;
+
+import fr.myprysm.pipeline.pump.TcpPumpOptions.Framing;
+import fr.myprysm.pipeline.util.RecordFormat;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TcpPumpOptionsTest {
+
+    @Test
+    @DisplayName("Validate TcpPump options")
+    void testTcpPumpOptionsFeatures() {
+        new TcpPumpOptionsConverter();
+
+        String badStr = "{\"name\": 10, \"type\": 20, \"host\": 10, \"port\": \"9090\", \"framing\": 10, \"format\": 10, \"maxRecordSize\": \"1000\"}";
+        String optStr = "{\"name\":\"name\",\"type\":\"type\",\"host\":\"localhost\",\"port\":9090,\"framing\":\"length\",\"format\":\"cbor\",\"maxRecordSize\":4096}";
+
+        PumpOptions optPump = new PumpOptions(new JsonObject(optStr));
+
+        TcpPumpOptions optNull = new TcpPumpOptions()
+                .setName(null)
+                .setType(null)
+                .setHost(null)
+                .setPort(null)
+                .setFraming(null)
+                .setFormat(null)
+                .setMaxRecordSize(null);
+
+        TcpPumpOptions optObj = new TcpPumpOptions()
+                .setName("name")
+                .setType("type")
+                .setHost("localhost")
+                .setPort(9090)
+                .setFraming(Framing.length)
+                .setFormat(RecordFormat.cbor)
+                .setMaxRecordSize(4096);
+
+        JsonObject optJson = new JsonObject(optStr);
+
+
+        assertThat(new TcpPumpOptions(new JsonObject(badStr))).isEqualTo(new TcpPumpOptions());
+        assertThat(optNull.toJson()).isEqualTo(obj());
+        assertThat(optObj).isEqualTo(optObj);
+        assertThat(optObj).isNotEqualTo(optNull);
+        assertThat(optObj).isEqualTo(new TcpPumpOptions(optJson));
+        assertThat(optObj).isEqualTo(new TcpPumpOptions(optObj));
+        assertThat(optObj.toString()).isEqualTo(new TcpPumpOptions(optJson).toString());
+        assertThat(optObj.hashCode()).isEqualTo(new TcpPumpOptions(optJson).hashCode());
+        assertThat(optObj).isNotEqualTo(null);
+        assertThat(optObj).isNotEqualTo(new Object());
+        assertThat(optObj.toJson()).isEqualTo(optJson);
+        assertThat(optPump)
+                .isEqualToComparingOnlyGivenFields(new TcpPumpOptions(optPump), "name", "type");
+        assertThat(TcpPumpOptionsValidation.validate(new JsonObject(badStr)).isValid()).isFalse();
+        assertThat(TcpPumpOptionsValidation.validate(optJson).isValid()).isTrue();
+        assertThat(TcpPumpOptionsValidation.validate(optJson.copy().put("framing", "lines")).isValid()).isFalse();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.sink;
+
+import fr.myprysm.pipeline.sink.FileSinkOptions.Format;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchSerializerTest {
+
+    @Test
+    @DisplayName("Batch serializer should reuse the buffers released once written")
+    void testRecycle() {
+        BatchSerializer serializer = new BatchSerializer("test", Format.json);
+        BatchSerializer.Batch first = serializer.serialize(Arrays.asList(obj().put("a", 1), obj().put("b", 2)));
+        assertThat(first.buffer().toString()).isEqualTo("{\"a\":1}\n{\"b\":2}\n");
+        assertThat(first.items()).isEqualTo(2);
+        byte[] bytes = first.buffer().getByteBuf().array();
+
+        serializer.release(first.buffer());
+        BatchSerializer.Batch second = serializer.serialize(Arrays.asList(obj().put("c", 3)));
+        assertThat(second.buffer().toString()).isEqualTo("{\"c\":3}\n");
+        assertThat(second.buffer().getByteBuf().array()).isSameAs(bytes);
+
+        // Buffers that were not lent are ignored, they never get in the pool.
+        serializer.release(Buffer.buffer("foreign"));
+        BatchSerializer.Batch third = serializer.serialize(Arrays.asList(obj().put("d", 4)));
+        assertThat(third.buffer().getByteBuf().array()).isNotSameAs(bytes);
+    }
+
+    @Test
+    @DisplayName("Batch serializer should replace the items it cannot serialize and count them")
+    void testFailure() {
+        BatchSerializer serializer = new BatchSerializer("test", Format.json);
+        JsonObject invalid = obj().put("a", 1);
+        invalid.getMap().put("b", new Object());
+
+        BatchSerializer.Batch batch = serializer.serialize(Arrays.asList(obj().put("a", 0), invalid, obj().put("a", 2)));
+        String[] lines = batch.buffer().toString().split("\n");
+        assertThat(batch.items()).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("{\"a\":0}");
+        assertThat(new JsonObject(lines[1]).getString("error")).isEqualTo("serialization error");
+        assertThat(lines[2]).isEqualTo("{\"a\":2}");
+        assertThat(serializer.failures()).isEqualTo(1);
+    }
+}
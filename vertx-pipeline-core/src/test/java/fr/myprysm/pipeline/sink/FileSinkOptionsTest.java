@@ -30,8 +30,8 @@ public class FileSinkOptionsTest {
     void testFileSinkOptions() {
         new FileSinkOptionsConverter();
 
-        String badStr = "{\"name\": 10, \"type\": 20, \"batchSize\": \"1000\", \"mode\": 1000, \"format\": 100, \"path\": true, \"file\": true}";
-        String optStr = "{\"name\":\"name\", \"type\": \"type\", \"batchSize\":100, \"mode\": \"append\", \"format\": \"yaml\", \"path\":\"/test\",\"file\":\"test\"}";
+        String badStr = "{\"name\": 10, \"type\": 20, \"batchSize\": \"1000\", \"mode\": 1000, \"format\": 100, \"path\": true, \"file\": true, \"highWatermark\": \"1\", \"lowWatermark\": \"1\", \"overflow\": 1, \"rollSize\": \"1\", \"rollInterval\": \"1\", \"rollEvents\": \"1\", \"retention\": \"1\", \"compression\": 1, \"syncPolicy\": 1, \"syncInterval\": \"1\", \"syncBatches\": \"1\", \"partition\": 1, \"partitionTime\": 1, \"maxOpenFiles\": \"1\", \"mergeShards\": 1}";
+        String optStr = "{\"name\":\"name\", \"type\": \"type\", \"batchSize\":100, \"mode\": \"append\", \"format\": \"yaml\", \"path\":\"/test\",\"file\":\"test\", \"highWatermark\": 2048, \"lowWatermark\": 1024, \"overflow\": \"spill\", \"rollSize\": 4096, \"rollInterval\": 60000, \"rollEvents\": 1000, \"retention\": 10, \"compression\": \"gzip\", \"syncPolicy\": \"interval\", \"syncInterval\": 100, \"syncBatches\": 5, \"partition\": \"{date}/{tenant}\", \"partitionTime\": \"timestamp\", \"maxOpenFiles\": 16, \"mergeShards\": true}";
 
         SinkOptions optPump = new SinkOptions(new JsonObject(optStr));
 
@@ -42,7 +42,22 @@ public class FileSinkOptionsTest {
                 .setMode(null)
                 .setFormat(null)
                 .setPath(null)
-                .setFile(null);
+                .setFile(null)
+                .setHighWatermark(null)
+                .setLowWatermark(null)
+                .setOverflow(null)
+                .setRollSize(null)
+                .setRollInterval(null)
+                .setRollEvents(null)
+                .setRetention(null)
+                .setCompression(null)
+                .setSyncPolicy(null)
+                .setSyncInterval(null)
+                .setSyncBatches(null)
+                .setPartition(null)
+                .setPartitionTime(null)
+                .setMaxOpenFiles(null)
+                .setMergeShards(null);
 
         FileSinkOptions optObj = new FileSinkOptions()
                 .setName("name")
@@ -51,7 +66,22 @@ public class FileSinkOptionsTest {
                 .setMode(FileSinkOptions.Mode.append)
                 .setFormat(FileSinkOptions.Format.yaml)
                 .setPath("/test")
-                .setFile("test");
+                .setFile("test")
+                .setHighWatermark(2048)
+                .setLowWatermark(1024)
+                .setOverflow(FileSinkOptions.Overflow.spill)
+                .setRollSize(4096L)
+                .setRollInterval(60000L)
+                .setRollEvents(1000L)
+                .setRetention(10)
+                .setCompression(FileSinkOptions.Compression.gzip)
+                .setSyncPolicy(FileSinkOptions.SyncPolicy.interval)
+                .setSyncInterval(100L)
+                .setSyncBatches(5)
+                .setPartition("{date}/{tenant}")
+                .setPartitionTime("timestamp")
+                .setMaxOpenFiles(16)
+                .setMergeShards(true);
 
         JsonObject optJson = new JsonObject(optStr);
 
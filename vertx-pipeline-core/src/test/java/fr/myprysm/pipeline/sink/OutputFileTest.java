@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.sink;
+
+import fr.myprysm.pipeline.VertxTest;
+import fr.myprysm.pipeline.sink.FileSinkOptions.Compression;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.reactivex.core.buffer.Buffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutputFileTest implements VertxTest {
+
+    @Test
+    @DisplayName("Output file should roll compressed files and keep only the configured number of rolled files")
+    void testRollingCompressedFiles(Vertx vertx, VertxTestContext ctx) throws Exception {
+        Path folder = Files.createTempDirectory("output-file");
+        FileSinkOptions options = new FileSinkOptions()
+                .setPath(folder.toString())
+                .setFile("output")
+                .setMode(FileSinkOptions.Mode.overwrite)
+                .setCompression(Compression.gzip)
+                .setRollEvents(2L)
+                .setRetention(2);
+        OutputFile output = new OutputFile(io.vertx.reactivex.core.Vertx.newInstance(vertx), options);
+
+        vertx.runOnContext(v -> output.open()
+                .andThen(Flowable.range(1, 5).concatMap(i -> output.write(Buffer.buffer(i + "\n"), 1).toFlowable()).ignoreElements())
+                .andThen(Completable.defer(output::close))
+                .subscribe(() -> ctx.verify(() -> {
+                    List<Path> files = list(folder);
+                    assertThat(files).hasSize(2);
+                    assertThat(files).allMatch(file -> file.getFileName().toString().matches("output\\.\\d{8}-\\d{9}-\\d{4}\\.json\\.gz"));
+                    assertThat(gunzip(files.get(0))).isEqualTo("3\n4\n");
+                    assertThat(gunzip(files.get(1))).isEqualTo("5\n");
+                    ctx.completeNow();
+                }), ctx::failNow));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Output file should sync every configured number of batches and group concurrent syncs")
+    void testSyncBatches(Vertx vertx, VertxTestContext ctx) throws Exception {
+        Path folder = Files.createTempDirectory("output-file");
+        FileSinkOptions options = new FileSinkOptions()
+                .setPath(folder.toString())
+                .setFile("output")
+                .setMode(FileSinkOptions.Mode.overwrite)
+                .setSyncPolicy(FileSinkOptions.SyncPolicy.batches)
+                .setSyncBatches(2);
+        OutputFile output = new OutputFile(io.vertx.reactivex.core.Vertx.newInstance(vertx), options);
+
+        vertx.runOnContext(v -> output.open()
+                .andThen(Flowable.range(1, 5).concatMap(i -> output.write(Buffer.buffer(i + "\n"), 1).toFlowable()).ignoreElements())
+                .andThen(Completable.defer(() -> {
+                    assertThat(output.syncs()).isEqualTo(2);
+                    assertThat(output.dirty()).isTrue();
+                    return Completable.mergeArray(output.sync(), output.sync(), output.sync());
+                }))
+                .subscribe(() -> ctx.verify(() -> {
+                    // One sync is running when the two others are requested, they are grouped.
+                    assertThat(output.syncs()).isEqualTo(4);
+                    assertThat(output.dirty()).isFalse();
+                    ctx.completeNow();
+                }), ctx::failNow));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    private static List<Path> list(Path folder) {
+        try {
+            return Files.list(folder).sorted().collect(Collectors.toList());
+        } catch (IOException exc) {
+            throw new IllegalStateException(exc);
+        }
+    }
+
+    private static String gunzip(Path file) {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] bytes = new byte[1024];
+            int read;
+            while ((read = in.read(bytes)) > 0) {
+                out.write(bytes, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException exc) {
+            throw new IllegalStateException(exc);
+        }
+    }
+}
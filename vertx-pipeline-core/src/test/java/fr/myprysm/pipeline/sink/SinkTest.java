@@ -18,18 +18,30 @@ package fr.myprysm.pipeline.sink;
 
 import fr.myprysm.pipeline.ConsoleTest;
 import fr.myprysm.pipeline.VertxTest;
+import fr.myprysm.pipeline.util.EventBatch;
 import fr.myprysm.pipeline.validation.ValidationException;
 import io.reactivex.Completable;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxTestContext;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class SinkTest extends ConsoleTest implements VertxTest {
@@ -67,6 +79,20 @@ public class SinkTest extends ConsoleTest implements VertxTest {
 
     }
 
+    @Test
+    @DisplayName("Sink should drain each item of a batch")
+    void testSinkDrainsBatches(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+        vertx.deployVerticle(new FailureSink(), CONFIG, ctx.succeeding(id -> {
+            vertx.eventBus().send(TEST_FROM, new EventBatch<>(Arrays.asList(FAIL_DATA, DATA)));
+            vertx.setTimer(100, timer -> {
+                assertConsoleContainsLine(PATTERN_CONSOLE_OUTPUT);
+                ctx.completeNow();
+            });
+        }));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
     @Test
     @DisplayName("Configuration must be present and must be valid")
     void testSinkCannotRunWithoutConfiguration(Vertx vertx, VertxTestContext ctx) {
@@ -94,6 +120,173 @@ public class SinkTest extends ConsoleTest implements VertxTest {
     }
 
 
+    @Test
+    @DisplayName("FileSink should write each item on its own line")
+    void testFileSinkFormats(Vertx vertx, VertxTestContext ctx) throws InterruptedException, IOException {
+        Path dir = Files.createTempDirectory("file-sink");
+        JsonObject nested = new JsonObject().put("foo", "bar").put("nested", new JsonObject().put("value", 1));
+        JsonObject config = new JsonObject()
+                .put("from", TEST_FROM)
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.sink.FileSink")
+                .put("path", dir.toString())
+                .put("file", "output")
+                .put("mode", "overwrite")
+                .put("batchSize", 2)
+                .put("controlChannel", "test-file-sink-control");
+
+        vertx.deployVerticle("fr.myprysm.pipeline.sink.FileSink", new DeploymentOptions().setConfig(config.copy().put("format", "json")), ctx.succeeding(json -> {
+            vertx.eventBus().send(TEST_FROM, new EventBatch<>(Arrays.asList(DATA, nested, DATA)));
+            vertx.setTimer(100, timer -> vertx.undeploy(json, ctx.succeeding(v -> {
+                vertx.deployVerticle("fr.myprysm.pipeline.sink.FileSink", new DeploymentOptions().setConfig(config.copy().put("format", "yaml")), ctx.succeeding(yaml -> {
+                    vertx.eventBus().send(TEST_FROM, nested);
+                    vertx.eventBus().send(TEST_FROM, DATA);
+                    vertx.setTimer(100, t -> vertx.undeploy(yaml, ctx.succeeding(w -> ctx.verify(() -> {
+                        assertThat(read(dir.resolve("output.json"))).isEqualTo(
+                                "{\"foo\":\"bar\"}\n{\"foo\":\"bar\",\"nested\":{\"value\":1}}\n{\"foo\":\"bar\"}\n");
+                        assertThat(read(dir.resolve("output.yaml"))).isEqualTo(
+                                "---\nfoo: \"bar\"\nnested:\n  value: 1\n\n---\nfoo: \"bar\"\n\n");
+                        ctx.completeNow();
+                    }))));
+                }));
+            })));
+        }));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("FileSink should write each item in the file of its partition")
+    void testFileSinkPartitions(Vertx vertx, VertxTestContext ctx) throws InterruptedException, IOException {
+        Path dir = Files.createTempDirectory("file-sink");
+        JsonObject first = new JsonObject().put("tenant", "first").put("timestamp", 0L);
+        JsonObject second = new JsonObject().put("tenant", "second/../..").put("timestamp", 0L);
+        JsonObject config = new JsonObject()
+                .put("from", TEST_FROM)
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.sink.FileSink")
+                .put("path", dir.toString())
+                .put("file", "output")
+                .put("partition", "{date}/{tenant}")
+                .put("partitionTime", "timestamp")
+                .put("maxOpenFiles", 1)
+                .put("batchSize", 1)
+                .put("controlChannel", "test-file-sink-control");
+
+        vertx.deployVerticle("fr.myprysm.pipeline.sink.FileSink", new DeploymentOptions().setConfig(config), ctx.succeeding(id -> {
+            vertx.eventBus().send(TEST_FROM, new EventBatch<>(Arrays.asList(first, second, DATA)));
+            vertx.setTimer(100, timer -> {
+                vertx.eventBus().send(TEST_FROM, first);
+                vertx.setTimer(100, t -> vertx.undeploy(id, ctx.succeeding(v -> ctx.verify(() -> {
+                    Path day = dir.resolve("1970-01-01");
+                    assertThat(read(day.resolve("first.json"))).isEqualTo(first.encode() + "\n" + first.encode() + "\n");
+                    assertThat(read(day.resolve("second_.._...json"))).isEqualTo(second.encode() + "\n");
+                    assertThat(day.toFile().list()).hasSize(2);
+                    assertThat(dir.toFile().list()).hasSize(2);
+                    ctx.completeNow();
+                }))));
+            });
+        }));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("FileSink should write a shard per instance and merge them once closed")
+    void testFileSinkShards(Vertx vertx, VertxTestContext ctx) throws InterruptedException, IOException {
+        Path dir = Files.createTempDirectory("file-sink");
+        List<JsonObject> items = IntStream.range(0, 10).mapToObj(i -> new JsonObject().put("value", i)).collect(toList());
+        JsonObject config = new JsonObject()
+                .put("from", TEST_FROM)
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.sink.FileSink")
+                .put("path", dir.toString())
+                .put("file", "output")
+                .put("loadFactor", 2)
+                .put("mergeShards", true)
+                .put("batchSize", 1)
+                .put("controlChannel", "test-file-sink-control");
+
+        DeploymentOptions options = new DeploymentOptions().setConfig(config).setInstances(2);
+        vertx.deployVerticle("fr.myprysm.pipeline.sink.FileSink", options, ctx.succeeding(id -> {
+            ctx.verify(() -> assertThat(dir.toFile().list()).containsExactlyInAnyOrder("output-0.json", "output-1.json"));
+            items.forEach(item -> vertx.eventBus().send(TEST_FROM, item));
+            vertx.setTimer(100, timer -> vertx.undeploy(id, ctx.succeeding(v -> ctx.verify(() -> {
+                assertThat(dir.toFile().list()).containsExactly("output.json");
+                assertThat(read(dir.resolve("output.json")).split("\n"))
+                        .containsExactlyInAnyOrder(items.stream().map(JsonObject::encode).toArray(String[]::new));
+                ctx.completeNow();
+            }))));
+        }));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("FileSink should bound its queue when the disk stalls and the upstream stage has no window")
+    void testFileSinkBoundsQueueWithoutWindow(VertxTestContext ctx) throws InterruptedException, IOException {
+        Path dir = Files.createTempDirectory("file-sink");
+        int count = 3000;
+        // Default overflow policy, with a small queue.
+        JsonObject config = new JsonObject()
+                .put("from", TEST_FROM)
+                .put("name", "test")
+                .put("type", "fr.myprysm.pipeline.sink.FileSink")
+                .put("path", dir.toString())
+                .put("file", "output")
+                .put("batchSize", 1)
+                .put("highWatermark", 1024)
+                .put("lowWatermark", 512)
+                .put("controlChannel", "test-file-sink-control");
+
+        // File writes run on the worker pool, a single busy worker stalls the disk.
+        Vertx vertx = Vertx.vertx(new VertxOptions().setWorkerPoolSize(1));
+        CountDownLatch disk = new CountDownLatch(1);
+        try {
+            vertx.deployVerticle("fr.myprysm.pipeline.sink.FileSink", new DeploymentOptions().setConfig(config), ctx.succeeding(id -> {
+                vertx.executeBlocking(future -> {
+                    try {
+                        disk.await();
+                    } catch (InterruptedException exc) {
+                        Thread.currentThread().interrupt();
+                    }
+                    future.complete();
+                }, false, ar -> {
+                });
+                IntStream.range(0, count).forEach(i -> vertx.eventBus().send(TEST_FROM, new JsonObject().put("value", i)));
+                vertx.setTimer(500, stall -> {
+                    disk.countDown();
+                    vertx.setPeriodic(20, timer -> {
+                        String[] lines = read(dir.resolve("output.json")).split("\n");
+                        if (lines[lines.length - 1].equals(new JsonObject().put("value", count - 1).encode())) {
+                            vertx.cancelTimer(timer);
+                            ctx.verify(() -> {
+                                // Only what fits in the queue survives the stall, the newest items.
+                                assertThat(lines.length).isLessThan(100);
+                                assertThat(Arrays.stream(lines).map(line -> new JsonObject(line).getInteger("value")).collect(toList()))
+                                        .isSorted();
+                            });
+                            vertx.undeploy(id, ctx.succeeding(v -> ctx.completeNow()));
+                        }
+                    });
+                });
+            }));
+
+            ctx.awaitCompletion(10, TimeUnit.SECONDS);
+        } finally {
+            disk.countDown();
+            vertx.close();
+        }
+    }
+
+    private static String read(Path file) {
+        try {
+            return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
     static class FailureSink extends BaseJsonSink<SinkOptions> {
 
         @Override
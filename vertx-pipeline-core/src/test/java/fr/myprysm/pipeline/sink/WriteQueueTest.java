@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.sink;
+
+import fr.myprysm.pipeline.VertxTest;
+import fr.myprysm.pipeline.sink.FileSinkOptions.Overflow;
+import io.vertx.core.Vertx;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.file.AsyncFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteQueueTest implements VertxTest {
+
+    private static final String[] LINES = {"aaaa\n", "bbbb\n", "cccc\n", "dddd\n"};
+
+    private static FileSinkOptions options(Path folder, Overflow overflow) {
+        return new FileSinkOptions()
+                .setPath(folder.toString())
+                .setFile("output")
+                .setMode(FileSinkOptions.Mode.overwrite)
+                .setHighWatermark(8)
+                .setLowWatermark(4)
+                .setOverflow(overflow);
+    }
+
+    @Test
+    @DisplayName("Write queue should keep every buffer, recycle it once written and signal when it drains with the block policy")
+    void testBlock(Vertx vertx, VertxTestContext ctx) throws Exception {
+        Path folder = Files.createTempDirectory("write-queue");
+        FileSinkOptions options = options(folder, Overflow.block);
+        OutputFile output = new OutputFile(io.vertx.reactivex.core.Vertx.newInstance(vertx), options);
+        AtomicInteger drained = new AtomicInteger();
+        AtomicInteger recycled = new AtomicInteger();
+
+        vertx.runOnContext(v -> output.open().subscribe(() -> {
+            WriteQueue queue = new WriteQueue("test", output, options, d -> drained.incrementAndGet(),
+                    b -> recycled.incrementAndGet());
+            queue.start(null);
+            writeLines(queue);
+            assertThat(queue.full()).isTrue();
+
+            queue.whenEmpty().subscribe(() -> ctx.verify(() -> {
+                assertThat(queue.full()).isFalse();
+                assertThat(drained.get()).isEqualTo(1);
+                assertThat(recycled.get()).isEqualTo(LINES.length);
+                assertThat(read(folder.resolve("output.json"))).isEqualTo("aaaa\nbbbb\ncccc\ndddd\n");
+                ctx.completeNow();
+            }), ctx::failNow);
+        }, ctx::failNow));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Write queue should drop the oldest buffers waiting to be written with the drop_oldest policy")
+    void testDropOldest(Vertx vertx, VertxTestContext ctx) throws Exception {
+        Path folder = Files.createTempDirectory("write-queue");
+        FileSinkOptions options = options(folder, Overflow.drop_oldest);
+        OutputFile output = new OutputFile(io.vertx.reactivex.core.Vertx.newInstance(vertx), options);
+        AtomicInteger recycled = new AtomicInteger();
+
+        vertx.runOnContext(v -> output.open().subscribe(() -> {
+            WriteQueue queue = new WriteQueue("test", output, options, d -> {
+            }, b -> recycled.incrementAndGet());
+            queue.start(null);
+            writeLines(queue);
+            assertThat(queue.size()).isLessThanOrEqualTo(10);
+
+            queue.whenEmpty().subscribe(() -> ctx.verify(() -> {
+                assertThat(read(folder.resolve("output.json"))).isEqualTo("aaaa\ndddd\n");
+                assertThat(recycled.get()).isEqualTo(LINES.length);
+                ctx.completeNow();
+            }), ctx::failNow);
+        }, ctx::failNow));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Write queue should drop the oldest buffers with the block policy once told to shed")
+    void testBlockShed(Vertx vertx, VertxTestContext ctx) throws Exception {
+        Path folder = Files.createTempDirectory("write-queue");
+        FileSinkOptions options = options(folder, Overflow.block);
+        OutputFile output = new OutputFile(io.vertx.reactivex.core.Vertx.newInstance(vertx), options);
+
+        vertx.runOnContext(v -> output.open().subscribe(() -> {
+            WriteQueue queue = new WriteQueue("test", output, options, d -> {
+            }, b -> {
+            });
+            queue.start(null);
+            queue.shed();
+            writeLines(queue);
+            assertThat(queue.size()).isLessThanOrEqualTo(10);
+
+            queue.whenEmpty().subscribe(() -> ctx.verify(() -> {
+                assertThat(read(folder.resolve("output.json"))).isEqualTo("aaaa\ndddd\n");
+                ctx.completeNow();
+            }), ctx::failNow);
+        }, ctx::failNow));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Write queue should spill the buffers and write them back in order with the spill policy")
+    void testSpill(Vertx vertx, VertxTestContext ctx) throws Exception {
+        Path folder = Files.createTempDirectory("write-queue");
+        FileSinkOptions options = options(folder, Overflow.spill);
+        OutputFile output = new OutputFile(io.vertx.reactivex.core.Vertx.newInstance(vertx), options);
+        OpenOptions spillOptions = new OpenOptions().setRead(true).setWrite(true).setDeleteOnClose(true);
+
+        vertx.runOnContext(v -> output.open().subscribe(() ->
+                vertx.fileSystem().open(folder.resolve("output.spill").toString(), spillOptions, ctx.succeeding(spillFile -> {
+                    WriteQueue queue = new WriteQueue("test", output, options, d -> {
+                    }, b -> {
+                    });
+                    queue.start(AsyncFile.newInstance(spillFile));
+                    writeLines(queue);
+                    assertThat(queue.size()).isEqualTo(5);
+
+                    queue.whenEmpty().subscribe(() -> ctx.verify(() -> {
+                        assertThat(read(folder.resolve("output.json"))).isEqualTo("aaaa\nbbbb\ncccc\ndddd\n");
+                        ctx.completeNow();
+                    }), ctx::failNow);
+                })), ctx::failNow));
+
+        ctx.awaitCompletion(5, TimeUnit.SECONDS);
+    }
+
+    private static void writeLines(WriteQueue queue) {
+        for (String line : LINES) {
+            queue.write(Buffer.buffer(line), 1);
+        }
+    }
+
+    private static String read(Path file) {
+        try {
+            return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (IOException exc) {
+            throw new IllegalStateException(exc);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashRingTest {
+    private static final List<String> NODES = Arrays.asList("foo", "bar", "baz", "qux");
+
+    @Test
+    @DisplayName("Hash ring maps keys to the same node whatever the order of the nodes")
+    void testHashRingIsConsistent() {
+        List<String> shuffled = new ArrayList<>(NODES);
+        Collections.shuffle(shuffled);
+        HashRing ring = new HashRing(NODES);
+        HashRing other = new HashRing(shuffled);
+
+        for (int i = 0; i < 1000; i++) {
+            String key = "key-" + i;
+            assertThat(ring.node(key)).isEqualTo(other.node(key)).isIn(NODES);
+        }
+    }
+
+    @Test
+    @DisplayName("Hash ring spreads keys over all the nodes")
+    void testHashRingSpreadsKeys() {
+        HashRing ring = new HashRing(NODES);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            counts.merge(ring.node(String.valueOf(i)), 1, Integer::sum);
+        }
+
+        assertThat(counts.keySet()).containsExactlyInAnyOrderElementsOf(NODES);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(1500, 3500));
+    }
+
+    @Test
+    @DisplayName("Hash ring only moves the keys of a removed node")
+    void testHashRingRemovingNode() {
+        HashRing ring = new HashRing(NODES);
+        HashRing smaller = new HashRing(NODES.subList(0, 3));
+
+        for (int i = 0; i < 1000; i++) {
+            String key = "key-" + i;
+            String node = ring.node(key);
+            if (!"qux".equals(node)) {
+                assertThat(smaller.node(key)).isEqualTo(node);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.arr;
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonPathTest {
+
+    @Test
+    @DisplayName("Compiled paths read nested values")
+    void testRead() {
+        JsonObject json = obj()
+                .put("root", "value")
+                .put("a", obj().put("b", obj().put("c", 10L).put("array", arr().add(1))))
+                .put("scalar", 1);
+
+        assertThat(JsonPath.compile("root").get(json)).isEqualTo("value");
+        assertThat(JsonPath.compile("root").isNested()).isFalse();
+        assertThat(JsonPath.compile("a.b.c").getLong(json)).isEqualTo(10L);
+        assertThat(JsonPath.compile("a.b.c").field()).isEqualTo("c");
+        assertThat(JsonPath.compile("a.b.array").getJsonArray(json)).isEqualTo(arr().add(1));
+        assertThat(JsonPath.compile("a.b").getJsonObject(json)).isNotNull();
+        assertThat(JsonPath.compile("a.b.c").getJsonObject(json)).isNull();
+        assertThat(JsonPath.compile("a.missing.c").get(json)).isNull();
+        assertThat(JsonPath.compile("scalar.c").get(json)).isNull();
+        assertThatThrownBy(() -> JsonPath.compile(" ")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Compiled paths write nested values")
+    void testWrite() {
+        JsonObject json = obj().put("a", 1);
+        JsonPath path = JsonPath.compile("a.b.c");
+
+        path.put(json, "value");
+        assertThat(json).isEqualTo(obj().put("a", obj().put("b", obj().put("c", "value"))));
+
+        JsonObject ensured = JsonPath.compile("a.b.d").ensure(json);
+        assertThat(ensured).isSameAs(json.getJsonObject("a").getJsonObject("b").getJsonObject("d"));
+        assertThat(path).isEqualTo(JsonPath.compile("a.b.c"));
+        assertThat(path.toString()).isEqualTo("a.b.c");
+    }
+}
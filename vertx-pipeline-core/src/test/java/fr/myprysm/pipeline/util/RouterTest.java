@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import fr.myprysm.pipeline.pipeline.ExchangeOptions.Routing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouterTest {
+    private static final List<String> RECIPIENTS = Arrays.asList("foo", "bar", "baz");
+
+    @Test
+    @DisplayName("Round robin router uses recipients in turn")
+    void testRoundRobinRouter() {
+        Router router = Router.of(Routing.round_robin, RECIPIENTS, null, recipient -> 0);
+
+        assertThat(router.next()).isEqualTo("foo");
+        assertThat(router.next()).isEqualTo("bar");
+        assertThat(router.next()).isEqualTo("baz");
+        assertThat(router.next()).isEqualTo("foo");
+    }
+
+    @Test
+    @DisplayName("Least outstanding router uses the least loaded recipient")
+    void testLeastOutstandingRouter() {
+        Map<String, Integer> load = new HashMap<>();
+        load.put("foo", 10);
+        load.put("bar", 2);
+        load.put("baz", 5);
+        Router router = Router.of(Routing.least_outstanding, RECIPIENTS, null, load::get);
+
+        assertThat(router).isInstanceOf(LeastOutstandingRouter.class);
+        for (int i = 0; i < 10; i++) {
+            assertThat(router.next()).isEqualTo("bar");
+        }
+
+        load.put("bar", 20);
+        assertThat(router.next()).isEqualTo("baz");
+    }
+
+    @Test
+    @DisplayName("Least outstanding router uses recipients with the same load in turn")
+    void testLeastOutstandingRouterTies() {
+        Router router = Router.of(Routing.least_outstanding, RECIPIENTS, null, recipient -> 0);
+
+        assertThat(Arrays.asList(router.next(), router.next(), router.next())).containsExactlyInAnyOrderElementsOf(RECIPIENTS);
+    }
+
+    @Test
+    @DisplayName("Power of two choices router never uses the most loaded recipient")
+    void testPowerOfTwoChoicesRouter() {
+        Map<String, Integer> load = new HashMap<>();
+        load.put("foo", 10);
+        load.put("bar", 2);
+        load.put("baz", 5);
+        Router router = Router.of(Routing.power_of_two, RECIPIENTS, null, load::get);
+
+        assertThat(router).isInstanceOf(PowerOfTwoChoicesRouter.class);
+        for (int i = 0; i < 100; i++) {
+            assertThat(router.next()).isNotEqualTo("foo");
+        }
+
+        Router single = Router.of(Routing.power_of_two, singletonList("foo"), null, load::get);
+        assertThat(single.next()).isEqualTo("foo");
+    }
+
+    @Test
+    @DisplayName("Weighted router uses recipients in proportion of their weights")
+    void testWeightedRouter() {
+        Router router = Router.of(Routing.weighted, RECIPIENTS, Arrays.asList(5, 1), recipient -> 0);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 70; i++) {
+            counts.merge(router.next(), 1, Integer::sum);
+        }
+
+        assertThat(router).isInstanceOf(WeightedRouter.class);
+        assertThat(counts).containsEntry("foo", 50).containsEntry("bar", 10).containsEntry("baz", 10);
+    }
+
+    @Test
+    @DisplayName("Weighted router interleaves recipients")
+    void testWeightedRouterIsSmooth() {
+        Router router = Router.of(Routing.weighted, Arrays.asList("foo", "bar"), Arrays.asList(2, 1), recipient -> 0);
+
+        assertThat(Arrays.asList(router.next(), router.next(), router.next())).containsExactly("foo", "bar", "foo");
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 the original author or the original authors
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package fr.myprysm.pipeline.util;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static fr.myprysm.pipeline.util.JsonHelpers.arr;
+import static fr.myprysm.pipeline.util.JsonHelpers.obj;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmileMessageCodecTest {
+    private static final JsonObject DATA = obj()
+            .put("string", "value")
+            .put("int", 42)
+            .put("double", 4.2)
+            .put("boolean", true)
+            .put("nested", obj().put("field", "value").put("array", arr().add(1).add("two").add(obj().put("three", 3))));
+
+    private final SmileMessageCodec codec = new SmileMessageCodec();
+
+    @Test
+    @DisplayName("Smile codec encodes and decodes JSON objects")
+    void testSmileCodecJsonObject() {
+        Buffer buffer = Buffer.buffer().appendString("prefix");
+        codec.encodeToWire(buffer, DATA);
+
+        Object decoded = codec.decodeFromWire(6, buffer);
+        assertThat(decoded).isInstanceOf(JsonObject.class).isEqualTo(DATA);
+        assertThat(((JsonObject) decoded).getJsonObject("nested").getJsonArray("array")).isEqualTo(DATA.getJsonObject("nested").getJsonArray("array"));
+    }
+
+    @Test
+    @DisplayName("Smile codec encodes and decodes batches of JSON objects")
+    void testSmileCodecEventBatch() {
+        EventBatch<JsonObject> batch = new EventBatch<>(Arrays.asList(DATA, obj().put("foo", "bar")));
+        Buffer buffer = Buffer.buffer();
+        codec.encodeToWire(buffer, batch);
+
+        Object decoded = codec.decodeFromWire(0, buffer);
+        assertThat(decoded).isInstanceOf(EventBatch.class).isEqualTo(batch);
+    }
+
+    @Test
+    @DisplayName("Smile codec is more compact than JSON text")
+    void testSmileCodecIsCompact() {
+        List<JsonObject> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(DATA.copy().put("counter", i));
+        }
+
+        Buffer buffer = Buffer.buffer();
+        codec.encodeToWire(buffer, new EventBatch<>(items));
+        assertThat(buffer.length()).isLessThan(new JsonArray(items).encode().length() / 2);
+    }
+
+    @Test
+    @DisplayName("Smile codec hands over local messages")
+    void testSmileCodecTransform() {
+        assertThat(codec.transform(DATA)).isSameAs(DATA);
+        assertThat(codec.name()).isEqualTo(SmileMessageCodec.NAME);
+        assertThat(codec.systemCodecID()).isEqualTo((byte) -1);
+    }
+}